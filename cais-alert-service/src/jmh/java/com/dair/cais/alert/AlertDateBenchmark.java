@@ -0,0 +1,145 @@
+package com.dair.cais.alert;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date handling of alert ingest on a mixed-format payload: {@link AlertDateNormalizer} against the parsing of
+ * {@code RdbmsAlertMapper.parseDateTime} and the custom field walk of {@code createAlert} it replaced.
+ * <p>
+ * The dates mirror what alerts arrive with: mostly {@code yyyy-MM-dd'T'HH:mm:ss}, then space-separated datetimes
+ * and {@code LocalDateTime.toString()} output written back by Mongo updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertDateBenchmark {
+
+    private static final String[] DATES = {
+            "2024-03-05T14:07:09", "2024-03-06T09:30:00", "2024-03-07T23:59:59", "2024-03-08T00:00:01",
+            "2024-03-09T12:00:00", "2024-03-10T18:45:30",
+            "2024-03-05 14:07:09", "2024-03-06 09:30:00",
+            "2024-03-05T14:07:09.123456", "2024-03-06T09:30"
+    };
+
+    private Map<String, Object> customFields;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> trade = new LinkedHashMap<>();
+        trade.put("Trade_ID", "TRADE123");
+        trade.put("Trade_Date", "2024-03-24 00:00:00");
+        trade.put("Trade_Execution_Date", "2024-03-24T10:15:00");
+        trade.put("Quantity", 100);
+        trade.put("Price", 150.00);
+        trade.put("Symbol", "AAPL");
+        Map<String, Object> account = new LinkedHashMap<>();
+        account.put("Account_Number", "987654321");
+        account.put("Account_Opened_Date", "2022-01-01 09:00:00");
+        account.put("Account_Balance", 100000.00);
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("Is_Centralized", true);
+        extra.put("Account_Information", account);
+        extra.put("Trade_Information", trade);
+        extra.put("Reviews", List.of(Map.of("Reviewed_At", "2024-03-25T08:00:00"), "2024-03-26 11:30:00"));
+        customFields = new LinkedHashMap<>();
+        customFields.put("extra_fields", extra);
+    }
+
+    @Benchmark
+    public void normalizerParse(Blackhole blackhole) {
+        for (String date : DATES) {
+            blackhole.consume(AlertDateNormalizer.parse(date));
+        }
+    }
+
+    @Benchmark
+    public void legacyParse(Blackhole blackhole) {
+        for (String date : DATES) {
+            blackhole.consume(legacyParseDateTime(date));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> normalizerCustomFields() {
+        return AlertDateNormalizer.normalizeDates(customFields);
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyCustomFields() {
+        legacyFormatDatesInMap(customFields);
+        return customFields;
+    }
+
+    /** {@code RdbmsAlertMapper.parseDateTime} before AlertDateNormalizer, without its error logging. */
+    private static LocalDateTime legacyParseDateTime(String dateStr) {
+        if (dateStr == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+            } catch (DateTimeParseException e2) {
+                try {
+                    return LocalDateTime.parse(dateStr);
+                } catch (DateTimeParseException e3) {
+                    throw new RuntimeException("Unable to parse date: " + dateStr, e3);
+                }
+            }
+        }
+    }
+
+    /** {@code AlertService.formatDatesInMap} before AlertDateNormalizer: a regex check per string value. */
+    @SuppressWarnings("unchecked")
+    private static void legacyFormatDatesInMap(Map<String, Object> map) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof String && legacyIsDateString((String) value)) {
+                continue;
+            } else if (value instanceof Map) {
+                legacyFormatDatesInMap((Map<String, Object>) value);
+            } else if (value instanceof List) {
+                legacyFormatDatesInList((List<Object>) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void legacyFormatDatesInList(List<Object> list) {
+        for (Object item : list) {
+            if (item instanceof String && legacyIsDateString((String) item)) {
+                continue;
+            } else if (item instanceof Map) {
+                legacyFormatDatesInMap((Map<String, Object>) item);
+            } else if (item instanceof List) {
+                legacyFormatDatesInList((List<Object>) item);
+            }
+        }
+    }
+
+    private static boolean legacyIsDateString(String value) {
+        return value.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}");
+    }
+}
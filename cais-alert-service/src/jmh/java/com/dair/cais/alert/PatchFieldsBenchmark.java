@@ -0,0 +1,75 @@
+package com.dair.cais.alert;
+
+import com.dair.util.PatchFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the {@link Update} of {@code AlertRepository.patchAlert} for a typical status change patch, with the
+ * cached {@link PatchFields} accessors against the per-call reflective scan they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchFieldsBenchmark {
+
+    private AlertEntity patch;
+
+    @Setup
+    public void setUp() {
+        patch = new AlertEntity();
+        patch.setId("65f0c0ffee0000000000a001");
+        patch.setAlertId("ALT-000123");
+        patch.setStatus("IN_PROGRESS");
+        patch.setAlertStepId("2");
+        patch.setAlertStepName("Investigation");
+        patch.setOwnerId("u-17");
+        patch.setOwnerName("Ops Analyst");
+        patch.setIsActive(Boolean.TRUE);
+        patch.setCustomFields(Map.of("riskScore", 42));
+        patch.setUpdatedAt(LocalDateTime.of(2024, 3, 5, 14, 7, 9));
+    }
+
+    @Benchmark
+    public Update patchFields() {
+        Update update = new Update();
+        PatchFields.forEachNonNull(patch, update::set);
+        return update;
+    }
+
+    /**
+     * The loop patchAlert ran before PatchFields, without its per-field System.out.println.
+     */
+    @Benchmark
+    public Update reflectiveScan() throws IllegalAccessException {
+        Update update = new Update();
+        for (Field field : patch.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            Optional<Object> fieldValue = Optional.ofNullable(field.get(patch));
+            if (fieldValue.isPresent()
+                    && !field.getName().equals("serialVersionUID")
+                    && !field.getName().equals("id")) {
+                update.set(field.getName(), fieldValue.get());
+            }
+        }
+        return update;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,12 @@ public interface PolicyEntityMappingRepository extends JpaRepository<PolicyEntit
             "WHERE pem.policy.policyId = :policyId")
     List<PolicyEntityMappingEntity> findByPolicyPolicyId(@Param("policyId") Integer policyId);
 
+    @Query("SELECT DISTINCT pem FROM PolicyEntityMappingEntity pem " +
+            "LEFT JOIN FETCH pem.policy p " +
+            "LEFT JOIN FETCH pem.action a " +
+            "WHERE pem.policy.policyId IN :policyIds")
+    List<PolicyEntityMappingEntity> findByPolicyPolicyIdIn(@Param("policyIds") Collection<Integer> policyIds);
+
     List<PolicyEntityMappingEntity> findByEntityType(String entityType);
 
     List<PolicyEntityMappingEntity> findByEntityTypeAndEntityId(String entityType, String entityId);
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,13 @@ public interface RolesPolicyMappingRepository extends JpaRepository<RolesPolicyM
             "WHERE rpm.role.roleId = :roleId")
     List<RolesPolicyMappingEntity> findByRoleRoleIdWithPolicyAndRole(Integer roleId);
 
+    @Query("SELECT rpm FROM RolesPolicyMappingEntity rpm " +
+            "LEFT JOIN FETCH rpm.policy " +
+            "LEFT JOIN FETCH rpm.role " +
+            "WHERE rpm.role.roleId IN :roleIds " +
+            "ORDER BY rpm.rpmId")
+    List<RolesPolicyMappingEntity> findByRoleRoleIdInWithPolicyAndRole(@Param("roleIds") Collection<Integer> roleIds);
+
     @Query("SELECT rpm FROM RolesPolicyMappingEntity rpm " +
             "LEFT JOIN FETCH rpm.policy " +
             "LEFT JOIN FETCH rpm.role " +
@@ -0,0 +1,27 @@
+package com.dair.cais.access.UserBasedPermission;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sections of a permission document that changed after {@code sinceVersion}. When the document carries no section
+ * stamps or the client's version is unknown, {@code full} is set and {@code document} holds the whole document.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PermissionDelta {
+    private String userId;
+    private long sinceVersion;
+    private long version;
+    private String contentHash;
+    private boolean full;
+    private Map<String, JsonNode> changed;
+    private List<String> removed;
+    private JsonNode document;
+}
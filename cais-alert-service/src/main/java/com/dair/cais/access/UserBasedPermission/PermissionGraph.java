@@ -0,0 +1,27 @@
+package com.dair.cais.access.UserBasedPermission;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detached view of everything needed to build permission documents: the entity grants reachable from each role
+ * through its policies, module names and org keys. It holds no JPA entities, so documents can be built from it
+ * on any thread once the loading transaction has ended.
+ */
+public record PermissionGraph(Map<Integer, List<Grant>> grantsByRole,
+                              Map<Integer, String> moduleNames,
+                              Map<Integer, String> orgKeys) {
+
+    /** One policy entity mapping; {@code entityType} is already lower-cased. */
+    public record Grant(String entityType, String entityId, String actionName, String condition) {}
+
+    /** One user-org-role mapping. */
+    public record Assignment(Integer orgId, Integer roleId) {}
+
+    /** A user and their mappings in mapping order. */
+    public record UserAssignments(String userId, String userName, List<Assignment> assignments) {}
+
+    public List<Grant> grantsFor(Integer roleId) {
+        return grantsByRole.getOrDefault(roleId, List.of());
+    }
+}
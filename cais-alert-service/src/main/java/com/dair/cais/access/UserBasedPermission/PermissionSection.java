@@ -0,0 +1,19 @@
+package com.dair.cais.access.UserBasedPermission;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version stamp of one section of a permission document, e.g. one alert type or the org metadata.
+ * A section that disappears is kept as {@code removed} so deltas can report it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PermissionSection {
+    private String key;
+    private String hash;
+    private Long version;
+    private boolean removed;
+}
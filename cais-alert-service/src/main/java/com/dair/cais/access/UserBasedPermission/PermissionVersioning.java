@@ -0,0 +1,229 @@
+package com.dair.cais.access.UserBasedPermission;
+
+import com.dair.cais.common.config.CaisAlertConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stamps permission documents with a version, a content hash and per-section versions.
+ * <p>
+ * Each section (one entry per alert type, modules, reports, other permissions, org metadata and the user) is hashed
+ * over a key-sorted serialization, and the content hash is taken over the section hashes. A rebuild that produces
+ * the same hash is not written at all. Otherwise the version is incremented and only sections whose hash changed
+ * take the new version, which is what the delta endpoint reads. Writes are conditional on the version they
+ * were stamped from, so two concurrent rebuilds cannot both win.
+ */
+@Component
+public class PermissionVersioning {
+    static final String ALERT_TYPE_PREFIX = "alertType:";
+    static final String MODULES = "modules";
+    static final String REPORTS = "reports";
+    static final String ADDITIONAL = "additionalPermissions";
+    static final String METADATA = "metadata";
+    static final String USER = "user";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper hashMapper;
+
+    public PermissionVersioning(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.hashMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * Reads only the stamps (version, hash and sections) of the given users' documents.
+     */
+    public Map<String, UserPermissionDto> findStamps(Collection<String> userIds) {
+        Query query = new Query(Criteria.where("userId").in(userIds));
+        query.fields().include("version", "contentHash", "sections");
+        return mongoTemplate.find(query, UserPermissionDto.class, CaisAlertConstants.USER_PERMISSION_DATA).stream()
+                .collect(Collectors.toMap(UserPermissionDto::getUserId, Function.identity()));
+    }
+
+    /**
+     * Stamps {@code next} relative to the stored {@code previous} stamps, which may be {@code null}.
+     *
+     * @return false when the content is unchanged and nothing needs to be written
+     */
+    public boolean stamp(UserPermissionDto next, UserPermissionDto previous) {
+        Map<String, String> hashes = new TreeMap<>();
+        sectionsOf(next).forEach((key, section) -> hashes.put(key, hash(section)));
+        String contentHash = hash(hashes);
+
+        if (previous != null && contentHash.equals(previous.getContentHash()) && previous.getVersion() != null) {
+            next.setVersion(previous.getVersion());
+            next.setContentHash(contentHash);
+            next.setSections(previous.getSections());
+            return false;
+        }
+
+        long version = previous != null && previous.getVersion() != null ? previous.getVersion() + 1 : 1;
+        Map<String, PermissionSection> oldSections = new LinkedHashMap<>();
+        if (previous != null && previous.getSections() != null) {
+            previous.getSections().forEach(section -> oldSections.put(section.getKey(), section));
+        }
+
+        List<PermissionSection> sections = new ArrayList<>();
+        hashes.forEach((key, hash) -> {
+            PermissionSection old = oldSections.remove(key);
+            sections.add(old != null && !old.isRemoved() && hash.equals(old.getHash())
+                    ? old
+                    : new PermissionSection(key, hash, version, false));
+        });
+        oldSections.values().forEach(old -> sections.add(old.isRemoved()
+                ? old
+                : new PermissionSection(old.getKey(), null, version, true)));
+
+        next.setVersion(version);
+        next.setContentHash(contentHash);
+        next.setSections(sections);
+        return true;
+    }
+
+    /**
+     * Writes a stamped document if the stored one is still at {@code previous}'s version.
+     *
+     * @return false if another writer got there first; the caller should re-read and re-stamp
+     */
+    public boolean write(UserPermissionDto document, UserPermissionDto previous) {
+        if (previous == null) {
+            try {
+                mongoTemplate.insert(document, CaisAlertConstants.USER_PERMISSION_DATA);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        UserPermissionDto replaced = mongoTemplate.findAndReplace(
+                versionQuery(document.getUserId(), previous),
+                document,
+                FindAndReplaceOptions.none(),
+                UserPermissionDto.class,
+                CaisAlertConstants.USER_PERMISSION_DATA,
+                UserPermissionDto.class);
+        return replaced != null;
+    }
+
+    /**
+     * Matches the user's document only while it is still at {@code previous}'s version.
+     */
+    public Query versionQuery(String userId, UserPermissionDto previous) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        return new Query(previous.getVersion() != null
+                ? criteria.and("version").is(previous.getVersion())
+                : criteria.and("version").exists(false));
+    }
+
+    /**
+     * Strong ETag for a stored document; documents written before versioning fall back to a hash of their content.
+     */
+    public String etagOf(ObjectNode document) {
+        JsonNode version = document.get("version");
+        JsonNode contentHash = document.get("contentHash");
+        if (version != null && contentHash != null) {
+            return "\"" + version.asLong() + "-" + contentHash.asText() + "\"";
+        }
+        return "\"" + hash(document) + "\"";
+    }
+
+    public PermissionDelta delta(String userId, ObjectNode document, long sinceVersion) {
+        long version = document.path("version").asLong(0);
+        JsonNode sections = document.get("sections");
+        PermissionDelta.PermissionDeltaBuilder delta = PermissionDelta.builder()
+                .userId(userId)
+                .sinceVersion(sinceVersion)
+                .version(version)
+                .contentHash(document.path("contentHash").asText(null));
+
+        if (sections == null || !sections.isArray() || sinceVersion > version || sinceVersion <= 0) {
+            return delta.full(true).document(document).build();
+        }
+
+        Map<String, JsonNode> changed = new LinkedHashMap<>();
+        List<String> removed = new ArrayList<>();
+        for (JsonNode section : sections) {
+            if (section.path("version").asLong(0) <= sinceVersion) {
+                continue;
+            }
+            String key = section.path("key").asText();
+            if (section.path("removed").asBoolean(false)) {
+                removed.add(key);
+            } else {
+                changed.put(key, sectionOf(document, key));
+            }
+        }
+        return delta.changed(changed).removed(removed).build();
+    }
+
+    private Map<String, Object> sectionsOf(UserPermissionDto document) {
+        Map<String, Object> sections = new LinkedHashMap<>();
+        PermissionWrapper permission = document.getPermission();
+        if (permission != null) {
+            if (permission.getAlertType() != null) {
+                permission.getAlertType().forEach((alertTypeId, value) -> sections.put(ALERT_TYPE_PREFIX + alertTypeId, value));
+            }
+            putIfPresent(sections, MODULES, permission.getModules());
+            putIfPresent(sections, REPORTS, permission.getReports());
+            putIfPresent(sections, ADDITIONAL, permission.getAdditionalPermissions());
+        }
+        putIfPresent(sections, METADATA, document.getMetadata());
+        putIfPresent(sections, USER, document.getUser());
+        return sections;
+    }
+
+    private JsonNode sectionOf(ObjectNode document, String key) {
+        JsonNode permission = document.path("permission");
+        if (key.startsWith(ALERT_TYPE_PREFIX)) {
+            return permission.path("alertType").path(key.substring(ALERT_TYPE_PREFIX.length()));
+        }
+        switch (key) {
+            case MODULES:
+            case REPORTS:
+            case ADDITIONAL:
+                return permission.path(key);
+            default:
+                return document.path(key);
+        }
+    }
+
+    private static void putIfPresent(Map<String, Object> sections, String key, Object value) {
+        if (value != null) {
+            sections.put(key, value);
+        }
+    }
+
+    private String hash(Object value) {
+        try {
+            byte[] bytes = value instanceof String text
+                    ? text.getBytes(StandardCharsets.UTF_8)
+                    : hashMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to hash permission content", e);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -63,24 +65,50 @@ public class UserPermissionController {
     }
 
     @GetMapping("/user/document/{userId}")
-    @Operation(summary = "Get User permission from Mongo DB")
-    public ResponseEntity<ObjectNode> getUserPermissionFromDocument(@PathVariable String userId) {
+    @Operation(summary = "Get User permission from Mongo DB",
+            description = "Returns 304 when If-None-Match names the current version of the document")
+    public ResponseEntity<ObjectNode> getUserPermissionFromDocument(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to get structured data for user with ID: {}", userId);
         try {
-            ObjectNode data = userPermissionService.getUserPermissionFromMongo(userId);
-            if (data != null) {
-                log.info("Successfully retrieved structured data for role with ID: {}", userId);
-                return ResponseEntity.ok(data);
-            } else {
+            VersionedPermissions data = userPermissionService.getVersionedUserPermissions(userId);
+            if (data == null) {
                 log.warn("No data found for role with ID: {}", userId);
                 return ResponseEntity.notFound().build();
             }
+            if (data.matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(data.etag()).build();
+            }
+            log.info("Successfully retrieved structured data for role with ID: {}", userId);
+            return ResponseEntity.ok().eTag(data.etag()).body(data.permissions());
         } catch (Exception e) {
             log.error("Error occurred while retrieving structured data for role with ID: {}", userId, e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @GetMapping("/user/document/{userId}/delta")
+    @Operation(summary = "Get the permission sections changed since a document version",
+            description = "Falls back to the whole document when the version is unknown or the document is not sectioned")
+    public ResponseEntity<PermissionDelta> getUserPermissionDelta(@PathVariable String userId,
+                                                                  @RequestParam long sinceVersion) {
+        log.info("Received request for permission delta of user {} since version {}", userId, sinceVersion);
+        try {
+            PermissionDelta delta = userPermissionService.getUserPermissionDelta(userId, sinceVersion);
+            if (delta == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!delta.isFull() && delta.getVersion() == sinceVersion) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.ok(delta);
+        } catch (Exception e) {
+            log.error("Error occurred while computing permission delta for user with ID: {}", userId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/user/org-ids/{userId}")
     @Operation(summary = "Get distinct org IDs for a user")
     public ResponseEntity<List<String>> getDistinctOrgIdsForUser(@PathVariable String userId) {
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 @Data
 @Document(collection = "UserBasedPermission")
 public class UserPermissionDto {
@@ -12,5 +14,10 @@ public class UserPermissionDto {
     private UserInfo user;
     private PermissionWrapper permission;
     private Metadata metadata;
+
+    /** Incremented on every write that changes the content; unchanged rebuilds keep it. */
+    private Long version;
+    private String contentHash;
+    private List<PermissionSection> sections;
 }
 
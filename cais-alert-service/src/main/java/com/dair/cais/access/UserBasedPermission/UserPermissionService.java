@@ -4,7 +4,6 @@ import com.dair.cais.access.PolicyEntityMapping.PolicyEntityMappingEntity;
 import com.dair.cais.access.PolicyEntityMapping.PolicyEntityMappingRepository;
 import com.dair.cais.access.RolePolicyMapping.RolesPolicyMappingEntity;
 import com.dair.cais.access.RolePolicyMapping.RolesPolicyMappingRepository;
-import com.dair.cais.access.modules.ModuleEntity;
 import com.dair.cais.access.modules.ModuleRepository;
 import com.dair.cais.access.user.UserEntity;
 import com.dair.cais.access.user.UserRepository;
@@ -12,7 +11,6 @@ import com.dair.cais.access.userOrgRole.UserOrgRoleMappingEntity;
 import com.dair.cais.access.userOrgRole.UserOrgRoleMappingRepository;
 import com.dair.cais.common.config.CaisAlertConstants;
 import com.dair.cais.common.config.CustomCacheable;
-import com.dair.cais.organization.OrganizationUnitEntity;
 import com.dair.cais.organization.OrganizationUnitRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,7 +18,6 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -44,6 +41,9 @@ public class UserPermissionService {
     private final MongoTemplate mongoTemplate;
     private final CacheManager cacheManager;
     private final ModuleRepository moduleRepository;
+    private final PermissionVersioning permissionVersioning;
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
 
     @Transactional
     public void refreshUserPermissions(String userId) {
@@ -54,9 +54,10 @@ public class UserPermissionService {
         log.info("Successfully refreshed permissions for user: {}", userId);
     }
 
-    private void evictUserCaches(String userId) {
+    public void evictUserCaches(String userId) {
         log.debug("Evicting caches for user: {}", userId);
         cacheManager.getCache("userPermissions").evict(userId);
+        cacheManager.getCache("userPermissionDocuments").evict(userId);
         cacheManager.getCache("userOrgUnits").evict(userId);
         cacheManager.getCache("userOrgKeys").evict(userId);
     }
@@ -64,280 +65,210 @@ public class UserPermissionService {
     @Transactional(readOnly = true)
     public UserPermissionDto generateStructuredDataForUser(String userId) {
         log.info("Generating structured data for user with ID: {}", userId);
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-
-        UserPermissionDto userPermissionDto = new UserPermissionDto();
-        userPermissionDto.setUserId(user.getUserId());
-        userPermissionDto.setUser(new UserInfo(user.getUserId(),
-                user.getUserFirstName() + " " + user.getUserLastName()));
-
-        // Initialize permission wrapper
-        PermissionWrapper permissionWrapper = new PermissionWrapper();
-
-        // Initialize metadata sets
-        Set<String> uniqueAlertTypesOrgId = new HashSet<>();
-        Set<String> uniqueOrgId = new HashSet<>();
-        Set<String> distinctOrgKeys = new HashSet<>();
-
-        // Process permissions
-        processUserPermissions(userId, permissionWrapper, uniqueAlertTypesOrgId,
-                uniqueOrgId, distinctOrgKeys);
-
-        userPermissionDto.setPermission(permissionWrapper);
-
-        // Set metadata
-        Metadata metadata = new Metadata();
-        metadata.setUniqueAlertTypesOrgId(uniqueAlertTypesOrgId);
-        metadata.setUniqueOrgId(uniqueOrgId);
-        metadata.setDistinctOrgKeys(distinctOrgKeys);
-        userPermissionDto.setMetadata(metadata);
-
-        return userPermissionDto;
+        PermissionGraph.UserAssignments assignments = loadAssignments(List.of(userId)).get(userId);
+        if (assignments == null) {
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+        return buildUserPermissions(assignments, loadGraph(List.of(assignments)));
     }
 
-    private void processRolePermissions(
-            Integer roleId,
-            String orgId,
-            Map<String, Map<String, List<ActionCondition>>> generalPermissions,
-            Map<String, Map<String, OrgActionsNew>> alertTypePermissions,
-            Set<String> uniqueAlertTypesOrgId) {
+    /**
+     * Loads the org-role mappings of the given users with one query. Users that do not exist are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, PermissionGraph.UserAssignments> loadAssignments(Collection<String> userIds) {
+        Map<String, List<PermissionGraph.Assignment>> byUser = new HashMap<>();
+        for (UserOrgRoleMappingEntity uorm : userOrgRoleMappingRepository.findByUserIdsWithOrgAndRole(userIds)) {
+            byUser.computeIfAbsent(uorm.getUser().getUserId(), k -> new ArrayList<>())
+                    .add(new PermissionGraph.Assignment(uorm.getOrgUnit().getOrgId(), uorm.getRole().getRoleId()));
+        }
 
-        List<RolesPolicyMappingEntity> rolePolicyMappings =
-                rolesPolicyMappingRepository.findByRoleRoleId(roleId);
+        Map<String, PermissionGraph.UserAssignments> result = new LinkedHashMap<>();
+        for (UserEntity user : userRepository.findAllById(userIds)) {
+            result.put(user.getUserId(), new PermissionGraph.UserAssignments(user.getUserId(),
+                    user.getUserFirstName() + " " + user.getUserLastName(),
+                    byUser.getOrDefault(user.getUserId(), List.of())));
+        }
+        return result;
+    }
 
-        for (RolesPolicyMappingEntity rpm : rolePolicyMappings) {
-            List<PolicyEntityMappingEntity> policyEntityMappings =
-                    policyEntityMappingRepository.findByPolicyPolicyId(rpm.getPolicy().getPolicyId());
+    /**
+     * Resolves the role &rarr; policy &rarr; entity graph, module names and org keys for the given users with one
+     * query per table, independent of how many users share a role.
+     */
+    @Transactional(readOnly = true)
+    public PermissionGraph loadGraph(Collection<PermissionGraph.UserAssignments> users) {
+        Set<Integer> roleIds = new HashSet<>();
+        Set<Integer> orgIds = new HashSet<>();
+        users.forEach(user -> user.assignments().forEach(assignment -> {
+            roleIds.add(assignment.roleId());
+            orgIds.add(assignment.orgId());
+        }));
+        if (roleIds.isEmpty()) {
+            return new PermissionGraph(Map.of(), Map.of(), Map.of());
+        }
 
-            for (PolicyEntityMappingEntity pem : policyEntityMappings) {
-                String entityType = pem.getEntityType().toLowerCase();
-                if ("alert-types".equals(entityType)) {
-                    processOrgBasedPermission(pem, orgId, alertTypePermissions, uniqueAlertTypesOrgId);
-                } else {
-                    processGeneralPermission(pem, entityType, generalPermissions);
+        List<RolesPolicyMappingEntity> rolePolicies = rolesPolicyMappingRepository.findByRoleRoleIdInWithPolicyAndRole(roleIds);
+        Set<Integer> policyIds = rolePolicies.stream()
+                .map(rpm -> rpm.getPolicy().getPolicyId())
+                .collect(Collectors.toSet());
+
+        Map<Integer, List<PermissionGraph.Grant>> grantsByPolicy = new HashMap<>();
+        Set<Integer> moduleIds = new HashSet<>();
+        if (!policyIds.isEmpty()) {
+            List<PolicyEntityMappingEntity> entityMappings = policyEntityMappingRepository.findByPolicyPolicyIdIn(policyIds);
+            entityMappings.sort(Comparator.comparing(PolicyEntityMappingEntity::getMappingId));
+            for (PolicyEntityMappingEntity pem : entityMappings) {
+                PermissionGraph.Grant grant = new PermissionGraph.Grant(
+                        pem.getEntityType().toLowerCase(),
+                        pem.getEntityId(),
+                        pem.getAction().getActionName(),
+                        pem.getCondition() != null ? pem.getCondition() : "");
+                grantsByPolicy.computeIfAbsent(pem.getPolicy().getPolicyId(), k -> new ArrayList<>()).add(grant);
+                if ("modules".equals(grant.entityType())) {
+                    try {
+                        moduleIds.add(Integer.parseInt(grant.entityId()));
+                    } catch (NumberFormatException e) {
+                        // Reported when a document using this grant is built
+                    }
                 }
             }
         }
-    }
 
-    private void processEntityPermission(
-            PolicyEntityMappingEntity pem,
-            String orgId,
-            Map<String, Map<String, List<ActionCondition>>> generalPermissions,
-            Map<String, Map<String, OrgActionsNew>> alertTypePermissions,
-            Set<String> uniqueAlertTypesOrgId) {
+        Map<Integer, List<PermissionGraph.Grant>> grantsByRole = new HashMap<>();
+        for (RolesPolicyMappingEntity rpm : rolePolicies) {
+            grantsByRole.computeIfAbsent(rpm.getRole().getRoleId(), k -> new ArrayList<>())
+                    .addAll(grantsByPolicy.getOrDefault(rpm.getPolicy().getPolicyId(), List.of()));
+        }
 
-        try {
-            String entityType = pem.getEntityType().toLowerCase();
-            log.debug("Processing entity permission for type: {}, id: {}", entityType, pem.getEntityId());
+        Map<Integer, String> moduleNames = new HashMap<>();
+        moduleRepository.findAllById(moduleIds)
+                .forEach(module -> moduleNames.put(module.getModuleId(), module.getModuleName()));
+        Map<Integer, String> orgKeys = new HashMap<>();
+        organizationUnitRepository.findAllById(orgIds)
+                .forEach(orgUnit -> orgKeys.put(orgUnit.getOrgId(), orgUnit.getOrgKey()));
 
-            if ("alert-types".equals(entityType)) {
-                processOrgBasedPermission(pem, orgId, alertTypePermissions, uniqueAlertTypesOrgId);
-            } else {
-                processGeneralPermission(pem, entityType, generalPermissions);
-            }
-        } catch (Exception e) {
-            log.error("Error processing entity permission for entity type: {}, id: {}: {}",
-                    pem.getEntityType(), pem.getEntityId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to process entity permission", e);
-        }
+        log.debug("Loaded permission graph: {} roles, {} policies, {} modules, {} org units",
+                grantsByRole.size(), policyIds.size(), moduleNames.size(), orgKeys.size());
+        return new PermissionGraph(grantsByRole, moduleNames, orgKeys);
     }
 
-    private void processOrgBasedPermission_OLD(
-            PolicyEntityMappingEntity pem,
-            String orgId,
-            Map<String, AlertTypeOrgPermissions> orgBasedPermissions,
-            Set<String> uniqueAlertTypesOrgId) {
+    /**
+     * Builds a user's permission document from a loaded graph. Does no I/O and is safe to call concurrently.
+     */
+    public UserPermissionDto buildUserPermissions(PermissionGraph.UserAssignments user, PermissionGraph graph) {
+        UserPermissionDto userPermissionDto = new UserPermissionDto();
+        userPermissionDto.setUserId(user.userId());
+        userPermissionDto.setUser(new UserInfo(user.userId(), user.userName()));
 
-        String entityId = pem.getEntityId();
-        AlertTypeOrgPermissions permissions = orgBasedPermissions.computeIfAbsent(
-                entityId, k -> new AlertTypeOrgPermissions());
+        // Sorted so the stored arrays, and therefore the content hash, do not depend on hash order
+        Set<String> uniqueAlertTypesOrgId = new TreeSet<>();
+        Set<String> uniqueOrgId = new TreeSet<>();
+        Set<String> distinctOrgKeys = new TreeSet<>(Comparator.nullsFirst(Comparator.naturalOrder()));
 
-        Map<String, OrgActions> orgIdMap = permissions.getOrgId();
-        if (orgIdMap == null) {
-            orgIdMap = new HashMap<>();
-            permissions.setOrgId(orgIdMap);
-        }
+        Map<String, Map<String, OrgActionsNew>> alertTypePermissions = new HashMap<>();
+        Map<String, Map<String, List<ActionCondition>>> generalPermissions = new HashMap<>();
 
-        OrgActions orgActions = orgIdMap.computeIfAbsent(orgId, k -> {
-            OrgActions actions = new OrgActions();
-            actions.setActions(new ArrayList<>());
-            return actions;
-        });
+        for (PermissionGraph.Assignment assignment : user.assignments()) {
+            String orgId = assignment.orgId().toString();
+            uniqueOrgId.add(orgId);
 
-        ActionCondition actionCondition = new ActionCondition(
-                pem.getAction().getActionName(),
-                pem.getCondition() != null ? pem.getCondition() : ""
-        );
+            if (!graph.orgKeys().containsKey(assignment.orgId())) {
+                throw new RuntimeException("Organization unit not found for ID: " + orgId);
+            }
+            distinctOrgKeys.add(graph.orgKeys().get(assignment.orgId()));
 
-        if (!orgActions.getActions().contains(actionCondition)) {
-            orgActions.getActions().add(actionCondition);
+            for (PermissionGraph.Grant grant : graph.grantsFor(assignment.roleId())) {
+                if ("alert-types".equals(grant.entityType())) {
+                    processOrgBasedPermission(grant, orgId, alertTypePermissions, uniqueAlertTypesOrgId);
+                } else if ("modules".equals(grant.entityType())) {
+                    processModulePermission(grant, graph, generalPermissions);
+                } else {
+                    addAction(generalPermissions, grant.entityType(), grant.entityId(), grant);
+                }
+            }
         }
 
-        uniqueAlertTypesOrgId.add(entityId + ":" + orgId);
-    }
-
-    private void processGeneralPermission(
-            PolicyEntityMappingEntity pem,
-            String entityType,
-            Map<String, Map<String, List<ActionCondition>>> generalPermissions) {
+        // Transform and set alert type permissions
+        PermissionWrapper permissionWrapper = new PermissionWrapper();
+        permissionWrapper.setPermissionsByType("alert-types", transformAlertTypePermissions(alertTypePermissions));
 
-        try {
-            if ("modules".equals(entityType)) {
-                processModulePermission(pem, generalPermissions);
-            } else {
-                processOtherEntityPermission(pem, entityType, generalPermissions);
-            }
-        } catch (Exception e) {
-            log.error("Error processing general permission for entity type: {}, id: {}: {}",
-                    entityType, pem.getEntityId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to process general permission", e);
+        // Set other permissions
+        if (generalPermissions.containsKey("modules")) {
+            permissionWrapper.setModules(generalPermissions.get("modules"));
+        }
+        if (generalPermissions.containsKey("reports")) {
+            permissionWrapper.setReports(generalPermissions.get("reports"));
         }
+        userPermissionDto.setPermission(permissionWrapper);
+
+        // Set metadata
+        Metadata metadata = new Metadata();
+        metadata.setUniqueAlertTypesOrgId(uniqueAlertTypesOrgId);
+        metadata.setUniqueOrgId(uniqueOrgId);
+        metadata.setDistinctOrgKeys(distinctOrgKeys);
+        userPermissionDto.setMetadata(metadata);
+
+        return userPermissionDto;
     }
 
     private void processModulePermission(
-            PolicyEntityMappingEntity pem,
+            PermissionGraph.Grant grant,
+            PermissionGraph graph,
             Map<String, Map<String, List<ActionCondition>>> generalPermissions) {
 
+        int moduleId;
         try {
-            // Get module from repository using entityId
-            Optional<ModuleEntity> moduleOpt = moduleRepository.findById(Integer.parseInt(pem.getEntityId()));
-            if (moduleOpt.isPresent()) {
-                ModuleEntity module = moduleOpt.get();
-                String moduleName = module.getModuleName();
-
-                Map<String, List<ActionCondition>> modulePermissions = generalPermissions
-                        .computeIfAbsent("modules", k -> new HashMap<>());
-
-                List<ActionCondition> actions = modulePermissions
-                        .computeIfAbsent(moduleName, k -> new ArrayList<>());
-
-                ActionCondition actionCondition = new ActionCondition(
-                        pem.getAction().getActionName(),
-                        pem.getCondition() != null ? pem.getCondition() : ""
-                );
-
-                if (!actions.contains(actionCondition)) {
-                    actions.add(actionCondition);
-                }
-
-                log.debug("Successfully processed module permission for module: {}", moduleName);
-            } else {
-                log.warn("Module not found for ID: {}", pem.getEntityId());
-            }
+            moduleId = Integer.parseInt(grant.entityId());
         } catch (NumberFormatException e) {
-            log.error("Invalid module ID format: {}", pem.getEntityId(), e);
+            log.error("Invalid module ID format: {}", grant.entityId(), e);
             throw new RuntimeException("Invalid module ID format", e);
-        } catch (Exception e) {
-            log.error("Error processing module permission for module ID: {}: {}",
-                    pem.getEntityId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to process module permission", e);
         }
+
+        String moduleName = graph.moduleNames().get(moduleId);
+        if (moduleName == null) {
+            log.warn("Module not found for ID: {}", grant.entityId());
+            return;
+        }
+        addAction(generalPermissions, "modules", moduleName, grant);
     }
 
-    private void processOtherEntityPermission(
-            PolicyEntityMappingEntity pem,
+    private void addAction(
+            Map<String, Map<String, List<ActionCondition>>> generalPermissions,
             String entityType,
-            Map<String, Map<String, List<ActionCondition>>> generalPermissions) {
-
-        try {
-            String entityId = pem.getEntityId();
-            Map<String, List<ActionCondition>> entityTypePermissions = generalPermissions
-                    .computeIfAbsent(entityType, k -> new HashMap<>());
-
-            List<ActionCondition> actions = entityTypePermissions
-                    .computeIfAbsent(entityId, k -> new ArrayList<>());
+            String key,
+            PermissionGraph.Grant grant) {
 
-            ActionCondition actionCondition = new ActionCondition(
-                    pem.getAction().getActionName(),
-                    pem.getCondition() != null ? pem.getCondition() : ""
-            );
+        List<ActionCondition> actions = generalPermissions
+                .computeIfAbsent(entityType, k -> new HashMap<>())
+                .computeIfAbsent(key, k -> new ArrayList<>());
 
-            if (!actions.contains(actionCondition)) {
-                actions.add(actionCondition);
-            }
-
-            log.debug("Successfully processed entity permission for type: {}, id: {}",
-                    entityType, entityId);
-        } catch (Exception e) {
-            log.error("Error processing entity permission for type: {}, id: {}: {}",
-                    entityType, pem.getEntityId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to process entity permission", e);
+        ActionCondition actionCondition = new ActionCondition(grant.actionName(), grant.condition());
+        if (!actions.contains(actionCondition)) {
+            actions.add(actionCondition);
         }
     }
 
     private void processOrgBasedPermission(
-            PolicyEntityMappingEntity pem,
+            PermissionGraph.Grant grant,
             String orgId,
             Map<String, Map<String, OrgActionsNew>> alertTypePermissions,
             Set<String> uniqueAlertTypesOrgId) {
 
-        try {
-            String entityId = pem.getEntityId();
-            Map<String, OrgActionsNew> orgMap = alertTypePermissions.computeIfAbsent(entityId, k -> new HashMap<>());
-
-            OrgActionsNew orgActions = orgMap.computeIfAbsent(orgId, k -> {
-                OrgActionsNew actions = new OrgActionsNew();
-                actions.setActions(new HashMap<>());
-                return actions;
-            });
-
-            ActionFormat actionFormat = new ActionFormat();
-            actionFormat.setCondition(pem.getCondition() != null ? pem.getCondition() : "");
-
-            orgActions.getActions().put(pem.getAction().getActionName(), actionFormat);
-            uniqueAlertTypesOrgId.add(entityId + ":" + orgId);
-
-            log.debug("Successfully processed org-based permission for entity: {}, orgId: {}",
-                    entityId, orgId);
-        } catch (Exception e) {
-            log.error("Error processing org-based permission for entity: {}, orgId: {}: {}",
-                    pem.getEntityId(), orgId, e.getMessage(), e);
-            throw new RuntimeException("Failed to process org-based permission", e);
-        }
-    }
-
-    // Update the method signature in processUserPermissions
-    private void processUserPermissions(
-            String userId,
-            PermissionWrapper permissionWrapper,
-            Set<String> uniqueAlertTypesOrgId,
-            Set<String> uniqueOrgId,
-            Set<String> distinctOrgKeys) {
+        String entityId = grant.entityId();
+        Map<String, OrgActionsNew> orgMap = alertTypePermissions.computeIfAbsent(entityId, k -> new HashMap<>());
 
-        Map<String, Map<String, OrgActionsNew>> alertTypePermissions = new HashMap<>();
-        Map<String, Map<String, List<ActionCondition>>> generalPermissions = new HashMap<>();
-
-        List<UserOrgRoleMappingEntity> userOrgRoleMappings =
-                userOrgRoleMappingRepository.findByUserUserId(userId);
-
-        for (UserOrgRoleMappingEntity uorm : userOrgRoleMappings) {
-            String orgId = uorm.getOrgUnit().getOrgId().toString();
-            Integer roleId = uorm.getRole().getRoleId();
-
-            uniqueOrgId.add(orgId);
-
-            // Get org key
-            OrganizationUnitEntity orgUnit = organizationUnitRepository.findById(Integer.parseInt(orgId))
-                    .orElseThrow(() -> new RuntimeException("Organization unit not found for ID: " + orgId));
-            distinctOrgKeys.add(orgUnit.getOrgKey());
-
-            processRolePermissions(roleId, orgId, generalPermissions, alertTypePermissions,
-                    uniqueAlertTypesOrgId);
-        }
+        OrgActionsNew orgActions = orgMap.computeIfAbsent(orgId, k -> {
+            OrgActionsNew actions = new OrgActionsNew();
+            actions.setActions(new HashMap<>());
+            return actions;
+        });
 
-        // Transform and set alert type permissions
-        Map<String, AlertTypeOrgPermissionsNew> formattedAlertTypePermissions = transformAlertTypePermissions(alertTypePermissions);
-        permissionWrapper.setPermissionsByType("alert-types", formattedAlertTypePermissions);
+        ActionFormat actionFormat = new ActionFormat();
+        actionFormat.setCondition(grant.condition());
 
-        // Set other permissions
-        if (generalPermissions.containsKey("modules")) {
-            permissionWrapper.setModules(generalPermissions.get("modules"));
-        }
-        if (generalPermissions.containsKey("reports")) {
-            permissionWrapper.setReports(generalPermissions.get("reports"));
-        }
+        orgActions.getActions().put(grant.actionName(), actionFormat);
+        uniqueAlertTypesOrgId.add(entityId + ":" + orgId);
     }
 
     private Map<String, AlertTypeOrgPermissionsNew> transformAlertTypePermissions(
@@ -358,27 +289,27 @@ public class UserPermissionService {
         return result;
     }
 
+    /**
+     * Stamps and writes the document unless its content is unchanged. The write only succeeds against the version it
+     * was stamped from; if a concurrent rebuild wrote first, the stamps are re-read and the write is retried.
+     */
     @Transactional
     public void saveUserPermissionToMongo(String userId, UserPermissionDto userPermissionDto) {
-        Query query = new Query(Criteria.where("userId").is(userId));
-        FindAndReplaceOptions options = new FindAndReplaceOptions().upsert();
-
-        UserPermissionDto result = mongoTemplate.findAndReplace(
-                query,
-                userPermissionDto,
-                options,
-                UserPermissionDto.class,
-                CaisAlertConstants.USER_PERMISSION_DATA,
-                UserPermissionDto.class
-        );
-
-        evictUserCaches(userId);
-
-        if (result != null) {
-            log.info("Updated existing user permissions in MongoDB for user ID: {}", userId);
-        } else {
-            log.info("Inserted new user permissions in MongoDB for user ID: {}", userId);
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            UserPermissionDto previous = permissionVersioning.findStamps(List.of(userId)).get(userId);
+            if (!permissionVersioning.stamp(userPermissionDto, previous)) {
+                log.info("User permissions unchanged for user ID: {} at version {}", userId, userPermissionDto.getVersion());
+                return;
+            }
+            if (permissionVersioning.write(userPermissionDto, previous)) {
+                evictUserCaches(userId);
+                log.info("Saved user permissions in MongoDB for user ID: {} at version {}", userId, userPermissionDto.getVersion());
+                return;
+            }
+            log.debug("Permission document for user {} changed concurrently, retrying (attempt {})", userId, attempt);
         }
+        evictUserCaches(userId);
+        throw new IllegalStateException("Permission document for user " + userId + " kept changing concurrently");
     }
 
     @CustomCacheable(cacheNames = "userPermissions", key = "#userId")
@@ -398,6 +329,24 @@ public class UserPermissionService {
         }
     }
 
+    /**
+     * Returns the permission document with an ETag built from its version and content hash, so clients can
+     * revalidate with {@code If-None-Match} instead of downloading it again.
+     */
+    @CustomCacheable(cacheNames = "userPermissionDocuments", key = "#userId")
+    public VersionedPermissions getVersionedUserPermissions(String userId) {
+        ObjectNode permissions = getUserPermissionFromMongo(userId);
+        return permissions == null ? null : new VersionedPermissions(permissions, permissionVersioning.etagOf(permissions));
+    }
+
+    /**
+     * Returns the sections changed after {@code sinceVersion}, or the whole document when a delta cannot be computed.
+     */
+    public PermissionDelta getUserPermissionDelta(String userId, long sinceVersion) {
+        ObjectNode permissions = getUserPermissionFromMongo(userId);
+        return permissions == null ? null : permissionVersioning.delta(userId, permissions, sinceVersion);
+    }
+
     @CustomCacheable(cacheNames = "userOrgUnits", key = "#userId")
     public List<String> getDistinctOrgIdsForUser(String userId) {
         log.info("Fetching org units for user {} from MongoDB", userId);
@@ -0,0 +1,29 @@
+package com.dair.cais.access.UserBasedPermission;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A user's permission document with a strong ETag over its content.
+ */
+public record VersionedPermissions(ObjectNode permissions, String etag) {
+
+    /**
+     * Whether an {@code If-None-Match} header value names this document.
+     */
+    public boolean matches(String ifNoneMatch) {
+        return matches(etag, ifNoneMatch);
+    }
+
+    public static boolean matches(String etag, String ifNoneMatch) {
+        if (etag == null || ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,18 +6,50 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean(name = "permissionRefreshExecutor")
-    public Executor permissionRefreshExecutor() {
+    /**
+     * Default executor for unqualified {@code @Async} methods. With more than one executor bean Spring only
+     * picks a default by this name, and would otherwise start a new thread per call.
+     */
+    @Bean(name = "taskExecutor")
+    public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(4);
         executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("PermissionRefresh-");
+        executor.setThreadNamePrefix("Async-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs permission rebuild jobs one after another. The queue is unbounded because jobs are coalesced per user,
+     * so it holds at most one pending job per change rather than one task per user.
+     */
+    @Bean(name = "permissionRebuildCoordinator")
+    public Executor permissionRebuildCoordinator() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("PermissionRebuild-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "permissionRebuildWorkers")
+    public Executor permissionRebuildWorkers(PermissionRebuildConfig config) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getParallelism());
+        executor.setMaxPoolSize(config.getParallelism());
+        executor.setQueueCapacity(config.getParallelism() * 4);
+        // A full queue slows the coordinator down instead of dropping work
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("PermissionBuild-");
         executor.initialize();
         return executor;
     }
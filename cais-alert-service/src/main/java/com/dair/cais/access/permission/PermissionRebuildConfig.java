@@ -0,0 +1,29 @@
+package com.dair.cais.access.permission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "permission.rebuild")
+@Data
+@Validated
+public class PermissionRebuildConfig {
+    @Min(1)
+    @Max(32)
+    private int parallelism = 4;
+
+    @Min(1)
+    @Max(5000)
+    private int batchSize = 1000;
+
+    @Min(1)
+    private int jobRetentionMinutes = 60;
+
+    @Min(0)
+    private int maxReportedFailures = 50;
+}
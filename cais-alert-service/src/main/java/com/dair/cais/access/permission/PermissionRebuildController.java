@@ -0,0 +1,58 @@
+package com.dair.cais.access.permission;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/permissions/rebuild")
+@Tag(name = "Permission Rebuild", description = "Bulk rebuild of user permission documents")
+@RequiredArgsConstructor
+public class PermissionRebuildController {
+
+    private final PermissionRebuildService permissionRebuildService;
+
+    @PostMapping("/role/{roleId}")
+    @Operation(summary = "Rebuild permissions of every user mapped to a role")
+    public ResponseEntity<PermissionRebuildJob> rebuildForRole(@PathVariable Integer roleId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(permissionRebuildService.submitForRole(roleId));
+    }
+
+    @PostMapping("/policy/{policyId}")
+    @Operation(summary = "Rebuild permissions of every user holding a role that uses the policy")
+    public ResponseEntity<PermissionRebuildJob> rebuildForPolicy(@PathVariable Integer policyId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(permissionRebuildService.submitForPolicy(policyId));
+    }
+
+    @PostMapping("/users")
+    @Operation(summary = "Rebuild permissions of the given users")
+    public ResponseEntity<PermissionRebuildJob> rebuildForUsers(@RequestBody List<String> userIds) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(permissionRebuildService.submitForUsers(userIds));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List recent permission rebuild jobs, newest first")
+    public ResponseEntity<List<PermissionRebuildJob>> getJobs() {
+        return ResponseEntity.ok(permissionRebuildService.getJobs());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get the progress of a permission rebuild job")
+    public ResponseEntity<PermissionRebuildJob> getJob(@PathVariable String jobId) {
+        return permissionRebuildService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
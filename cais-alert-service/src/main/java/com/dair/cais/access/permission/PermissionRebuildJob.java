@@ -0,0 +1,118 @@
+package com.dair.cais.access.permission;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one permission rebuild. Counters are updated by the rebuild threads and read by the status endpoint.
+ */
+@Getter
+public class PermissionRebuildJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final String trigger;
+    private final Instant submittedAt = Instant.now();
+    /** Users requested but already waiting in an earlier job, so not rebuilt again here. */
+    private final int coalescedUsers;
+    @JsonIgnore
+    private final Set<String> userIds;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger built = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger written = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger unchanged = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger failed = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    PermissionRebuildJob(String trigger, Set<String> userIds, int coalescedUsers) {
+        this.trigger = trigger;
+        this.userIds = userIds;
+        this.coalescedUsers = coalescedUsers;
+    }
+
+    public int getTotalUsers() {
+        return userIds.size();
+    }
+
+    public int getBuiltUsers() {
+        return built.get();
+    }
+
+    public int getWrittenUsers() {
+        return written.get();
+    }
+
+    /** Users whose rebuilt document had the same content hash, so nothing was written. */
+    public int getUnchangedUsers() {
+        return unchanged.get();
+    }
+
+    public int getFailedUsers() {
+        return failed.get();
+    }
+
+    public Map<String, String> getFailures() {
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void finished() {
+        finishedAt = Instant.now();
+        status = failed.get() > 0 ? Status.COMPLETED_WITH_ERRORS : Status.COMPLETED;
+    }
+
+    void aborted(Exception e) {
+        error = e.getMessage();
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void recordBuilt() {
+        built.incrementAndGet();
+    }
+
+    void recordWritten(int count) {
+        written.addAndGet(count);
+    }
+
+    void recordUnchanged() {
+        unchanged.incrementAndGet();
+    }
+
+    void recordFailure(String userId, String message, int maxReported) {
+        failed.incrementAndGet();
+        synchronized (failures) {
+            if (failures.size() < maxReported) {
+                failures.put(userId, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.dair.cais.access.permission;
+
+import com.dair.cais.access.RolePolicyMapping.RolesPolicyMappingRepository;
+import com.dair.cais.access.UserBasedPermission.PermissionGraph;
+import com.dair.cais.access.UserBasedPermission.PermissionVersioning;
+import com.dair.cais.access.UserBasedPermission.UserPermissionDto;
+import com.dair.cais.access.UserBasedPermission.UserPermissionService;
+import com.dair.cais.access.userOrgRole.UserOrgRoleMappingRepository;
+import com.dair.cais.common.config.CaisAlertConstants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the permission documents of many users at once, e.g. everyone holding a role whose policies changed.
+ * <p>
+ * A job loads the mappings of all its users and the role &rarr; policy &rarr; entity graph once, builds the
+ * documents in parallel from that detached graph and writes each batch with one unordered Mongo bulk write.
+ * Documents whose content hash is unchanged are skipped; the others are written against the version they were
+ * stamped from.
+ * Jobs run one at a time on a coordinator thread. A user already waiting in a queued job is not added to a new
+ * one; once a job starts, its users can be queued again so changes made during the run are not lost.
+ */
+@Slf4j
+@Service
+public class PermissionRebuildService {
+    private final UserOrgRoleMappingRepository userOrgRoleMappingRepository;
+    private final RolesPolicyMappingRepository rolesPolicyMappingRepository;
+    private final UserPermissionService userPermissionService;
+    private final PermissionVersioning permissionVersioning;
+    private final MongoTemplate mongoTemplate;
+    private final PermissionRebuildConfig config;
+    private final Executor coordinator;
+    private final Executor workers;
+
+    private final Set<String> queuedUsers = ConcurrentHashMap.newKeySet();
+    private final Cache<String, PermissionRebuildJob> jobs;
+
+    public PermissionRebuildService(UserOrgRoleMappingRepository userOrgRoleMappingRepository,
+                                    RolesPolicyMappingRepository rolesPolicyMappingRepository,
+                                    UserPermissionService userPermissionService,
+                                    PermissionVersioning permissionVersioning,
+                                    MongoTemplate mongoTemplate,
+                                    PermissionRebuildConfig config,
+                                    @Qualifier("permissionRebuildCoordinator") Executor coordinator,
+                                    @Qualifier("permissionRebuildWorkers") Executor workers) {
+        this.userOrgRoleMappingRepository = userOrgRoleMappingRepository;
+        this.rolesPolicyMappingRepository = rolesPolicyMappingRepository;
+        this.userPermissionService = userPermissionService;
+        this.permissionVersioning = permissionVersioning;
+        this.mongoTemplate = mongoTemplate;
+        this.config = config;
+        this.coordinator = coordinator;
+        this.workers = workers;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(config.getJobRetentionMinutes()))
+                .maximumSize(1000)
+                .build();
+    }
+
+    public PermissionRebuildJob submitForRole(Integer roleId) {
+        return submit("role:" + roleId, userOrgRoleMappingRepository.findUserIdsByRoleIds(List.of(roleId)));
+    }
+
+    public PermissionRebuildJob submitForPolicy(Integer policyId) {
+        List<Integer> roleIds = rolesPolicyMappingRepository.findByPolicyPolicyIdWithPolicyAndRole(policyId).stream()
+                .map(rpm -> rpm.getRole().getRoleId())
+                .distinct()
+                .collect(Collectors.toList());
+        List<String> userIds = roleIds.isEmpty() ? List.of() : userOrgRoleMappingRepository.findUserIdsByRoleIds(roleIds);
+        return submit("policy:" + policyId, userIds);
+    }
+
+    public PermissionRebuildJob submitForUsers(Collection<String> userIds) {
+        return submit("users", userIds);
+    }
+
+    public Optional<PermissionRebuildJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    public List<PermissionRebuildJob> getJobs() {
+        return jobs.asMap().values().stream()
+                .sorted(Comparator.comparing(PermissionRebuildJob::getSubmittedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private PermissionRebuildJob submit(String trigger, Collection<String> requested) {
+        Set<String> distinct = new LinkedHashSet<>(requested);
+        Set<String> accepted = new LinkedHashSet<>();
+        for (String userId : distinct) {
+            if (queuedUsers.add(userId)) {
+                accepted.add(userId);
+            }
+        }
+
+        PermissionRebuildJob job = new PermissionRebuildJob(trigger, accepted, distinct.size() - accepted.size());
+        jobs.put(job.getJobId(), job);
+        log.info("Permission rebuild {} for {}: {} users queued, {} already queued",
+                job.getJobId(), trigger, accepted.size(), job.getCoalescedUsers());
+
+        if (accepted.isEmpty()) {
+            job.finished();
+        } else {
+            coordinator.execute(() -> run(job));
+        }
+        return job;
+    }
+
+    private void run(PermissionRebuildJob job) {
+        job.started();
+        // From here on a change for these users needs a new job, since this one may already have read the old data
+        queuedUsers.removeAll(job.getUserIds());
+        long start = System.currentTimeMillis();
+
+        try {
+            List<PermissionGraph.UserAssignments> users = new ArrayList<>();
+            for (List<String> batch : partition(new ArrayList<>(job.getUserIds()), config.getBatchSize())) {
+                Map<String, PermissionGraph.UserAssignments> loaded = userPermissionService.loadAssignments(batch);
+                for (String userId : batch) {
+                    PermissionGraph.UserAssignments assignments = loaded.get(userId);
+                    if (assignments != null) {
+                        users.add(assignments);
+                    } else {
+                        job.recordFailure(userId, "User not found", config.getMaxReportedFailures());
+                    }
+                }
+            }
+
+            PermissionGraph graph = userPermissionService.loadGraph(users);
+            for (List<PermissionGraph.UserAssignments> batch : partition(users, config.getBatchSize())) {
+                write(job, build(job, batch, graph));
+            }
+
+            job.finished();
+            log.info("Permission rebuild {} finished in {}ms: {} written, {} unchanged, {} failed",
+                    job.getJobId(), System.currentTimeMillis() - start, job.getWrittenUsers(), job.getUnchangedUsers(),
+                    job.getFailedUsers());
+        } catch (Exception e) {
+            log.error("Permission rebuild {} failed: {}", job.getJobId(), e.getMessage(), e);
+            job.aborted(e);
+        }
+    }
+
+    private List<UserPermissionDto> build(PermissionRebuildJob job, List<PermissionGraph.UserAssignments> users,
+                                          PermissionGraph graph) {
+        int sliceSize = (users.size() + config.getParallelism() - 1) / config.getParallelism();
+        List<CompletableFuture<List<UserPermissionDto>>> slices = partition(users, sliceSize).stream()
+                .map(slice -> CompletableFuture.supplyAsync(() -> buildSlice(job, slice, graph), workers))
+                .collect(Collectors.toList());
+
+        List<UserPermissionDto> documents = new ArrayList<>(users.size());
+        slices.forEach(slice -> documents.addAll(slice.join()));
+        return documents;
+    }
+
+    private List<UserPermissionDto> buildSlice(PermissionRebuildJob job, List<PermissionGraph.UserAssignments> users,
+                                               PermissionGraph graph) {
+        List<UserPermissionDto> documents = new ArrayList<>(users.size());
+        for (PermissionGraph.UserAssignments user : users) {
+            try {
+                documents.add(userPermissionService.buildUserPermissions(user, graph));
+                job.recordBuilt();
+            } catch (Exception e) {
+                log.error("Failed to build permissions for user: {}", user.userId(), e);
+                job.recordFailure(user.userId(), e.getMessage(), config.getMaxReportedFailures());
+            }
+        }
+        return documents;
+    }
+
+    private void write(PermissionRebuildJob job, List<UserPermissionDto> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        Map<String, UserPermissionDto> stamps = permissionVersioning.findStamps(
+                documents.stream().map(UserPermissionDto::getUserId).collect(Collectors.toList()));
+
+        List<UserPermissionDto> changed = new ArrayList<>(documents.size());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                UserPermissionDto.class, CaisAlertConstants.USER_PERMISSION_DATA);
+        for (UserPermissionDto document : documents) {
+            UserPermissionDto previous = stamps.get(document.getUserId());
+            if (!permissionVersioning.stamp(document, previous)) {
+                job.recordUnchanged();
+                continue;
+            }
+            if (previous == null) {
+                bulk.insert(document);
+            } else {
+                bulk.replaceOne(permissionVersioning.versionQuery(document.getUserId(), previous), document);
+            }
+            changed.add(document);
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkWriteResult result = bulk.execute();
+            int written = result.getInsertedCount() + result.getMatchedCount();
+            if (written < changed.size()) {
+                // A replace matched nothing: the document moved past the version it was stamped from
+                log.warn("Permission rebuild {}: {} documents were changed concurrently and kept their newer version",
+                        job.getJobId(), changed.size() - written);
+            }
+            job.recordWritten(written);
+        } catch (BulkOperationException e) {
+            job.recordWritten(e.getResult().getInsertedCount() + e.getResult().getMatchedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                job.recordFailure(changed.get(error.getIndex()).getUserId(), error.getMessage(),
+                        config.getMaxReportedFailures());
+            }
+        }
+        changed.forEach(document -> userPermissionService.evictUserCaches(document.getUserId()));
+    }
+
+    private static <T> List<List<T>> partition(List<T> values, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += size) {
+            batches.add(values.subList(i, Math.min(i + size, values.size())));
+        }
+        return batches;
+    }
+}
@@ -1,6 +1,7 @@
 package com.dair.cais.access.user;
 
 import com.dair.cais.access.UserBasedPermission.UserPermissionService;
+import com.dair.cais.access.UserBasedPermission.VersionedPermissions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,12 +9,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.List;
 
 @RestController
@@ -71,8 +77,14 @@ public class AuthenticationController {
     }
 
     @PostMapping("/validate")
-    @Operation(summary = "Validate JWT token and get user information")
-    public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String authHeader) {
+    @Operation(summary = "Validate JWT token and get user information",
+            description = "With includePermissions=false only the token claims are returned. Otherwise the permission " +
+                    "document is included and the response carries an ETag; send it back as If-None-Match to get 304 " +
+                    "while neither the permissions nor the token claims have changed.")
+    public ResponseEntity<?> validateToken(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(defaultValue = "true") boolean includePermissions) {
         try {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -80,14 +92,21 @@ public class AuthenticationController {
             }
 
             String token = authHeader.substring(7);
-            TokenValidationResponse response = authenticationService.validateToken(token);
+            TokenValidationResponse response = authenticationService.validateToken(token, includePermissions);
 
             if (response == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body("Invalid credentials");  // Match login error message
             }
 
-            return ResponseEntity.ok(response);
+            if (response.getPermissionsETag() == null) {
+                return ResponseEntity.ok(response);
+            }
+            String etag = responseETag(response);
+            if (VersionedPermissions.matches(etag, ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(response);
         } catch (Exception e) {
             log.error("Error validating token: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -95,6 +114,25 @@ public class AuthenticationController {
         }
     }
 
+    /**
+     * ETag over everything the validation body carries, so a renewed token with unchanged permissions
+     * still gets a fresh body with its new expiry.
+     */
+    private String responseETag(TokenValidationResponse response) {
+        String content = String.join("|",
+                response.getPermissionsETag(),
+                String.valueOf(response.getUserId()),
+                String.valueOf(response.getUsername()),
+                response.getExpiresAt() != null ? String.valueOf(response.getExpiresAt().getTime()) : "",
+                String.valueOf(response.getToken()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     @GetMapping("/users/info/{userId}")
     @Operation(
             summary = "Get user details by ID",
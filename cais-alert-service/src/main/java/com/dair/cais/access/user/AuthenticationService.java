@@ -1,12 +1,12 @@
 package com.dair.cais.access.user;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.dair.cais.access.UserBasedPermission.UserPermissionService;
+import com.dair.cais.access.UserBasedPermission.VersionedPermissions;
 
 
 import java.util.ArrayList;
@@ -85,6 +85,14 @@ public class AuthenticationService {
     }
 
     public TokenValidationResponse validateToken(String token) {
+        return validateToken(token, true);
+    }
+
+    /**
+     * Validates the token and, unless {@code includePermissions} is false, attaches the user's permission document
+     * and its ETag. Claims-only validation touches neither Mongo nor the permission caches.
+     */
+    public TokenValidationResponse validateToken(String token, boolean includePermissions) {
         TokenValidationResponse response = new TokenValidationResponse();
 
         JwtService.TokenValidationResult validationResult = jwtService.validateAndExtractClaims(token);
@@ -97,11 +105,20 @@ public class AuthenticationService {
 
         // Set the same token back
         response.setToken(token);
+        response.setUsername(validationResult.getUsername());
+        response.setExpiresAt(validationResult.getExpiresAt());
+
+        if (!includePermissions) {
+            return response;
+        }
 
         // Get user permissions
         try {
-            ObjectNode permissions = userPermissionService.getUserPermissionFromMongo(validationResult.getUserId());
-            response.setPermissions(permissions);
+            VersionedPermissions permissions = userPermissionService.getVersionedUserPermissions(validationResult.getUserId());
+            if (permissions != null) {
+                response.setPermissions(permissions.permissions());
+                response.setPermissionsETag(permissions.etag());
+            }
         } catch (Exception e) {
             log.error("Error fetching permissions for user {}: {}", validationResult.getUserId(), e.getMessage());
             return null;
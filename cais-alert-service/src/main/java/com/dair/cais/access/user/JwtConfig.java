@@ -16,6 +16,9 @@ public class JwtConfig {
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
     @Bean
     public Key key() {
         byte[] decodedKey = Base64.getDecoder().decode(secret);
@@ -29,4 +32,8 @@ public class JwtConfig {
     public Long getExpiration() {
         return expiration;
     }
+
+    public long getVerifiedCacheSize() {
+        return verifiedCacheSize;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.dair.cais.access.user;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.AllArgsConstructor;
@@ -8,21 +12,60 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies HS256 tokens.
+ * <p>
+ * Verification uses one parser built at startup. Tokens that verify are remembered by their SHA-256 digest until
+ * they expire, so repeated validation of the same token skips parsing and the signature check. Only valid tokens
+ * with an expiry are cached and the raw token is never kept.
+ */
 @Service
 @Slf4j
 public class JwtService {
 
     private final JwtConfig jwtConfig;
     private final Key key;
+    private final JwtParser parser;
+    private final Cache<String, TokenValidationResult> verifiedTokens;
 
     public JwtService(JwtConfig jwtConfig, Key key) {
         this.jwtConfig = jwtConfig;
         this.key = key;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getVerifiedCacheSize())
+                .expireAfter(new Expiry<String, TokenValidationResult>() {
+                    @Override
+                    public long expireAfterCreate(String digest, TokenValidationResult result, long currentTime) {
+                        long remainingMillis = result.getExpiresAt().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, TokenValidationResult result, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(digest, result, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, TokenValidationResult result, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String userId, String username) {
@@ -40,24 +83,40 @@ public class JwtService {
     }
 
     public Claims validateToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public TokenValidationResult validateAndExtractClaims(String token) {
+        String digest = digest(token);
+        TokenValidationResult cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             Claims claims = validateToken(token);
-            return new TokenValidationResult(
+            TokenValidationResult result = new TokenValidationResult(
                     true,
                     claims.get("userId", String.class),
-                    claims.get("username", String.class)
+                    claims.get("username", String.class),
+                    claims.getExpiration()
             );
+            if (result.getExpiresAt() != null) {
+                verifiedTokens.put(digest, result);
+            }
+            return result;
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
-            return new TokenValidationResult(false, null, null);
+            return new TokenValidationResult(false, null, null, null);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 
@@ -67,5 +126,6 @@ public class JwtService {
         private boolean valid;
         private String userId;
         private String username;
+        private Date expiresAt;
     }
 }
\ No newline at end of file
@@ -3,9 +3,14 @@ package com.dair.cais.access.user;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Data;
 
+import java.util.Date;
+
 @Data
 public class TokenValidationResponse {
     private Integer userId;  // Changed from String to Integer to match login response
     private String token;    // Added token field
-    private ObjectNode permissions;
+    private String username;
+    private Date expiresAt;
+    private ObjectNode permissions;  // Null when validating claims only
+    private String permissionsETag;
 }
\ No newline at end of file
@@ -4,8 +4,10 @@ import com.dair.cais.access.Role.RoleEntity;
 import com.dair.cais.access.user.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +22,15 @@ public interface UserOrgRoleMappingRepository extends JpaRepository<UserOrgRoleM
     List<UserEntity> findUsersByRole(RoleEntity role);
 
     List<UserOrgRoleMappingEntity> findByRoleRoleId(Integer roleId);
+
+    @Query("SELECT DISTINCT m.user.userId FROM UserOrgRoleMappingEntity m WHERE m.role.roleId IN :roleIds")
+    List<String> findUserIdsByRoleIds(@Param("roleIds") Collection<Integer> roleIds);
+
+    @Query("SELECT m FROM UserOrgRoleMappingEntity m " +
+            "JOIN FETCH m.user " +
+            "JOIN FETCH m.orgUnit " +
+            "JOIN FETCH m.role " +
+            "WHERE m.user.userId IN :userIds " +
+            "ORDER BY m.mappingId")
+    List<UserOrgRoleMappingEntity> findByUserIdsWithOrgAndRole(@Param("userIds") Collection<String> userIds);
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.dair.cais.alert;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses and normalizes the date strings carried by alerts.
+ * <p>
+ * Alerts arrive with {@code yyyy-MM-dd'T'HH:mm:ss}, {@code yyyy-MM-dd HH:mm:ss}, {@code LocalDateTime.toString()}
+ * output (minutes only or fractional seconds) and plain {@code yyyy-MM-dd}. The format is detected in one pass over
+ * the characters and the fields are read straight from the string, so parsing never allocates a formatter and
+ * never uses exceptions to try the next format.
+ */
+public final class AlertDateNormalizer {
+
+    /** The format alerts are stored with. */
+    public static final DateTimeFormatter STORED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    enum Format {
+        /** {@code yyyy-MM-dd'T'HH:mm:ss} */
+        CANONICAL,
+        /** {@code yyyy-MM-dd HH:mm:ss} */
+        SPACED,
+        /** {@code yyyy-MM-dd'T'HH:mm}, as written by {@code LocalDateTime.toString()} for whole minutes */
+        MINUTES,
+        /** {@code yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS} with 1 to 9 fraction digits */
+        FRACTION,
+        /** {@code yyyy-MM-dd} */
+        DATE,
+        NONE
+    }
+
+    private AlertDateNormalizer() {
+    }
+
+    public static String format(LocalDateTime dateTime) {
+        return STORED_FORMAT.format(dateTime);
+    }
+
+    /**
+     * Parses any supported format; {@code null} yields {@code null}.
+     *
+     * @throws IllegalArgumentException if the value is not a date in a supported format
+     */
+    public static LocalDateTime parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        LocalDateTime parsed = parseOrNull(value, detect(value));
+        if (parsed == null) {
+            throw new IllegalArgumentException("Unable to parse date: " + value);
+        }
+        return parsed;
+    }
+
+    /**
+     * Rewrites {@code yyyy-MM-dd HH:mm:ss} values to the canonical format. Other values, including the
+     * other date formats whose precision would change, are returned as they are.
+     */
+    public static String normalize(String value) {
+        if (value == null || detect(value) != Format.SPACED) {
+            return value;
+        }
+        LocalDateTime parsed = parseOrNull(value, Format.SPACED);
+        return parsed != null ? format(parsed) : value;
+    }
+
+    /**
+     * Normalizes the date strings of a nested map such as {@code customFields} or {@code reasonDetails}.
+     * The input is never modified: the same instance is returned when nothing changes, otherwise a copy
+     * in which only the changed branches are new.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> normalizeDates(Map<String, Object> map) {
+        return map == null ? null : (Map<String, Object>) normalizeValue(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object normalizeValue(Object value) {
+        if (value instanceof String text) {
+            return normalize(text);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = null;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object normalized = normalizeValue(entry.getValue());
+                if (normalized != entry.getValue()) {
+                    if (copy == null) {
+                        copy = new LinkedHashMap<>((Map<Object, Object>) map);
+                    }
+                    copy.put(entry.getKey(), normalized);
+                }
+            }
+            return copy != null ? copy : map;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object item = list.get(i);
+                Object normalized = normalizeValue(item);
+                if (normalized != item) {
+                    if (copy == null) {
+                        copy = new ArrayList<>(list);
+                    }
+                    copy.set(i, normalized);
+                }
+            }
+            return copy != null ? copy : list;
+        }
+        return value;
+    }
+
+    static Format detect(CharSequence value) {
+        int length = value.length();
+        if (length < 10 || !digits(value, 0, 4) || value.charAt(4) != '-' || !digits(value, 5, 7)
+                || value.charAt(7) != '-' || !digits(value, 8, 10)) {
+            return Format.NONE;
+        }
+        if (length == 10) {
+            return Format.DATE;
+        }
+        char separator = value.charAt(10);
+        if ((separator != 'T' && separator != ' ') || length < 16 || !digits(value, 11, 13)
+                || value.charAt(13) != ':' || !digits(value, 14, 16)) {
+            return Format.NONE;
+        }
+        if (length == 16) {
+            return separator == 'T' ? Format.MINUTES : Format.NONE;
+        }
+        if (length < 19 || value.charAt(16) != ':' || !digits(value, 17, 19)) {
+            return Format.NONE;
+        }
+        if (length == 19) {
+            return separator == 'T' ? Format.CANONICAL : Format.SPACED;
+        }
+        if (separator == 'T' && length <= 29 && value.charAt(19) == '.' && length > 20 && digits(value, 20, length)) {
+            return Format.FRACTION;
+        }
+        return Format.NONE;
+    }
+
+    private static LocalDateTime parseOrNull(CharSequence value, Format format) {
+        if (format == Format.NONE) {
+            return null;
+        }
+        int year = number(value, 0, 4);
+        int month = number(value, 5, 7);
+        int day = number(value, 8, 10);
+        int hour = format == Format.DATE ? 0 : number(value, 11, 13);
+        int minute = format == Format.DATE ? 0 : number(value, 14, 16);
+        int second = format == Format.DATE || format == Format.MINUTES ? 0 : number(value, 17, 19);
+        int nano = 0;
+        if (format == Format.FRACTION) {
+            nano = number(value, 20, value.length());
+            for (int digits = value.length() - 20; digits < 9; digits++) {
+                nano *= 10;
+            }
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            // Right shape but out of range, e.g. month 13
+            return null;
+        }
+    }
+
+    private static boolean digits(CharSequence value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int number(CharSequence value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+}
@@ -2,21 +2,16 @@ package com.dair.cais.alert;
 
 import com.dair.cais.common.config.CaisAlertConstants;
 import com.dair.exception.CaisBaseException;
-import org.bson.Document;
+import com.dair.util.PatchFields;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
-import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
-import java.lang.reflect.Field;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -48,42 +43,16 @@ public class AlertRepository {
     }
 
 
-    public List<AlertEntity> findAlertsByOrgFamilyBYUserOrgKeys(List<String> orgKeys) {
-        AggregationOperation matchActiveNonDeleted = Aggregation.match(
-                Criteria.where("isDeleted").is(false).and("isActive").is(true)
-        );
-
-        AggregationOperation splitOrgFamily = new AggregationOperation() {
-            @Override
-            public Document toDocument(AggregationOperationContext context) {
-                return new Document("$addFields",
-                        new Document("orgFamilyTokens",
-                                new Document("$split", Arrays.asList("$orgFamily", ":"))
-                        )
-                );
-            }
-        };
-
-        AggregationOperation matchOrgKeys = Aggregation.match(
-                new Criteria().orOperator(
-                        Criteria.where("orgFamilyTokens").in(orgKeys),
-                        Criteria.where("orgFamily").in(orgKeys)
-                )
-        );
-
-        Aggregation aggregation = Aggregation.newAggregation(
-                matchActiveNonDeleted,
-                splitOrgFamily,
-                matchOrgKeys
-        );
-
-        AggregationResults<AlertEntity> results = mongoTemplate.aggregate(
-                aggregation,
-                CaisAlertConstants.ALERTS,
-                AlertEntity.class
-        );
-
-        return results.getMappedResults();
+    /**
+     * Active, non-deleted alerts owned by any of the given org units. Callers expand a user's org keys to
+     * their whole subtree first, so the match is a plain {@code $in} on {@code orgUnitId}, served by the
+     * index that {@code OrganizationIndexInitializer} creates.
+     */
+    public List<AlertEntity> findActiveAlertsByOrgUnitIds(Collection<String> orgUnitIds) {
+        Query query = new Query(Criteria.where("isDeleted").is(false)
+                .and("isActive").is(true)
+                .and("orgUnitId").in(orgUnitIds));
+        return mongoTemplate.find(query, AlertEntity.class, CaisAlertConstants.ALERTS);
     }
 
 
@@ -233,21 +202,7 @@ public class AlertRepository {
         String collectionName = extractCollectionName(alertType);
         Update update = new Update();
 
-        for (Field field : alertEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(alertEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(alertEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(alertEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
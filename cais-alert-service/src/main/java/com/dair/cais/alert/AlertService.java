@@ -10,19 +10,18 @@ import com.dair.cais.alert.exception.AlertOperationException;
 import com.dair.cais.alert.exception.AlertValidationException;
 import com.dair.cais.alert.filter.FilterCriteria;
 import com.dair.cais.alert.filter.MongoQueryBuilder;
-import com.dair.cais.alert.rdbms.RdbmsAlertEntity;
-import com.dair.cais.alert.rdbms.RdbmsAlertMapper;
-import com.dair.cais.alert.rdbms.RdbmsAlertRepository;
+import com.dair.cais.alert.projection.AlertOutbox;
 import com.dair.cais.audit.AuditLogRequest;
 import com.dair.cais.audit.AuditTrailService;
 import com.dair.cais.common.config.CaisAlertConstants;
 import com.dair.cais.organization.OrganizationFamilyEntity;
 import com.dair.cais.organization.OrganizationFamilyRepository;
-import com.dair.cais.steps.Step;
-import com.dair.cais.steps.StepRepository;
-import com.dair.cais.steps.StepStatus;
-import com.dair.cais.steps.StepStatusRepository;
+import com.dair.cais.organization.OrganizationHierarchyService;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.steps.dto.StepDTO;
 import com.dair.cais.type.AlertTypeExtended;
+import com.dair.cais.type.AlertTypeRegistry;
 import com.dair.cais.type.AlertTypeServiceExtended;
 import com.dair.cais.workflow.entity.WorkflowStepEntity;
 import com.dair.cais.workflow.entity.WorkflowTransitionEntity;
@@ -37,26 +36,22 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.bson.Document;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
-import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.Fields;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.util.StringUtils;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -66,17 +61,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class AlertService {
 
-   private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
    private final AlertMapper alertMapper;
-   private final RdbmsAlertMapper rdbmsAlertMapper;
-   private final StepRepository stepsRepository;
-   private final StepStatusRepository stepStatusRepository;
    private final MongoTemplate mongoTemplate;
    private final AlertRepository alertRepository;
-   private final RdbmsAlertRepository rdbmsAlertRepository;
+   private final AlertOutbox alertOutbox;
    private final AuditTrailService auditTrailService;
    private final UserPermissionService userPermissionService;
+   private final OrganizationHierarchyService organizationHierarchyService;
+   private final ReferenceDataService referenceDataService;
+   private final AlertTypeRegistry alertTypeRegistry;
    private final ObjectMapper objectMapper;
    private final UserRepository userRepository;
    private final OrganizationFamilyRepository orgFamilyRepository;
@@ -98,13 +92,16 @@ public class AlertService {
          log.error("Validation failed for alert: {}", alert.getAlertId());
          throw new AlertValidationException("Alert validation failed", validationErrors);
       }
+      return insertAlert(alert);
+   }
 
-      AlertEntity savedMongoEntity = null;
+   private Alert insertAlert(Alert alert) {
+      AlertEntity savedMongoEntity;
 
       try {
          // Set timestamps
          LocalDateTime now = LocalDateTime.now();
-         String formattedDateTime = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+         String formattedDateTime = AlertDateNormalizer.format(now);
 
          // Create a copy of the alert to avoid modifying the input
          Alert processedAlert = new Alert();
@@ -116,6 +113,11 @@ public class AlertService {
          processedAlert.setCreatedAt(now);
          processedAlert.setUpdatedAt(now);
 
+         // Store caller-supplied dates in the canonical format
+         processedAlert.setBusinessDate(AlertDateNormalizer.normalize(processedAlert.getBusinessDate()));
+         processedAlert.setCustomFields(AlertDateNormalizer.normalizeDates(processedAlert.getCustomFields()));
+         processedAlert.setReasonDetails(AlertDateNormalizer.normalizeDates(processedAlert.getReasonDetails()));
+
          // Create in MongoDB first
          AlertEntity mongoEntity = alertMapper.toEntity(processedAlert);
          savedMongoEntity = alertRepository.createUpsertAlert(mongoEntity);
@@ -124,94 +126,25 @@ public class AlertService {
             throw new AlertCreationException("Failed to save alert in MongoDB", null);
          }
 
-         // Create in RDBMS
-         RdbmsAlertEntity rdbmsEntity = rdbmsAlertMapper.toRdbmsEntity(processedAlert);
-         try {
-            rdbmsAlertRepository.save(rdbmsEntity);
-         } catch (Exception e) {
-            // If RDBMS fails, manually rollback MongoDB
-            if (savedMongoEntity != null) {
-               try {
-                  alertRepository.deleteById(savedMongoEntity.getAlertId());
-                  log.debug("Successfully rolled back from Mongo for alertId: {}", alert.getAlertId());
-               } catch (Exception deleteEx) {
-                  log.error("Failed to rollback MongoDB save for alertId: {}", alert.getAlertId(), deleteEx);
-               }
-            }
-            throw new AlertCreationException("Failed to save alert in RDBMS", e);
-         }
+         queueProjection(savedMongoEntity.getAlertId());
 
-         log.debug("Successfully created alert in both databases for alertId: {}", alert.getAlertId());
+         log.debug("Successfully created alert for alertId: {}", alert.getAlertId());
          return alertMapper.toModel(savedMongoEntity);
 
       } catch (Exception e) {
-         // Ensure MongoDB is rolled back if anything fails
-         if (savedMongoEntity != null) {
-            try {
-               alertRepository.deleteById(savedMongoEntity.getAlertId());
-            } catch (Exception deleteEx) {
-               log.error("Failed to rollback MongoDB save for alertId: {}", alert.getAlertId(), deleteEx);
-            }
-         }
          log.error("Failed to create alert: {}. Error: {}", alert.getAlertId(), e.getMessage(), e);
-         throw new AlertCreationException("Failed to create alert in databases", e);
-      }
-   }
-
-   @SuppressWarnings("unchecked")
-   private void formatDatesInMap(Map<String, Object> map) {
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-         Object value = entry.getValue();
-         if (value instanceof String && isDateString((String) value)) {
-            // Leave the date string as is if it's already in the correct format
-            continue;
-         } else if (value instanceof Map) {
-            formatDatesInMap((Map<String, Object>) value);
-         } else if (value instanceof List) {
-            formatDatesInList((List<Object>) value);
-         }
-      }
-   }
-
-   @SuppressWarnings("unchecked")
-   private void formatDatesInList(List<Object> list) {
-      for (int i = 0; i < list.size(); i++) {
-         Object item = list.get(i);
-         if (item instanceof String && isDateString((String) item)) {
-            // Leave the date string as is if it's already in the correct format
-            continue;
-         } else if (item instanceof Map) {
-            formatDatesInMap((Map<String, Object>) item);
-         } else if (item instanceof List) {
-            formatDatesInList((List<Object>) item);
-         }
+         throw new AlertCreationException("Failed to create alert", e);
       }
    }
 
-   private boolean isDateString(String value) {
-      try {
-         // Check if the string matches the expected format "yyyy-MM-dd'T'HH:mm:ss"
-         return value.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}");
-      } catch (Exception e) {
-         return false;
-      }
+   /**
+    * Queues the alert for projection into PostgreSQL. Mongo is the source of truth, so a failed enqueue does not
+    * fail the write; the outbox holds the alert and retries it on the next projection run.
+    */
+   private void queueProjection(String alertId) {
+      alertOutbox.enqueue(alertId);
    }
 
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
    public List<Alert> getAllActiveAlerts() {
       log.debug("Fetching all active and non-deleted alerts");
       List<AlertEntity> activeAlertEntities = alertRepository.findAllActiveAndNonDeletedAlerts();
@@ -315,7 +248,7 @@ public class AlertService {
    public List<AlertEntity> findAlertsByOrgFamilyByUserOrgKeys(String userId) {
       log.debug("Finding alerts for user: {}", userId);
       List<String> userOrgKeys = userPermissionService.getDistinctOrgKeysForUser(userId);
-      return alertRepository.findAlertsByOrgFamilyBYUserOrgKeys(userOrgKeys);
+      return alertRepository.findActiveAlertsByOrgUnitIds(organizationHierarchyService.descendantsOf(userOrgKeys));
    }
 
    @Transactional
@@ -333,17 +266,14 @@ public class AlertService {
             return Collections.emptyList();
          }
 
-         // Create base criteria for org family matching
-         Criteria orgCriteria = new Criteria().orOperator(
-                 Criteria.where("orgFamilyTokens").in(userOrgKeys),
-                 Criteria.where("orgFamily").in(userOrgKeys)
-         );
+         // Org units the user can see: their own and everything below them
+         Set<String> visibleOrgUnitIds = organizationHierarchyService.descendantsOf(userOrgKeys);
 
          // Add active and non-deleted criteria
          Criteria baseCriteria = new Criteria().andOperator(
                  Criteria.where("isDeleted").is(false),
                  Criteria.where("isActive").is(true),
-                 orgCriteria
+                 Criteria.where("orgUnitId").in(visibleOrgUnitIds)
          );
 
          // Combine with user filters if provided
@@ -351,28 +281,7 @@ public class AlertService {
                  new Criteria().andOperator(baseCriteria, mongoQueryBuilder.buildCriteria(filterCriteria)) :
                  baseCriteria;
 
-         // Build and execute the aggregation
-         Aggregation aggregation = Aggregation.newAggregation(
-                 new AggregationOperation() {
-                    @Override
-                    public Document toDocument(AggregationOperationContext context) {
-                       return new Document("$addFields",
-                               new Document("orgFamilyTokens",
-                                       new Document("$split", Arrays.asList("$orgFamily", ":"))
-                               )
-                       );
-                    }
-                 },
-                 Aggregation.match(finalCriteria)
-         );
-
-         AggregationResults<AlertEntity> results = mongoTemplate.aggregate(
-                 aggregation,
-                 CaisAlertConstants.ALERTS,
-                 AlertEntity.class
-         );
-
-         List<AlertEntity> alerts = results.getMappedResults();
+         List<AlertEntity> alerts = mongoTemplate.find(new Query(finalCriteria), AlertEntity.class, CaisAlertConstants.ALERTS);
 
          // Create audit log in the same transaction
          auditTrailService.logAction(
@@ -396,65 +305,63 @@ public class AlertService {
       }
    }
 
+   /**
+    * Alert state before and after a single-document mutation.
+    */
+   private record AlertChange(Alert before, Alert after) {}
+
+   /**
+    * Applies the update in one findAndModify and returns the document as it was before the update.
+    * The caller derives the new state from it, so no read is needed before or after the write.
+    */
+   private AlertEntity modifyAlert(String alertId, UpdateDefinition update) {
+      AlertEntity previous = mongoTemplate.findAndModify(
+              new Query(Criteria.where("alertId").is(alertId)),
+              update,
+              FindAndModifyOptions.options().returnNew(false),
+              AlertEntity.class,
+              CaisAlertConstants.ALERTS
+      );
+      if (previous == null) {
+         throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
+      }
+      queueProjection(alertId);
+      return previous;
+   }
+
    @Transactional
    public Alert updateTotalScore(String alertId, int totalScore) {
-      log.debug("Starting synchronized score update for alertId: {}", alertId);
-      try {
-         // First check if record exists in both DBs
-         AlertEntity mongoAlert = alertRepository.findByAlertId(alertId);
-         RdbmsAlertEntity rdbmsAlert = rdbmsAlertRepository.findByAlertId(alertId)
-                 .orElseThrow(() -> new CaisNotFoundException("Alert not found in RDBMS with id: " + alertId));
-
-         if (mongoAlert == null) {
-            throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
-         }
+      return changeTotalScore(alertId, totalScore).after();
+   }
 
-         // Update MongoDB
-         Query query = new Query(Criteria.where("alertId").is(alertId));
+   private AlertChange changeTotalScore(String alertId, int totalScore) {
+      log.debug("Starting score update for alertId: {}", alertId);
+      try {
+         String now = LocalDateTime.now().toString();
          Update update = new Update();
          update.set("totalScore", totalScore);
-         update.set("lastUpdateDate", LocalDateTime.now().toString());
-//         update.set("reasonDetails.reasons.scoreTotal", totalScore);
-
-         AlertEntity updatedMongoAlert = mongoTemplate.findAndModify(
-                 query,
-                 update,
-                 FindAndModifyOptions.options().returnNew(true),
-                 AlertEntity.class,
-                 CaisAlertConstants.ALERTS
-         );
+         update.set("lastUpdateDate", now);
 
-         if (updatedMongoAlert == null) {
-            throw new CaisNotFoundException("Failed to update MongoDB alert with id: " + alertId);
-         }
-
-         // Update PostgreSQL
-         rdbmsAlert.setTotalScore((double) totalScore);
-         rdbmsAlert.setLastUpdateDate(LocalDateTime.now());
-
-         // Convert MongoDB's Map to JSON string for PostgreSQL
-         String reasonDetailsJson = objectMapper.writeValueAsString(updatedMongoAlert.getReasonDetails());
-//         rdbmsAlert.setReasonDetails(reasonDetailsJson);
+         AlertEntity previous = modifyAlert(alertId, update);
+         Alert updatedAlert = alertMapper.toModel(previous);
+         updatedAlert.setTotalScore(totalScore);
+         updatedAlert.setLastUpdateDate(now);
 
-         RdbmsAlertEntity savedRdbmsAlert = rdbmsAlertRepository.save(rdbmsAlert);
-         log.info("Successfully updated scores in both databases for alertId: {}", alertId);
-
-         return alertMapper.toModel(updatedMongoAlert);
+         log.info("Successfully updated scores for alertId: {}", alertId);
+         return new AlertChange(alertMapper.toModel(previous), updatedAlert);
       } catch (Exception e) {
-         log.error("Failed to update scores for alertId: {}. Rolling back both databases.", alertId, e);
-         TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-         throw new RuntimeException("Failed to update scores in databases", e);
+         log.error("Failed to update scores for alertId: {}", alertId, e);
+         throw new RuntimeException("Failed to update scores", e);
       }
    }
 
    @Transactional
    public Alert updateTotalScoreWithAudit(String alertId, int totalScore, AuditLogRequest auditLogRequest) {
-      Alert oldAlert = getAlertOnId(alertId);
-      Alert updatedAlert = updateTotalScore(alertId, totalScore);
+      AlertChange change = changeTotalScore(alertId, totalScore);
 
       auditLogRequest.setAffectedItemType("Alert");
       auditLogRequest.setAffectedItemId(alertId);
-      auditLogRequest.setOldValue(oldAlert.getTotalScore().toString());
+      auditLogRequest.setOldValue(String.valueOf(change.before().getTotalScore()));
       auditLogRequest.setNewValue(String.valueOf(totalScore));
       auditTrailService.logAction(auditLogRequest.getUserId(),
               auditLogRequest.getUserRole(),
@@ -466,68 +373,44 @@ public class AlertService {
               auditLogRequest.getOldValue(),
               auditLogRequest.getNewValue());
 
-      return updatedAlert;
+      return change.after();
    }
 
    @Transactional
    public Alert unassignUserFromAlert(String alertId) {
-      log.debug("Starting synchronized ownerId update for alertId: {}", alertId);
+      return unassignOwner(alertId).after();
+   }
 
+   private AlertChange unassignOwner(String alertId) {
+      log.debug("Starting owner unassignment for alertId: {}", alertId);
       try {
-         // Validate if the alert exists in MongoDB
-         AlertEntity mongoAlert = alertRepository.findByAlertId(alertId);
-         if (mongoAlert == null) {
-            throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
-         }
-
-         // Validate if the alert exists in PostgreSQL
-         RdbmsAlertEntity rdbmsAlert = rdbmsAlertRepository.findByAlertId(alertId)
-                 .orElseThrow(() -> new CaisNotFoundException("Alert not found in RDBMS with id: " + alertId));
-
-
-
-         // Update MongoDB
-         Query query = new Query(Criteria.where("alertId").is(alertId));
+         String now = LocalDateTime.now().toString();
          Update update = new Update();
          update.set("ownerId", "");
          update.set("ownerName", "");
-         update.set("lastUpdateDate", LocalDateTime.now().toString());
-
-         AlertEntity updatedMongoAlert = mongoTemplate.findAndModify(
-                 query,
-                 update,
-                 FindAndModifyOptions.options().returnNew(true),
-                 AlertEntity.class,
-                 CaisAlertConstants.ALERTS
-         );
-
-         if (updatedMongoAlert == null) {
-            throw new CaisNotFoundException("Failed to update MongoDB alert with id: " + alertId);
-         }
+         update.set("lastUpdateDate", now);
 
-         // Update PostgreSQL
-         rdbmsAlert.setOwnerId("");
-         rdbmsAlert.setOwnerName("");
-         rdbmsAlert.setLastUpdateDate(LocalDateTime.now());
-         RdbmsAlertEntity savedRdbmsAlert = rdbmsAlertRepository.save(rdbmsAlert);
+         AlertEntity previous = modifyAlert(alertId, update);
+         Alert updatedAlert = alertMapper.toModel(previous);
+         updatedAlert.setOwnerId("");
+         updatedAlert.setOwnerName("");
+         updatedAlert.setLastUpdateDate(now);
 
-         log.info("Successfully unassigned owner in both databases for alertId: {}", alertId);
-         return alertMapper.toModel(updatedMongoAlert);
+         log.info("Successfully unassigned owner for alertId: {}", alertId);
+         return new AlertChange(alertMapper.toModel(previous), updatedAlert);
       } catch (Exception e) {
-         log.error("Failed to unassign owner for alertId: {}. Rolling back both databases.", alertId, e);
-         TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-         throw new RuntimeException("Failed to unassign owner in databases", e);
+         log.error("Failed to unassign owner for alertId: {}", alertId, e);
+         throw new RuntimeException("Failed to unassign owner", e);
       }
    }
 
    @Transactional
    public Alert unassignUserFromAlertWithAudit(String alertId,  AuditLogRequest auditLogRequest) {
-      Alert oldAlert = getAlertOnId(alertId);
-      Alert updatedAlert = unassignUserFromAlert(alertId);
+      AlertChange change = unassignOwner(alertId);
 
       auditLogRequest.setAffectedItemType("Alert");
       auditLogRequest.setAffectedItemId(alertId);
-      auditLogRequest.setOldValue(oldAlert.getOwnerId());
+      auditLogRequest.setOldValue(change.before().getOwnerId());
       auditLogRequest.setNewValue("");
       auditTrailService.logAction(auditLogRequest.getUserId(),
               auditLogRequest.getUserRole(),
@@ -539,25 +422,17 @@ public class AlertService {
               auditLogRequest.getOldValue(),
               auditLogRequest.getNewValue());
 
-      return updatedAlert;
+      return change.after();
    }
 
-
    @Transactional
    public Alert updateOwnerId(String alertId, String ownerId) {
-      log.debug("Starting synchronized ownerId update for alertId: {}", alertId);
+      return changeOwner(alertId, ownerId).after();
+   }
 
+   private AlertChange changeOwner(String alertId, String ownerId) {
+      log.debug("Starting ownerId update for alertId: {}", alertId);
       try {
-         // Validate if the alert exists in MongoDB
-         AlertEntity mongoAlert = alertRepository.findByAlertId(alertId);
-         if (mongoAlert == null) {
-            throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
-         }
-
-         // Validate if the alert exists in PostgreSQL
-         RdbmsAlertEntity rdbmsAlert = rdbmsAlertRepository.findByAlertId(alertId)
-                 .orElseThrow(() -> new CaisNotFoundException("Alert not found in RDBMS with id: " + alertId));
-
          // Fetch the user by ID from the repository
          UserEntity user = userRepository.findById(ownerId)
                  .orElseThrow(() -> new CaisNotFoundException("User not found with id: " + ownerId));
@@ -565,51 +440,33 @@ public class AlertService {
          // Extract the username
          String userName = user.getUserLoginName();
 
-         // Update MongoDB
-         Query query = new Query(Criteria.where("alertId").is(alertId));
+         String now = LocalDateTime.now().toString();
          Update update = new Update();
          update.set("ownerId", ownerId);
          update.set("ownerName", userName);
-         update.set("lastUpdateDate", LocalDateTime.now().toString());
-
-         AlertEntity updatedMongoAlert = mongoTemplate.findAndModify(
-                 query,
-                 update,
-                 FindAndModifyOptions.options().returnNew(true),
-                 AlertEntity.class,
-                 CaisAlertConstants.ALERTS
-         );
-
-         if (updatedMongoAlert == null) {
-            throw new CaisNotFoundException("Failed to update MongoDB alert with id: " + alertId);
-         }
+         update.set("lastUpdateDate", now);
 
-         // Update PostgreSQL
-         rdbmsAlert.setOwnerId(ownerId);
-         rdbmsAlert.setOwnerName(userName);
-         rdbmsAlert.setLastUpdateDate(LocalDateTime.now());
-         RdbmsAlertEntity savedRdbmsAlert = rdbmsAlertRepository.save(rdbmsAlert);
+         AlertEntity previous = modifyAlert(alertId, update);
+         Alert updatedAlert = alertMapper.toModel(previous);
+         updatedAlert.setOwnerId(ownerId);
+         updatedAlert.setOwnerName(userName);
+         updatedAlert.setLastUpdateDate(now);
 
-         log.info("Successfully updated owner in both databases for alertId: {}", alertId);
-         return alertMapper.toModel(updatedMongoAlert);
+         log.info("Successfully updated owner for alertId: {}", alertId);
+         return new AlertChange(alertMapper.toModel(previous), updatedAlert);
       } catch (Exception e) {
-         log.error("Failed to update owner for alertId: {}. Rolling back both databases.", alertId, e);
-         TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-         throw new RuntimeException("Failed to update owner in databases", e);
+         log.error("Failed to update owner for alertId: {}", alertId, e);
+         throw new RuntimeException("Failed to update owner", e);
       }
    }
 
-
-
-
    @Transactional
    public Alert updateOwnerIdWithAudit(String alertId, String ownerId, AuditLogRequest auditLogRequest) {
-      Alert oldAlert = getAlertOnId(alertId);
-      Alert updatedAlert = updateOwnerId(alertId, ownerId);
+      AlertChange change = changeOwner(alertId, ownerId);
 
       auditLogRequest.setAffectedItemType("Alert");
       auditLogRequest.setAffectedItemId(alertId);
-      auditLogRequest.setOldValue(oldAlert.getOwnerId());
+      auditLogRequest.setOldValue(change.before().getOwnerId());
       auditLogRequest.setNewValue(ownerId);
       auditTrailService.logAction(auditLogRequest.getUserId(),
               auditLogRequest.getUserRole(),
@@ -621,89 +478,54 @@ public class AlertService {
               auditLogRequest.getOldValue(),
               auditLogRequest.getNewValue());
 
-      return updatedAlert;
+      return change.after();
    }
 
    @Transactional
    public Alert updateOrgUnitId(String alertId, String orgUnitId)  {
-      log.debug("Starting synchronized orgUnitId update for alertId: {}", alertId);
-      try {
-         // First check if record exists in both DBs
-         AlertEntity mongoAlert = alertRepository.findByAlertId(alertId);
-         RdbmsAlertEntity rdbmsAlert = rdbmsAlertRepository.findByAlertId(alertId)
-                 .orElseThrow(() -> new CaisNotFoundException("Alert not found in RDBMS with id: " + alertId));
-
-         if (mongoAlert == null) {
-            throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
-         }
-
-
-         Optional<OrganizationFamilyEntity> organizationTree = orgFamilyRepository.findByOrgKey(orgUnitId);
-         if (organizationTree.isEmpty()) {
-            throw new CaisNotFoundException("OrgFamily not found with id: " + orgUnitId);
-         }
+      return changeOrgUnit(alertId, orgUnitId).after();
+   }
 
-         OrganizationFamilyEntity orgEntity = organizationTree.orElseThrow(() ->
-                 new CaisNotFoundException("OrgFamily not found with id: " + orgUnitId)
-         );
+   private AlertChange changeOrgUnit(String alertId, String orgUnitId) {
+      log.debug("Starting orgUnitId update for alertId: {}", alertId);
+      try {
+         OrganizationFamilyEntity orgEntity = orgFamilyRepository.findByOrgKey(orgUnitId)
+                 .orElseThrow(() -> new CaisNotFoundException("OrgFamily not found with id: " + orgUnitId));
 
          String orgHierarchyorg = orgEntity.getOrgFamily();
 
-
-         Query query = null;
-         query = new Query(Criteria.where("alertId").is(alertId));
-         String previousOrgUnitId = alertRepository.findByAlertId(alertId).getOrgUnitId();
-         // Update MongoDB
-
-         Update update = new Update();
-         update.set("orgUnitId", orgUnitId);
-         update.set("previousOrgUnitId", previousOrgUnitId);
-         update.set("orgFamily", orgHierarchyorg);
-         update.set("isOrgUnitUpdated" , true);
-         update.set("lastUpdateDate", LocalDateTime.now().toString());
-
-
-         AlertEntity updatedMongoAlert = mongoTemplate.findAndModify(
-                 query,
-                 update,
-                 FindAndModifyOptions.options().returnNew(true),
-                 AlertEntity.class,
-                 CaisAlertConstants.ALERTS
-         );
-
-         if (updatedMongoAlert == null) {
-            throw new CaisNotFoundException("Failed to update MongoDB alert with id: " + alertId);
-         }
-
-
-
-         // Update PostgreSQL
-         rdbmsAlert.setOrgUnitId(orgUnitId);
-         rdbmsAlert.setPreviousOrgUnitId(previousOrgUnitId);
-         rdbmsAlert.setOrgFamily(orgHierarchyorg);
-         rdbmsAlert.setIsOrgUnitUpdated(true);
-         rdbmsAlert.setLastUpdateDate(LocalDateTime.now());
-
-
-         RdbmsAlertEntity savedRdbmsAlert = rdbmsAlertRepository.save(rdbmsAlert);
-         log.info("Successfully updated orgId in both databases for alertId: {}", alertId);
-
-         return alertMapper.toModel(updatedMongoAlert);
+         // Pipeline update so previousOrgUnitId is copied from the stored orgUnitId in the same operation
+         String now = LocalDateTime.now().toString();
+         AggregationUpdate update = AggregationUpdate.update()
+                 .set("previousOrgUnitId").toValueOf(Fields.field("orgUnitId"))
+                 .set("orgUnitId").toValue(orgUnitId)
+                 .set("orgFamily").toValue(orgHierarchyorg)
+                 .set("isOrgUnitUpdated").toValue(true)
+                 .set("lastUpdateDate").toValue(now);
+
+         AlertEntity previous = modifyAlert(alertId, update);
+         Alert updatedAlert = alertMapper.toModel(previous);
+         updatedAlert.setPreviousOrgUnitId(previous.getOrgUnitId());
+         updatedAlert.setOrgUnitId(orgUnitId);
+         updatedAlert.setOrgFamily(orgHierarchyorg);
+         updatedAlert.setIsOrgUnitUpdated(true);
+         updatedAlert.setLastUpdateDate(now);
+
+         log.info("Successfully updated orgId for alertId: {}", alertId);
+         return new AlertChange(alertMapper.toModel(previous), updatedAlert);
       } catch (Exception e) {
-         log.error("Failed to update orgId for alertId: {}. Rolling back both databases.", alertId, e);
-         TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-         throw new RuntimeException("Failed to update orgId in databases", e);
+         log.error("Failed to update orgId for alertId: {}", alertId, e);
+         throw new RuntimeException("Failed to update orgId", e);
       }
    }
 
    @Transactional
    public Alert updateOrgUnitIdWithAudit(String alertId, String orgUnitId, AuditLogRequest auditLogRequest) {
-      Alert oldAlert = getAlertOnId(alertId);
-      Alert updatedAlert = updateOrgUnitId(alertId, orgUnitId);
+      AlertChange change = changeOrgUnit(alertId, orgUnitId);
 
       auditLogRequest.setAffectedItemType("Alert");
       auditLogRequest.setAffectedItemId(alertId);
-      auditLogRequest.setOldValue(oldAlert.getOrgUnitId());
+      auditLogRequest.setOldValue(change.before().getOrgUnitId());
       auditLogRequest.setNewValue(orgUnitId);
       auditTrailService.logAction(auditLogRequest.getUserId(),
               auditLogRequest.getUserRole(),
@@ -715,92 +537,58 @@ public class AlertService {
               auditLogRequest.getOldValue(),
               auditLogRequest.getNewValue());
 
-      return updatedAlert;
+      return change.after();
    }
 
 
    @Transactional
    public  Alert changeStep(String alertId, Long stepId)  {
-      log.debug("Starting synchronized  change step update for alertId: {}", alertId);
-      try {
-
-         // First check if record exists in both DBs
-
-         AlertEntity mongoAlert = alertRepository.findByAlertId(alertId);
-         RdbmsAlertEntity rdbmsAlert = rdbmsAlertRepository.findByAlertId(alertId)
-                 .orElseThrow(() -> new CaisNotFoundException("Alert not found in RDBMS with id: " + alertId));
-
-         if (mongoAlert == null) {
-            throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
-         }
+      return changeAlertStep(alertId, stepId).after();
+   }
 
-         Step step = stepsRepository.findByStepId(stepId);
-         if (step == null) {
-            throw new CaisNotFoundException("Step not found with id: " + stepId);
-         }
+   private AlertChange changeAlertStep(String alertId, Long stepId) {
+      log.debug("Starting change step update for alertId: {}", alertId);
+      try {
+         StepDTO step = referenceDataService.find(ReferenceDataSnapshot::getSteps, stepId)
+                 .orElseThrow(() -> new CaisNotFoundException("Step not found with id: " + stepId));
 
-         StepStatus stepStatus = stepStatusRepository.findByStepStatusId(step.getStepStatusId());
-         if (stepStatus == null) {
-            throw new CaisNotFoundException("Step status not found for step id: " + stepId);
-         }
+         String Status = referenceDataService.find(ReferenceDataSnapshot::getStepStatusNames, step.getStepStatusId())
+                 .orElseThrow(() -> new CaisNotFoundException("Step status not found for step id: " + stepId));
 
          String StepName = step.getStepName();
-         String Status = stepStatus.getStepName();
-
-
-
-         Query query = null;
-         query = new Query(Criteria.where("alertId").is(alertId));
-         // Update MongoDB
 
+         String now = LocalDateTime.now().toString();
          Update update = new Update();
          update.set("alertStepName", StepName);
          update.set("alertStepId", stepId);
          update.set("status", Status);
-         update.set("lastStepUpdatedDate" , LocalDateTime.now().toString());
-         update.set("lastUpdateDate", LocalDateTime.now().toString());
-
-
-         AlertEntity updatedMongoAlert = mongoTemplate.findAndModify(
-                 query,
-                 update,
-                 FindAndModifyOptions.options().returnNew(true),
-                 AlertEntity.class,
-                 CaisAlertConstants.ALERTS
-         );
-
-         if (updatedMongoAlert == null) {
-            throw new CaisNotFoundException("Failed to update MongoDB alert with id: " + alertId);
-         }
-
-         // Update PostgreSQL
-         rdbmsAlert.setStatus(Status);
-         rdbmsAlert.setAlertStepId(String.valueOf(stepId));
-         rdbmsAlert.setAlertStepName(StepName);
-         rdbmsAlert.setLastUpdateDate(LocalDateTime.now());
-         rdbmsAlert.setLastStepUpdatedDate(LocalDateTime.now());
-//         rdbmsAlert.setDueDate(LocalDateTime.now()+10);
-
-
-         RdbmsAlertEntity savedRdbmsAlert = rdbmsAlertRepository.save(rdbmsAlert);
-         log.info("Successfully updated step in both databases for alertId: {}", alertId);
-
-         return alertMapper.toModel(updatedMongoAlert);
+         update.set("lastStepUpdatedDate" , now);
+         update.set("lastUpdateDate", now);
+
+         AlertEntity previous = modifyAlert(alertId, update);
+         Alert updatedAlert = alertMapper.toModel(previous);
+         updatedAlert.setAlertStepName(StepName);
+         updatedAlert.setAlertStepId(String.valueOf(stepId));
+         updatedAlert.setStatus(Status);
+         updatedAlert.setLastStepUpdatedDate(now);
+         updatedAlert.setLastUpdateDate(now);
+
+         log.info("Successfully updated step for alertId: {}", alertId);
+         return new AlertChange(alertMapper.toModel(previous), updatedAlert);
       } catch (Exception e) {
-         log.error("Failed to update step for alertId: {}. Rolling back both databases.", alertId, e);
-         TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
-         throw new RuntimeException("Failed to update osteprgId in databases", e);
+         log.error("Failed to update step for alertId: {}", alertId, e);
+         throw new RuntimeException("Failed to update step", e);
       }
    }
+
    @Transactional
    public Alert changeStepWithAudit(String alertId, Long stepId, AuditLogRequest auditLogRequest) {
-      Alert oldAlert = getAlertOnId(alertId);
-      Alert updatedAlert = changeStep(alertId, stepId);
+      AlertChange change = changeAlertStep(alertId, stepId);
 
       auditLogRequest.setAffectedItemType("Alert");
       auditLogRequest.setAffectedItemId(alertId);
-      auditLogRequest.setOldValue(oldAlert.getAlertStepName());
-      auditLogRequest.setNewValue(updatedAlert.getAlertStepName());
+      auditLogRequest.setOldValue(change.before().getAlertStepName());
+      auditLogRequest.setNewValue(change.after().getAlertStepName());
       auditTrailService.logAction(auditLogRequest.getUserId(),
               auditLogRequest.getUserRole(),
               auditLogRequest.getActionId(),
@@ -811,7 +599,7 @@ public class AlertService {
               auditLogRequest.getOldValue(),
               auditLogRequest.getNewValue());
 
-      return updatedAlert;
+      return change.after();
    }
 
    // Alert Search Operations
@@ -917,49 +705,16 @@ public class AlertService {
          // Update MongoDB
          AlertEntity updatedMongoEntity = alertRepository.patchAlert(alertMapper.toEntity(alertId, alert), alertType);
 
-         // Update RDBMS
-         rdbmsAlertRepository.findByAlertId(alertId)
-                 .map(entity -> {
-                    // Update all non-null fields from alert to entity
-                    if (alert.getCreateDate() != null) entity.setCreateDate(LocalDateTime.parse(alert.getCreateDate()));
-                    if (alert.getLastUpdateDate() != null)
-                       entity.setLastUpdateDate(LocalDateTime.parse(alert.getLastUpdateDate()));
-                    if (alert.getTotalScore() != null) entity.setTotalScore(alert.getTotalScore().doubleValue());
-                    if (alert.getBusinessDate() != null)
-                       entity.setBusinessDate(LocalDateTime.parse(alert.getBusinessDate()));
-                    if (alert.getFocalEntity() != null) entity.setFocalEntity(alert.getFocalEntity());
-                    if (alert.getFocus() != null) entity.setFocus(alert.getFocus());
-                    if (alert.getAlertTypeId() != null) entity.setAlertTypeId(alert.getAlertTypeId());
-                    if (alert.getAlertRegion() != null) entity.setAlertRegion(alert.getAlertRegion());
-                    if (alert.getAlertGroupId() != null) entity.setAlertGroupId(alert.getAlertGroupId());
-                    if (alert.getIsConsolidated() != null) entity.setIsConsolidated(alert.getIsConsolidated());
-                    if (alert.getIsActive() != null) entity.setIsActive(alert.getIsActive());
-                    if (alert.getHasMultipleScenario() != null)
-                       entity.setHasMultipleScenario(alert.getHasMultipleScenario());
-                    if (alert.getIsDeleted() != null) entity.setIsDeleted(alert.getIsDeleted());
-                    if (alert.getOrgUnitId() != null) entity.setOrgUnitId(alert.getOrgUnitId());
-                    if (alert.getOrgUnitKey() != null) entity.setOrgKey(alert.getOrgUnitKey());
-                    if (alert.getOrgFamily() != null) entity.setOrgFamily(alert.getOrgFamily());
-                    if (alert.getPreviousOrgUnitId() != null) entity.setPreviousOrgUnitId(alert.getPreviousOrgUnitId());
-                    if (alert.getIsOrgUnitUpdated() != null) entity.setIsOrgUnitUpdated(alert.getIsOrgUnitUpdated());
-                    if (alert.getIsRelatedAlert() != null) entity.setIsRelatedAlert(alert.getIsRelatedAlert());
-                    if (alert.getOwnerId() != null) entity.setOwnerId(alert.getOwnerId());
-                    if (alert.getOwnerName() != null) entity.setOwnerName(alert.getOwnerName());
-                    if (alert.getStatus() != null) entity.setStatus(alert.getStatus());
-                    if (alert.getAlertStepId() != null) entity.setAlertStepId(alert.getAlertStepId());
-                    if (alert.getAlertStepName() != null) entity.setAlertStepName(alert.getAlertStepName());
-                    if (alert.getIsCaseCreated() != null) entity.setIsCaseCreated(alert.getIsCaseCreated());
-                    if (alert.getDetails() != null) entity.setDetails(alert.getDetails());
-
-                    return rdbmsAlertRepository.save(entity);
-                 })
-                 .orElseThrow(() -> new CaisNotFoundException("Alert not found in RDBMS with id: " + alertId));
+         if (updatedMongoEntity == null) {
+            throw new CaisNotFoundException("Alert not found with id: " + alertId);
+         }
+         queueProjection(alertId);
 
-         log.debug("Successfully patched alert in both databases for alertId: {}", alertId);
+         log.debug("Successfully patched alert for alertId: {}", alertId);
          return alertMapper.toModel(updatedMongoEntity);
       } catch (Exception e) {
          log.error("Failed to patch alert for alertId: {}", alertId, e);
-         throw new RuntimeException("Failed to patch alert in databases", e);
+         throw new RuntimeException("Failed to patch alert", e);
       }
    }
 
@@ -995,13 +750,12 @@ public class AlertService {
             throw new CaisNotFoundException("Alert not found in MongoDB with id: " + alertId);
          }
 
-         // Delete from RDBMS
-         rdbmsAlertRepository.deleteByAlertId(alertId);
+         queueProjection(alertId);
 
-         log.debug("Successfully deleted alert from both databases for alertId: {}", alertId);
+         log.debug("Successfully deleted alert for alertId: {}", alertId);
       } catch (Exception e) {
          log.error("Failed to delete alert for alertId: {}", alertId, e);
-         throw new RuntimeException("Failed to delete alert from databases", e);
+         throw new RuntimeException("Failed to delete alert", e);
       }
    }
 
@@ -1028,19 +782,31 @@ public class AlertService {
    @Transactional
    public List<Alert> createAlerts(List<Alert> alerts) {
       log.debug("Starting synchronized creation of {} alerts", alerts.size());
+
+      // Validate the whole batch first so a bad alert does not leave the earlier ones half-written
+      List<String> batchErrors = new ArrayList<>();
+      for (int i = 0; i < alerts.size(); i++) {
+         String prefix = "alerts[" + i + "]: ";
+         validateAlert(alerts.get(i)).forEach(error -> batchErrors.add(prefix + error));
+      }
+      if (!batchErrors.isEmpty()) {
+         log.error("Validation failed for {} alerts in batch", alerts.size());
+         throw new AlertValidationException("Alert validation failed", batchErrors);
+      }
+
       try {
          List<Alert> createdAlerts = new ArrayList<>();
          for (Alert alert : alerts) {
             LocalDateTime now = LocalDateTime.now();
             alert.setCreatedAt(now);
             alert.setUpdatedAt(now);
-            createdAlerts.add(createAlert(alert));
+            createdAlerts.add(insertAlert(alert));
          }
-         log.debug("Successfully created {} alerts in both databases", alerts.size());
+         log.debug("Successfully created {} alerts", alerts.size());
          return createdAlerts;
       } catch (Exception e) {
          log.error("Failed to create alerts in batch", e);
-         throw new RuntimeException("Failed to create alerts in databases", e);
+         throw new RuntimeException("Failed to create alerts", e);
       }
    }
 
@@ -1175,11 +941,7 @@ public class AlertService {
       if (!StringUtils.hasText(alert.getAlertTypeId())) {
          errors.add("Alert type ID is required");
       } else {
-         Query query = new Query(Criteria.where("alertTypeId").is(alert.getAlertTypeId()));
-         boolean alertTypeExists = mongoTemplate.exists(query, CaisAlertConstants.CAIS_ALERT_TYPE_COLLECTION_NAME);
-         if (!alertTypeExists) {
-            errors.add("Invalid Alert type ID: " + alert.getAlertTypeId());
-         }
+         alertTypeRegistry.validate(alert, errors);
       }
 
       return errors;
@@ -1374,8 +1136,6 @@ public class AlertService {
 //@Transactional
 //public class AlertService {
 //   private final AlertMapper alertMapper;
-//   private final StepRepository stepsRepository;
-//   private final StepStatusRepository stepStatusRepository;
 //   private final MongoTemplate mongoTemplate;
 //   private final AlertRepository alertRepository;
 //   private final AuditTrailService auditTrailService;
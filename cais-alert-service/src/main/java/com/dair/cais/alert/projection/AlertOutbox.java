@@ -0,0 +1,179 @@
+package com.dair.cais.alert.projection;
+
+import com.dair.cais.common.config.CaisAlertConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Mongo-backed outbox of alerts waiting to be projected into PostgreSQL.
+ * Alert writes enqueue after the Mongo update succeeds; {@link AlertProjector} drains the queue in {@code _id} order.
+ * <p>
+ * The alert write has already been committed to Mongo when it enqueues, so an insert failure cannot roll it back.
+ * Such alerts are held in memory and re-enqueued by the projector on its next poll; alerts lost with the process
+ * before that happens are found by {@link AlertReconciler}.
+ * <p>
+ * Several service instances drain the same outbox, each claiming its batches through {@link OutboxLeases}, so an
+ * event is projected by the instance that holds it. An instance that dies mid-batch leaves its events to be claimed
+ * again once the lease ({@code alert.projection.lease-ms}) runs out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertOutbox {
+    private final MongoTemplate mongoTemplate;
+    private final AlertProjectionConfig config;
+    private final Set<String> unqueued = ConcurrentHashMap.newKeySet();
+
+    public void enqueue(String alertId) {
+        try {
+            mongoTemplate.insert(AlertOutboxEvent.of(alertId));
+        } catch (RuntimeException e) {
+            unqueued.add(alertId);
+            log.error("Failed to queue projection for alertId: {}, will retry on the next projection run", alertId, e);
+        }
+    }
+
+    public int enqueueAll(Collection<String> alertIds) {
+        if (alertIds.isEmpty()) {
+            return 0;
+        }
+        List<AlertOutboxEvent> events = alertIds.stream()
+                .map(AlertOutboxEvent::of)
+                .collect(Collectors.toList());
+        mongoTemplate.insertAll(events);
+        return events.size();
+    }
+
+    /**
+     * Enqueues every alert in the alerts collection, paging by {@code _id} to keep memory flat.
+     */
+    public long enqueueAllAlerts() {
+        long enqueued = 0;
+        ObjectId lastId = null;
+        while (true) {
+            Query page = new Query();
+            if (lastId != null) {
+                page.addCriteria(Criteria.where("_id").gt(lastId));
+            }
+            page.with(Sort.by(Sort.Direction.ASC, "_id")).limit(config.getReplayPageSize());
+            page.fields().include("_id", "alertId");
+
+            List<Document> alerts = mongoTemplate.find(page, Document.class, CaisAlertConstants.ALERTS);
+            if (alerts.isEmpty()) {
+                return enqueued;
+            }
+            enqueued += enqueueAll(alerts.stream()
+                    .map(alert -> alert.getString("alertId"))
+                    .filter(alertId -> alertId != null)
+                    .collect(Collectors.toList()));
+            lastId = alerts.get(alerts.size() - 1).getObjectId("_id");
+        }
+    }
+
+    /**
+     * Retries enqueues that failed at write time. Alerts stay held if the outbox is still unavailable.
+     */
+    int flushUnqueued() {
+        // Taken out before the write: an enqueue that fails meanwhile adds its alert back instead of being
+        // dropped by a removal after the write
+        List<String> alertIds = new ArrayList<>();
+        for (String alertId : unqueued) {
+            if (unqueued.remove(alertId)) {
+                alertIds.add(alertId);
+            }
+        }
+        if (alertIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            int enqueued = enqueueAll(alertIds);
+            log.info("Queued {} alerts whose projection enqueue had failed", enqueued);
+            return enqueued;
+        } catch (RuntimeException e) {
+            unqueued.addAll(alertIds);
+            throw e;
+        }
+    }
+
+    int countUnqueued() {
+        return unqueued.size();
+    }
+
+    /**
+     * Claims up to {@code size} of the oldest events that are neither parked nor leased to another claim.
+     */
+    List<AlertOutboxEvent> claimBatch(int size) {
+        return OutboxLeases.claim(mongoTemplate, AlertOutboxEvent.class, config.getMaxAttempts(), size,
+                config.getLeaseMs());
+    }
+
+    /**
+     * Removes claimed events. Events whose lease ran out and were claimed again elsewhere are left to that claim.
+     */
+    void complete(Collection<AlertOutboxEvent> events) {
+        mongoTemplate.remove(heldBy(events), AlertOutboxEvent.class);
+    }
+
+    void fail(Collection<AlertOutboxEvent> events, String error) {
+        Update update = new Update()
+                .inc("attempts", 1)
+                .set("lastError", error)
+                .set("lastAttemptAt", Instant.now())
+                .unset("owner")
+                .unset("leaseUntil");
+        mongoTemplate.updateMulti(heldBy(events), update, AlertOutboxEvent.class);
+    }
+
+    /**
+     * Puts events that exhausted their attempts back in the queue.
+     */
+    public long retryFailed() {
+        return mongoTemplate.updateMulti(
+                new Query(Criteria.where("attempts").gte(config.getMaxAttempts())),
+                new Update().set("attempts", 0).unset("owner").unset("leaseUntil"),
+                AlertOutboxEvent.class
+        ).getModifiedCount();
+    }
+
+    long countPending() {
+        return mongoTemplate.count(new Query(Criteria.where("attempts").lt(config.getMaxAttempts())),
+                AlertOutboxEvent.class);
+    }
+
+    long countFailed() {
+        return mongoTemplate.count(new Query(Criteria.where("attempts").gte(config.getMaxAttempts())),
+                AlertOutboxEvent.class);
+    }
+
+    Optional<Instant> oldestPendingAt() {
+        Query query = new Query(Criteria.where("attempts").lt(config.getMaxAttempts()))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        return Optional.ofNullable(mongoTemplate.findOne(query, AlertOutboxEvent.class))
+                .map(AlertOutboxEvent::getEnqueuedAt);
+    }
+
+    private Query heldBy(Collection<AlertOutboxEvent> events) {
+        return OutboxLeases.heldBy(ids(events), events.iterator().next().getOwner());
+    }
+
+    private List<String> ids(Collection<AlertOutboxEvent> events) {
+        return events.stream().map(AlertOutboxEvent::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,35 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Marks an alert whose PostgreSQL projection is stale. The event carries no payload: the projector
+ * always copies the current Mongo document, so applying an event twice or out of order is harmless.
+ * {@code owner} and {@code leaseUntil} are set while a projector instance has the event claimed.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "alert_projection_outbox")
+public class AlertOutboxEvent {
+    @Id
+    private String id;
+    private String alertId;
+    private Instant enqueuedAt;
+    private int attempts;
+    private String lastError;
+    private Instant lastAttemptAt;
+    private String owner;
+    private Instant leaseUntil;
+
+    public static AlertOutboxEvent of(String alertId) {
+        AlertOutboxEvent event = new AlertOutboxEvent();
+        event.setAlertId(alertId);
+        event.setEnqueuedAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,34 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "alert.projection")
+@Data
+@Validated
+public class AlertProjectionConfig {
+    private boolean enabled = true;
+
+    @Min(1)
+    @Max(5000)
+    private int batchSize = 200;
+
+    @Min(1)
+    private int maxAttempts = 10;
+
+    @Min(100)
+    private long pollIntervalMs = 1000;
+
+    @Min(1)
+    @Max(10000)
+    private int replayPageSize = 1000;
+
+    /** How long a claimed batch stays reserved for one instance; after that another instance may take it. */
+    @Min(1000)
+    private long leaseMs = 60000;
+}
@@ -0,0 +1,94 @@
+package com.dair.cais.alert.projection;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/alerts/projection")
+@Tag(name = "Alert Projection", description = "Mongo to PostgreSQL alert projection status and maintenance")
+@RequiredArgsConstructor
+public class AlertProjectionController {
+
+    private final AlertProjector projector;
+    private final AlertOutbox outbox;
+    private final TradeLinkOutbox tradeLinkOutbox;
+    private final AlertReconciler reconciler;
+
+    @GetMapping("/status")
+    @Operation(summary = "Get projection lag and throughput counters")
+    public ResponseEntity<AlertProjectionStats> getStatus() {
+        return ResponseEntity.ok(projector.getStats());
+    }
+
+    @PostMapping("/replay")
+    @Operation(summary = "Queue alerts for re-projection",
+            description = "Queues the given alert IDs, or every alert in Mongo when no IDs are provided")
+    public ResponseEntity<Map<String, Long>> replay(@RequestBody(required = false) List<String> alertIds) {
+        long queued = (alertIds == null || alertIds.isEmpty())
+                ? outbox.enqueueAllAlerts()
+                : outbox.enqueueAll(alertIds);
+        log.info("Queued {} alerts for projection replay", queued);
+        return ResponseEntity.ok(Map.of("queued", queued));
+    }
+
+    @PostMapping("/reconcile/{alertId}")
+    @Operation(summary = "Project a single alert immediately")
+    public ResponseEntity<Void> reconcile(@PathVariable String alertId) {
+        projector.reconcile(alertId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/retry-failed")
+    @Operation(summary = "Re-queue events that exhausted their retry attempts")
+    public ResponseEntity<Map<String, Long>> retryFailed() {
+        return ResponseEntity.ok(Map.of("requeued", outbox.retryFailed()));
+    }
+
+    @PostMapping("/trade-links/retry-failed")
+    @Operation(summary = "Re-queue trade links that exhausted their delivery attempts")
+    public ResponseEntity<Map<String, Long>> retryFailedTradeLinks() {
+        return ResponseEntity.ok(Map.of("requeued", tradeLinkOutbox.retryFailed()));
+    }
+
+    @PostMapping("/reconciliation")
+    @Operation(summary = "Start a reconciliation run between Mongo and PostgreSQL",
+            description = "REPORT only records divergences; REPAIR also queues divergent alerts for projection")
+    public ResponseEntity<AlertReconciliationRun> startReconciliation(
+            @RequestParam(defaultValue = "REPORT") AlertReconciliationRun.Mode mode) {
+        return ResponseEntity.ok(reconciler.start(mode));
+    }
+
+    @PostMapping("/reconciliation/{runId}/resume")
+    @Operation(summary = "Resume a stopped or failed reconciliation run from its checkpoint")
+    public ResponseEntity<AlertReconciliationRun> resumeReconciliation(@PathVariable String runId) {
+        return ResponseEntity.ok(reconciler.resume(runId));
+    }
+
+    @PostMapping("/reconciliation/{runId}/stop")
+    @Operation(summary = "Stop a running reconciliation after the current chunk")
+    public ResponseEntity<Void> stopReconciliation(@PathVariable String runId) {
+        reconciler.stop(runId);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/reconciliation/{runId}")
+    @Operation(summary = "Get reconciliation run progress and divergence samples")
+    public ResponseEntity<AlertReconciliationRun> getReconciliation(@PathVariable String runId) {
+        return ResponseEntity.ok(reconciler.getRun(runId));
+    }
+
+    @GetMapping("/reconciliation")
+    @Operation(summary = "List recent reconciliation runs")
+    public ResponseEntity<List<AlertReconciliationRun>> getRecentReconciliations(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(reconciler.getRecentRuns(limit));
+    }
+}
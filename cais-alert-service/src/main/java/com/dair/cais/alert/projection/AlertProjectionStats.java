@@ -0,0 +1,27 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class AlertProjectionStats {
+    private boolean enabled;
+    private long pendingEvents;
+    private long failedEvents;
+    private int unqueuedAlerts;
+    private Instant oldestPendingAt;
+    private long lagMillis;
+    private Instant lastBatchAt;
+    private int lastBatchSize;
+    private long lastBatchMillis;
+    private long projectedTotal;
+    private long deletedTotal;
+    private long failuresTotal;
+    private long tradeLinksPublished;
+    private long tradeLinkFailures;
+    private long pendingTradeLinks;
+    private long failedTradeLinks;
+}
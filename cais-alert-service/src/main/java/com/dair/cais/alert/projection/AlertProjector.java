@@ -0,0 +1,193 @@
+package com.dair.cais.alert.projection;
+
+import com.dair.cais.alert.AlertEntity;
+import com.dair.cais.alert.AlertMapper;
+import com.dair.cais.alert.rdbms.RdbmsAlertEntity;
+import com.dair.cais.alert.rdbms.RdbmsAlertMapper;
+import com.dair.cais.alert.rdbms.RdbmsAlertRepository;
+import com.dair.cais.common.config.CaisAlertConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies alert changes from Mongo (the source of truth) to {@code info_alert.cm_alerts}.
+ * <p>
+ * Each batch of outbox events is collapsed per alert, the current Mongo documents are read in one query
+ * and the matching rows are upserted or deleted in one PostgreSQL transaction. When a batch fails the
+ * alerts are retried one by one so a single bad document cannot block the queue; it is parked after
+ * {@code alert.projection.max-attempts}. Once committed, the alerts' trade references are queued in the
+ * {@link TradeLinkOutbox}; {@link TradeLinkPublisher} delivers them to the trade service on its own thread, so the
+ * projection never depends on the trade service being available. A failed enqueue fails the batch, which is then
+ * projected and queued again.
+ * <p>
+ * The local lock only keeps one drain per instance; across instances batches are claimed through
+ * {@link AlertOutbox#claimBatch}, so each event is projected by the instance that holds it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertProjector {
+    private final AlertOutbox outbox;
+    private final MongoTemplate mongoTemplate;
+    private final AlertMapper alertMapper;
+    private final RdbmsAlertMapper rdbmsAlertMapper;
+    private final RdbmsAlertRepository rdbmsAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AlertProjectionConfig config;
+    private final TradeLinkOutbox tradeLinkOutbox;
+    private final TradeLinkPublisher tradeLinkPublisher;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final LongAdder projected = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile Instant lastBatchAt;
+    private volatile int lastBatchSize;
+    private volatile long lastBatchMillis;
+
+    private record ApplyResult(int upserted, int deleted, List<TradeLinkPublisher.Link> links) {}
+
+    @Scheduled(fixedDelayString = "${alert.projection.poll-interval-ms:1000}")
+    public void drain() {
+        if (!config.isEnabled() || !drainLock.tryLock()) {
+            return;
+        }
+        try {
+            outbox.flushUnqueued();
+            List<AlertOutboxEvent> batch;
+            int completed;
+            do {
+                batch = outbox.claimBatch(config.getBatchSize());
+                completed = batch.isEmpty() ? 0 : processBatch(batch);
+            } while (batch.size() == config.getBatchSize() && completed > 0);
+        } catch (Exception e) {
+            log.error("Alert projection run failed: {}", e.getMessage(), e);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Projects one alert immediately, bypassing the queue.
+     */
+    public void reconcile(String alertId) {
+        log.info("Reconciling projection for alertId: {}", alertId);
+        recordResult(transactionTemplate.execute(status -> apply(List.of(alertId))));
+    }
+
+    public AlertProjectionStats getStats() {
+        Instant oldest = outbox.oldestPendingAt().orElse(null);
+        return AlertProjectionStats.builder()
+                .enabled(config.isEnabled())
+                .pendingEvents(outbox.countPending())
+                .failedEvents(outbox.countFailed())
+                .unqueuedAlerts(outbox.countUnqueued())
+                .oldestPendingAt(oldest)
+                .lagMillis(oldest != null ? Duration.between(oldest, Instant.now()).toMillis() : 0)
+                .lastBatchAt(lastBatchAt)
+                .lastBatchSize(lastBatchSize)
+                .lastBatchMillis(lastBatchMillis)
+                .projectedTotal(projected.sum())
+                .deletedTotal(deleted.sum())
+                .failuresTotal(failures.sum())
+                .tradeLinksPublished(tradeLinkPublisher.getPublished())
+                .tradeLinkFailures(tradeLinkPublisher.getFailures())
+                .pendingTradeLinks(tradeLinkOutbox.countPending())
+                .failedTradeLinks(tradeLinkOutbox.countFailed())
+                .build();
+    }
+
+    private int processBatch(List<AlertOutboxEvent> batch) {
+        long start = System.currentTimeMillis();
+        Map<String, List<AlertOutboxEvent>> eventsByAlert = batch.stream()
+                .collect(Collectors.groupingBy(AlertOutboxEvent::getAlertId, LinkedHashMap::new, Collectors.toList()));
+
+        int completed = 0;
+        try {
+            recordResult(transactionTemplate.execute(status -> apply(eventsByAlert.keySet())));
+            outbox.complete(batch);
+            completed = batch.size();
+        } catch (Exception e) {
+            log.warn("Projection batch of {} alerts failed, retrying individually: {}",
+                    eventsByAlert.size(), e.getMessage());
+            for (Map.Entry<String, List<AlertOutboxEvent>> entry : eventsByAlert.entrySet()) {
+                try {
+                    recordResult(transactionTemplate.execute(status -> apply(List.of(entry.getKey()))));
+                    outbox.complete(entry.getValue());
+                    completed += entry.getValue().size();
+                } catch (Exception alertEx) {
+                    failures.increment();
+                    log.error("Failed to project alertId: {}: {}", entry.getKey(), alertEx.getMessage());
+                    outbox.fail(entry.getValue(), alertEx.getMessage());
+                }
+            }
+        }
+
+        lastBatchAt = Instant.now();
+        lastBatchSize = batch.size();
+        lastBatchMillis = System.currentTimeMillis() - start;
+        log.debug("Projected {} of {} outbox events in {}ms", completed, batch.size(), lastBatchMillis);
+        return completed;
+    }
+
+    private ApplyResult apply(Collection<String> alertIds) {
+        Map<String, AlertEntity> sources = mongoTemplate.find(
+                        new Query(Criteria.where("alertId").in(alertIds)),
+                        AlertEntity.class,
+                        CaisAlertConstants.ALERTS)
+                .stream()
+                .collect(Collectors.toMap(AlertEntity::getAlertId, Function.identity(), (first, second) -> first));
+        Map<String, RdbmsAlertEntity> targets = rdbmsAlertRepository.findByAlertIdIn(alertIds).stream()
+                .collect(Collectors.toMap(RdbmsAlertEntity::getAlertId, Function.identity()));
+
+        List<RdbmsAlertEntity> upserts = new ArrayList<>();
+        List<RdbmsAlertEntity> deletes = new ArrayList<>();
+        List<TradeLinkPublisher.Link> links = new ArrayList<>(alertIds.size());
+        for (String alertId : alertIds) {
+            AlertEntity source = sources.get(alertId);
+            RdbmsAlertEntity target = targets.get(alertId);
+            links.add(source != null
+                    ? new TradeLinkPublisher.Link(alertId, source.getTransactionId(), source.getAccountId())
+                    : new TradeLinkPublisher.Link(alertId, null, null));
+            if (source != null) {
+                RdbmsAlertEntity projection = rdbmsAlertMapper.toRdbmsEntity(alertMapper.toModel(source));
+                if (target != null) {
+                    projection.setId(target.getId());
+                }
+                upserts.add(projection);
+            } else if (target != null) {
+                deletes.add(target);
+            }
+        }
+
+        rdbmsAlertRepository.saveAll(upserts);
+        if (!deletes.isEmpty()) {
+            rdbmsAlertRepository.deleteAllInBatch(deletes);
+        }
+        return new ApplyResult(upserts.size(), deletes.size(), links);
+    }
+
+    private void recordResult(ApplyResult result) {
+        projected.add(result.upserted());
+        deleted.add(result.deleted());
+        tradeLinkOutbox.enqueue(result.links());
+    }
+}
@@ -0,0 +1,336 @@
+package com.dair.cais.alert.projection;
+
+import com.dair.cais.alert.AlertEntity;
+import com.dair.cais.alert.AlertMapper;
+import com.dair.cais.alert.projection.AlertReconciliationRun.Divergence;
+import com.dair.cais.alert.projection.AlertReconciliationRun.DivergenceType;
+import com.dair.cais.alert.projection.AlertReconciliationRun.Mode;
+import com.dair.cais.alert.projection.AlertReconciliationRun.Status;
+import com.dair.cais.alert.rdbms.RdbmsAlertEntity;
+import com.dair.cais.alert.rdbms.RdbmsAlertMapper;
+import com.dair.cais.alert.rdbms.RdbmsAlertRepository;
+import com.dair.cais.common.config.CaisAlertConstants;
+import com.dair.exception.CaisIllegalArgumentException;
+import com.dair.exception.CaisNotFoundException;
+import com.dair.util.PostgresIndexes;
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.dair.util.PostgresIndexes.index;
+
+/**
+ * Compares the Mongo alerts collection with {@code info_alert.cm_alerts} and reports or repairs divergences.
+ * <p>
+ * Both stores are walked in {@code alertId} order in keyset chunks and merge-joined; each side is reduced to a
+ * hash of the fields {@link RdbmsAlertMapper} maps. Progress is checkpointed after every chunk so a run can be
+ * stopped and resumed, and chunks are paced to {@code alert.reconciliation.max-alerts-per-second}. Repairs are
+ * queued on the {@link AlertOutbox}, so the projector applies the current Mongo state.
+ * <p>
+ * Each run first ensures the indexes its chunk queries seek on: {@code alertId} in Mongo and
+ * {@code alert_id COLLATE "C"} in PostgreSQL, built concurrently so {@code cm_alerts} stays writable.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertReconciler {
+    private static final List<PostgresIndexes.Index> RDBMS_INDEXES = List.of(
+            index("info_alert.ix_cm_alerts_alert_id_c", "ON info_alert.cm_alerts ((alert_id COLLATE \"C\"))"));
+
+    private final MongoTemplate mongoTemplate;
+    private final AlertMapper alertMapper;
+    private final RdbmsAlertMapper rdbmsAlertMapper;
+    private final RdbmsAlertRepository rdbmsAlertRepository;
+    private final AlertOutbox outbox;
+    private final AlertReconciliationConfig config;
+    private final DataSource dataSource;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AlertReconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<String> activeRunId = new AtomicReference<>();
+    private volatile boolean stopRequested;
+
+    public AlertReconciliationRun start(Mode mode) {
+        AlertReconciliationRun run = new AlertReconciliationRun();
+        run.setMode(mode);
+        run.setStatus(Status.RUNNING);
+        run.setStartedAt(Instant.now());
+        run.setUpdatedAt(run.getStartedAt());
+        return launch(run);
+    }
+
+    public AlertReconciliationRun resume(String runId) {
+        AlertReconciliationRun run = getRun(runId);
+        if (run.getStatus() == Status.COMPLETED) {
+            throw new CaisIllegalArgumentException("Reconciliation run " + runId + " has already completed");
+        }
+        run.setStatus(Status.RUNNING);
+        run.setLastError(null);
+        run.setFinishedAt(null);
+        return launch(run);
+    }
+
+    public void stop(String runId) {
+        if (Objects.equals(activeRunId.get(), runId)) {
+            log.info("Stop requested for reconciliation run {}", runId);
+            stopRequested = true;
+        }
+    }
+
+    public AlertReconciliationRun getRun(String runId) {
+        AlertReconciliationRun run = mongoTemplate.findById(runId, AlertReconciliationRun.class);
+        if (run == null) {
+            throw new CaisNotFoundException("Reconciliation run not found with id: " + runId);
+        }
+        return run;
+    }
+
+    public List<AlertReconciliationRun> getRecentRuns(int limit) {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "startedAt")).limit(limit);
+        query.fields().exclude("samples");
+        return mongoTemplate.find(query, AlertReconciliationRun.class);
+    }
+
+    /**
+     * Resumes the latest unfinished run or starts a new one. Disabled unless {@code alert.reconciliation.cron} is set.
+     */
+    @Scheduled(cron = "${alert.reconciliation.cron:-}")
+    public void scheduledRun() {
+        if (activeRunId.get() != null) {
+            log.info("Skipping scheduled reconciliation, run {} is still active", activeRunId.get());
+            return;
+        }
+        Query latest = new Query().with(Sort.by(Sort.Direction.DESC, "startedAt")).limit(1);
+        AlertReconciliationRun run = mongoTemplate.findOne(latest, AlertReconciliationRun.class);
+        if (run != null && run.getStatus() != Status.COMPLETED) {
+            resume(run.getId());
+        } else {
+            start(config.isScheduledRepair() ? Mode.REPAIR : Mode.REPORT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested = true;
+        executor.shutdown();
+    }
+
+    private AlertReconciliationRun launch(AlertReconciliationRun run) {
+        if (!activeRunId.compareAndSet(null, "pending")) {
+            throw new CaisIllegalArgumentException("A reconciliation run is already in progress: " + activeRunId.get());
+        }
+        try {
+            AlertReconciliationRun saved = mongoTemplate.save(run);
+            activeRunId.set(saved.getId());
+            stopRequested = false;
+            executor.submit(() -> execute(saved));
+            log.info("Started reconciliation run {} in {} mode from checkpoint '{}'",
+                    saved.getId(), saved.getMode(), saved.getCheckpointAlertId());
+            return saved;
+        } catch (RuntimeException e) {
+            activeRunId.set(null);
+            throw e;
+        }
+    }
+
+    private void execute(AlertReconciliationRun run) {
+        try {
+            mongoTemplate.indexOps(CaisAlertConstants.ALERTS).ensureIndex(new Index().on("alertId", Sort.Direction.ASC));
+            PostgresIndexes.ensure(dataSource, "Alert reconciliation", List.of(), RDBMS_INDEXES);
+
+            boolean exhausted = false;
+            while (!exhausted && !stopRequested) {
+                long chunkStart = System.currentTimeMillis();
+                int compared = reconcileChunk(run);
+                exhausted = compared == 0;
+                run.setUpdatedAt(Instant.now());
+                mongoTemplate.save(run);
+                throttle(compared, chunkStart);
+            }
+
+            run.setStatus(exhausted ? Status.COMPLETED : Status.STOPPED);
+            if (exhausted) {
+                run.setFinishedAt(Instant.now());
+            }
+            log.info("Reconciliation run {} {}: scanned={}, mismatched={}, missingInRdbms={}, missingInMongo={}, repairsQueued={}",
+                    run.getId(), run.getStatus(), run.getScanned(), run.getMismatched(),
+                    run.getMissingInRdbms(), run.getMissingInMongo(), run.getRepairsQueued());
+        } catch (Exception e) {
+            log.error("Reconciliation run {} failed at checkpoint '{}': {}",
+                    run.getId(), run.getCheckpointAlertId(), e.getMessage(), e);
+            run.setStatus(Status.FAILED);
+            run.setLastError(e.getMessage());
+        } finally {
+            run.setUpdatedAt(Instant.now());
+            mongoTemplate.save(run);
+            activeRunId.set(null);
+        }
+    }
+
+    /**
+     * Compares the next chunk after the run's checkpoint and advances it. Returns the number of alert IDs compared.
+     */
+    private int reconcileChunk(AlertReconciliationRun run) {
+        String after = run.getCheckpointAlertId();
+        int chunkSize = config.getChunkSize();
+
+        Query mongoChunk = new Query(Criteria.where("alertId").gt(after))
+                .with(Sort.by(Sort.Direction.ASC, "alertId"))
+                .limit(chunkSize);
+        List<AlertEntity> mongoAlerts = mongoTemplate.find(mongoChunk, AlertEntity.class, CaisAlertConstants.ALERTS);
+        List<RdbmsAlertEntity> rdbmsAlerts = rdbmsAlertRepository.findChunkAfter(after, chunkSize);
+
+        // A full chunk only covers keys up to its last ID; beyond that the other side may be ahead
+        String upperBound = null;
+        if (mongoAlerts.size() == chunkSize) {
+            upperBound = mongoAlerts.get(mongoAlerts.size() - 1).getAlertId();
+        }
+        if (rdbmsAlerts.size() == chunkSize) {
+            String rdbmsLast = rdbmsAlerts.get(rdbmsAlerts.size() - 1).getAlertId();
+            upperBound = upperBound == null || rdbmsLast.compareTo(upperBound) < 0 ? rdbmsLast : upperBound;
+        }
+
+        List<String> repairs = new ArrayList<>();
+        int compared = 0;
+        int m = 0;
+        int r = 0;
+        String lastCompared = after;
+        while (m < mongoAlerts.size() || r < rdbmsAlerts.size()) {
+            AlertEntity mongoAlert = m < mongoAlerts.size() ? mongoAlerts.get(m) : null;
+            RdbmsAlertEntity rdbmsAlert = r < rdbmsAlerts.size() ? rdbmsAlerts.get(r) : null;
+            String mongoId = mongoAlert != null ? mongoAlert.getAlertId() : null;
+            String rdbmsId = rdbmsAlert != null ? rdbmsAlert.getAlertId() : null;
+
+            int order = mongoId == null ? 1 : rdbmsId == null ? -1 : mongoId.compareTo(rdbmsId);
+            String key = order <= 0 ? mongoId : rdbmsId;
+            if (upperBound != null && key.compareTo(upperBound) > 0) {
+                break;
+            }
+
+            if (order < 0) {
+                recordDivergence(run, repairs, key, DivergenceType.MISSING_IN_RDBMS, null);
+                m++;
+            } else if (order > 0) {
+                recordDivergence(run, repairs, key, DivergenceType.MISSING_IN_MONGO, null);
+                r++;
+            } else {
+                compare(run, repairs, mongoAlert, rdbmsAlert);
+                m++;
+                r++;
+            }
+            compared++;
+            lastCompared = key;
+        }
+
+        run.setScanned(run.getScanned() + compared);
+        run.setCheckpointAlertId(lastCompared);
+        if (run.getMode() == Mode.REPAIR && !repairs.isEmpty()) {
+            run.setRepairsQueued(run.getRepairsQueued() + outbox.enqueueAll(repairs));
+        }
+        return compared;
+    }
+
+    private void compare(AlertReconciliationRun run, List<String> repairs,
+                         AlertEntity mongoAlert, RdbmsAlertEntity rdbmsAlert) {
+        String expected;
+        try {
+            expected = hash(rdbmsAlertMapper.toRdbmsEntity(alertMapper.toModel(mongoAlert)));
+        } catch (Exception e) {
+            recordDivergence(run, repairs, mongoAlert.getAlertId(), DivergenceType.UNMAPPABLE, e.getMessage());
+            return;
+        }
+        if (expected.equals(hash(rdbmsAlert))) {
+            run.setMatched(run.getMatched() + 1);
+        } else {
+            recordDivergence(run, repairs, mongoAlert.getAlertId(), DivergenceType.MISMATCH, null);
+        }
+    }
+
+    private void recordDivergence(AlertReconciliationRun run, List<String> repairs, String alertId,
+                                  DivergenceType type, String detail) {
+        switch (type) {
+            case MISSING_IN_RDBMS -> run.setMissingInRdbms(run.getMissingInRdbms() + 1);
+            case MISSING_IN_MONGO -> run.setMissingInMongo(run.getMissingInMongo() + 1);
+            case MISMATCH -> run.setMismatched(run.getMismatched() + 1);
+            case UNMAPPABLE -> run.setUnmappable(run.getUnmappable() + 1);
+        }
+        if (run.getSamples().size() < config.getSampleLimit()) {
+            run.getSamples().add(new Divergence(alertId, type, detail));
+        }
+        // An unmappable document would fail projection as well, so it is only reported
+        if (type != DivergenceType.UNMAPPABLE) {
+            repairs.add(alertId);
+        }
+    }
+
+    /**
+     * Hashes the projected columns. Surrogate and audit columns are skipped, as is reason_details,
+     * which jsonb stores in normalized form.
+     */
+    private String hash(RdbmsAlertEntity entity) {
+        String canonical = Stream.of(
+                        entity.getAlertId(), date(entity.getCreateDate()), date(entity.getLastUpdateDate()),
+                        entity.getTotalScore(), entity.getCreatedBy(), date(entity.getBusinessDate()),
+                        entity.getFocalEntity(), entity.getFocus(), entity.getAlertTypeId(), entity.getAlertRegion(),
+                        entity.getAlertGroupId(), entity.getIsConsolidated(), entity.getIsActive(),
+                        entity.getHasMultipleScenario(), entity.getIsDeleted(), entity.getOrgUnitId(),
+                        entity.getOrgFamily(), entity.getPreviousOrgUnitId(), entity.getIsOrgUnitUpdated(),
+                        entity.getIsRelatedAlert(), entity.getOwnerId(), entity.getOwnerName(), entity.getStatus(),
+                        entity.getAlertStepId(), entity.getAlertStepName(), entity.getIsCaseCreated(),
+                        entity.getDetails(), entity.getPivot(), entity.getAccountId(), entity.getTransactionId(),
+                        entity.getCustomerId(), entity.getHouseholdId(), entity.getPriority(), entity.getTag(),
+                        entity.getBranchId(), entity.getRepresentativeId(), entity.getBuildingBlock(),
+                        entity.getWatchListId(), entity.getRepresentativeName(), entity.getDueIn(),
+                        entity.getOrgKey(), entity.getBranchName(), entity.getCustomerName(),
+                        entity.getAccountName(), entity.getScenarioModelIds(), entity.getScenarioModelNames(),
+                        entity.getAlertTypeName(), date(entity.getLastStepUpdatedDate()), date(entity.getDeadLine()))
+                .map(String::valueOf)
+                .collect(Collectors.joining("\u001f"));
+        return DigestUtils.sha256Hex(canonical);
+    }
+
+    // PostgreSQL timestamps keep microseconds
+    private LocalDateTime date(LocalDateTime value) {
+        return value != null ? value.truncatedTo(ChronoUnit.MICROS) : null;
+    }
+
+    private void throttle(int compared, long chunkStart) {
+        if (config.getMaxAlertsPerSecond() <= 0 || compared == 0) {
+            return;
+        }
+        long budgetMillis = compared * 1000L / config.getMaxAlertsPerSecond();
+        long sleepMillis = budgetMillis - (System.currentTimeMillis() - chunkStart);
+        if (sleepMillis > 0) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopRequested = true;
+            }
+        }
+    }
+}
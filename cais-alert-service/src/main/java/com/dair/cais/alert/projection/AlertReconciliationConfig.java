@@ -0,0 +1,30 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "alert.reconciliation")
+@Data
+@Validated
+public class AlertReconciliationConfig {
+    @Min(1)
+    @Max(10000)
+    private int chunkSize = 500;
+
+    /** Upper bound on alerts compared per second; 0 disables throttling. */
+    @Min(0)
+    private int maxAlertsPerSecond = 2000;
+
+    /** Number of divergent alert IDs kept on the run for inspection. */
+    @Min(0)
+    @Max(10000)
+    private int sampleLimit = 100;
+
+    /** Whether scheduled runs (alert.reconciliation.cron) queue repairs or only report. */
+    private boolean scheduledRepair = false;
+}
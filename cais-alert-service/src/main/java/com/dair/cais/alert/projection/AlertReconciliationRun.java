@@ -0,0 +1,57 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one reconciliation pass. {@code checkpointAlertId} is the last alert ID compared,
+ * so a stopped or failed run resumes from there.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "alert_reconciliation_runs")
+public class AlertReconciliationRun {
+    public enum Status { RUNNING, STOPPED, COMPLETED, FAILED }
+
+    public enum Mode { REPORT, REPAIR }
+
+    public enum DivergenceType { MISSING_IN_RDBMS, MISSING_IN_MONGO, MISMATCH, UNMAPPABLE }
+
+    @Data
+    @NoArgsConstructor
+    public static class Divergence {
+        private String alertId;
+        private DivergenceType type;
+        private String detail;
+
+        public Divergence(String alertId, DivergenceType type, String detail) {
+            this.alertId = alertId;
+            this.type = type;
+            this.detail = detail;
+        }
+    }
+
+    @Id
+    private String id;
+    private Status status;
+    private Mode mode;
+    private String checkpointAlertId = "";
+    private long scanned;
+    private long matched;
+    private long missingInRdbms;
+    private long missingInMongo;
+    private long mismatched;
+    private long unmappable;
+    private long repairsQueued;
+    private List<Divergence> samples = new ArrayList<>();
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+    private String lastError;
+}
@@ -0,0 +1,71 @@
+package com.dair.cais.alert.projection;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Claims batches of a Mongo outbox that several service instances drain at once.
+ * <p>
+ * Outbox documents carry {@code attempts}, {@code owner} and {@code leaseUntil}. A claim stamps a fresh owner token
+ * and a lease on each candidate in one conditional update; Mongo re-checks the condition per document, so an event
+ * is only ever held by one claim. Holders complete or fail only the events that still carry their token, and events
+ * of an instance that died are claimable again once the lease runs out. A lease in the future without an owner
+ * defers a failed event until its retry time.
+ */
+final class OutboxLeases {
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final AtomicLong CLAIMS = new AtomicLong();
+
+    private OutboxLeases() {
+    }
+
+    /**
+     * Claims up to {@code size} of the oldest claimable documents. Documents another instance claims in between
+     * are skipped, so the batch may come back smaller.
+     */
+    static <T> List<T> claim(MongoTemplate mongoTemplate, Class<T> type, int maxAttempts, int size, long leaseMs) {
+        Instant now = Instant.now();
+        Query candidates = new Query(claimable(maxAttempts, now))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(size);
+        candidates.fields().include("_id");
+        List<Object> candidateIds = mongoTemplate.find(candidates, Document.class, mongoTemplate.getCollectionName(type))
+                .stream()
+                .map(document -> document.get("_id"))
+                .collect(Collectors.toList());
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        String owner = INSTANCE_ID + "-" + CLAIMS.incrementAndGet();
+        Update claim = new Update()
+                .set("owner", owner)
+                .set("leaseUntil", now.plusMillis(leaseMs));
+        mongoTemplate.updateMulti(new Query(new Criteria().andOperator(Criteria.where("_id").in(candidateIds),
+                claimable(maxAttempts, now))), claim, type);
+        return mongoTemplate.find(heldBy(candidateIds, owner).with(Sort.by(Sort.Direction.ASC, "_id")), type);
+    }
+
+    /**
+     * The documents among {@code ids} still held by {@code owner}.
+     */
+    static Query heldBy(Collection<?> ids, String owner) {
+        return new Query(Criteria.where("_id").in(ids).and("owner").is(owner));
+    }
+
+    static Criteria claimable(int maxAttempts, Instant now) {
+        return Criteria.where("attempts").lt(maxAttempts)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now));
+    }
+}
@@ -0,0 +1,112 @@
+package com.dair.cais.alert.projection;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mongo-backed outbox of alert trade links waiting to be pushed to cais-trade-service.
+ * {@link AlertProjector} enqueues the links of every projected alert and {@link TradeLinkPublisher} delivers them
+ * on its own thread, so the projection never waits on the trade service. Batches are claimed through
+ * {@link OutboxLeases}; a failed delivery is retried after {@code alert.trade-linkage.retry-delay-ms} and parked
+ * after {@code alert.trade-linkage.max-attempts}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TradeLinkOutbox {
+    private final MongoTemplate mongoTemplate;
+    private final TradeLinkageConfig config;
+
+    /**
+     * Stores the links, replacing any not yet delivered for the same alerts. Nothing is stored while the linkage
+     * is disabled.
+     */
+    void enqueue(List<TradeLinkPublisher.Link> links) {
+        if (!config.isEnabled() || links.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TradeLinkOutboxEvent.class);
+        for (TradeLinkPublisher.Link link : links) {
+            // The lease is left alone: a delivery holding the old link sees the new version and releases it
+            bulk.upsert(new Query(Criteria.where("_id").is(link.alertId())), new Update()
+                    .set("transactionId", link.transactionId())
+                    .set("accountId", link.accountId())
+                    .set("enqueuedAt", now)
+                    .set("attempts", 0)
+                    .unset("lastError")
+                    .inc("version", 1));
+        }
+        bulk.execute();
+    }
+
+    List<TradeLinkOutboxEvent> claimBatch(int size) {
+        return OutboxLeases.claim(mongoTemplate, TradeLinkOutboxEvent.class, config.getMaxAttempts(), size,
+                config.getLeaseMs());
+    }
+
+    /**
+     * Removes delivered links. Links overwritten while they were in flight are released for the next delivery.
+     */
+    void complete(List<TradeLinkOutboxEvent> events) {
+        String owner = events.get(0).getOwner();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TradeLinkOutboxEvent.class);
+        for (TradeLinkOutboxEvent event : events) {
+            bulk.remove(new Query(Criteria.where("_id").is(event.getAlertId())
+                    .and("owner").is(owner)
+                    .and("version").is(event.getVersion())));
+        }
+        bulk.execute();
+        mongoTemplate.updateMulti(OutboxLeases.heldBy(ids(events), owner),
+                new Update().unset("owner").unset("leaseUntil"), TradeLinkOutboxEvent.class);
+    }
+
+    /**
+     * Counts an attempt against each link and holds it back until the retry delay has passed.
+     */
+    void fail(List<TradeLinkOutboxEvent> events, String error) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .inc("attempts", 1)
+                .set("lastError", error)
+                .set("lastAttemptAt", now)
+                .set("leaseUntil", now.plusMillis(config.getRetryDelayMs()))
+                .unset("owner");
+        mongoTemplate.updateMulti(OutboxLeases.heldBy(ids(events), events.get(0).getOwner()), update,
+                TradeLinkOutboxEvent.class);
+    }
+
+    /**
+     * Puts links that exhausted their attempts back in the queue.
+     */
+    public long retryFailed() {
+        return mongoTemplate.updateMulti(
+                new Query(Criteria.where("attempts").gte(config.getMaxAttempts())),
+                new Update().set("attempts", 0).unset("owner").unset("leaseUntil"),
+                TradeLinkOutboxEvent.class
+        ).getModifiedCount();
+    }
+
+    long countPending() {
+        return mongoTemplate.count(new Query(Criteria.where("attempts").lt(config.getMaxAttempts())),
+                TradeLinkOutboxEvent.class);
+    }
+
+    long countFailed() {
+        return mongoTemplate.count(new Query(Criteria.where("attempts").gte(config.getMaxAttempts())),
+                TradeLinkOutboxEvent.class);
+    }
+
+    private List<String> ids(Collection<TradeLinkOutboxEvent> events) {
+        return events.stream().map(TradeLinkOutboxEvent::getAlertId).collect(Collectors.toList());
+    }
+}
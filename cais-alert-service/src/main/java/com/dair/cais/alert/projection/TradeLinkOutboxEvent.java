@@ -0,0 +1,34 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The latest trade references of one alert, waiting to be pushed to cais-trade-service. Keyed by alert ID, so a
+ * newer projection overwrites a link that has not been delivered yet; {@code version} grows with every overwrite
+ * and tells a delivery whether the link changed while it was in flight.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "trade_link_outbox")
+public class TradeLinkOutboxEvent {
+    @Id
+    private String alertId;
+    private String transactionId;
+    private String accountId;
+    private long version;
+    private Instant enqueuedAt;
+    private int attempts;
+    private String lastError;
+    private Instant lastAttemptAt;
+    private String owner;
+    private Instant leaseUntil;
+
+    TradeLinkPublisher.Link toLink() {
+        return new TradeLinkPublisher.Link(alertId, transactionId, accountId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.dair.cais.alert.projection;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the trade references of projected alerts from the {@link TradeLinkOutbox} to cais-trade-service, which
+ * keeps the indexed alert to trade linkage behind its {@code POST /trades/by-alerts} lookup.
+ * <p>
+ * Delivery runs on its own thread, apart from the projection and from the shared scheduler, so a slow or
+ * unavailable trade service only delays the links: failed batches stay in the outbox and are retried, then parked.
+ */
+@Slf4j
+@Component
+public class TradeLinkPublisher {
+
+    /** Body item of {@code POST /trades/alert-links}; both references null removes the alert's links. */
+    public record Link(String alertId, String transactionId, String accountId) {}
+
+    private final TradeLinkOutbox outbox;
+    private final TradeLinkageConfig config;
+    private final RestClient restClient;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private ScheduledExecutorService executor;
+
+    public TradeLinkPublisher(TradeLinkOutbox outbox, TradeLinkageConfig config) {
+        this.outbox = outbox;
+        this.config = config;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(config.getTimeoutMs());
+        requestFactory.setReadTimeout(config.getTimeoutMs());
+        this.restClient = config.isEnabled() && config.getTradeServiceUrl() != null
+                ? RestClient.builder().baseUrl(config.getTradeServiceUrl()).requestFactory(requestFactory).build()
+                : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (restClient == null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TradeLinkPublisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::deliver, config.getPollIntervalMs(), config.getPollIntervalMs(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    void deliver() {
+        // Exceptions must not escape: the executor would stop scheduling the task
+        try {
+            List<TradeLinkOutboxEvent> batch;
+            do {
+                batch = outbox.claimBatch(config.getBatchSize());
+                if (!batch.isEmpty() && !push(batch)) {
+                    return;
+                }
+            } while (batch.size() == config.getBatchSize());
+        } catch (Exception e) {
+            log.error("Trade link delivery run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean push(List<TradeLinkOutboxEvent> batch) {
+        List<Link> links = batch.stream().map(TradeLinkOutboxEvent::toLink).collect(Collectors.toList());
+        try {
+            restClient.post()
+                    .uri("/trades/alert-links")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(links)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            failures.increment();
+            log.warn("Failed to publish trade links for {} alerts, will retry: {}", links.size(), e.getMessage());
+            outbox.fail(batch, e.getMessage());
+            return false;
+        }
+        outbox.complete(batch);
+        published.add(links.size());
+        return true;
+    }
+}
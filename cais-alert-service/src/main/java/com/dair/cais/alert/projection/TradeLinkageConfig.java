@@ -0,0 +1,41 @@
+package com.dair.cais.alert.projection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "alert.trade-linkage")
+@Data
+@Validated
+public class TradeLinkageConfig {
+    private boolean enabled = false;
+
+    /** Base URL of cais-trade-service. */
+    private String tradeServiceUrl;
+
+    @Min(100)
+    private int timeoutMs = 5000;
+
+    /** Links sent to the trade service per request. */
+    @Min(1)
+    @Max(5000)
+    private int batchSize = 500;
+
+    @Min(100)
+    private long pollIntervalMs = 1000;
+
+    @Min(1)
+    private int maxAttempts = 10;
+
+    /** How long a failed delivery waits before it is claimed again. */
+    @Min(100)
+    private long retryDelayMs = 30000;
+
+    /** How long a claimed batch stays reserved for one instance; after that another instance may take it. */
+    @Min(1000)
+    private long leaseMs = 60000;
+}
@@ -1,33 +1,17 @@
 package com.dair.cais.alert.rdbms;
 
 import com.dair.cais.alert.Alert;
+import com.dair.cais.alert.AlertDateNormalizer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 @Component
 @Slf4j
 public class RdbmsAlertMapper {
 
     private LocalDateTime parseDateTime(String dateStr) {
-        if (dateStr == null) {
-            return null;
-        }
-
-        try {
-            // First try parsing with T format (2024-10-31T23:54:41)
-            return LocalDateTime.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
-        } catch (DateTimeParseException e) {
-            try {
-                // If that fails, try the space format (yyyy-MM-dd HH:mm:ss)
-                return LocalDateTime.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            } catch (DateTimeParseException e2) {
-                log.error("Failed to parse date: {} with both formats", dateStr);
-                throw new RuntimeException("Unable to parse date: " + dateStr, e2);
-            }
-        }
+        return AlertDateNormalizer.parse(dateStr);
     }
 
     public RdbmsAlertEntity toRdbmsEntity(Alert alert) {
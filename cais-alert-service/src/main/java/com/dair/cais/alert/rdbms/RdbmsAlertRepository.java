@@ -7,12 +7,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RdbmsAlertRepository extends JpaRepository<RdbmsAlertEntity, Long> {
     Optional<RdbmsAlertEntity> findByAlertId(String alertId);
+    List<RdbmsAlertEntity> findByAlertIdIn(Collection<String> alertIds);
     void deleteByAlertId(String alertId);
 
     @Modifying
@@ -22,6 +24,14 @@ public interface RdbmsAlertRepository extends JpaRepository<RdbmsAlertEntity, Lo
                              @Param("ownerName") String ownerName,
                              @Param("lastUpdateDate") LocalDateTime lastUpdateDate);
 
+    /**
+     * Keyset page in byte order of alert_id, matching the ordering Mongo uses for string keys. Served by the
+     * {@code alert_id COLLATE "C"} expression index {@code AlertReconciler} ensures before each run.
+     */
+    @Query(value = "SELECT * FROM info_alert.cm_alerts WHERE alert_id COLLATE \"C\" > :afterAlertId " +
+            "ORDER BY alert_id COLLATE \"C\" LIMIT :limit", nativeQuery = true)
+    List<RdbmsAlertEntity> findChunkAfter(@Param("afterAlertId") String afterAlertId, @Param("limit") int limit);
+
     @Query("SELECT r FROM RdbmsAlertEntity r WHERE r.orgKey IS NULL")
     List<RdbmsAlertEntity> findAllByOrgKeyIsNull();
 }
\ No newline at end of file
@@ -1,6 +1,12 @@
 package com.dair.cais.attachment;
 
+import com.dair.cais.timeline.MongoTimelineQueries;
+import com.dair.cais.timeline.TimelineCursor;
+import com.dair.cais.timeline.TimelineEntry;
+import com.dair.cais.timeline.TimelineEntryType;
 import com.dair.exception.CaisBaseException;
+import com.dair.util.PatchFields;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
@@ -11,11 +17,10 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.dair.cais.common.config.CaisAlertConstants.MONGO_COLLECTION_ALERT_ATTACHMENTS;
 
@@ -40,6 +45,24 @@ public class AttachmentRepository {
     }
 
 
+    /**
+     * One page of an alert's attachments, newest first, without file contents.
+     */
+    public List<TimelineEntry> findTimeline(String alertId, TimelineCursor cursor, int limit, boolean includeBody) {
+        Query query = MongoTimelineQueries.page(alertId, cursor, TimelineEntryType.ATTACHMENT, limit);
+        query.fields().include("_id", "alertId", "fileName", "fileSize", "createdBy", "createdDate");
+        if (includeBody) {
+            query.fields().include("comment");
+        }
+        return mongoTemplate.find(query, Document.class, "attachments").stream()
+                .map(document -> MongoTimelineQueries.entry(TimelineEntryType.ATTACHMENT, document)
+                        .title(document.getString("fileName"))
+                        .size(MongoTimelineQueries.longValue(document, "fileSize"))
+                        .body(document.getString("comment"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
         public AttachmentEntity createUpsertAttachment(AttachmentEntity attachmentEntity) {
         AttachmentEntity alEntity = mongoTemplate.save(attachmentEntity, MONGO_COLLECTION_ALERT_ATTACHMENTS);
         return alEntity;
@@ -49,21 +72,7 @@ public class AttachmentRepository {
 
         Update update = new Update();
 
-        for (Field field : attachmentEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(attachmentEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(attachmentEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(attachmentEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
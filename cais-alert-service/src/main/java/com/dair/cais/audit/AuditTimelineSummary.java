@@ -0,0 +1,17 @@
+package com.dair.cais.audit;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Timeline projection of an audit entry; {@code newValue} is null unless the body was requested.
+ */
+public interface AuditTimelineSummary {
+    Long getAuditId();
+    String getAffectedItemId();
+    Long getUserId();
+    ZonedDateTime getActionTimestamp();
+    String getDescription();
+    String getCategory();
+    String getActionName();
+    String getNewValue();
+}
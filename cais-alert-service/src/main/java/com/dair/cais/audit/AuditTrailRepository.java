@@ -1,5 +1,6 @@
 package com.dair.cais.audit;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,9 +38,29 @@ public interface AuditTrailRepository extends JpaRepository<AuditTrailEntity, Lo
     List<AuditTrailDetailsDTO> findAuditTrailStepHistory(
             @Param("affectedItemId") String affectedItemId,
             @Param("actionId") Integer actionId);
+
+    /**
+     * Keyset page of the audit entries for one item, newest first, served by the
+     * {@code (affected_item_type, affected_item_id, action_timestamp DESC, audit_id DESC)} index.
+     */
+    @Query("SELECT a.auditId AS auditId, a.affectedItemId AS affectedItemId, a.userId AS userId, " +
+            "a.actionTimestamp AS actionTimestamp, a.description AS description, a.category AS category, " +
+            "act.actionName AS actionName, " +
+            "CASE WHEN :includeBody = true THEN a.newValue ELSE NULL END AS newValue " +
+            "FROM AuditTrailEntity a LEFT JOIN a.action act " +
+            "WHERE a.affectedItemType = :itemType AND a.affectedItemId = :itemId " +
+            "AND (a.actionTimestamp < :before OR (a.actionTimestamp = :before AND a.auditId < :beforeId)) " +
+            "ORDER BY a.actionTimestamp DESC, a.auditId DESC")
+    List<AuditTimelineSummary> findTimeline(@Param("itemType") String itemType,
+                                            @Param("itemId") String itemId,
+                                            @Param("before") ZonedDateTime before,
+                                            @Param("beforeId") Long beforeId,
+                                            @Param("includeBody") boolean includeBody,
+                                            Pageable pageable);
 }
 
 
+
 //package com.dair.cais.audit;
 //
 //import org.springframework.data.jpa.repository.JpaRepository;
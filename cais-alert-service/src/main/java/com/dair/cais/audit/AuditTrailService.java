@@ -3,15 +3,25 @@ package com.dair.cais.audit;
 import com.dair.cais.access.Actions.ActionEntity;
 import com.dair.cais.access.Actions.ActionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class AuditTrailService {
+    private static final int AUDIT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_AUDIT_SQL = "INSERT INTO info_alert.cm_audit_trail " +
+            "(audit_id, action_id, user_id, user_role, action_timestamp, description, category, " +
+            "affected_item_type, affected_item_id, old_value, new_value) " +
+            "VALUES (nextval('info_alert.cm_audit_sequence'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
     @Autowired
     private ActionRepository actionRepository;
@@ -22,6 +32,9 @@ public class AuditTrailService {
     @Autowired
     private AuditTrailMapper auditTrailMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Transactional
     public AuditTrail createAuditTrail(AuditTrail auditTrail) {
         AuditTrailEntity entity = auditTrailMapper.dtoToEntity(auditTrail);
@@ -83,4 +96,41 @@ public class AuditTrailService {
 
         return createAuditTrail(auditTrail);
     }
+
+    /**
+     * Logs the same action against many items with JDBC batch inserts instead of one JPA save per item.
+     * The action is checked once and every row shares one timestamp.
+     *
+     * @return the number of audit rows written
+     */
+    @Transactional
+    public int logActionForItems(Long userId, String userRole, Integer actionId, String description,
+                                 String category, String affectedItemType, List<String> affectedItemIds,
+                                 String oldValue, String newValue) {
+        if (affectedItemIds.isEmpty()) {
+            return 0;
+        }
+        if (actionId != null && !actionRepository.existsById(actionId)) {
+            throw new RuntimeException("Action not found");
+        }
+        Timestamp actionTimestamp = Timestamp.from(Instant.now());
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, affectedItemIds, AUDIT_BATCH_SIZE, (ps, affectedItemId) -> {
+            if (actionId != null) {
+                ps.setInt(1, actionId);
+            } else {
+                ps.setNull(1, Types.INTEGER);
+            }
+            ps.setLong(2, userId);
+            ps.setString(3, userRole);
+            ps.setTimestamp(4, actionTimestamp);
+            ps.setString(5, description);
+            ps.setString(6, category);
+            ps.setString(7, affectedItemType);
+            ps.setString(8, affectedItemId);
+            ps.setString(9, oldValue);
+            ps.setString(10, newValue);
+        });
+        return affectedItemIds.size();
+    }
 }
\ No newline at end of file
@@ -25,7 +25,7 @@ public class CacheConfig {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeine);
 //        cacheManager.setCacheNames(java.util.Arrays.asList("userPermissions"));
-        cacheManager.setCacheNames(java.util.Arrays.asList("userPermissions", "userOrgUnits", "userOrgKeys"));
+        cacheManager.setCacheNames(java.util.Arrays.asList("userPermissions", "userPermissionDocuments", "userOrgUnits", "userOrgKeys"));
         return cacheManager;
     }
 }
\ No newline at end of file
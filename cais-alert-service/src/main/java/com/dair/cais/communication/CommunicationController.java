@@ -1,5 +1,7 @@
 package com.dair.cais.communication;
 
+import com.dair.cais.timeline.TimelinePage;
+import com.dair.cais.timeline.TimelineService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +14,9 @@ public class CommunicationController {
     @Autowired
     private CommunicationService communicationService;
 
+    @Autowired
+    private TimelineService timelineService;
+
     @PostMapping("/create")
     public ResponseEntity<Communication> createCommunication(@RequestBody Communication communication) {
         Communication createdCommunication = communicationService.createCommunication(communication);
@@ -23,4 +28,13 @@ public class CommunicationController {
         List<Communication> communications = communicationService.getCommunicationsByAlertId(alertId);
         return ResponseEntity.ok(communications);
     }
+
+    @GetMapping("/alert/{alertId}/timeline")
+    public ResponseEntity<TimelinePage> getCommunicationTimeline(
+            @PathVariable String alertId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeBody) {
+        return ResponseEntity.ok(timelineService.getCommunicationTimeline(alertId, cursor, limit, includeBody));
+    }
 }
\ No newline at end of file
@@ -1,10 +1,33 @@
 package com.dair.cais.communication;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommunicationRepository extends JpaRepository<CommunicationEntity, Long> {
     List<CommunicationEntity> findByAlertId(String alertId);
+
+    /**
+     * Keyset page of an alert's communications, newest first, served by the
+     * {@code (alert_id, create_date DESC, id DESC)} index. The message is only selected when requested.
+     */
+    @Query("SELECT c.id AS id, c.alertId AS alertId, c.type AS type, c.userId AS userId, " +
+            "c.hasAttachment AS hasAttachment, c.attachmentId AS attachmentId, c.createDate AS createDate, " +
+            "LENGTH(c.message) AS messageLength, " +
+            "CASE WHEN :includeBody = true THEN c.message ELSE NULL END AS message " +
+            "FROM CommunicationEntity c " +
+            "WHERE c.alertId = :alertId " +
+            "AND (c.createDate < :before OR (c.createDate = :before AND c.id < :beforeId)) " +
+            "ORDER BY c.createDate DESC, c.id DESC")
+    List<CommunicationSummary> findTimeline(@Param("alertId") String alertId,
+                                            @Param("before") LocalDateTime before,
+                                            @Param("beforeId") Long beforeId,
+                                            @Param("includeBody") boolean includeBody,
+                                            Pageable pageable);
 }
\ No newline at end of file
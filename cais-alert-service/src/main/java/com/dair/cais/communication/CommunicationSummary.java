@@ -0,0 +1,18 @@
+package com.dair.cais.communication;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timeline projection of a communication; {@code message} is null unless the body was requested.
+ */
+public interface CommunicationSummary {
+    Long getId();
+    String getAlertId();
+    String getType();
+    String getUserId();
+    Boolean getHasAttachment();
+    String getAttachmentId();
+    LocalDateTime getCreateDate();
+    Integer getMessageLength();
+    String getMessage();
+}
@@ -1,5 +1,6 @@
 package com.dair.cais.connection;
 
+import com.dair.cais.connection.pool.ConnectionPoolStats;
 import com.dair.cais.connection.validation.ConnectionTestResult;
 import com.dair.cais.exception.ConnectionValidationException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -84,6 +85,31 @@ public class ConnectionController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/pools")
+    @Operation(
+            summary = "Get connection pool metrics",
+            description = "Returns active, idle and waiting counts and acquisition latency for each open connection pool"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved pool metrics")
+    public ResponseEntity<List<ConnectionPoolStats>> getConnectionPools() {
+        log.debug("Received request to get connection pool metrics");
+        return ResponseEntity.ok(connectionService.getConnectionPoolStats());
+    }
+
+    @DeleteMapping("/pools/{connectionId}")
+    @Operation(
+            summary = "Close a connection pool",
+            description = "Closes the pool for the specified connection; it is rebuilt on next use"
+    )
+    @ApiResponse(responseCode = "204", description = "Connection pool closed")
+    public ResponseEntity<Void> closeConnectionPool(
+            @Parameter(description = "ID of the connection whose pool should be closed")
+            @PathVariable Long connectionId) {
+        log.info("Received request to close connection pool for connection ID: {}", connectionId);
+        connectionService.closeConnectionPool(connectionId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/{connectionId}")
     @Operation(
             summary = "Update an existing connection",
@@ -205,15 +231,19 @@ public class ConnectionController {
         log.info("Received request to test connection and execute query for connection ID: {}", connectionId);
 
         try {
-            List<Map<String, Object>> results = connectionService.getConnectionAndTestQuery(
+            ConnectionService.TestQueryResult result = connectionService.getConnectionAndTestQuery(
                     connectionId,
                     request.getQuery()
             );
 
             QueryResponse response = new QueryResponse(
                     true,
-                    "Query executed successfully",
-                    results
+                    result.truncated()
+                            ? "Query executed successfully, showing the first " + result.rowLimit() + " rows"
+                            : "Query executed successfully",
+                    result.rows(),
+                    result.truncated(),
+                    result.rowLimit()
             );
 
             log.debug("Successfully executed query for connection ID: {}", connectionId);
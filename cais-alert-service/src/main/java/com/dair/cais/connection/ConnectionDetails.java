@@ -12,4 +12,7 @@ public class ConnectionDetails {
     private String username;
     private String password;
     private String additionalParams;
+    // Optional per-connection pool sizing; falls back to connection.pool defaults
+    private Integer maxPoolSize;
+    private Integer minIdle;
 }
\ No newline at end of file
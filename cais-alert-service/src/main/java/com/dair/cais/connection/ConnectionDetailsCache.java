@@ -0,0 +1,48 @@
+package com.dair.cais.connection;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of decrypted {@link ConnectionDetails}, so repeated tests and previews
+ * against the same connection do not decrypt the stored credentials every time.
+ * Entries are keyed by the IV as well, which changes whenever the credentials are re-encrypted.
+ */
+@Slf4j
+@Component
+public class ConnectionDetailsCache {
+    private final EncryptionService encryptionService;
+    private final Cache<DetailsKey, ConnectionDetails> cache;
+
+    private record DetailsKey(Long connectionId, String iv) {}
+
+    public ConnectionDetailsCache(EncryptionService encryptionService, ConnectionQueryConfig queryConfig) {
+        this.encryptionService = encryptionService;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(queryConfig.getDetailsCacheSeconds()))
+                .maximumSize(500)
+                .build();
+    }
+
+    /**
+     * Returns the decrypted details for a connection. The returned instance is shared and must not be modified.
+     */
+    public ConnectionDetails get(ConnectionEntity entity) {
+        return cache.get(new DetailsKey(entity.getConnectionId(), entity.getIv()), key -> {
+            log.debug("Decrypting connection details for connection: {}", key.connectionId());
+            return encryptionService.decryptObject(
+                    entity.getEncryptedData(),
+                    entity.getIv(),
+                    ConnectionDetails.class
+            );
+        });
+    }
+
+    public void evict(Long connectionId) {
+        cache.asMap().keySet().removeIf(key -> key.connectionId().equals(connectionId));
+    }
+}
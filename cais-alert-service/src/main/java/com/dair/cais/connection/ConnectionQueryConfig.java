@@ -0,0 +1,31 @@
+package com.dair.cais.connection;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+/**
+ * Limits applied to test and ad-hoc queries run against a report connection.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "connection.query")
+@Data
+@Validated
+public class ConnectionQueryConfig {
+    @Min(1)
+    @Max(100000)
+    private int maxRows = 1000;
+
+    @Min(1)
+    private int timeoutSeconds = 30;
+
+    @Min(1)
+    private int fetchSize = 500;
+
+    // How long decrypted connection details are kept in memory
+    @Min(1)
+    private long detailsCacheSeconds = 300;
+}
@@ -1,5 +1,8 @@
 package com.dair.cais.connection;
 
+import com.dair.cais.connection.pool.ConnectionPoolConfig;
+import com.dair.cais.connection.pool.ConnectionPoolManager;
+import com.dair.cais.connection.pool.ConnectionPoolStats;
 import com.dair.cais.connection.validation.ConnectionErrorType;
 import com.dair.cais.connection.validation.ConnectionTestResult;
 import com.dair.cais.exception.ConnectionValidationException;
@@ -9,8 +12,6 @@ import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,7 +24,6 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,7 +34,16 @@ public class ConnectionService  implements DisposableBean {
     private final ConnectionMapper mapper;
     private final EncryptionService encryptionService;
     private final ConnectionValidationService validationService;
-    private final Map<Long, HikariDataSource> connectionPools = new ConcurrentHashMap<>();
+    private final ConnectionPoolManager poolManager;
+    private final ConnectionPoolConfig poolConfig;
+    private final ConnectionDetailsCache detailsCache;
+    private final ConnectionQueryConfig queryConfig;
+
+    /**
+     * Rows of a test query. {@code truncated} is set when the query had more than {@code rowLimit} rows and only
+     * the first {@code rowLimit} are returned.
+     */
+    public record TestQueryResult(List<Map<String, Object>> rows, boolean truncated, int rowLimit) {}
 
     @Transactional(readOnly = true)
     public List<Connection> getAllConnections() {
@@ -83,17 +92,14 @@ public class ConnectionService  implements DisposableBean {
             ConnectionEntity entity = repository.findById(connectionId)
                     .orElseThrow(() -> new ConnectionNotFoundException(connectionId));
 
-            ConnectionDetails detailsToTest = testDetails;
-            if (detailsToTest == null) {
-                detailsToTest = encryptionService.decryptObject(
-                        entity.getEncryptedData(),
-                        entity.getIv(),
-                        ConnectionDetails.class
-                );
+            if (testDetails == null) {
+                // Stored credentials are tested through the managed pool for this connection
+                validationService.validateConnectionDetails(detailsCache.get(entity));
+                return testPooledConnection(entity);
             }
 
-            validationService.validateConnectionDetails(detailsToTest);
-            return testConnectionByType(entity.getConnectionType(), detailsToTest, entity);
+            validationService.validateConnectionDetails(testDetails);
+            return testConnectionByType(entity.getConnectionType(), testDetails, entity);
 
         } catch (ConnectionNotFoundException e) {
             log.error("Connection not found: {}", connectionId);
@@ -135,6 +141,60 @@ public class ConnectionService  implements DisposableBean {
         }
     }
 
+    private ConnectionTestResult testPooledConnection(ConnectionEntity entity) {
+        if (entity.getConnectionType() == ConnectionType.MONGODB) {
+            String message = "Unsupported connection type: " + entity.getConnectionType();
+            log.error(message);
+            return ConnectionTestResult.failure(
+                    ConnectionErrorType.INVALID_CONFIGURATION,
+                    message,
+                    null,
+                    entity.getConnectionId(),
+                    entity.getConnectionName()
+            );
+        }
+
+        try (java.sql.Connection conn = getOrCreateConnectionPool(entity.getConnectionId(), entity).getConnection()) {
+            if (conn.isValid(5)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.setQueryTimeout(5);
+                    stmt.execute("SELECT 1");
+                    return ConnectionTestResult.success(
+                            entity.getConnectionId(),
+                            entity.getConnectionName()
+                    );
+                }
+            }
+            throw new SQLException("Connection validation failed");
+        } catch (SQLException e) {
+            return handlePooledConnectionError(e, entity);
+        } catch (RuntimeException e) {
+            // Pool initialization failures carry the driver's SQLException as the cause
+            Throwable cause = e.getCause();
+            while (cause != null && !(cause instanceof SQLException)) {
+                cause = cause.getCause();
+            }
+            if (cause != null) {
+                return handlePooledConnectionError((SQLException) cause, entity);
+            }
+            throw e;
+        }
+    }
+
+    private ConnectionTestResult handlePooledConnectionError(SQLException e, ConnectionEntity entity) {
+        switch (entity.getConnectionType()) {
+            case POSTGRESQL:
+                return handlePostgresqlError(e, entity);
+            case MYSQL:
+            case MARIADB:
+                return handleMySQLError(e, detailsCache.get(entity));
+            case SNOWFLAKE:
+                return handleSnowflakeError(e, detailsCache.get(entity));
+            default:
+                return handleConnectionError(e, entity.getConnectionId(), entity.getConnectionName());
+        }
+    }
+
     private ConnectionTestResult testPostgresqlConnection(ConnectionDetails details, ConnectionEntity entity) {
         String url = String.format("jdbc:postgresql://%s:%d/%s",
                 details.getHost(), details.getPort(), details.getDatabase());
@@ -303,101 +363,6 @@ public class ConnectionService  implements DisposableBean {
 //        }
 //    }
 
-    private boolean testPostgresqlConnection(ConnectionDetails details) {
-        String url = String.format("jdbc:postgresql://%s:%d/%s",
-                details.getHost(), details.getPort(), details.getDatabase());
-
-        try {
-            Class.forName("org.postgresql.Driver");
-            try (java.sql.Connection conn = DriverManager.getConnection(
-                    url,
-                    details.getUsername(),
-                    details.getPassword())) {
-                return conn.isValid(5);
-            }
-        } catch (Exception e) {
-            log.error("Error testing PostgreSQL connection: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private boolean testMongoDbConnection(ConnectionDetails details) {
-        String connectionString = String.format("mongodb://%s:%s@%s:%d/%s",
-                details.getUsername(),
-                details.getPassword(),
-                details.getHost(),
-                details.getPort(),
-                details.getDatabase());
-
-        SimpleMongoClientDatabaseFactory factory = null;
-        try {
-            // Create a temporary MongoTemplate to test the connection
-            factory = new SimpleMongoClientDatabaseFactory(connectionString);
-            MongoTemplate mongoTemplate = new MongoTemplate(factory);
-
-            // Test the connection by executing a ping command
-            mongoTemplate.executeCommand("{ ping: 1 }");
-
-            log.debug("Successfully connected to MongoDB at {}:{}", details.getHost(), details.getPort());
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to connect to MongoDB: {}", e.getMessage());
-            return false;
-        } finally {
-            // Clean up resources
-            if (factory != null) {
-                try {
-                    factory.destroy();
-                } catch (Exception e) {
-                    log.warn("Error closing MongoDB connection factory: {}", e.getMessage());
-                }
-            }
-        }
-    }
-
-    private boolean testMysqlConnection(ConnectionDetails details) {
-        String url = String.format("jdbc:mysql://%s:%d/%s",
-                details.getHost(), details.getPort(), details.getDatabase());
-
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            try (java.sql.Connection conn = DriverManager.getConnection(
-                    url,
-                    details.getUsername(),
-                    details.getPassword())) {
-                return conn.isValid(5);
-            }
-        } catch (Exception e) {
-            log.error("Error testing MySQL connection: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private Boolean testSnowflakeConnection(ConnectionDetails details) {
-        String url = String.format("jdbc:snowflake://%s.snowflakecomputing.com/?db=%s&warehouse=%s",
-                details.getHost(), details.getDatabase(), details.getAdditionalParams());
-
-        try {
-            Class.forName("net.snowflake.client.jdbc.SnowflakeDriver");
-            try (java.sql.Connection conn = DriverManager.getConnection(
-                    url,
-                    details.getUsername(),
-                    details.getPassword())) {
-                if (conn.isValid(5)) {
-                    try (java.sql.Statement stmt = conn.createStatement()) {
-                        stmt.execute("SELECT 1");
-                        //return ConnectionTestResult.success(null, null); // Update with actual connection details
-                        return true;
-                    }
-                }
-                throw new SQLException("Connection validation failed");
-            }
-        } catch (Exception e) {
-            //return handleSnowflakeError(e, details);
-            return false;
-        }
-    }
-
     @Transactional
     public Connection updateConnection(Long connectionId, Connection connection) {
         log.info("Updating connection with ID: {}", connectionId);
@@ -417,6 +382,10 @@ public class ConnectionService  implements DisposableBean {
             ConnectionEntity savedEntity = repository.save(entity);
             log.info("Successfully updated connection with ID: {}", savedEntity.getConnectionId());
 
+            // Credentials or target may have changed; the next use builds a fresh pool
+            poolManager.evict(connectionId);
+            detailsCache.evict(connectionId);
+
             return mapper.toModel(savedEntity);
         } catch (ConnectionValidationException e) {
             throw e;
@@ -449,6 +418,8 @@ public class ConnectionService  implements DisposableBean {
                 throw new ConnectionValidationException("Connection not found");
             }
             repository.deleteById(connectionId);
+            poolManager.evict(connectionId);
+            detailsCache.evict(connectionId);
             log.info("Successfully deleted connection with ID: {}", connectionId);
         } catch (ConnectionValidationException e) {
             throw e;
@@ -458,30 +429,8 @@ public class ConnectionService  implements DisposableBean {
         }
     }
 
-    private boolean testConnectionByType(ConnectionType connectionType, ConnectionDetails details) {
-        try {
-            switch (connectionType) {
-                case POSTGRESQL:
-                    return testPostgresqlConnection(details);
-                case MONGODB:
-                    return testMongoDbConnection(details);
-                case MYSQL:
-                case MARIADB:
-                    return testMysqlConnection(details);
-                case SNOWFLAKE:
-                    return testSnowflakeConnection(details);
-                default:
-                    log.error("Unsupported connection type: {}", connectionType);
-                    return false;
-            }
-        } catch (Exception e) {
-            log.error("Error testing connection of type {}: {}", connectionType, e.getMessage());
-            return false;
-        }
-    }
-
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getConnectionAndTestQuery(Long connectionId, String testQuery) {
+    public TestQueryResult getConnectionAndTestQuery(Long connectionId, String testQuery) {
         log.info("Testing connection and executing query for connection ID: {}", connectionId);
 
         ConnectionEntity entity = repository.findById(connectionId)
@@ -491,17 +440,20 @@ public class ConnectionService  implements DisposableBean {
                 });
 
         try {
-            ConnectionDetails details = encryptionService.decryptObject(
-                    entity.getEncryptedData(),
-                    entity.getIv(),
-                    ConnectionDetails.class
-            );
-
-            if (!testConnectionByType(entity.getConnectionType(), details)) {
-                throw new ConnectionValidationException("Failed to establish connection");
+            // One row past the cap tells a capped result apart from one that is exactly the cap
+            int maxRows = queryConfig.getMaxRows();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(getOrCreateConnectionPool(connectionId, entity));
+            jdbcTemplate.setMaxRows(maxRows + 1);
+            jdbcTemplate.setFetchSize(Math.min(queryConfig.getFetchSize(), maxRows + 1));
+            jdbcTemplate.setQueryTimeout(queryConfig.getTimeoutSeconds());
+
+            List<Map<String, Object>> results = jdbcTemplate.queryForList(testQuery);
+            boolean truncated = results.size() > maxRows;
+            if (truncated) {
+                results.remove(maxRows);
+                log.debug("Test query for connection {} was truncated at {} rows", connectionId, maxRows);
             }
-
-            return executeQuery(entity.getConnectionType(), details, testQuery);
+            return new TestQueryResult(results, truncated, maxRows);
 
         } catch (Exception e) {
             log.error("Error testing connection or executing query for ID: {}", connectionId, e);
@@ -509,14 +461,6 @@ public class ConnectionService  implements DisposableBean {
         }
     }
 
-    private List<Map<String, Object>> executeQuery(ConnectionType connectionType, ConnectionDetails details, String testQuery) {
-//        if (connectionType == ConnectionType.MONGODB) {
-//            return executeMongoQuery(details, testQuery);
-//        }
-
-        return executeJdbcQuery(connectionType, details, testQuery);
-    }
-
 //    private List<Map<String, Object>> executeMongoQuery(ConnectionDetails details, String testQuery) {
 //        String connectionString = String.format("mongodb://%s:%s@%s:%d/%s",
 //                details.getUsername(),
@@ -535,36 +479,6 @@ public class ConnectionService  implements DisposableBean {
 //        }
 //    }
 
-    private List<Map<String, Object>> executeJdbcQuery(ConnectionType connectionType, ConnectionDetails details, String testQuery) {
-        DataSource dataSource = null;
-        try {
-            dataSource = createDataSource(connectionType, details);
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
-            return jdbcTemplate.queryForList(testQuery);
-        } catch (Exception e) {
-            log.error("Error executing JDBC query: {}", e.getMessage());
-            throw new ConnectionValidationException("Failed to execute query: " + e.getMessage());
-        } finally {
-            closeDataSource(dataSource);
-        }
-    }
-
-    private DataSource createDataSource(ConnectionType connectionType, ConnectionDetails details) {
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(buildJdbcUrl(connectionType, details));
-        config.setUsername(details.getUsername());
-        config.setPassword(details.getPassword());
-        config.setDriverClassName(connectionType.getDriverClass());
-
-        // Connection pool settings
-        config.setMaximumPoolSize(1);
-        config.setMinimumIdle(0);
-        config.setConnectionTimeout(5000); // 5 seconds
-        config.setIdleTimeout(10000); // 10 seconds
-
-        return new HikariDataSource(config);
-    }
-
     private String buildJdbcUrl(ConnectionType connectionType, ConnectionDetails details) {
         String baseUrl = String.format("jdbc:%s://%s:%d/%s",
                 connectionType.getDatabaseType(),
@@ -587,16 +501,6 @@ public class ConnectionService  implements DisposableBean {
         return baseUrl;
     }
 
-    private void closeDataSource(DataSource dataSource) {
-        if (dataSource instanceof HikariDataSource) {
-            try {
-                ((HikariDataSource) dataSource).close();
-            } catch (Exception e) {
-                log.warn("Error closing datasource: {}", e.getMessage());
-            }
-        }
-    }
-
     @Transactional(readOnly = true)
     public boolean existsById(Long connectionId) {
         try {
@@ -651,74 +555,76 @@ public class ConnectionService  implements DisposableBean {
         }
     }
 
+    /**
+     * Returns the pooled data source for a connection, creating the pool on first use.
+     * Callers borrow connections from it and must close them; the pool itself is owned here.
+     */
+    @Transactional(readOnly = true)
+    public DataSource getPooledDataSource(Long connectionId) {
+        ConnectionEntity entity = repository.findById(connectionId)
+                .orElseThrow(() -> new ConnectionValidationException("Connection not found: " + connectionId));
+        return getOrCreateConnectionPool(connectionId, entity);
+    }
+
     private HikariDataSource getOrCreateConnectionPool(Long connectionId, ConnectionEntity entity) {
-        return connectionPools.computeIfAbsent(connectionId, id -> {
-            try {
-                ConnectionDetails details = encryptionService.decryptObject(
-                        entity.getEncryptedData(),
-                        entity.getIv(),
-                        ConnectionDetails.class
-                );
-                return createPooledDataSource(entity.getConnectionType(), details);
-            } catch (Exception e) {
-                log.error("Error creating connection pool for connection {}: {}",
-                        connectionId, e.getMessage(), e);
-                throw new ConnectionValidationException(
-                        "Failed to create connection pool",
-                        e.getMessage(),
-                        e
-                );
-            }
-        });
+        return poolManager.getOrCreate(
+                connectionId,
+                credentialFingerprint(entity),
+                entity.getConnectionType().name(),
+                () -> {
+                    try {
+                        ConnectionDetails details = detailsCache.get(entity);
+                        return createPooledDataSourceConfig(entity.getConnectionType(), details);
+                    } catch (Exception e) {
+                        log.error("Error creating connection pool for connection {}: {}",
+                                connectionId, e.getMessage(), e);
+                        throw new ConnectionValidationException(
+                                "Failed to create connection pool",
+                                e.getMessage(),
+                                e
+                        );
+                    }
+                });
     }
 
-    private HikariDataSource createPooledDataSource(ConnectionType connectionType, ConnectionDetails details) {
+    // A new IV is generated on every encryption, so it changes whenever the credentials are re-saved
+    private String credentialFingerprint(ConnectionEntity entity) {
+        return entity.getConnectionType() + ":" + entity.getIv();
+    }
+
+    private HikariConfig createPooledDataSourceConfig(ConnectionType connectionType, ConnectionDetails details) {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(buildJdbcUrl(connectionType, details));
         config.setUsername(details.getUsername());
         config.setPassword(details.getPassword());
         config.setDriverClassName(connectionType.getDriverClass());
 
-        // Enhanced pool settings for report execution
-        config.setMaximumPoolSize(10);
-        config.setMinimumIdle(2);
-        config.setIdleTimeout(300000); // 5 minutes
-        config.setConnectionTimeout(20000); // 20 seconds
+        // Pool sizing: per-connection overrides, otherwise the configured defaults
+        config.setMaximumPoolSize(details.getMaxPoolSize() != null
+                ? details.getMaxPoolSize() : poolConfig.getMaximumPoolSize());
+        config.setMinimumIdle(details.getMinIdle() != null
+                ? details.getMinIdle() : poolConfig.getMinimumIdle());
+        config.setIdleTimeout(poolConfig.getIdleTimeoutMs());
+        config.setConnectionTimeout(poolConfig.getConnectionTimeoutMs());
         config.setValidationTimeout(5000); // 5 seconds
-        config.setLeakDetectionThreshold(60000); // 1 minute
-
-        // Set pool name for better monitoring
-        config.setPoolName("ReportPool-" + connectionType.name());
+        config.setLeakDetectionThreshold(poolConfig.getLeakDetectionThresholdMs());
 
         // Add connection test query
         config.setConnectionTestQuery("SELECT 1");
 
-        return new HikariDataSource(config);
+        return config;
     }
 
-    // Add cleanup method
     public void closeConnectionPool(Long connectionId) {
-        HikariDataSource dataSource = connectionPools.remove(connectionId);
-        if (dataSource != null && !dataSource.isClosed()) {
-            log.info("Closing connection pool for connection {}", connectionId);
-            dataSource.close();
-        }
+        poolManager.evict(connectionId);
     }
 
-    // Add cleanup method for all pools
-    public synchronized void closeAllConnectionPools() {
-        log.info("Closing all connection pools");
-        connectionPools.forEach((connectionId, dataSource) -> {
-            if (dataSource != null && !dataSource.isClosed()) {
-                try {
-                    dataSource.close();
-                    log.debug("Closed connection pool for connection {}", connectionId);
-                } catch (Exception e) {
-                    log.warn("Error closing connection pool {}: {}", connectionId, e.getMessage());
-                }
-            }
-        });
-        connectionPools.clear();
+    public void closeAllConnectionPools() {
+        poolManager.evictAll();
+    }
+
+    public List<ConnectionPoolStats> getConnectionPoolStats() {
+        return poolManager.getPoolStats();
     }
 
 //    // Override finalize to ensure pools are closed
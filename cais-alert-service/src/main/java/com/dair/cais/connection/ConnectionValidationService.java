@@ -80,6 +80,16 @@ public class ConnectionValidationService {
             errors.add("Password is required");
             log.debug("Password validation failed: empty or null");
         }
+
+        // Optional pool sizing
+        if (details.getMaxPoolSize() != null && details.getMaxPoolSize() <= 0) {
+            errors.add("Max pool size must be greater than 0");
+            log.debug("Pool size validation failed: invalid max - {}", details.getMaxPoolSize());
+        }
+        if (details.getMinIdle() != null && details.getMinIdle() < 0) {
+            errors.add("Min idle cannot be negative");
+            log.debug("Pool size validation failed: invalid min idle - {}", details.getMinIdle());
+        }
     }
 
     /**
@@ -1,13 +1,22 @@
 package com.dair.cais.connection;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.util.List;
 import java.util.Map;
 
 @Data
+@AllArgsConstructor
 class QueryResponse {
     private final boolean success;
     private final String message;
     private final List<Map<String, Object>> results;
+    /** Whether the query had more rows than {@code rowLimit}; only the first {@code rowLimit} are in results. */
+    private final boolean truncated;
+    private final Integer rowLimit;
+
+    QueryResponse(boolean success, String message, List<Map<String, Object>> results) {
+        this(success, message, results, false, null);
+    }
 }
@@ -0,0 +1,36 @@
+package com.dair.cais.connection.pool;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Min;
+
+/**
+ * Defaults for the per-connection report pools. A connection can override the sizes
+ * through {@code maxPoolSize}/{@code minIdle} in its connection details.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "connection.pool")
+@Data
+@Validated
+public class ConnectionPoolConfig {
+    @Min(1)
+    private int maximumPoolSize = 10;
+
+    @Min(0)
+    private int minimumIdle = 0;
+
+    @Min(1)
+    private int maximumAllowedPoolSize = 50;
+
+    private long idleTimeoutMs = 300000;
+
+    private long connectionTimeoutMs = 20000;
+
+    private long leakDetectionThresholdMs = 60000;
+
+    // A pool with no borrowed connections and no use for this long is closed
+    @Min(1)
+    private long evictAfterIdleMinutes = 30;
+}
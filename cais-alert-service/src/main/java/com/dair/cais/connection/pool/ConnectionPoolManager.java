@@ -0,0 +1,227 @@
+package com.dair.cais.connection.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the Hikari pools opened against report connections.
+ * <p>
+ * Each pool is tagged with a fingerprint of the connection's stored credentials; a lookup with a
+ * different fingerprint closes the old pool and builds a new one. Pools that have been idle longer
+ * than {@code connection.pool.evict-after-idle-minutes} are closed by a periodic sweep.
+ * <p>
+ * Pools are built outside the map's per-key lock, since decrypting credentials and opening the first
+ * connections can block for the whole connection timeout. Only installing the built pool is atomic;
+ * a caller that loses the race to install closes its own pool and uses the winner's.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolManager {
+    private final ConnectionPoolConfig poolConfig;
+    private final Map<Long, ManagedPool> pools = new ConcurrentHashMap<>();
+    private final AtomicLong poolSequence = new AtomicLong();
+
+    private static final class ManagedPool {
+        private final Long connectionId;
+        private final String fingerprint;
+        private final HikariDataSource dataSource;
+        private final AcquisitionTracker tracker;
+        private final Instant createdAt = Instant.now();
+        private volatile Instant lastAccessedAt = Instant.now();
+
+        private ManagedPool(Long connectionId, String fingerprint, HikariDataSource dataSource,
+                            AcquisitionTracker tracker) {
+            this.connectionId = connectionId;
+            this.fingerprint = fingerprint;
+            this.dataSource = dataSource;
+            this.tracker = tracker;
+        }
+    }
+
+    /**
+     * Records connection acquisition latency reported by Hikari for one pool.
+     */
+    private static final class AcquisitionTracker implements IMetricsTracker {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder timeouts = new LongAdder();
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.increment();
+            totalNanos.add(elapsedAcquiredNanos);
+            maxNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+
+    /**
+     * Returns the pool for a connection, building it when missing or when the credentials changed.
+     *
+     * @param fingerprint identifies the stored credentials the pool was built from
+     * @param poolLabel   human readable part of the pool name, e.g. the connection type
+     * @param configFactory supplies url, credentials, driver and sizing for a new pool
+     */
+    public HikariDataSource getOrCreate(Long connectionId, String fingerprint, String poolLabel,
+                                       Supplier<HikariConfig> configFactory) {
+        // Lookup, access stamp and eviction all run under the map's per-key lock, so the idle sweep can
+        // never close a pool between this lookup handing it out and its lastAccessedAt being refreshed
+        ManagedPool current = pools.computeIfPresent(connectionId, (id, existing) -> {
+            if (usable(existing, fingerprint)) {
+                existing.lastAccessedAt = Instant.now();
+            }
+            return existing;
+        });
+        if (current != null && usable(current, fingerprint)) {
+            return current.dataSource;
+        }
+
+        ManagedPool created = createPool(connectionId, fingerprint, poolLabel, configFactory.get());
+        AtomicReference<ManagedPool> replaced = new AtomicReference<>();
+        ManagedPool pool = pools.compute(connectionId, (id, existing) -> {
+            ManagedPool result = created;
+            if (usable(existing, fingerprint)) {
+                result = existing;
+            } else {
+                replaced.set(existing);
+            }
+            result.lastAccessedAt = Instant.now();
+            return result;
+        });
+
+        if (pool != created) {
+            log.info("Connection pool for connection {} was built concurrently, closing duplicate {}",
+                    connectionId, created.dataSource.getPoolName());
+            close(created);
+        }
+        if (replaced.get() != null) {
+            log.info("Credentials changed for connection {}, replacing pool {}",
+                    connectionId, replaced.get().dataSource.getPoolName());
+            close(replaced.get());
+        }
+
+        return pool.dataSource;
+    }
+
+    private static boolean usable(ManagedPool pool, String fingerprint) {
+        return pool != null && Objects.equals(pool.fingerprint, fingerprint) && !pool.dataSource.isClosed();
+    }
+
+    public void evict(Long connectionId) {
+        ManagedPool pool = pools.remove(connectionId);
+        if (pool != null) {
+            log.info("Closing connection pool {} for connection {}", pool.dataSource.getPoolName(), connectionId);
+            close(pool);
+        }
+    }
+
+    public void evictAll() {
+        log.info("Closing all connection pools");
+        new ArrayList<>(pools.keySet()).forEach(this::evict);
+    }
+
+    @Scheduled(fixedDelayString = "${connection.pool.eviction-interval-ms:60000}")
+    public void evictIdlePools() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(poolConfig.getEvictAfterIdleMinutes()));
+        for (Long connectionId : new ArrayList<>(pools.keySet())) {
+            AtomicReference<ManagedPool> evicted = new AtomicReference<>();
+            pools.computeIfPresent(connectionId, (id, pool) -> {
+                HikariPoolMXBean mxBean = pool.dataSource.getHikariPoolMXBean();
+                boolean inUse = mxBean != null && mxBean.getActiveConnections() > 0;
+                if (inUse || !pool.lastAccessedAt.isBefore(cutoff)) {
+                    return pool;
+                }
+                evicted.set(pool);
+                return null;
+            });
+
+            ManagedPool pool = evicted.get();
+            if (pool != null) {
+                log.info("Evicting idle connection pool {} for connection {}",
+                        pool.dataSource.getPoolName(), connectionId);
+                close(pool);
+            }
+        }
+    }
+
+    public List<ConnectionPoolStats> getPoolStats() {
+        return pools.values().stream()
+                .map(this::toStats)
+                .sorted(Comparator.comparing(ConnectionPoolStats::getConnectionId))
+                .collect(Collectors.toList());
+    }
+
+    private ManagedPool createPool(Long connectionId, String fingerprint, String poolLabel, HikariConfig config) {
+        AcquisitionTracker tracker = new AcquisitionTracker();
+        config.setPoolName("ReportPool-" + poolLabel + "-" + connectionId + "-" + poolSequence.incrementAndGet());
+        config.setMetricsTrackerFactory((poolName, poolStats) -> tracker);
+        config.setRegisterMbeans(false);
+
+        int maxSize = Math.min(config.getMaximumPoolSize(), poolConfig.getMaximumAllowedPoolSize());
+        config.setMaximumPoolSize(maxSize);
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), maxSize));
+
+        log.info("Creating connection pool {} (max={}, minIdle={})",
+                config.getPoolName(), config.getMaximumPoolSize(), config.getMinimumIdle());
+        return new ManagedPool(connectionId, fingerprint, new HikariDataSource(config), tracker);
+    }
+
+    private void close(ManagedPool pool) {
+        try {
+            if (!pool.dataSource.isClosed()) {
+                pool.dataSource.close();
+            }
+        } catch (Exception e) {
+            log.warn("Error closing connection pool {}: {}", pool.dataSource.getPoolName(), e.getMessage());
+        }
+    }
+
+    private ConnectionPoolStats toStats(ManagedPool pool) {
+        HikariPoolMXBean mxBean = pool.dataSource.getHikariPoolMXBean();
+        long acquisitions = pool.tracker.acquisitions.sum();
+
+        return ConnectionPoolStats.builder()
+                .connectionId(pool.connectionId)
+                .poolName(pool.dataSource.getPoolName())
+                .activeConnections(mxBean != null ? mxBean.getActiveConnections() : 0)
+                .idleConnections(mxBean != null ? mxBean.getIdleConnections() : 0)
+                .totalConnections(mxBean != null ? mxBean.getTotalConnections() : 0)
+                .threadsAwaitingConnection(mxBean != null ? mxBean.getThreadsAwaitingConnection() : 0)
+                .maximumPoolSize(pool.dataSource.getMaximumPoolSize())
+                .minimumIdle(pool.dataSource.getMinimumIdle())
+                .acquisitions(acquisitions)
+                .averageAcquisitionMillis(acquisitions > 0
+                        ? pool.tracker.totalNanos.sum() / (double) acquisitions / 1_000_000 : 0)
+                .maxAcquisitionMillis(pool.tracker.maxNanos.get() / 1_000_000.0)
+                .connectionTimeouts(pool.tracker.timeouts.sum())
+                .createdAt(pool.createdAt)
+                .lastAccessedAt(pool.lastAccessedAt)
+                .build();
+    }
+}
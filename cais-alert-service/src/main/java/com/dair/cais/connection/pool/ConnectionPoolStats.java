@@ -0,0 +1,27 @@
+package com.dair.cais.connection.pool;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConnectionPoolStats {
+    private Long connectionId;
+    private String poolName;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int threadsAwaitingConnection;
+    private int maximumPoolSize;
+    private int minimumIdle;
+    private long acquisitions;
+    private double averageAcquisitionMillis;
+    private double maxAcquisitionMillis;
+    private long connectionTimeouts;
+    private Instant createdAt;
+    private Instant lastAccessedAt;
+}
@@ -1,5 +1,9 @@
 package com.dair.cais.hierarchy;
 
+import com.dair.cais.reference.ReferenceDataLoader;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -7,29 +11,40 @@ import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class HierarchyService {
+public class HierarchyService implements ReferenceDataLoader {
+
+    private static final UnaryOperator<Hierarchy> COPY = ReferenceDataSnapshot.copier(Hierarchy::new);
 
     private final HierarchyRepository hierarchyRepository;
     private final HierarchyMapper hierarchyMapper;
+    private final ReferenceDataService referenceDataService;
+
+    @Override
+    public ReferenceDataType type() {
+        return ReferenceDataType.HIERARCHIES;
+    }
+
+    @Override
+    public void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot) {
+        snapshot.hierarchies(ReferenceDataSnapshot.index(
+                hierarchyRepository.findAll().stream().map(hierarchyMapper::toDto).collect(Collectors.toList()),
+                Hierarchy::getHierarchyId));
+    }
 
-    @Transactional(readOnly = true)
     public List<Hierarchy> getAllHierarchies() {
         log.debug("Fetching all hierarchies");
-        return hierarchyRepository.findAll().stream()
-                .map(hierarchyMapper::toDto)
-                .collect(Collectors.toList());
+        return referenceDataService.copyAll(ReferenceDataSnapshot::getHierarchies, COPY);
     }
 
-    @Transactional(readOnly = true)
     public Hierarchy getHierarchyById(Integer id) {
         log.debug("Fetching hierarchy with id: {}", id);
-        return hierarchyRepository.findById(id)
-                .map(hierarchyMapper::toDto)
+        return referenceDataService.findCopy(ReferenceDataSnapshot::getHierarchies, id, COPY)
                 .orElseThrow(() -> new EntityNotFoundException("Hierarchy not found with id: " + id));
     }
 
@@ -38,6 +53,7 @@ public class HierarchyService {
         log.debug("Creating new hierarchy: {}", hierarchy);
         HierarchyEntity entity = hierarchyMapper.toEntity(hierarchy);
         entity = hierarchyRepository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.HIERARCHIES);
         log.info("Created new hierarchy with id: {}", entity.getHierarchyId());
         return hierarchyMapper.toDto(entity);
     }
@@ -49,6 +65,7 @@ public class HierarchyService {
                 .map(entity -> {
                     hierarchyMapper.updateEntityFromDto(hierarchy, entity);
                     entity = hierarchyRepository.save(entity);
+                    referenceDataService.markChanged(ReferenceDataType.HIERARCHIES);
                     log.info("Updated hierarchy with id: {}", id);
                     return hierarchyMapper.toDto(entity);
                 })
@@ -62,6 +79,7 @@ public class HierarchyService {
                 .orElseThrow(() -> new EntityNotFoundException("Hierarchy not found with id: " + id));
         entity.setIsActive(true);
         hierarchyRepository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.HIERARCHIES);
         log.info("Activated hierarchy with id: {}", id);
     }
 
@@ -72,6 +90,7 @@ public class HierarchyService {
                 .orElseThrow(() -> new EntityNotFoundException("Hierarchy not found with id: " + id));
         entity.setIsActive(false);
         hierarchyRepository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.HIERARCHIES);
         log.info("Deactivated hierarchy with id: {}", id);
     }
 }
@@ -1,6 +1,8 @@
 package com.dair.cais.note;
 
 import com.dair.cais.audit.AuditLogRequest;
+import com.dair.cais.timeline.TimelinePage;
+import com.dair.cais.timeline.TimelineService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -34,6 +36,9 @@ public class AlertNoteController {
    @Autowired
    private NoteServiceWithAudit noteServiceWithAudit;
 
+   @Autowired
+   private TimelineService timelineService;
+
 
    @PostMapping(value = "/addnote-audit/{alertId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
    @Operation(summary = "Add a note with audit logging")
@@ -95,6 +100,23 @@ public class AlertNoteController {
       return ResponseEntity.ok().body(results);
    }
 
+   @PostMapping(value = "/addnote-bulk-audit", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+   @Operation(summary = "Add a note to many alerts in one bulk write and report the outcome per alert")
+   public ResponseEntity<List<NoteBulkOutcome>> addNoteToAlertsBulk(
+           @RequestParam("note") String note,
+           @RequestParam("alertIds") String alertIdsJson,
+           @RequestParam("createdBy") String createdBy,
+           @RequestParam("auditLogRequest") String auditLogRequestJson) throws IOException {
+
+      ObjectMapper objectMapper = new ObjectMapper();
+      List<String> alertIds = objectMapper.readValue(alertIdsJson, new TypeReference<List<String>>() {});
+      AuditLogRequest auditLogRequest = objectMapper.readValue(auditLogRequestJson, AuditLogRequest.class);
+
+      List<NoteBulkOutcome> outcomes = noteServiceWithAudit.addNoteToAlertsBulk(
+              note, alertIds, createdBy, auditLogRequest);
+      return ResponseEntity.ok().body(outcomes);
+   }
+
    @GetMapping("/getNotes-audit/{alertId}")
    @Operation(summary = "Fetch all notes for an alert with audit logging")
    public ResponseEntity<List<NoteExtended>> fetchNotesWithAudit(
@@ -132,6 +154,17 @@ public class AlertNoteController {
    }
 
 
+   @GetMapping("/timeline/{alertId}")
+   @Operation(summary = "Fetch a page of notes for an alert, newest first",
+           description = "Pass the returned nextCursor to fetch the following page. Note text is left out unless includeBody is set.")
+   public ResponseEntity<TimelinePage> fetchNoteTimeline(
+           @PathVariable String alertId,
+           @RequestParam(required = false) String cursor,
+           @RequestParam(required = false) Integer limit,
+           @RequestParam(defaultValue = "false") boolean includeBody) {
+      return ResponseEntity.ok(timelineService.getNoteTimeline(alertId, cursor, limit, includeBody));
+   }
+
    @PostMapping
    @Operation(summary = "Create a note")
    public ResponseEntity<Note> createNote(@RequestBody Note note) {
@@ -0,0 +1,30 @@
+package com.dair.cais.note;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of adding a note to one alert as part of a bulk request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NoteBulkOutcome {
+    private String alertId;
+    private boolean success;
+    private NoteExtended note;
+    private String error;
+
+    public static NoteBulkOutcome created(String alertId, NoteExtended note) {
+        return NoteBulkOutcome.builder().alertId(alertId).success(true).note(note).build();
+    }
+
+    public static NoteBulkOutcome failed(String alertId, String error) {
+        return NoteBulkOutcome.builder().alertId(alertId).success(false).error(error).build();
+    }
+}
@@ -1,8 +1,17 @@
 package com.dair.cais.note;
 
+import com.dair.cais.timeline.MongoTimelineQueries;
+import com.dair.cais.timeline.TimelineCursor;
+import com.dair.cais.timeline.TimelineEntry;
+import com.dair.cais.timeline.TimelineEntryType;
 import com.dair.exception.CaisBaseException;
+import com.dair.util.PatchFields;
 import org.bson.types.ObjectId;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -10,11 +19,12 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.dair.cais.common.config.CaisAlertConstants.MONGO_COLLECTION_ALERT_NOTES;
 
@@ -38,6 +48,28 @@ public class NoteRepository {
         return alEntity;
     }
 
+    /**
+     * Inserts the notes with one unordered bulk write, so a failing document does not stop the rest.
+     *
+     * @return error messages keyed by the index of each note that was not inserted
+     */
+    public Map<Integer, String> addNotes(List<NoteEntityExtended> notes) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (notes.isEmpty()) {
+            return failures;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NoteEntityExtended.class, "notes")
+                    .insert(notes)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return failures;
+    }
+
     public List<NoteExtended> findByAlertId(String alertId) {
         Query query = new Query();
         query.addCriteria(Criteria.where("alertId").is(alertId));
@@ -45,25 +77,29 @@ public class NoteRepository {
         return noteMapperExtended.toModel(noteEntities);
     }
 
+    /**
+     * One page of an alert's notes, newest first. The note text is only read when {@code includeBody} is set.
+     */
+    public List<TimelineEntry> findTimeline(String alertId, TimelineCursor cursor, int limit, boolean includeBody) {
+        Query query = MongoTimelineQueries.page(alertId, cursor, TimelineEntryType.NOTE, limit);
+        query.fields().include("_id", "alertId", "noteSize", "createdBy", "createdDate", "entity");
+        if (includeBody) {
+            query.fields().include("note");
+        }
+        return mongoTemplate.find(query, Document.class, "notes").stream()
+                .map(document -> MongoTimelineQueries.entry(TimelineEntryType.NOTE, document)
+                        .title(document.getString("entity"))
+                        .size(MongoTimelineQueries.longValue(document, "noteSize"))
+                        .body(document.getString("note"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     public NoteEntity patchNote(NoteEntity alertEntity) {
 
         Update update = new Update();
 
-        for (Field field : alertEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(alertEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(alertEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(alertEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
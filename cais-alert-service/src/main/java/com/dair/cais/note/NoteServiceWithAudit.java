@@ -2,13 +2,18 @@ package com.dair.cais.note;
 
 import com.dair.cais.audit.AuditLogRequest;
 import com.dair.cais.audit.AuditTrailService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Service
 public class NoteServiceWithAudit {
 
@@ -57,6 +62,19 @@ public class NoteServiceWithAudit {
     public Map<String, NoteExtended> addNoteToMultipleAlertsWithAudit(
             String note, List<String> alertIds, String createdBy,
             String entity, String entityValue, AuditLogRequest auditLogRequest) {
+        Map<String, NoteExtended> result = new LinkedHashMap<>();
+        for (NoteBulkOutcome outcome : addNoteToAlertsBulk(note, alertIds, createdBy, auditLogRequest)) {
+            result.putIfAbsent(outcome.getAlertId(), outcome.getNote());
+        }
+        return result;
+    }
+
+    /**
+     * Adds the same note to many alerts with one unordered bulk insert and writes the audit rows for the
+     * inserted notes in one JDBC batch. Blank and duplicate alert ids are reported rather than inserted.
+     */
+    public List<NoteBulkOutcome> addNoteToAlertsBulk(String note, List<String> alertIds, String createdBy,
+                                                     AuditLogRequest auditLogRequest) {
         // Validate inputs
         if (alertIds == null || alertIds.isEmpty()) {
             throw new IllegalArgumentException("AlertIds list cannot be null or empty");
@@ -66,31 +84,52 @@ public class NoteServiceWithAudit {
         }
         validateAuditLogRequest(auditLogRequest);
 
-        Map<String, NoteExtended> result = new HashMap<>();
-
+        List<NoteBulkOutcome> outcomes = new ArrayList<>(alertIds.size());
+        Set<String> seen = new HashSet<>();
+        List<NoteEntityExtended> entities = new ArrayList<>();
+        List<Integer> outcomeIndexes = new ArrayList<>();
         for (String alertId : alertIds) {
-            try {
-                // Create note with alertId as entityValue and "Alert" as entity
-                NoteExtended noteExtended = addNoteWithAudit(
-                        note,
-                        alertId,
-                        createdBy,
-                        "Alert",  // Always set entity as "Alert"
-                        alertId,  // Use the current alertId as entityValue
-                        new AuditLogRequest(auditLogRequest)  // Create new instance to avoid modifying original
-                );
-
-                // Log each successful creation
-                System.out.println("Created note for alertId: " + alertId);
-                result.put(alertId, noteExtended);
-            } catch (Exception e) {
-                // Log any errors but continue processing other alerts
-                System.err.println("Failed to add note to alert " + alertId + ": " + e.getMessage());
-                result.put(alertId, null);
+            if (alertId == null || alertId.trim().isEmpty()) {
+                outcomes.add(NoteBulkOutcome.failed(alertId, "AlertId cannot be null or empty"));
+            } else if (!seen.add(alertId)) {
+                outcomes.add(NoteBulkOutcome.failed(alertId, "Duplicate alertId in request"));
+            } else {
+                // Entity is always "Alert" and the alertId is used as the entityValue
+                entities.add(noteMapperExtended.toEntity(note, alertId, createdBy, "Alert", alertId));
+                outcomeIndexes.add(outcomes.size());
+                outcomes.add(null);
             }
         }
 
-        return result;
+        Map<Integer, String> failures = noteRepository.addNotes(entities);
+        List<String> createdAlertIds = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            NoteEntityExtended entity = entities.get(i);
+            String error = failures.get(i);
+            if (error == null) {
+                createdAlertIds.add(entity.getAlertId());
+                outcomes.set(outcomeIndexes.get(i),
+                        NoteBulkOutcome.created(entity.getAlertId(), noteMapperExtended.toModel(entity)));
+            } else {
+                log.error("Failed to add note to alert {}: {}", entity.getAlertId(), error);
+                outcomes.set(outcomeIndexes.get(i), NoteBulkOutcome.failed(entity.getAlertId(), error));
+            }
+        }
+
+        auditTrailService.logActionForItems(
+                auditLogRequest.getUserId(),
+                auditLogRequest.getUserRole(),
+                auditLogRequest.getActionId(),
+                auditLogRequest.getDescription(),
+                auditLogRequest.getCategory(),
+                "Alert",
+                createdAlertIds,
+                auditLogRequest.getOldValue(),
+                auditLogRequest.getNewValue()
+        );
+
+        log.info("Added note to {} of {} alerts", createdAlertIds.size(), alertIds.size());
+        return outcomes;
     }
 
     public List<NoteExtended> getNotesWithAudit(String alertId, AuditLogRequest auditLogRequest) {
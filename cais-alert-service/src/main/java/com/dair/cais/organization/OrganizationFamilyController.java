@@ -15,6 +15,9 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @RestController
 @RequestMapping("/organization-families")
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrganizationFamilyController {
 
     private final OrganizationFamilyService organizationFamilyService;
+    private final OrganizationHierarchyService hierarchyService;
 
     @PostMapping("/generate")
     @Operation(summary = "Generate and save organization families", 
@@ -32,9 +36,11 @@ public class OrganizationFamilyController {
     public ResponseEntity<String> generateOrganizationFamilies() {
         log.info("Received request to generate organization families");
         try {
-            organizationFamilyService.generateAndSaveOrganizationFamilies();
+            OrganizationHierarchyService.SyncResult result = organizationFamilyService.generateAndSaveOrganizationFamilies();
             log.info("Organization families generated and saved successfully");
-            return ResponseEntity.ok("Organization families generated and saved successfully");
+            return ResponseEntity.ok(String.format(
+                    "Organization families generated and saved successfully (%d families written, %d deleted)",
+                    result.familiesWritten(), result.familiesDeleted()));
         } catch (Exception e) {
             log.error("Error occurred while generating organization families", e);
             return ResponseEntity.internalServerError().body("An error occurred while generating organization families");
@@ -60,6 +66,15 @@ public class OrganizationFamilyController {
         }
     }
 
+    @GetMapping("/{orgKey}/descendants")
+    @Operation(summary = "Get an organization and every organization below it",
+            description = "Resolved from the in-memory hierarchy in time proportional to the subtree")
+    public ResponseEntity<Set<String>> getDescendants(
+            @Parameter(description = "The org_key whose subtree is returned", required = true)
+            @PathVariable String orgKey) {
+        return ResponseEntity.ok(hierarchyService.descendantsOf(List.of(orgKey)));
+    }
+
     // generate code to get all org_key with family
     @GetMapping
     @Operation(summary = "Get all organization families",
@@ -1,8 +1,12 @@
 package com.dair.cais.organization;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -12,4 +16,11 @@ public interface OrganizationFamilyRepository extends JpaRepository<Organization
     Optional<OrganizationFamilyEntity> findByOrgKey(String orgKey);
 
     List<OrganizationFamilyEntity> findAllByOrgKeyIn(Set<String> orgKeys);
+
+    @Query("SELECT f.orgKey FROM OrganizationFamilyEntity f")
+    List<String> findAllOrgKeys();
+
+    @Modifying
+    @Query("DELETE FROM OrganizationFamilyEntity f WHERE f.orgKey IN :orgKeys")
+    int deleteAllByOrgKeyIn(@Param("orgKeys") Collection<String> orgKeys);
 }
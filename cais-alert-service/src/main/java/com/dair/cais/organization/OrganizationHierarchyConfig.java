@@ -0,0 +1,14 @@
+package com.dair.cais.organization;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "organization.hierarchy")
+@Data
+@Validated
+public class OrganizationHierarchyConfig {
+    private boolean ensureIndexes = true;
+}
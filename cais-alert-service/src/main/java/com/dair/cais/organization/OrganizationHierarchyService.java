@@ -0,0 +1,168 @@
+package com.dair.cais.organization;
+
+import com.dair.cais.reference.ReferenceDataLoader;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the organization hierarchy as an in-memory {@link OrganizationTree}, persisted in PostgreSQL as the
+ * {@code cm_organization_family} strings.
+ * <p>
+ * The tree is part of the {@link ReferenceDataSnapshot}. A committed change installs the updated tree on this
+ * instance and bumps the shared reference data version, so other instances reload it on their next version
+ * check instead of serving a stale hierarchy until a fixed poll comes round.
+ * <p>
+ * Moving or adding a unit only touches its subtree, and only rows whose values change are written.
+ * A full {@link #rebuild()} works the same way, diffing the computed hierarchy against what is stored and
+ * removing the families of units that no longer exist.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrganizationHierarchyService implements ReferenceDataLoader {
+    private final OrganizationUnitRepository organizationUnitRepository;
+    private final OrganizationFamilyRepository organizationFamilyRepository;
+    private final ReferenceDataService referenceDataService;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public record SyncResult(int familiesWritten, int familiesDeleted) {}
+
+    @Override
+    public ReferenceDataType type() {
+        return ReferenceDataType.ORG_TREE;
+    }
+
+    @Override
+    public void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot) {
+        snapshot.orgTree(OrganizationTree.of(organizationUnitRepository.findAllOrgKeyPairs()));
+    }
+
+    public OrganizationTree getTree() {
+        return referenceDataService.snapshot().getOrgTree();
+    }
+
+    /**
+     * The given units and every unit below them.
+     */
+    public Set<String> descendantsOf(Collection<String> orgKeys) {
+        return getTree().descendantsOf(orgKeys);
+    }
+
+    /**
+     * Recomputes the whole hierarchy from {@code cm_organization_unit} and writes only the differences.
+     */
+    @Transactional
+    public SyncResult rebuild() {
+        long startTime = System.currentTimeMillis();
+        lockUntilCompletion();
+        OrganizationTree loaded = OrganizationTree.of(organizationUnitRepository.findAllOrgKeyPairs());
+        int families = syncFamilies(loaded, loaded.orgKeys());
+        int removed = deleteRemovedFamilies(loaded);
+        publish(loaded);
+        log.info("Rebuilt organization hierarchy for {} units in {} ms: {} families written, {} deleted",
+                loaded.size(), System.currentTimeMillis() - startTime, families, removed);
+        return new SyncResult(families, removed);
+    }
+
+    /**
+     * Attaches {@code orgKey} under {@code parentOrgKey}, adding it to the hierarchy if it is new. Only the
+     * family strings of the moved subtree are rewritten.
+     */
+    @Transactional
+    public SyncResult moveOrganizationUnit(String orgKey, String parentOrgKey) {
+        lockUntilCompletion();
+        OrganizationTree current = getTree();
+        String parent = parentOrgKey != null ? parentOrgKey : "";
+        boolean known = current.contains(orgKey);
+        if (known && current.parentOf(orgKey).equals(parent)) {
+            return new SyncResult(0, 0);
+        }
+
+        Set<String> subtree = current.descendantsOf(orgKey);
+        if (subtree.contains(parent)) {
+            throw new IllegalArgumentException(
+                    "Cannot move organization unit " + orgKey + " under its own descendant " + parent);
+        }
+        OrganizationTree updated = current.withParent(orgKey, parent);
+
+        int families = syncFamilies(updated, subtree);
+        publish(updated);
+
+        log.info("Moved organization unit {} under '{}': {} units re-parented, {} families written",
+                orgKey, parent, subtree.size(), families);
+        return new SyncResult(families, 0);
+    }
+
+    private int syncFamilies(OrganizationTree source, Set<String> orgKeys) {
+        Map<String, OrganizationFamilyEntity> existing = organizationFamilyRepository.findAllByOrgKeyIn(orgKeys).stream()
+                .collect(Collectors.toMap(OrganizationFamilyEntity::getOrgKey, Function.identity(), (first, second) -> first));
+
+        List<OrganizationFamilyEntity> changed = new ArrayList<>();
+        for (String orgKey : orgKeys) {
+            if (!source.contains(orgKey)) {
+                continue;
+            }
+            String parentOrgKey = source.parentOf(orgKey);
+            String orgFamily = source.familyOf(orgKey);
+            OrganizationFamilyEntity entity = existing.get(orgKey);
+            if (entity == null) {
+                entity = new OrganizationFamilyEntity();
+                entity.setOrgKey(orgKey);
+            } else if (Objects.equals(entity.getParentOrgKey(), parentOrgKey)
+                    && Objects.equals(entity.getOrgFamily(), orgFamily)) {
+                continue;
+            }
+            entity.setParentOrgKey(parentOrgKey);
+            entity.setOrgFamily(orgFamily);
+            changed.add(entity);
+        }
+        organizationFamilyRepository.saveAll(changed);
+        return changed.size();
+    }
+
+    private int deleteRemovedFamilies(OrganizationTree source) {
+        List<String> removed = organizationFamilyRepository.findAllOrgKeys().stream()
+                .filter(orgKey -> !source.contains(orgKey))
+                .collect(Collectors.toList());
+        return removed.isEmpty() ? 0 : organizationFamilyRepository.deleteAllByOrgKeyIn(removed);
+    }
+
+    /**
+     * Serializes hierarchy writes until the surrounding transaction finishes, so each change is computed
+     * from the tree the previous one committed.
+     */
+    private void lockUntilCompletion() {
+        if (writeLock.isHeldByCurrentThread()) {
+            return;
+        }
+        writeLock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    private void publish(OrganizationTree updated) {
+        referenceDataService.publish(ReferenceDataType.ORG_TREE, snapshot -> snapshot.orgTree(updated));
+    }
+}
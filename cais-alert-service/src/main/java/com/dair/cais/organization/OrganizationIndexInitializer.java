@@ -0,0 +1,41 @@
+package com.dair.cais.organization;
+
+import com.dair.cais.common.config.CaisAlertConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the alerts index behind org-unit visibility lookups, which match {@code orgUnitId} against a
+ * user's expanded subtree and filter on {@code isDeleted} and {@code isActive}.
+ * Disable with {@code organization.hierarchy.ensure-indexes} where schema changes are managed by DBAs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrganizationIndexInitializer {
+    private final MongoTemplate mongoTemplate;
+    private final OrganizationHierarchyConfig config;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!config.isEnsureIndexes()) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(CaisAlertConstants.ALERTS).ensureIndex(new Index()
+                    .on("orgUnitId", Sort.Direction.ASC)
+                    .on("isDeleted", Sort.Direction.ASC)
+                    .on("isActive", Sort.Direction.ASC)
+                    .named("orgUnitId_isDeleted_isActive"));
+            log.info("Organization visibility index ensured");
+        } catch (Exception e) {
+            log.warn("Could not ensure organization visibility index: {}", e.getMessage());
+        }
+    }
+}
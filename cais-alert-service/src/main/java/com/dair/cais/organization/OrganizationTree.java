@@ -0,0 +1,168 @@
+package com.dair.cais.organization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory view of the organization hierarchy. Descendant lookups walk only the requested
+ * subtrees; a move returns a new tree so readers never see a half-applied change.
+ * <p>
+ * A move copies only what it changes: the moved unit's parent and the child lists of its old and new parent are
+ * kept as overrides on top of the shared base maps. Once the overrides outgrow the square root of the tree they
+ * are folded into new base maps, so the full copy is paid once per that many moves.
+ * <p>
+ * A parent key that is not itself an organization unit is treated as a root, matching the family strings
+ * stored in {@code cm_organization_family}.
+ */
+public final class OrganizationTree {
+    private static final int MIN_OVERRIDES = 64;
+
+    private final Map<String, String> parentOf;
+    private final Map<String, List<String>> childrenOf;
+    private final Map<String, String> movedParentOf;
+    private final Map<String, List<String>> movedChildrenOf;
+
+    private OrganizationTree(Map<String, String> parentOf, Map<String, List<String>> childrenOf,
+                             Map<String, String> movedParentOf, Map<String, List<String>> movedChildrenOf) {
+        this.parentOf = parentOf;
+        this.childrenOf = childrenOf;
+        this.movedParentOf = movedParentOf;
+        this.movedChildrenOf = movedChildrenOf;
+    }
+
+    public static OrganizationTree of(Collection<OrgKeyPair> pairs) {
+        Map<String, String> parentOf = new HashMap<>();
+        for (OrgKeyPair pair : pairs) {
+            if (pair.getOrgKey() != null && !pair.getOrgKey().isEmpty()) {
+                parentOf.put(pair.getOrgKey(), normalize(pair.getParentOrgKey()));
+            }
+        }
+        return flat(parentOf);
+    }
+
+    private static OrganizationTree flat(Map<String, String> parentOf) {
+        Map<String, List<String>> children = new HashMap<>();
+        parentOf.forEach((orgKey, parentOrgKey) -> {
+            if (!parentOrgKey.isEmpty()) {
+                children.computeIfAbsent(parentOrgKey, key -> new ArrayList<>()).add(orgKey);
+            }
+        });
+        return new OrganizationTree(parentOf, children, Map.of(), Map.of());
+    }
+
+    /**
+     * Returns a copy of this tree with {@code orgKey} attached under {@code parentOrgKey}, adding it if new.
+     */
+    public OrganizationTree withParent(String orgKey, String parentOrgKey) {
+        String parent = normalize(parentOrgKey);
+        Map<String, String> parents = new HashMap<>(movedParentOf);
+        Map<String, List<String>> children = new HashMap<>(movedChildrenOf);
+        String previous = parentOrNull(orgKey);
+        if (previous != null && !previous.isEmpty()) {
+            List<String> siblings = new ArrayList<>(children.getOrDefault(previous, childrenOf(previous)));
+            siblings.remove(orgKey);
+            children.put(previous, siblings);
+        }
+        if (!parent.isEmpty()) {
+            List<String> siblings = new ArrayList<>(children.getOrDefault(parent, childrenOf(parent)));
+            siblings.add(orgKey);
+            children.put(parent, siblings);
+        }
+        parents.put(orgKey, parent);
+
+        if (parents.size() > Math.max(MIN_OVERRIDES, Math.sqrt(parentOf.size()))) {
+            Map<String, String> folded = new HashMap<>(parentOf);
+            folded.putAll(parents);
+            return flat(folded);
+        }
+        return new OrganizationTree(parentOf, childrenOf, parents, children);
+    }
+
+    public boolean contains(String orgKey) {
+        return movedParentOf.containsKey(orgKey) || parentOf.containsKey(orgKey);
+    }
+
+    public int size() {
+        int added = 0;
+        for (String orgKey : movedParentOf.keySet()) {
+            if (!parentOf.containsKey(orgKey)) {
+                added++;
+            }
+        }
+        return parentOf.size() + added;
+    }
+
+    public Set<String> orgKeys() {
+        if (movedParentOf.isEmpty()) {
+            return Collections.unmodifiableSet(parentOf.keySet());
+        }
+        Set<String> orgKeys = new HashSet<>(parentOf.keySet());
+        orgKeys.addAll(movedParentOf.keySet());
+        return Collections.unmodifiableSet(orgKeys);
+    }
+
+    public String parentOf(String orgKey) {
+        String parent = parentOrNull(orgKey);
+        return parent != null ? parent : "";
+    }
+
+    /**
+     * The given units and everything below them, in breadth-first order.
+     */
+    public Set<String> descendantsOf(Collection<String> orgKeys) {
+        Set<String> result = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(orgKeys);
+        while (!pending.isEmpty()) {
+            String orgKey = pending.poll();
+            if (result.add(orgKey)) {
+                pending.addAll(childrenOf(orgKey));
+            }
+        }
+        return result;
+    }
+
+    public Set<String> descendantsOf(String orgKey) {
+        return descendantsOf(List.of(orgKey));
+    }
+
+    /**
+     * Path from the root down to and including {@code orgKey}. A cycle in the source data ends the walk.
+     */
+    public List<String> pathTo(String orgKey) {
+        List<String> path = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (String current = orgKey; current != null && !current.isEmpty() && seen.add(current);
+             current = parentOrNull(current)) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public String familyOf(String orgKey) {
+        return String.join(":", pathTo(orgKey));
+    }
+
+    private String parentOrNull(String orgKey) {
+        String moved = movedParentOf.get(orgKey);
+        return moved != null ? moved : parentOf.get(orgKey);
+    }
+
+    private List<String> childrenOf(String orgKey) {
+        List<String> moved = movedChildrenOf.get(orgKey);
+        return moved != null ? moved : childrenOf.getOrDefault(orgKey, List.of());
+    }
+
+    private static String normalize(String parentOrgKey) {
+        return parentOrgKey != null ? parentOrgKey : "";
+    }
+}
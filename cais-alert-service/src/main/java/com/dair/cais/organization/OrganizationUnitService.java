@@ -5,6 +5,10 @@ import com.dair.cais.organization.OrganizationUnitEntity;
 import com.dair.cais.organization.OrganizationUnitRepository;
 import jakarta.persistence.EntityNotFoundException;
 import com.dair.cais.organization.util.CsvHelper;
+import com.dair.cais.reference.ReferenceDataLoader;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,22 +18,36 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class OrganizationUnitService {
+public class OrganizationUnitService implements ReferenceDataLoader {
+
+    private static final UnaryOperator<OrganizationUnit> COPY = ReferenceDataSnapshot.copier(OrganizationUnit::new);
 
     private final OrganizationUnitRepository repository;
     private final CsvHelper csvHelper;
+    private final OrganizationHierarchyService hierarchyService;
+    private final ReferenceDataService referenceDataService;
+
+    @Override
+    public ReferenceDataType type() {
+        return ReferenceDataType.ORG_UNITS;
+    }
+
+    @Override
+    public void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot) {
+        snapshot.orgUnits(ReferenceDataSnapshot.index(
+                repository.findAll().stream().map(this::mapToDto).collect(Collectors.toList()),
+                OrganizationUnit::getOrgKey));
+    }
 
-    @Transactional(readOnly = true)
     public List<OrganizationUnit> getAllOrganizationUnits() {
         log.debug("Fetching all organization units");
-        return repository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return referenceDataService.copyAll(ReferenceDataSnapshot::getOrgUnits, COPY);
     }
 
     @Transactional(readOnly = true)
@@ -40,11 +58,9 @@ public class OrganizationUnitService {
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with id: " + id));
     }
 
-    @Transactional(readOnly = true)
     public OrganizationUnit getOrganizationUnitByOrgKey(String org_key) {
         log.debug("Fetching organization unit with id: {}", org_key);
-        return repository.findByOrgKey(org_key)
-                .map(this::mapToDto)
+        return referenceDataService.findCopy(ReferenceDataSnapshot::getOrgUnits, org_key, COPY)
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with key: " + org_key));
     }
 
@@ -53,6 +69,8 @@ public class OrganizationUnitService {
         log.debug("Creating new organization unit: {}", organizationUnit);
         OrganizationUnitEntity entity = mapToEntity(organizationUnit);
         entity = repository.save(entity);
+        hierarchyService.moveOrganizationUnit(entity.getOrgKey(), entity.getParentOrgKey());
+        referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
         return mapToDto(entity);
     }
 
@@ -62,7 +80,10 @@ public class OrganizationUnitService {
         return repository.findByOrgKey(org_key)
                 .map(entity -> {
                     updateEntityFromDto(organizationUnit, entity);
-                    return mapToDto(repository.save(entity));
+                    OrganizationUnitEntity saved = repository.save(entity);
+                    hierarchyService.moveOrganizationUnit(saved.getOrgKey(), saved.getParentOrgKey());
+                    referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
+                    return mapToDto(saved);
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with org_key: " + org_key));
     }
@@ -74,6 +95,7 @@ public class OrganizationUnitService {
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with id: " + id));
         entity.setIsActive(true);
         repository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
     }
 
     @Transactional
@@ -83,6 +105,7 @@ public class OrganizationUnitService {
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with id: " + id));
         entity.setIsActive(false);
         repository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
     }
 
     @Transactional
@@ -92,6 +115,7 @@ public class OrganizationUnitService {
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with org_key: " + org_key));
         entity.setIsActive(true);
         repository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
     }
 
     @Transactional
@@ -101,6 +125,7 @@ public class OrganizationUnitService {
                 .orElseThrow(() -> new EntityNotFoundException("Organization unit not found with org_key: " + org_key));
         entity.setIsActive(false);
         repository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
     }
 
     private OrganizationUnit mapToDto(OrganizationUnitEntity entity) {
@@ -158,5 +183,7 @@ public class OrganizationUnitService {
                             }
                     );
         }
+        hierarchyService.rebuild();
+        referenceDataService.markChanged(ReferenceDataType.ORG_UNITS);
     }
 }
@@ -0,0 +1,22 @@
+package com.dair.cais.reference;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "reference-data")
+@Data
+@Validated
+public class ReferenceDataConfig {
+    @Min(1000)
+    private long versionCheckIntervalMs = 30000;
+
+    @Min(60000)
+    private long maxAgeMs = 600000;
+
+    @Min(0)
+    private long missRefreshIntervalMs = 5000;
+}
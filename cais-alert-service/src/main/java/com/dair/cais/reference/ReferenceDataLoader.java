@@ -0,0 +1,12 @@
+package com.dair.cais.reference;
+
+/**
+ * Loads one kind of reference data in bulk into a snapshot being built. Implemented by the service that
+ * owns the data, so conversion to DTOs stays in one place.
+ */
+public interface ReferenceDataLoader {
+
+    ReferenceDataType type();
+
+    void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot);
+}
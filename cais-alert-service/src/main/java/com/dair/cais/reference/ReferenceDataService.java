@@ -0,0 +1,246 @@
+package com.dair.cais.reference;
+
+import com.dair.cais.steps.StepStatus;
+import com.dair.cais.steps.StepStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Serves org units, hierarchies, steps, step statuses, alert types and transition reasons from an
+ * in-memory {@link ReferenceDataSnapshot}, so hot paths do no reference-data I/O.
+ * <p>
+ * Everything is loaded in bulk at startup. Writes through the owning services call {@link #markChanged},
+ * which reloads the changed kind after commit and bumps a shared version in Mongo; other instances poll
+ * that version and reload when it moves. Services that already hold the committed data, such as the org tree
+ * after a move, call {@link #publish} instead to install it without a reload. Snapshots older than {@code reference-data.max-age-ms} are
+ * reloaded regardless, which covers data maintained outside the application.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+    private static final String VERSION_COLLECTION = "reference_data_version";
+    private static final String VERSION_ID = "reference";
+
+    private final ObjectProvider<ReferenceDataLoader> loaders;
+    private final StepStatusRepository stepStatusRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceDataConfig config;
+
+    private volatile ReferenceDataSnapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reload(EnumSet.allOf(ReferenceDataType.class), readVersion());
+        } catch (Exception e) {
+            log.error("Failed to load reference data at startup: {}", e.getMessage(), e);
+        }
+    }
+
+    public ReferenceDataSnapshot snapshot() {
+        ReferenceDataSnapshot current = snapshot;
+        if (current == null) {
+            current = reload(EnumSet.allOf(ReferenceDataType.class), readVersion());
+        }
+        return current;
+    }
+
+    /**
+     * Looks up one entry of the current snapshot. A miss reloads everything once, at most every
+     * {@code reference-data.miss-refresh-interval-ms}, in case the entry was just added on another instance.
+     */
+    public <K, V> Optional<V> find(Function<ReferenceDataSnapshot, Map<K, V>> section, K key) {
+        ReferenceDataSnapshot current = snapshot();
+        V value = section.apply(current).get(key);
+        if (value == null && Duration.between(current.getLoadedAt(), Instant.now()).toMillis()
+                > config.getMissRefreshIntervalMs()) {
+            value = section.apply(reload(EnumSet.allOf(ReferenceDataType.class), readVersion())).get(key);
+        }
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * {@link #find} for handing the entry out of a service: the caller gets its own copy.
+     */
+    public <K, V> Optional<V> findCopy(Function<ReferenceDataSnapshot, Map<K, V>> section, K key, UnaryOperator<V> copy) {
+        return find(section, key).map(copy);
+    }
+
+    /**
+     * Copies of every entry of {@code section}, in load order.
+     */
+    public <K, V> List<V> copyAll(Function<ReferenceDataSnapshot, Map<K, V>> section, UnaryOperator<V> copy) {
+        return section.apply(snapshot()).values().stream().map(copy).collect(Collectors.toList());
+    }
+
+    /**
+     * Records that reference data of {@code type} changed. The reload happens after the surrounding
+     * transaction commits so it sees the new rows.
+     */
+    public void markChanged(ReferenceDataType type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange(type, null);
+                }
+            });
+        } else {
+            publishChange(type, null);
+        }
+    }
+
+    /**
+     * Like {@link #markChanged}, for data of {@code type} the caller already holds: after commit,
+     * {@code section} sets it on this instance's snapshot and the shared version is bumped so other instances
+     * reload it. If this instance had missed another change meanwhile, everything is reloaded instead.
+     */
+    public void publish(ReferenceDataType type, Consumer<ReferenceDataSnapshot.ReferenceDataSnapshotBuilder> section) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange(type, section);
+                }
+            });
+        } else {
+            publishChange(type, section);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.version-check-interval-ms:30000}",
+            initialDelayString = "${reference-data.version-check-interval-ms:30000}")
+    public void checkVersion() {
+        try {
+            ReferenceDataSnapshot current = snapshot;
+            long version = readVersion();
+            boolean stale = current == null || current.getVersion() != version
+                    || Duration.between(current.getLoadedAt(), Instant.now()).toMillis() > config.getMaxAgeMs();
+            if (stale) {
+                reload(EnumSet.allOf(ReferenceDataType.class), version);
+            }
+        } catch (Exception e) {
+            log.warn("Reference data version check failed: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        ReferenceDataSnapshot current = snapshot != null ? snapshot : ReferenceDataSnapshot.EMPTY;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("version", current.getVersion());
+        status.put("loadedAt", current.getLoadedAt());
+        status.put("orgUnits", current.getOrgUnits().size());
+        status.put("orgTreeUnits", current.getOrgTree().size());
+        status.put("hierarchies", current.getHierarchies().size());
+        status.put("steps", current.getSteps().size());
+        status.put("stepStatuses", current.getStepStatusNames().size());
+        status.put("alertTypes", current.getAlertTypes().size());
+        status.put("transitionReasons", current.getTransitionReasons().size());
+        return status;
+    }
+
+    private void publishChange(ReferenceDataType type,
+                               Consumer<ReferenceDataSnapshot.ReferenceDataSnapshotBuilder> section) {
+        try {
+            long previous = snapshot != null ? snapshot.getVersion() : -1;
+            long version = bumpVersion();
+            if (version != previous + 1) {
+                // Another instance changed something since our last load: take everything
+                reload(EnumSet.allOf(ReferenceDataType.class), version);
+            } else if (section != null) {
+                install(type, section, version);
+            } else {
+                reload(EnumSet.of(type), version);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reload {} reference data: {}", type, e.getMessage(), e);
+            if (section != null) {
+                // Keep this instance on the committed data; others catch up at their next max-age reload
+                install(type, section, snapshot != null ? snapshot.getVersion() : -1);
+            }
+        }
+    }
+
+    private synchronized ReferenceDataSnapshot reload(Set<ReferenceDataType> types, long version) {
+        long start = System.currentTimeMillis();
+        ReferenceDataSnapshot.ReferenceDataSnapshotBuilder builder =
+                (snapshot != null ? snapshot : ReferenceDataSnapshot.EMPTY).toBuilder();
+        Set<ReferenceDataType> pending = EnumSet.copyOf(types);
+        if (snapshot == null) {
+            pending.addAll(EnumSet.allOf(ReferenceDataType.class));
+        }
+
+        if (pending.remove(ReferenceDataType.STEP_STATUSES)) {
+            Map<Integer, String> names = new LinkedHashMap<>();
+            for (StepStatus status : stepStatusRepository.findAll()) {
+                names.put(status.getStepStatusId(), status.getStepName());
+            }
+            builder.stepStatusNames(Collections.unmodifiableMap(names));
+        }
+        for (ReferenceDataLoader loader : loaders) {
+            if (pending.contains(loader.type())) {
+                loader.load(builder);
+            }
+        }
+
+        ReferenceDataSnapshot loaded = builder.version(version).loadedAt(Instant.now()).build();
+        snapshot = loaded;
+        log.info("Loaded reference data {} at version {} in {} ms", types, version, System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private synchronized void install(ReferenceDataType type,
+                                      Consumer<ReferenceDataSnapshot.ReferenceDataSnapshotBuilder> section, long version) {
+        // A reload that ran meanwhile already read the committed data
+        if (snapshot == null || snapshot.getVersion() > version) {
+            return;
+        }
+        ReferenceDataSnapshot.ReferenceDataSnapshotBuilder builder = snapshot.toBuilder();
+        section.accept(builder);
+        snapshot = builder.version(version).build();
+        log.debug("Installed {} reference data at version {}", type, version);
+    }
+
+    private long readVersion() {
+        Document document = mongoTemplate.findById(VERSION_ID, Document.class, VERSION_COLLECTION);
+        return document != null ? document.get("version", Number.class).longValue() : 0L;
+    }
+
+    private long bumpVersion() {
+        Document document = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(VERSION_ID)),
+                new Update().inc("version", 1L).set("updatedAt", Instant.now()),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Document.class,
+                VERSION_COLLECTION);
+        return document.get("version", Number.class).longValue();
+    }
+}
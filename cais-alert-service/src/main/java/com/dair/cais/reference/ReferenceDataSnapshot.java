@@ -0,0 +1,83 @@
+package com.dair.cais.reference;
+
+import com.dair.cais.hierarchy.Hierarchy;
+import com.dair.cais.organization.OrganizationTree;
+import com.dair.cais.organization.OrganizationUnit;
+import com.dair.cais.steps.dto.StepDTO;
+import com.dair.cais.type.AlertTypeExtended;
+import com.dair.cais.workflow.model.TransitionReasonDTO;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.beans.BeanUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Point-in-time copy of the reference data, keyed for direct lookup. Snapshots are replaced, never
+ * modified; the maps are unmodifiable and the values are shared by every reader. Services hand out copies
+ * made with {@link ReferenceDataService#copyAll} and {@link ReferenceDataService#findCopy}, so no caller can
+ * change a value under another.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ReferenceDataSnapshot {
+    public static final ReferenceDataSnapshot EMPTY = ReferenceDataSnapshot.builder()
+            .version(-1)
+            .loadedAt(Instant.EPOCH)
+            .orgUnits(Map.of())
+            .orgTree(OrganizationTree.of(List.of()))
+            .hierarchies(Map.of())
+            .steps(Map.of())
+            .stepStatusNames(Map.of())
+            .alertTypes(Map.of())
+            .transitionReasons(Map.of())
+            .build();
+
+    long version;
+    Instant loadedAt;
+    /** Org units by org key. */
+    Map<String, OrganizationUnit> orgUnits;
+    /** Parent links of every org unit, behind org-based alert visibility. */
+    OrganizationTree orgTree;
+    /** Hierarchies by hierarchy id. */
+    Map<Integer, Hierarchy> hierarchies;
+    /** Steps by step id. */
+    Map<Long, StepDTO> steps;
+    /** Step status names by step status id. */
+    Map<Integer, String> stepStatusNames;
+    /** Alert types by alert type id. */
+    Map<String, AlertTypeExtended> alertTypes;
+    /** Transition reasons by id. */
+    Map<Long, TransitionReasonDTO> transitionReasons;
+
+    /**
+     * Copies a value property by property. Enough for DTOs whose properties are immutable values; DTOs that
+     * hold collections or dates need a deeper copy.
+     */
+    public static <V> UnaryOperator<V> copier(Supplier<V> factory) {
+        return value -> {
+            V copy = factory.get();
+            BeanUtils.copyProperties(value, copy);
+            return copy;
+        };
+    }
+
+    /**
+     * Indexes values by key into an unmodifiable map that keeps the source order.
+     */
+    public static <K, V> Map<K, V> index(Collection<V> values, Function<V, K> key) {
+        Map<K, V> indexed = new LinkedHashMap<>();
+        for (V value : values) {
+            indexed.putIfAbsent(key.apply(value), value);
+        }
+        return Collections.unmodifiableMap(indexed);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dair.cais.reference;
+
+public enum ReferenceDataType {
+    ORG_UNITS,
+    ORG_TREE,
+    HIERARCHIES,
+    STEPS,
+    STEP_STATUSES,
+    ALERT_TYPES,
+    TRANSITION_REASONS
+}
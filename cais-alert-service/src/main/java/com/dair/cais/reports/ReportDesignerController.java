@@ -121,6 +121,28 @@ public class ReportDesignerController {
         return ResponseEntity.ok(reportService.executeReport(reportId, parameters));
     }
 
+    @Operation(summary = "Preview report",
+            description = "Runs a bounded, cancellable preview of the report. Pass a client generated queryHandle "
+                    + "to be able to cancel the preview while it is running")
+    @PostMapping("/{reportId}/preview")
+    public ResponseEntity<ReportExecutionResultDto> previewReport(
+            @PathVariable Integer reportId,
+            @RequestParam(required = false) Integer maxRows,
+            @RequestParam(required = false) String queryHandle,
+            @RequestBody(required = false) Map<String, Object> parameters) {
+        log.info("REST request to preview report: {}", reportId);
+        return ResponseEntity.ok(reportService.previewReport(reportId, parameters, maxRows, queryHandle));
+    }
+
+    @Operation(summary = "Cancel report preview")
+    @DeleteMapping("/preview/{queryHandle}")
+    public ResponseEntity<Void> cancelPreview(@PathVariable String queryHandle) {
+        log.info("REST request to cancel report preview: {}", queryHandle);
+        return reportService.cancelPreview(queryHandle)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
 //    @Operation(summary = "Export report")
 //    @PostMapping("/{reportId}/export/{format}")
 //    public ResponseEntity<Resource> exportReport(
@@ -198,6 +220,17 @@ public class ReportDesignerController {
         return ResponseEntity.ok(metadataService.getSchemaDetails(connectionId, schemaName));
     }
 
+    @Operation(summary = "Refresh cached metadata",
+            description = "Drops cached schema, table and column metadata for a connection, optionally for a single schema")
+    @PostMapping("/metadata/refresh/{connectionId}")
+    public ResponseEntity<Void> refreshMetadata(
+            @PathVariable Long connectionId,
+            @RequestParam(required = false) String schemaName) {
+        log.info("REST request to refresh metadata for connection: {}, schema: {}", connectionId, schemaName);
+        metadataService.refreshMetadata(connectionId, schemaName);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Get all reports with metadata",
             description = "Retrieves a list of all reports with basic information and system-wide report statistics")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved reports",
@@ -1,11 +1,14 @@
 package com.dair.cais.reports;
 
 import com.dair.cais.connection.ConnectionService;
+import com.dair.cais.reports.config.PreviewConfig;
 import com.dair.cais.reports.dto.*;
 import com.dair.cais.reports.exception.*;
 import com.dair.cais.reports.repository.ReportColumnRepository;
 import com.dair.cais.reports.repository.ReportParameterRepository;
 import com.dair.cais.reports.repository.ReportsRepository;
+import com.dair.cais.reports.service.PreviewQueryExecutor;
+import com.dair.cais.reports.service.ReportQueryTemplateCache;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +40,9 @@ public class ReportDesignerService {
     private final ObjectMapper objectMapper;
     private final JdbcTemplate jdbcTemplate;
     private final ReportParameterRepository parameterRepository;  // Add this
+    private final PreviewQueryExecutor previewQueryExecutor;
+    private final PreviewConfig previewConfig;
+    private final ReportQueryTemplateCache queryTemplateCache;
 
 
     /**
@@ -182,6 +188,7 @@ public class ReportDesignerService {
 
             // Save the report first
             ReportsEntity updatedReport = reportRepository.save(report);
+            queryTemplateCache.evict(reportId);
 
             // Handle columns update
             List<ReportColumnEntity> existingColumns = columnRepository.findByReportIdOrderBySortPriorityAsc(reportId);
@@ -473,6 +480,63 @@ public class ReportDesignerService {
         }
     }
 
+    /**
+     * Runs a bounded preview of a report for the designer. Unlike {@link #executeReport} it does not
+     * require the report to be published, returns at most {@code maxRows} rows with a truncated flag,
+     * and can be cancelled through {@link #cancelPreview} using the query handle.
+     */
+    @Transactional(readOnly = true)
+    public ReportExecutionResultDto previewReport(Integer reportId, Map<String, Object> parameters,
+                                                  Integer maxRows, String queryHandle) {
+        String handle = queryHandle != null && !queryHandle.isBlank() ? queryHandle : UUID.randomUUID().toString();
+        int rowLimit = maxRows != null && maxRows > 0
+                ? Math.min(maxRows, previewConfig.getMaxRows())
+                : previewConfig.getMaxRows();
+        log.info("Previewing report: {} with handle: {}, row limit: {}", reportId, handle, rowLimit);
+
+        try {
+            ReportsEntity report = reportRepository.findById(reportId)
+                    .orElseThrow(() -> new ReportNotFoundException(reportId));
+            List<ReportColumnEntity> columns = columnRepository
+                    .findByReportIdOrderBySortPriorityAsc(reportId);
+
+            validateParameters(reportId, parameters);
+
+            String sql = buildReportQuery(report, columns, parameters);
+            PreviewQueryExecutor.PreviewResult preview = previewQueryExecutor.execute(
+                    jdbcTemplate,
+                    handle,
+                    sql,
+                    parameters != null ? parameters.values().toArray() : null,
+                    rowLimit,
+                    previewConfig.getFetchSize(),
+                    previewConfig.getTimeoutSeconds());
+
+            List<Map<String, Object>> formattedData = formatReportData(preview.rows(), columns);
+
+            ReportExecutionResultDto result = new ReportExecutionResultDto();
+            result.setReportId(reportId);
+            result.setReportName(report.getReportName());
+            result.setColumns(columns.stream().map(this::mapColumnToDto).toList());
+            result.setData(formattedData);
+            result.setTotalRows(formattedData.size());
+            result.setPageSize(rowLimit);
+            result.setTruncated(preview.truncated());
+            result.setQueryHandle(handle);
+            result.setExecutionTime(ZonedDateTime.now());
+
+            return result;
+        } catch (Exception e) {
+            log.error("Error previewing report {}: {}", reportId, e.getMessage(), e);
+            throw new ReportExecutionException("Failed to preview report", e);
+        }
+    }
+
+    public boolean cancelPreview(String queryHandle) {
+        log.info("Cancelling report preview with handle: {}", queryHandle);
+        return previewQueryExecutor.cancel(queryHandle);
+    }
+
     @Transactional
     public void deleteReport(Integer reportId) {
         log.info("Deleting report with ID: {}", reportId);
@@ -486,6 +550,7 @@ public class ReportDesignerService {
 
             // Delete the report
             reportRepository.delete(report);
+            queryTemplateCache.evict(reportId);
 
             log.info("Successfully deleted report: {}", reportId);
         } catch (Exception e) {
@@ -1,76 +1,145 @@
 package com.dair.cais.reports;
 
 import com.dair.cais.connection.ConnectionService;
+import com.dair.cais.reports.config.MetadataCacheConfig;
 import com.dair.cais.reports.dto.*;
 import com.dair.cais.reports.exception.MetadataException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.dair.cais.reports.service.JdbcMetadataReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.BeanUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Metadata discovery for the report designer. Catalog reads go through the connection's pooled
+ * data source and are cached per connection and schema until the TTL expires or a refresh is requested.
+ * Callers always get their own copies of the cached DTOs.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ReportMetadataService {
     private final JdbcTemplate jdbcTemplate;
-    private final ObjectMapper objectMapper;
     private final ConnectionService connectionService;
+    private final JdbcMetadataReader metadataReader;
+
+    private final Cache<Long, Map<String, String>> schemaCache;
+    private final Cache<SchemaKey, List<TableMetadataDto>> tableCache;
+    private final Cache<TableKey, List<ColumnMetadataDto>> columnCache;
+
+    private record SchemaKey(Long connectionId, String schemaName) {}
+
+    private record TableKey(Long connectionId, String schemaName, String tableName) {}
+
+    public ReportMetadataService(JdbcTemplate jdbcTemplate,
+                                 ConnectionService connectionService,
+                                 JdbcMetadataReader metadataReader,
+                                 MetadataCacheConfig cacheConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.connectionService = connectionService;
+        this.metadataReader = metadataReader;
+
+        Duration ttl = Duration.ofMinutes(cacheConfig.getTtlMinutes());
+        this.schemaCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(cacheConfig.getMaximumSize())
+                .build();
+        this.tableCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(cacheConfig.getMaximumSize())
+                .build();
+        this.columnCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(cacheConfig.getMaximumSize())
+                .build();
+    }
 
-
-    @Transactional(readOnly = true)
     public List<TableMetadataDto> getTableMetadata(Long connectionId) {
         log.debug("Fetching table metadata for connection: {}", connectionId);
 
         try {
-            String sql = """
-            SELECT 
-                t.table_schema,
-                t.table_name,
-                t.table_type,
-                pg_class.reltuples::bigint as approximate_row_count,
-                obj_description(pg_class.oid) as description,
-                (SELECT COUNT(*) FROM information_schema.columns c
-                 WHERE c.table_schema = t.table_schema
-                 AND c.table_name = t.table_name) as column_count
-            FROM information_schema.tables t
-            JOIN pg_class ON pg_class.relname = t.table_name
-            JOIN pg_namespace ON pg_namespace.nspname = t.table_schema
-                AND pg_namespace.oid = pg_class.relnamespace
-            WHERE t.table_schema NOT IN ('pg_catalog', 'information_schema')
-            AND t.table_type IN ('BASE TABLE', 'VIEW')
-            ORDER BY t.table_schema, t.table_name
-        """;
-
-            List<Map<String, Object>> results = connectionService.getConnectionAndTestQuery(connectionId, sql);
-
-            List<TableMetadataDto> dtoList = new ArrayList<>();
-            for (Map<String, Object> row : results) {
-                TableMetadataDto dto = new TableMetadataDto();
-                dto.setTableSchema(convertToString(row.get("table_schema")));
-                dto.setTableName(convertToString(row.get("table_name")));
-                dto.setTableType(convertToString(row.get("table_type")));
-                dto.setDescription(convertToString(row.get("description")));
-                dto.setApproximateRowCount(convertToLong(row.get("approximate_row_count")));
-                dto.setColumnCount(convertToInteger(row.get("column_count")));
-                dtoList.add(dto);
-            }
-
-            return dtoList;
-
+            return getTablesBySchema(connectionId).values().stream()
+                    .flatMap(List::stream)
+                    .map(ReportMetadataService::copyTable)
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             log.error("Error fetching table metadata for connection {}: {}", connectionId, e.getMessage());
             throw new MetadataException("Failed to fetch table metadata", e);
         }
     }
 
+    /**
+     * Drops cached metadata for a connection, or for a single schema of it when {@code schemaName} is given.
+     */
+    public void refreshMetadata(Long connectionId, String schemaName) {
+        log.info("Refreshing metadata cache for connection: {}, schema: {}", connectionId,
+                schemaName != null ? schemaName : "<all>");
+
+        if (schemaName == null) {
+            schemaCache.invalidate(connectionId);
+            tableCache.asMap().keySet().removeIf(key -> key.connectionId().equals(connectionId));
+            columnCache.asMap().keySet().removeIf(key -> key.connectionId().equals(connectionId));
+        } else {
+            tableCache.invalidate(new SchemaKey(connectionId, schemaName));
+            columnCache.asMap().keySet().removeIf(key ->
+                    key.connectionId().equals(connectionId) && key.schemaName().equals(schemaName));
+        }
+    }
+
+    /**
+     * Schema names of the connection in name order, each mapped to its description.
+     */
+    private Map<String, String> getSchemas(Long connectionId) {
+        return schemaCache.get(connectionId, id -> Collections.unmodifiableMap(
+                new LinkedHashMap<>(metadataReader.readSchemas(connectionService.getPooledDataSource(id)))));
+    }
+
+    /**
+     * Resolves tables for every schema of the connection. Schemas missing from the cache are
+     * loaded together with a single catalog read instead of one read per schema.
+     */
+    private Map<String, List<TableMetadataDto>> getTablesBySchema(Long connectionId) {
+        List<SchemaKey> keys = getSchemas(connectionId).keySet().stream()
+                .map(schema -> new SchemaKey(connectionId, schema))
+                .collect(Collectors.toList());
+
+        Map<SchemaKey, List<TableMetadataDto>> cached = tableCache.getAll(keys, this::loadTables);
+
+        Map<String, List<TableMetadataDto>> result = new LinkedHashMap<>();
+        keys.forEach(key -> result.put(key.schemaName(), cached.getOrDefault(key, List.of())));
+        return result;
+    }
+
+    private List<TableMetadataDto> getTablesForSchema(Long connectionId, String schemaName) {
+        SchemaKey key = new SchemaKey(connectionId, schemaName);
+        return tableCache.getAll(Set.of(key), this::loadTables).getOrDefault(key, List.of());
+    }
+
+    private Map<SchemaKey, List<TableMetadataDto>> loadTables(Set<? extends SchemaKey> keys) {
+        Long connectionId = keys.iterator().next().connectionId();
+        String schemaFilter = keys.size() == 1 ? keys.iterator().next().schemaName() : null;
+        log.debug("Loading table metadata for connection: {}, schema: {}", connectionId,
+                schemaFilter != null ? schemaFilter : "<all>");
+
+        Map<String, List<TableMetadataDto>> tables = metadataReader.readTables(
+                connectionService.getPooledDataSource(connectionId), schemaFilter);
+
+        Map<SchemaKey, List<TableMetadataDto>> loaded = new HashMap<>();
+        keys.forEach(key -> loaded.put(key, List.copyOf(tables.getOrDefault(key.schemaName(), List.of()))));
+        return loaded;
+    }
+
     // Helper methods for safe type conversion
     private String convertToString(Object value) {
         return value != null ? value.toString() : null;
@@ -186,81 +255,16 @@ public class ReportMetadataService {
 //        }
 //    }
 
-    @Transactional(readOnly = true)
     public List<ColumnMetadataDto> getColumnMetadata(Long connectionId, String schemaName, String tableName) {
         log.debug("Fetching column metadata for table: {}.{} in connection: {}", schemaName, tableName, connectionId);
         try {
-            String sql = """
-            SELECT 
-                c.column_name,
-                c.data_type,
-                c.column_default,
-                c.is_nullable,
-                c.character_maximum_length,
-                c.numeric_precision,
-                c.numeric_scale,
-                c.ordinal_position,
-                c.udt_name,
-                pg_catalog.col_description(pgc.oid, c.ordinal_position) as column_description,
-                CASE 
-                    WHEN pk.column_name IS NOT NULL THEN 'true'
-                    ELSE 'false'
-                END as is_primary_key,
-                CASE 
-                    WHEN fk.column_name IS NOT NULL THEN 'true'
-                    ELSE 'false'
-                END as is_foreign_key,
-                fk.foreign_table_name,
-                fk.foreign_column_name,
-                fk.foreign_table_schema
-            FROM information_schema.columns c
-            JOIN pg_class pgc 
-                ON pgc.relname = c.table_name 
-                AND c.table_schema = '%s'
-            JOIN pg_namespace pgn 
-                ON pgn.oid = pgc.relnamespace 
-                AND pgn.nspname = c.table_schema
-            LEFT JOIN (
-                SELECT 
-                    ku.column_name
-                FROM information_schema.table_constraints tc
-                JOIN information_schema.key_column_usage ku
-                    ON tc.constraint_name = ku.constraint_name
-                WHERE tc.constraint_type = 'PRIMARY KEY'
-                    AND ku.table_schema = '%s'
-                    AND ku.table_name = '%s'
-            ) pk ON pk.column_name = c.column_name
-            LEFT JOIN (
-                SELECT 
-                    kcu.column_name,
-                    ccu.table_schema AS foreign_table_schema,
-                    ccu.table_name AS foreign_table_name,
-                    ccu.column_name AS foreign_column_name
-                FROM information_schema.table_constraints tc
-                JOIN information_schema.key_column_usage kcu
-                    ON tc.constraint_name = kcu.constraint_name
-                JOIN information_schema.constraint_column_usage ccu
-                    ON ccu.constraint_name = tc.constraint_name
-                WHERE tc.constraint_type = 'FOREIGN KEY'
-                    AND kcu.table_schema = '%s'
-                    AND kcu.table_name = '%s'
-            ) fk ON fk.column_name = c.column_name
-            WHERE c.table_schema = '%s'
-                AND c.table_name = '%s'
-            ORDER BY c.ordinal_position
-        """.formatted(
-                    schemaName,
-                    schemaName, tableName,
-                    schemaName, tableName,
-                    schemaName, tableName
-            );
-
-            List<Map<String, Object>> results = connectionService.getConnectionAndTestQuery(connectionId, sql);
-
-            return results.stream()
-                    .map(this::mapToColumnMetadataDto)
+            return columnCache.get(new TableKey(connectionId, schemaName, tableName), key -> {
+                List<ColumnMetadataDto> columns = metadataReader.readColumns(
+                        connectionService.getPooledDataSource(connectionId), schemaName, tableName);
+                return List.copyOf(columns);
+            }).stream()
+                    .map(this::copyColumn)
                     .collect(Collectors.toList());
-
         } catch (Exception e) {
             log.error("Error fetching column metadata for table {}.{} in connection {}: {}",
                     schemaName, tableName, connectionId, e.getMessage());
@@ -268,35 +272,6 @@ public class ReportMetadataService {
         }
     }
 
-    private ColumnMetadataDto mapToColumnMetadataDto(Map<String, Object> row) {
-        ColumnMetadataDto dto = new ColumnMetadataDto();
-        try {
-            dto.setColumnName(convertToString(row.get("column_name")));
-            dto.setDataType(convertToString(row.get("data_type")));
-            dto.setDefaultValue(convertToString(row.get("column_default")));
-            dto.setNullable("YES".equalsIgnoreCase(convertToString(row.get("is_nullable"))));
-            dto.setMaxLength(convertToInteger(row.get("character_maximum_length")));
-            dto.setPrecision(convertToInteger(row.get("numeric_precision")));
-            dto.setScale(convertToInteger(row.get("numeric_scale")));
-            dto.setOrdinalPosition(convertToInteger(row.get("ordinal_position")));
-            dto.setDescription(convertToString(row.get("column_description")));
-            dto.setIsPrimaryKey("true".equalsIgnoreCase(convertToString(row.get("is_primary_key"))));
-            dto.setIsForeignKey("true".equalsIgnoreCase(convertToString(row.get("is_foreign_key"))));
-            dto.setForeignTableName(convertToString(row.get("foreign_table_name")));
-            dto.setForeignColumnName(convertToString(row.get("foreign_column_name")));
-
-
-            // Set suggested formatting based on data type
-            dto.setSuggestedFormatting(getFormattingSuggestions(convertToString(row.get("data_type"))));
-
-            return dto;
-        } catch (Exception e) {
-            log.warn("Error mapping column metadata for column {}: {}",
-                    row.get("column_name"), e.getMessage());
-            throw new MetadataException("Error mapping column metadata", e);
-        }
-    }
-
     @Transactional
     public void updateColumnMetadata(Long connectionId, String tableName,
                                      List<ColumnMetadataUpdateDto> updates) {
@@ -384,35 +359,14 @@ public class ReportMetadataService {
     /**
      * Gets all schemas for a connection
      */
-    @Cacheable(value = "schemaMetadata", key = "#connectionId")
-    @Transactional(readOnly = true)
     public List<DatabaseSchemaDto> getDatabaseSchemas(Long connectionId) {
         log.debug("Fetching database schemas for connection: {}", connectionId);
 
         try {
-            String sql = """
-                SELECT 
-                    n.nspname as schema_name,
-                    d.description,
-                    COUNT(CASE WHEN t.table_type = 'BASE TABLE' THEN 1 END) as table_count,
-                    COUNT(CASE WHEN t.table_type = 'VIEW' THEN 1 END) as view_count
-                FROM pg_namespace n
-                LEFT JOIN pg_description d ON d.objoid = n.oid
-                LEFT JOIN information_schema.tables t 
-                    ON t.table_schema = n.nspname
-                WHERE n.nspname NOT IN ('pg_catalog', 'information_schema')
-                GROUP BY n.nspname, d.description
-                ORDER BY n.nspname
-            """;
-
-            return jdbcTemplate.query(sql, (rs, rowNum) -> {
-                DatabaseSchemaDto dto = new DatabaseSchemaDto();
-                dto.setSchemaName(rs.getString("schema_name"));
-                dto.setDescription(rs.getString("description"));
-                dto.setTableCount(rs.getInt("table_count"));
-                dto.setViewCount(rs.getInt("view_count"));
-                return dto;
-            });
+            Map<String, String> schemas = getSchemas(connectionId);
+            return getTablesBySchema(connectionId).entrySet().stream()
+                    .map(entry -> toSchemaDto(entry.getKey(), schemas.get(entry.getKey()), entry.getValue()))
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             log.error("Error fetching database schemas for connection {}: {}", connectionId, e.getMessage());
             throw new MetadataException("Failed to fetch database schemas", e);
@@ -423,40 +377,25 @@ public class ReportMetadataService {
     /**
      * Gets detailed information about a specific schema
      */
-    @Transactional(readOnly = true)
     public DatabaseSchemaDto getSchemaDetails(Long connectionId, String schemaName) {
         log.debug("Fetching schema details for: {} in connection: {}", schemaName, connectionId);
 
         try {
-            String sql = """
-            SELECT 
-                n.nspname as schema_name,
-                d.description,
-                pg_size_pretty(sum(pg_total_relation_size(c.oid))) as total_size,
-                COUNT(CASE WHEN c.relkind = 'r' THEN 1 END) as table_count,
-                COUNT(CASE WHEN c.relkind = 'v' THEN 1 END) as view_count
-            FROM pg_namespace n
-            LEFT JOIN pg_description d ON d.objoid = n.oid
-            LEFT JOIN pg_class c ON c.relnamespace = n.oid
-            WHERE n.nspname = ?
-            GROUP BY n.nspname, d.description
-        """;
-
-            DatabaseSchemaDto schema = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                DatabaseSchemaDto dto = new DatabaseSchemaDto();
-                dto.setSchemaName(rs.getString("schema_name"));
-                dto.setDescription(rs.getString("description"));
-                dto.setTableCount(rs.getInt("table_count"));
-                dto.setViewCount(rs.getInt("view_count"));
-                return dto;
-            }, schemaName);
-
-            if (schema != null) {
-                // Get tables and views for this schema
-                schema.setTables(getTablesForSchema(connectionId, schemaName, "BASE TABLE"));
-                schema.setViews(getTablesForSchema(connectionId, schemaName, "VIEW"));
+            Map<String, String> schemas = getSchemas(connectionId);
+            if (!schemas.containsKey(schemaName)) {
+                throw new MetadataException("Schema not found: " + schemaName);
             }
 
+            List<TableMetadataDto> tables = getTablesForSchema(connectionId, schemaName);
+            DatabaseSchemaDto schema = toSchemaDto(schemaName, schemas.get(schemaName), tables);
+            schema.setTables(tables.stream()
+                    .filter(table -> !Boolean.TRUE.equals(table.getIsView()))
+                    .map(ReportMetadataService::copyTable)
+                    .collect(Collectors.toList()));
+            schema.setViews(tables.stream()
+                    .filter(table -> Boolean.TRUE.equals(table.getIsView()))
+                    .map(ReportMetadataService::copyTable)
+                    .collect(Collectors.toList()));
             return schema;
         } catch (Exception e) {
             log.error("Error fetching schema details: {}", e.getMessage());
@@ -464,27 +403,30 @@ public class ReportMetadataService {
         }
     }
 
-    private List<TableMetadataDto> getTablesForSchema(Long connectionId, String schemaName, String tableType) {
-        String sql = """
-        SELECT 
-            table_name,
-            obj_description(pgc.oid, 'pg_class') as description,
-            pgc.reltuples::bigint as approximate_row_count
-        FROM information_schema.tables t
-        JOIN pg_class pgc ON pgc.relname = t.table_name
-        WHERE table_schema = ?
-        AND table_type = ?
-        ORDER BY table_name
-    """;
-
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            TableMetadataDto dto = new TableMetadataDto();
-            dto.setTableSchema(schemaName);
-            dto.setTableName(rs.getString("table_name"));
-            dto.setTableType(tableType);
-            dto.setDescription(rs.getString("description"));
-            dto.setApproximateRowCount(rs.getLong("approximate_row_count"));
-            return dto;
-        }, schemaName, tableType);
+    private DatabaseSchemaDto toSchemaDto(String schemaName, String description, List<TableMetadataDto> tables) {
+        int viewCount = (int) tables.stream().filter(table -> Boolean.TRUE.equals(table.getIsView())).count();
+
+        DatabaseSchemaDto dto = new DatabaseSchemaDto();
+        dto.setSchemaName(schemaName);
+        dto.setDescription(description);
+        dto.setTableCount(tables.size() - viewCount);
+        dto.setViewCount(viewCount);
+        return dto;
+    }
+
+    private static TableMetadataDto copyTable(TableMetadataDto table) {
+        TableMetadataDto copy = new TableMetadataDto();
+        BeanUtils.copyProperties(table, copy);
+        return copy;
+    }
+
+    /**
+     * Copies a cached column; the formatting suggestion is built fresh so callers can edit it freely.
+     */
+    private ColumnMetadataDto copyColumn(ColumnMetadataDto column) {
+        ColumnMetadataDto copy = new ColumnMetadataDto();
+        BeanUtils.copyProperties(column, copy);
+        copy.setSuggestedFormatting(getFormattingSuggestions(column.getDataType()));
+        return copy;
     }
 }
\ No newline at end of file
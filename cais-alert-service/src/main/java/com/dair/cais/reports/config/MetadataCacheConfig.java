@@ -0,0 +1,19 @@
+package com.dair.cais.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "reports.metadata.cache")
+@Data
+@Validated
+public class MetadataCacheConfig {
+    @Min(1)
+    private long ttlMinutes = 30;
+
+    @Min(1)
+    private long maximumSize = 2000;
+}
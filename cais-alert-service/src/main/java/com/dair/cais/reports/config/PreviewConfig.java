@@ -0,0 +1,24 @@
+package com.dair.cais.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "reports.preview")
+@Data
+@Validated
+public class PreviewConfig {
+    @Min(1)
+    @Max(10000)
+    private int maxRows = 200;
+
+    @Min(1)
+    private int timeoutSeconds = 30;
+
+    @Min(1)
+    private int fetchSize = 100;
+}
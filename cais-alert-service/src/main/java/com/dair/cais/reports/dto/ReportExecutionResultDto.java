@@ -26,6 +26,8 @@ public class ReportExecutionResultDto {
     private Integer currentPage;
     private Integer totalPages;
     private Boolean isCached;
+    private Boolean truncated;
+    private String queryHandle;
     private ZonedDateTime executionTime;
     private ExecutionMetadata metadata;
 
@@ -0,0 +1,341 @@
+package com.dair.cais.reports.service;
+
+import com.dair.cais.connection.ConnectionType;
+import com.dair.cais.reports.dto.ColumnMetadataDto;
+import com.dair.cais.reports.dto.TableMetadataDto;
+import com.dair.cais.reports.exception.MetadataException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Reads catalog information from a report connection through {@link DatabaseMetaData}.
+ * PostgreSQL and Snowflake expose report schemas as JDBC schemas, MySQL/MariaDB expose them as catalogs.
+ */
+@Slf4j
+@Component
+public class JdbcMetadataReader {
+    private static final String[] TABLE_TYPES = {"TABLE", "VIEW"};
+    private static final Set<String> SYSTEM_SCHEMAS = Set.of(
+            "pg_catalog", "pg_toast", "information_schema", "mysql", "performance_schema", "sys");
+
+    private static final String POSTGRES_ROW_ESTIMATES = """
+            SELECT n.nspname AS table_schema, c.relname AS table_name, c.reltuples::bigint AS row_estimate,
+                   (SELECT count(*) FROM pg_attribute a
+                    WHERE a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped) AS column_count,
+                   obj_description(c.oid, 'pg_class') AS description
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE c.relkind IN ('r', 'p', 'v', 'm', 'f')
+            """;
+    private static final String MYSQL_ROW_ESTIMATES = """
+            SELECT table_schema, table_name, table_rows AS row_estimate, NULL AS column_count,
+                   NULLIF(table_comment, '') AS description
+            FROM information_schema.tables
+            WHERE 1 = 1
+            """;
+    private static final String SNOWFLAKE_ROW_ESTIMATES = """
+            SELECT table_schema, table_name, row_count AS row_estimate, NULL AS column_count,
+                   comment AS description
+            FROM information_schema.tables
+            WHERE 1 = 1
+            """;
+    private static final String POSTGRES_SCHEMA_DESCRIPTIONS = """
+            SELECT nspname AS schema_name, obj_description(oid, 'pg_namespace') AS description
+            FROM pg_namespace
+            """;
+    private static final String SNOWFLAKE_SCHEMA_DESCRIPTIONS = """
+            SELECT schema_name, comment AS description
+            FROM information_schema.schemata
+            """;
+
+    /**
+     * Reads the non-system schemas in name order, each mapped to its comment (null when it has none).
+     */
+    public Map<String, String> readSchemas(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            ConnectionType dialect = resolveDialect(metaData);
+            Map<String, String> schemas = new TreeMap<>();
+
+            try (ResultSet rs = usesCatalogs(dialect)
+                    ? metaData.getCatalogs()
+                    : metaData.getSchemas(connection.getCatalog(), null)) {
+                String column = usesCatalogs(dialect) ? "TABLE_CAT" : "TABLE_SCHEM";
+                while (rs.next()) {
+                    String schema = rs.getString(column);
+                    if (schema != null && !isSystemSchema(schema)) {
+                        schemas.put(schema, null);
+                    }
+                }
+            }
+
+            applySchemaDescriptions(connection, dialect, schemas);
+            return schemas;
+        } catch (SQLException e) {
+            throw new MetadataException("Failed to read schemas", e);
+        }
+    }
+
+    /**
+     * Reads tables and views, grouped by schema. A null schema reads every non-system schema in one pass.
+     * Column counts come from the catalog estimate query where the database keeps them cheaply (PostgreSQL);
+     * elsewhere they are left unset rather than scanning every column in the schema.
+     */
+    public Map<String, List<TableMetadataDto>> readTables(DataSource dataSource, String schemaName) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            ConnectionType dialect = resolveDialect(metaData);
+            String escape = metaData.getSearchStringEscape();
+            String catalog = usesCatalogs(dialect)
+                    ? schemaName
+                    : connection.getCatalog();
+            String schemaPattern = usesCatalogs(dialect) || schemaName == null
+                    ? null
+                    : escapePattern(schemaName, escape);
+
+            Map<String, List<TableMetadataDto>> tablesBySchema = new TreeMap<>();
+            Map<String, TableMetadataDto> tablesByName = new HashMap<>();
+
+            try (ResultSet rs = metaData.getTables(catalog, schemaPattern, "%", TABLE_TYPES)) {
+                while (rs.next()) {
+                    String schema = usesCatalogs(dialect) ? rs.getString("TABLE_CAT") : rs.getString("TABLE_SCHEM");
+                    if (schema == null || isSystemSchema(schema)) {
+                        continue;
+                    }
+                    String type = rs.getString("TABLE_TYPE");
+
+                    TableMetadataDto dto = new TableMetadataDto();
+                    dto.setTableSchema(schema);
+                    dto.setTableName(rs.getString("TABLE_NAME"));
+                    dto.setTableType("VIEW".equalsIgnoreCase(type) ? "VIEW" : "BASE TABLE");
+                    dto.setDescription(rs.getString("REMARKS"));
+                    dto.setIsView("VIEW".equalsIgnoreCase(type));
+
+                    tablesBySchema.computeIfAbsent(schema, k -> new ArrayList<>()).add(dto);
+                    tablesByName.put(qualifiedName(schema, dto.getTableName()), dto);
+                }
+            }
+
+            applyRowEstimates(connection, dialect, schemaName, tablesByName);
+            return tablesBySchema;
+        } catch (SQLException e) {
+            throw new MetadataException("Failed to read tables", e);
+        }
+    }
+
+    public List<ColumnMetadataDto> readColumns(DataSource dataSource, String schemaName, String tableName) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            ConnectionType dialect = resolveDialect(metaData);
+            String escape = metaData.getSearchStringEscape();
+            String catalog = usesCatalogs(dialect) ? schemaName : connection.getCatalog();
+            String schema = usesCatalogs(dialect) ? null : schemaName;
+
+            Set<String> primaryKeys = new HashSet<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+                while (rs.next()) {
+                    primaryKeys.add(rs.getString("COLUMN_NAME"));
+                }
+            }
+
+            Map<String, String[]> foreignKeys = new HashMap<>();
+            try (ResultSet rs = metaData.getImportedKeys(catalog, schema, tableName)) {
+                while (rs.next()) {
+                    foreignKeys.put(rs.getString("FKCOLUMN_NAME"),
+                            new String[]{rs.getString("PKTABLE_NAME"), rs.getString("PKCOLUMN_NAME")});
+                }
+            }
+
+            List<ColumnMetadataDto> columns = new ArrayList<>();
+            try (ResultSet rs = metaData.getColumns(catalog,
+                    schema != null ? escapePattern(schema, escape) : null,
+                    escapePattern(tableName, escape), "%")) {
+                while (rs.next()) {
+                    int jdbcType = rs.getInt("DATA_TYPE");
+                    String columnName = rs.getString("COLUMN_NAME");
+                    int columnSize = rs.getInt("COLUMN_SIZE");
+                    boolean sizeKnown = !rs.wasNull();
+                    int decimalDigits = rs.getInt("DECIMAL_DIGITS");
+                    boolean digitsKnown = !rs.wasNull();
+
+                    ColumnMetadataDto dto = new ColumnMetadataDto();
+                    dto.setColumnName(columnName);
+                    dto.setDataType(normalizeDataType(jdbcType, rs.getString("TYPE_NAME")));
+                    dto.setDefaultValue(rs.getString("COLUMN_DEF"));
+                    dto.setNullable(rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls);
+                    dto.setOrdinalPosition(rs.getInt("ORDINAL_POSITION"));
+                    dto.setDescription(rs.getString("REMARKS"));
+                    if (sizeKnown && isCharacterType(jdbcType)) {
+                        dto.setMaxLength(columnSize);
+                    }
+                    if (sizeKnown && isNumericType(jdbcType)) {
+                        dto.setPrecision(columnSize);
+                        dto.setScale(digitsKnown ? decimalDigits : null);
+                    }
+                    dto.setIsPrimaryKey(primaryKeys.contains(columnName));
+                    String[] reference = foreignKeys.get(columnName);
+                    dto.setIsForeignKey(reference != null);
+                    if (reference != null) {
+                        dto.setForeignTableName(reference[0]);
+                        dto.setForeignColumnName(reference[1]);
+                    }
+                    columns.add(dto);
+                }
+            }
+
+            columns.sort(Comparator.comparing(ColumnMetadataDto::getOrdinalPosition));
+            return columns;
+        } catch (SQLException e) {
+            throw new MetadataException("Failed to read columns for " + schemaName + "." + tableName, e);
+        }
+    }
+
+    private void applyRowEstimates(Connection connection, ConnectionType dialect, String schemaName,
+                                   Map<String, TableMetadataDto> tablesByName) {
+        String sql = switch (dialect) {
+            case POSTGRESQL -> POSTGRES_ROW_ESTIMATES + (schemaName != null ? " AND n.nspname = ?" : "");
+            case MYSQL, MARIADB -> MYSQL_ROW_ESTIMATES + (schemaName != null ? " AND table_schema = ?" : "");
+            case SNOWFLAKE -> SNOWFLAKE_ROW_ESTIMATES + (schemaName != null ? " AND table_schema = ?" : "");
+            default -> null;
+        };
+        if (sql == null) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (schemaName != null) {
+                statement.setString(1, schemaName);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    TableMetadataDto dto = tablesByName.get(
+                            qualifiedName(rs.getString("table_schema"), rs.getString("table_name")));
+                    if (dto != null) {
+                        long estimate = Math.max(rs.getLong("row_estimate"), 0L);
+                        dto.setApproximateRowCount(estimate);
+                        dto.setHasData(estimate > 0);
+                        long columnCount = rs.getLong("column_count");
+                        if (!rs.wasNull()) {
+                            dto.setColumnCount((int) columnCount);
+                        }
+                        if (dto.getDescription() == null) {
+                            dto.setDescription(rs.getString("description"));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // Row and column estimates are informational only; a restricted catalog must not fail the table listing
+            log.debug("Row estimates unavailable for {}: {}", dialect, e.getMessage());
+        }
+    }
+
+    private void applySchemaDescriptions(Connection connection, ConnectionType dialect, Map<String, String> schemas) {
+        String sql = switch (dialect) {
+            case POSTGRESQL -> POSTGRES_SCHEMA_DESCRIPTIONS;
+            case SNOWFLAKE -> SNOWFLAKE_SCHEMA_DESCRIPTIONS;
+            default -> null;
+        };
+        if (sql == null || schemas.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                String schema = rs.getString("schema_name");
+                if (schemas.containsKey(schema)) {
+                    schemas.put(schema, rs.getString("description"));
+                }
+            }
+        } catch (SQLException e) {
+            // Descriptions are informational only, like the row estimates
+            log.debug("Schema descriptions unavailable for {}: {}", dialect, e.getMessage());
+        }
+    }
+
+    private ConnectionType resolveDialect(DatabaseMetaData metaData) throws SQLException {
+        String product = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT);
+        if (product.contains("postgres")) {
+            return ConnectionType.POSTGRESQL;
+        }
+        if (product.contains("mariadb")) {
+            return ConnectionType.MARIADB;
+        }
+        if (product.contains("mysql")) {
+            return ConnectionType.MYSQL;
+        }
+        if (product.contains("snowflake")) {
+            return ConnectionType.SNOWFLAKE;
+        }
+        throw new MetadataException("Metadata discovery is not supported for database: " + metaData.getDatabaseProductName());
+    }
+
+    private boolean usesCatalogs(ConnectionType dialect) {
+        return dialect == ConnectionType.MYSQL || dialect == ConnectionType.MARIADB;
+    }
+
+    private boolean isSystemSchema(String schema) {
+        return SYSTEM_SCHEMAS.contains(schema.toLowerCase(Locale.ROOT)) || schema.startsWith("pg_temp");
+    }
+
+    private String escapePattern(String value, String escape) {
+        if (escape == null || escape.isEmpty()) {
+            return value;
+        }
+        return value.replace(escape, escape + escape)
+                .replace("_", escape + "_")
+                .replace("%", escape + "%");
+    }
+
+    private String qualifiedName(String schema, String table) {
+        return schema + "." + table;
+    }
+
+    /**
+     * Maps the driver type to the names used by {@code ReportMetadataService#getFormattingSuggestions},
+     * keeping the vendor type name for anything without a formatting rule.
+     */
+    private String normalizeDataType(int jdbcType, String typeName) {
+        String vendorType = typeName != null ? typeName.toLowerCase(Locale.ROOT) : null;
+        if ("money".equals(vendorType) || "json".equals(vendorType) || "jsonb".equals(vendorType)) {
+            return vendorType;
+        }
+        return switch (jdbcType) {
+            case Types.TINYINT, Types.SMALLINT -> "smallint";
+            case Types.INTEGER -> "integer";
+            case Types.BIGINT -> "bigint";
+            case Types.DECIMAL, Types.NUMERIC -> "numeric";
+            case Types.REAL, Types.FLOAT -> "real";
+            case Types.DOUBLE -> "double precision";
+            case Types.DATE -> "date";
+            case Types.TIME -> "time";
+            case Types.TIME_WITH_TIMEZONE -> "timetz";
+            case Types.TIMESTAMP -> "timestamp";
+            case Types.TIMESTAMP_WITH_TIMEZONE -> "timestamptz";
+            case Types.BOOLEAN, Types.BIT -> "boolean";
+            default -> vendorType;
+        };
+    }
+
+    private boolean isCharacterType(int jdbcType) {
+        return jdbcType == Types.CHAR || jdbcType == Types.VARCHAR || jdbcType == Types.LONGVARCHAR
+                || jdbcType == Types.NCHAR || jdbcType == Types.NVARCHAR || jdbcType == Types.LONGNVARCHAR;
+    }
+
+    private boolean isNumericType(int jdbcType) {
+        return jdbcType == Types.DECIMAL || jdbcType == Types.NUMERIC
+                || jdbcType == Types.INTEGER || jdbcType == Types.BIGINT || jdbcType == Types.SMALLINT
+                || jdbcType == Types.TINYINT || jdbcType == Types.REAL || jdbcType == Types.FLOAT
+                || jdbcType == Types.DOUBLE;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dair.cais.reports.service;
+
+import com.dair.cais.reports.exception.InvalidParameterException;
+import com.dair.cais.reports.exception.ReportExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs bounded preview queries for the report designer.
+ * <p>
+ * Rows are streamed with a small fetch size and reading stops after {@code maxRows}; one extra row
+ * is requested to tell whether the result was truncated. Running statements are registered under a
+ * query handle so the UI can cancel them when the user navigates away.
+ */
+@Slf4j
+@Component
+public class PreviewQueryExecutor {
+    private final Map<String, Statement> runningStatements = new ConcurrentHashMap<>();
+
+    public record PreviewResult(List<Map<String, Object>> rows, boolean truncated) {}
+
+    public PreviewResult execute(JdbcTemplate jdbcTemplate, String queryHandle, String sql, Object[] args,
+                                 int maxRows, int fetchSize, int timeoutSeconds) {
+        return jdbcTemplate.execute((ConnectionCallback<PreviewResult>) connection -> {
+            // PostgreSQL only streams with a cursor inside a transaction
+            boolean restoreAutoCommit = connection.getAutoCommit();
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setMaxRows(maxRows + 1);
+                statement.setFetchSize(Math.min(fetchSize, maxRows + 1));
+                statement.setQueryTimeout(timeoutSeconds);
+                if (args != null) {
+                    for (int i = 0; i < args.length; i++) {
+                        statement.setObject(i + 1, args[i]);
+                    }
+                }
+
+                if (runningStatements.putIfAbsent(queryHandle, statement) != null) {
+                    throw new InvalidParameterException("Query handle already in use: " + queryHandle);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    return readRows(rs, maxRows);
+                } catch (SQLException e) {
+                    if (statement.isClosed() || !runningStatements.containsKey(queryHandle)) {
+                        throw new ReportExecutionException("Preview query was cancelled", e);
+                    }
+                    throw e;
+                } finally {
+                    runningStatements.remove(queryHandle, statement);
+                }
+            } finally {
+                if (restoreAutoCommit) {
+                    endReadOnlyTransaction(connection);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancels a running preview.
+     *
+     * @return false if no query is running under the handle
+     */
+    public boolean cancel(String queryHandle) {
+        Statement statement = runningStatements.remove(queryHandle);
+        if (statement == null) {
+            return false;
+        }
+        try {
+            statement.cancel();
+            log.info("Cancelled preview query: {}", queryHandle);
+        } catch (SQLException e) {
+            log.warn("Error cancelling preview query {}: {}", queryHandle, e.getMessage());
+        }
+        return true;
+    }
+
+    private PreviewResult readRows(ResultSet rs, int maxRows) throws SQLException {
+        ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+        List<Map<String, Object>> rows = new ArrayList<>(Math.min(maxRows, 1000));
+        int rowNum = 0;
+        while (rs.next()) {
+            if (rowNum == maxRows) {
+                return new PreviewResult(rows, true);
+            }
+            rows.add(rowMapper.mapRow(rs, rowNum++));
+        }
+        return new PreviewResult(rows, false);
+    }
+
+    private void endReadOnlyTransaction(Connection connection) {
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            log.warn("Error resetting connection after preview query: {}", e.getMessage());
+        }
+    }
+}
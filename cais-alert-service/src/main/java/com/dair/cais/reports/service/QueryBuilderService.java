@@ -11,24 +11,38 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class QueryBuilderService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
 
+    /**
+     * Builds the WHERE clause and appends the bind values to {@code params}.
+     * Equivalent to {@link #buildWhereTemplate} followed by {@link #extractParameters}.
+     */
     public String buildWhereClause(QueryFilterDto filter, List<Object> params) {
+        String whereClause = buildWhereTemplate(filter);
+        params.addAll(extractParameters(filter));
+        return whereClause;
+    }
+
+    /**
+     * Builds the parameterized WHERE clause for a filter. The SQL only depends on the filter shape
+     * (fields, operators, grouping), never on the values: IN lists are bound as a single array
+     * parameter with {@code = ANY(?)}, so one template serves every list size.
+     */
+    public String buildWhereTemplate(QueryFilterDto filter) {
         if (filter == null || filter.getRules() == null || filter.getRules().isEmpty()) {
             return "";
         }
 
         StringBuilder whereClause = new StringBuilder();
-        String combinator = filter.getCombinator() != null ? filter.getCombinator().toLowerCase() : "and";
+        String combinator = normalizeCombinator(filter.getCombinator());
 
         List<String> conditions = new ArrayList<>();
         for (QueryRuleDto rule : filter.getRules()) {
-            String condition = buildCondition(rule, params);
+            String condition = buildCondition(rule);
             if (condition != null && !condition.isEmpty()) {
                 conditions.add(condition);
             }
@@ -47,13 +61,57 @@ public class QueryBuilderService {
         return whereClause.toString();
     }
 
-    private String buildCondition(QueryRuleDto rule, List<Object> params) {
+    /**
+     * Returns the bind values for {@link #buildWhereTemplate} in placeholder order.
+     * IN values are returned as a {@code String[]} to be bound as a SQL array.
+     */
+    public List<Object> extractParameters(QueryFilterDto filter) {
+        List<Object> params = new ArrayList<>();
+        if (filter != null && filter.getRules() != null) {
+            filter.getRules().forEach(rule -> collectParameters(rule, params));
+        }
+        return params;
+    }
+
+    /**
+     * Returns a key identifying the filter shape; filters with the same key produce the same template.
+     */
+    public String shapeKey(QueryFilterDto filter) {
+        if (filter == null || filter.getRules() == null || filter.getRules().isEmpty()) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        appendShape(key, filter.getCombinator(), filter.getNot(), filter.getRules());
+        return key.toString();
+    }
+
+    private void appendShape(StringBuilder key, String combinator, Boolean not, List<QueryRuleDto> rules) {
+        key.append(Boolean.TRUE.equals(not) ? "!" : "")
+                .append(normalizeCombinator(combinator))
+                .append('(');
+        for (QueryRuleDto rule : rules) {
+            if (rule.getRules() != null && !rule.getRules().isEmpty()) {
+                appendShape(key, rule.getCombinator(), null, rule.getRules());
+            } else {
+                key.append(rule.getField()).append(' ')
+                        .append(rule.getOperator() != null ? rule.getOperator().toLowerCase() : null);
+            }
+            key.append(';');
+        }
+        key.append(')');
+    }
+
+    private String normalizeCombinator(String combinator) {
+        return combinator != null ? combinator.toLowerCase() : "and";
+    }
+
+    private String buildCondition(QueryRuleDto rule) {
         if (rule.getRules() != null && !rule.getRules().isEmpty()) {
             // Handle nested rules
             QueryFilterDto nestedFilter = new QueryFilterDto();
             nestedFilter.setCombinator(rule.getCombinator());
             nestedFilter.setRules(rule.getRules());
-            return buildWhereClause(nestedFilter, params);
+            return buildWhereTemplate(nestedFilter);
         }
 
         validateRule(rule);
@@ -61,22 +119,37 @@ public class QueryBuilderService {
         String operator = rule.getOperator().toLowerCase();
 
         return switch (operator) {
-            case "=" -> buildEqualsCondition(field, rule.getValue(), params);
-            case ">" -> buildComparisonCondition(field, ">", rule.getValue(), params);
-            case ">=" -> buildComparisonCondition(field, ">=", rule.getValue(), params);
-            case "<" -> buildComparisonCondition(field, "<", rule.getValue(), params);
-            case "<=" -> buildComparisonCondition(field, "<=", rule.getValue(), params);
-            case "beginswith" -> buildLikeCondition(field, rule.getValue() + "%", params);
-            case "endswith" -> buildLikeCondition(field, "%" + rule.getValue(), params);
-            case "contains" -> buildLikeCondition(field, "%" + rule.getValue() + "%", params);
-            case "in" -> buildInCondition(field, rule.getValue(), params);
-            case "between" -> buildBetweenCondition(field, rule.getValue(), params);
+            case "=" -> field + " = ?";
+            case ">", ">=", "<", "<=" -> field + " " + operator + " ?";
+            case "beginswith", "endswith", "contains" -> field + " ILIKE ?";
+            case "in" -> field + " = ANY(?)";
+            case "between" -> field + " BETWEEN ? AND ?";
             case "isnull" -> field + " IS NULL";
             case "isnotnull" -> field + " IS NOT NULL";
             default -> throw new InvalidQueryException("Unsupported operator: " + operator);
         };
     }
 
+    private void collectParameters(QueryRuleDto rule, List<Object> params) {
+        if (rule.getRules() != null && !rule.getRules().isEmpty()) {
+            rule.getRules().forEach(nested -> collectParameters(nested, params));
+            return;
+        }
+
+        validateRule(rule);
+        switch (rule.getOperator().toLowerCase()) {
+            case "=", ">", ">=", "<", "<=" -> params.add(rule.getValue());
+            case "beginswith" -> params.add(rule.getValue() + "%");
+            case "endswith" -> params.add("%" + rule.getValue());
+            case "contains" -> params.add("%" + rule.getValue() + "%");
+            case "in" -> params.add(parseInValues(rule.getValue()));
+            case "between" -> params.addAll(parseBetweenValues(rule.getValue()));
+            default -> {
+                // isnull / isnotnull take no parameters
+            }
+        }
+    }
+
     private void validateRule(QueryRuleDto rule) {
         if (rule.getField() == null || rule.getOperator() == null) {
             throw new InvalidQueryException("Field and operator are required for query rules");
@@ -96,36 +169,17 @@ public class QueryBuilderService {
         return "\"" + field + "\"";
     }
 
-    private String buildEqualsCondition(String field, Object value, List<Object> params) {
-        params.add(value);
-        return field + " = ?";
-    }
-
-    private String buildComparisonCondition(String field, String operator, Object value, List<Object> params) {
-        params.add(value);
-        return field + " " + operator + " ?";
-    }
-
-    private String buildLikeCondition(String field, Object value, List<Object> params) {
-        params.add(value);
-        return field + " ILIKE ?";
-    }
-
-    private String buildInCondition(String field, Object value, List<Object> params) {
+    private String[] parseInValues(Object value) {
         if (!(value instanceof String)) {
             throw new InvalidQueryException("IN operator requires comma-separated string values");
         }
 
-        List<String> values = Arrays.asList(((String) value).split(","))
-                .stream()
+        return Arrays.stream(((String) value).split(","))
                 .map(String::trim)
-                .collect(Collectors.toList());
-
-        params.addAll(values);
-        return field + " IN (" + values.stream().map(v -> "?").collect(Collectors.joining(",")) + ")";
+                .toArray(String[]::new);
     }
 
-    private String buildBetweenCondition(String field, Object value, List<Object> params) {
+    private List<LocalDate> parseBetweenValues(Object value) {
         if (!(value instanceof String)) {
             throw new InvalidQueryException("BETWEEN operator requires comma-separated values");
         }
@@ -138,13 +192,10 @@ public class QueryBuilderService {
         try {
             LocalDate start = LocalDate.parse(values[0].trim(), DATE_FORMATTER);
             LocalDate end = LocalDate.parse(values[1].trim(), DATE_FORMATTER);
-            params.add(start);
-            params.add(end);
+            return List.of(start, end);
         } catch (Exception e) {
             log.error("Error parsing date values for BETWEEN condition", e);
             throw new InvalidQueryException("Invalid date format for BETWEEN operator");
         }
-
-        return field + " BETWEEN ? AND ?";
     }
-}
\ No newline at end of file
+}
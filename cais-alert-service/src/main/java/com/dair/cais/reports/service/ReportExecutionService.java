@@ -8,16 +8,18 @@ import com.dair.cais.reports.exception.*;
 import com.dair.cais.reports.repository.ReportColumnRepository;
 import com.dair.cais.reports.repository.ReportsRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.persistence.EntityManager;
+import com.dair.cais.reports.service.ReportQueryTemplateCache.ReportQueryTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.MDC;
-import jakarta.persistence.Query;
-import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -36,8 +38,8 @@ public class ReportExecutionService {
     private final QueryBuilderService queryBuilderService;
     private final ObjectMapper objectMapper;
     private final PaginationConfig paginationConfig;
-    private final EntityManager entityManager;
-;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportQueryTemplateCache queryTemplateCache;
 
 //    @Transactional(readOnly = true)
 //    public ReportExecutionResultDto executeReport(Integer reportId, ReportQueryRequestDto request) {
@@ -410,15 +412,17 @@ public class ReportExecutionService {
                 throw new InvalidReportStateException("Report has no configured columns");
             }
 
-            // Build base query
-            String baseQuery = buildBaseQuery(report, columns, request.getQuery());
-            String countQuery = buildCountQuery(report, request.getQuery());
-            log.debug("Executing count query: {}", countQuery);
+            // Compile (or reuse) the template for this filter shape; values are bound separately
+            QueryFilterDto filters = request.getQuery();
+            ReportQueryTemplate template = queryTemplateCache.get(reportId, report.getUpdatedAt(),
+                    queryBuilderService.shapeKey(filters),
+                    () -> compileTemplate(report, columns, filters));
+            Object[] params = queryBuilderService.extractParameters(filters).toArray();
+            log.debug("Executing count query: {} with parameters: {}", template.countSql(), params);
 
-            // Execute count query using JPA
-            Query nativeCountQuery = entityManager.createNativeQuery(countQuery);
-            addQueryParameters(nativeCountQuery, request.getQuery());
-            Long totalRecords = ((Number) nativeCountQuery.getSingleResult()).longValue();
+            Long totalRecords = jdbcTemplate.query(template.countSql(),
+                    ps -> bindParameters(ps, params),
+                    rs -> rs.next() ? rs.getLong(1) : 0L);
 
             // Get the requested page number (1-based from client), default to 1 if not specified
             int requestedPage = (request.getPageNumber() != null && request.getPageNumber() > 0) ?
@@ -441,18 +445,17 @@ public class ReportExecutionService {
             int currentPage = Math.min(requestedPage, totalPages);
             int offset = pageSize * pageIndex;
 
-            // Build paginated query
-            String paginatedQuery = baseQuery +
-                    " LIMIT " + pageSize +
-                    " OFFSET " + offset;
-
             log.debug("Executing paginated query with page: {}, size: {}, offset: {}",
                     currentPage, pageSize, offset);
 
-            // Execute paginated query using JPA
-            Query nativeQuery = entityManager.createNativeQuery(paginatedQuery);
-            addQueryParameters(nativeQuery, request.getQuery());
-            List<Object[]> results = nativeQuery.getResultList();
+            // Same parameters as the count query, followed by LIMIT and OFFSET
+            List<Object[]> results = jdbcTemplate.query(template.pageSql(),
+                    ps -> {
+                        int index = bindParameters(ps, params);
+                        ps.setInt(index++, pageSize);
+                        ps.setInt(index, offset);
+                    },
+                    (rs, rowNum) -> readRow(rs));
 
             // Convert results to map format
             List<Map<String, Object>> formattedData = formatResults(results, columns);
@@ -461,7 +464,7 @@ public class ReportExecutionService {
             long executionTime = System.currentTimeMillis() - startTime;
             ReportExecutionResultDto.ExecutionMetadata metadata = ReportExecutionResultDto.ExecutionMetadata.builder()
                     .executionTimeMs(executionTime)
-                    .queryString(paginatedQuery)
+                    .queryString(template.pageSql())
                     .returnedRows(formattedData.size())
                     .filteredRows(totalRecords.intValue())
                     .build();
@@ -497,18 +500,26 @@ public class ReportExecutionService {
         }
     }
 
-    private String buildCountQuery(ReportsEntity report, QueryFilterDto filters) {
+    private ReportQueryTemplate compileTemplate(ReportsEntity report, List<ReportColumnEntity> columns,
+                                                QueryFilterDto filters) {
+        String whereClause = queryBuilderService.buildWhereTemplate(filters);
+        String countSql = buildCountQuery(report, whereClause);
+        String pageSql = buildBaseQuery(report, columns, whereClause) + " LIMIT ? OFFSET ?";
+        return new ReportQueryTemplate(countSql, pageSql);
+    }
+
+    private String buildCountQuery(ReportsEntity report, String whereClause) {
         StringBuilder query = new StringBuilder("SELECT COUNT(*) FROM ");
         query.append(report.getTableViewName());
 
-        if (filters != null && filters.getRules() != null && !filters.getRules().isEmpty()) {
-            query.append(" WHERE ").append(queryBuilderService.buildWhereClause(filters, new ArrayList<>()));
+        if (!whereClause.isEmpty()) {
+            query.append(" WHERE ").append(whereClause);
         }
 
         return query.toString();
     }
 
-    private String buildBaseQuery(ReportsEntity report, List<ReportColumnEntity> columns, QueryFilterDto filters) {
+    private String buildBaseQuery(ReportsEntity report, List<ReportColumnEntity> columns, String whereClause) {
         StringBuilder query = new StringBuilder("SELECT ");
 
         // Add column selections
@@ -522,9 +533,8 @@ public class ReportExecutionService {
                 .append(report.getTableViewName());
 
         // Add WHERE clause if filters exist
-        if (filters != null && filters.getRules() != null && !filters.getRules().isEmpty()) {
-            query.append(" WHERE ")
-                    .append(queryBuilderService.buildWhereClause(filters, new ArrayList<>()));
+        if (!whereClause.isEmpty()) {
+            query.append(" WHERE ").append(whereClause);
         }
 
         // Add ORDER BY clause based on column sort priorities
@@ -543,18 +553,29 @@ public class ReportExecutionService {
         return query.toString();
     }
 
-    private void addQueryParameters(Query query, QueryFilterDto filters) {
-        if (filters != null && filters.getRules() != null) {
-            List<Object> params = new ArrayList<>();
-            String whereClause = queryBuilderService.buildWhereClause(filters, params);
-
-            // Log the query and parameters
-            log.debug("Executing query with WHERE clause: {}", whereClause);
-            log.debug("Query parameters: {}", params);
-            for (int i = 0; i < params.size(); i++) {
-                query.setParameter(i + 1, params.get(i));
+    /**
+     * Binds the filter values starting at index 1 and returns the next free parameter index.
+     * IN values arrive as {@code String[]} and are bound as a single SQL array for {@code = ANY(?)}.
+     */
+    private int bindParameters(PreparedStatement ps, Object[] params) throws SQLException {
+        int index = 1;
+        for (Object param : params) {
+            if (param instanceof String[] values) {
+                ps.setArray(index++, ps.getConnection().createArrayOf("text", values));
+            } else {
+                ps.setObject(index++, param);
             }
         }
+        return index;
+    }
+
+    private Object[] readRow(ResultSet rs) throws SQLException {
+        int columnCount = rs.getMetaData().getColumnCount();
+        Object[] row = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
     }
 
     private List<Map<String, Object>> formatResults(List<Object[]> results, List<ReportColumnEntity> columns) {
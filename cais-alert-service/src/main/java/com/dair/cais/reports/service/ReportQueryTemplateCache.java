@@ -0,0 +1,45 @@
+package com.dair.cais.reports.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Caches the SQL built for report executions, keyed by report version and filter shape.
+ * Filters that differ only in their values share one template, so the database sees the same
+ * statement text and can reuse its plan. Editing a report bumps {@code updatedAt}, which makes
+ * the old entries unreachable until they expire.
+ */
+@Slf4j
+@Component
+public class ReportQueryTemplateCache {
+    private final Cache<TemplateKey, ReportQueryTemplate> cache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private record TemplateKey(Integer reportId, ZonedDateTime reportVersion, String filterShape) {}
+
+    /**
+     * Count and page statements compiled from the same WHERE clause. The page statement ends with
+     * {@code LIMIT ? OFFSET ?} so the text stays stable across pages.
+     */
+    public record ReportQueryTemplate(String countSql, String pageSql) {}
+
+    public ReportQueryTemplate get(Integer reportId, ZonedDateTime reportVersion, String filterShape,
+                                   Supplier<ReportQueryTemplate> compiler) {
+        return cache.get(new TemplateKey(reportId, reportVersion, filterShape), key -> {
+            log.debug("Compiling query template for report {} with filter shape: {}", reportId, filterShape);
+            return compiler.get();
+        });
+    }
+
+    public void evict(Integer reportId) {
+        cache.asMap().keySet().removeIf(key -> key.reportId().equals(reportId));
+    }
+}
@@ -1,5 +1,9 @@
 package com.dair.cais.steps.service.impl;
 
+import com.dair.cais.reference.ReferenceDataLoader;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
 import com.dair.cais.steps.Step;
 import com.dair.cais.steps.StepRepository;
 import com.dair.cais.steps.dto.StepDTO;
@@ -16,30 +20,41 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class StepServiceImpl implements StepService {
+public class StepServiceImpl implements StepService, ReferenceDataLoader {
+    private static final UnaryOperator<StepDTO> COPY = ReferenceDataSnapshot.copier(StepDTO::new);
+
     private final StepRepository stepRepository;
     private final WorkflowStepMappingRepository workflowStepMappingRepository;
+    private final ReferenceDataService referenceDataService;
+
+    @Override
+    public ReferenceDataType type() {
+        return ReferenceDataType.STEPS;
+    }
+
+    @Override
+    public void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot) {
+        snapshot.steps(ReferenceDataSnapshot.index(
+                stepRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList()),
+                StepDTO::getStepId));
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public List<StepDTO> getAllSteps() {
         log.debug("Fetching all steps");
-        return stepRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return referenceDataService.copyAll(ReferenceDataSnapshot::getSteps, COPY);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public StepDTO getStepById(Long id) {
         log.debug("Fetching step with id: {}", id);
-        return stepRepository.findById(id)
-                .map(this::convertToDTO)
+        return referenceDataService.findCopy(ReferenceDataSnapshot::getSteps, id, COPY)
                 .orElseThrow(() -> new StepNotFoundException("Step not found with id: " + id));
     }
 
@@ -69,6 +84,7 @@ public class StepServiceImpl implements StepService {
         step.setUpdatedDate(now);
 
         Step savedStep = stepRepository.save(step);
+        referenceDataService.markChanged(ReferenceDataType.STEPS);
         log.info("Created new step with id: {}", savedStep.getStepId());
 
         return convertToDTO(savedStep);
@@ -83,6 +99,7 @@ public class StepServiceImpl implements StepService {
                     updateEntityFromDTO(stepDTO, existingStep);
                     existingStep.setUpdatedDate(LocalDateTime.now());
                     Step updatedStep = stepRepository.save(existingStep);
+                    referenceDataService.markChanged(ReferenceDataType.STEPS);
                     log.info("Updated step with id: {}", id);
                     return convertToDTO(updatedStep);
                 })
@@ -117,6 +134,7 @@ public class StepServiceImpl implements StepService {
         }
 
         stepRepository.delete(step);
+        referenceDataService.markChanged(ReferenceDataType.STEPS);
         log.info("Successfully deleted step with ID: {}", id);
     }
 
@@ -128,6 +146,7 @@ public class StepServiceImpl implements StepService {
                 .map(existingStep -> {
                     updateEntityFromDTO(stepDTO, existingStep);
                     Step updatedStep = stepRepository.save(existingStep);
+                    referenceDataService.markChanged(ReferenceDataType.STEPS);
                     log.info("Patched step with id: {}", id);
                     return convertToDTO(updatedStep);
                 })
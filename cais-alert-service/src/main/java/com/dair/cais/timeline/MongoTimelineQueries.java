@@ -0,0 +1,50 @@
+package com.dair.cais.timeline;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Date;
+
+/**
+ * Keyset queries for timelines stored in Mongo, served by an {@code (alertId, createdDate, _id)} index.
+ */
+public final class MongoTimelineQueries {
+    private static final String CREATED_DATE = "createdDate";
+
+    private static final ObjectId MIN_ID = new ObjectId("000000000000000000000000");
+    private static final ObjectId MAX_ID = new ObjectId("ffffffffffffffffffffffff");
+
+    private MongoTimelineQueries() {
+    }
+
+    /**
+     * Entries of {@code source} for an alert after {@code cursor}, newest first, limited to {@code limit + 1}.
+     */
+    public static Query page(String alertId, TimelineCursor cursor, TimelineEntryType source, int limit) {
+        Date createdAt = Date.from(cursor.createdAt());
+        ObjectId idBound = cursor.idBound(source, MIN_ID, MAX_ID, ObjectId::new);
+        Criteria criteria = Criteria.where("alertId").is(alertId).orOperator(
+                Criteria.where(CREATED_DATE).lt(createdAt),
+                Criteria.where(CREATED_DATE).is(createdAt).and("_id").lt(idBound));
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, CREATED_DATE, "_id"))
+                .limit(limit + 1);
+    }
+
+    public static TimelineEntry.TimelineEntryBuilder entry(TimelineEntryType type, Document document) {
+        return TimelineEntry.builder()
+                .type(type)
+                .id(document.getObjectId("_id").toHexString())
+                .alertId(document.getString("alertId"))
+                .createdAt(document.getDate(CREATED_DATE).toInstant())
+                .createdBy(document.getString("createdBy"));
+    }
+
+    public static Long longValue(Document document, String field) {
+        Number value = document.get(field, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.dair.cais.timeline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+@ConfigurationProperties(prefix = "alert.timeline")
+@Data
+@Validated
+public class TimelineConfig {
+    @Min(1)
+    private int defaultPageSize = 20;
+
+    @Min(1)
+    @Max(500)
+    private int maxPageSize = 100;
+
+    private boolean ensureIndexes = true;
+
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+}
@@ -0,0 +1,27 @@
+package com.dair.cais.timeline;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/alerts/timeline")
+@Tag(name = "Alert Timeline", description = "Merged activity timeline of an alert")
+@RequiredArgsConstructor
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    @GetMapping("/{alertId}")
+    @Operation(summary = "Get notes, communications, attachments and audit entries of an alert, newest first",
+            description = "Pass the returned nextCursor to fetch the following page. Bodies are left out unless includeBody is set.")
+    public ResponseEntity<TimelinePage> getAlertTimeline(
+            @PathVariable String alertId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeBody) {
+        return ResponseEntity.ok(timelineService.getAlertTimeline(alertId, cursor, limit, includeBody));
+    }
+}
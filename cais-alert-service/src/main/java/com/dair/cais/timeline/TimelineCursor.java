@@ -0,0 +1,50 @@
+package com.dair.cais.timeline;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Position in a newest-first timeline: the creation time, type and id of the last entry returned.
+ * Encoded as an opaque URL-safe string for clients.
+ */
+public record TimelineCursor(Instant createdAt, TimelineEntryType type, String id) {
+
+    /** Cursor before the newest entry; every entry comes after it. */
+    public static final TimelineCursor HEAD = new TimelineCursor(Instant.parse("9999-12-31T23:59:59Z"), null, null);
+
+    public static TimelineCursor after(TimelineEntry entry) {
+        return new TimelineCursor(entry.getCreatedAt(), entry.getType(), entry.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + type + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TimelineCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return HEAD;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            return new TimelineCursor(Instant.parse(parts[0]), TimelineEntryType.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Upper id bound for entries of {@code source} created exactly at {@link #createdAt()}. Each source
+     * queries {@code createdAt < cursor OR (createdAt = cursor AND id < bound)}: types ordered after the
+     * cursor's type take every id, types ordered before it take none.
+     */
+    public <T> T idBound(TimelineEntryType source, T minId, T maxId, Function<String, T> parser) {
+        if (type == null || source.compareTo(type) < 0) {
+            return maxId;
+        }
+        return source == type ? parser.apply(id) : minId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dair.cais.timeline;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Summary of one note, communication, attachment or audit entry. Bodies are only filled in when requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimelineEntry {
+    /** Newest first, matching the order of every timeline query. */
+    public static final Comparator<TimelineEntry> NEWEST_FIRST = (left, right) -> {
+        int result = right.getCreatedAt().compareTo(left.getCreatedAt());
+        if (result == 0) {
+            result = right.getType().compareTo(left.getType());
+        }
+        return result != 0 ? result : left.getType().compareIds(right.getId(), left.getId());
+    };
+
+    private TimelineEntryType type;
+    private String id;
+    private String alertId;
+    private Instant createdAt;
+    private String createdBy;
+    private String title;
+    private Long size;
+    private String body;
+}
@@ -0,0 +1,25 @@
+package com.dair.cais.timeline;
+
+/**
+ * Sources of an alert timeline. Entries created at the same instant are ordered by type, in reverse
+ * declaration order, and then by id, which gives every entry a unique position for cursor paging.
+ */
+public enum TimelineEntryType {
+    NOTE(false),
+    ATTACHMENT(false),
+    COMMUNICATION(true),
+    AUDIT(true);
+
+    private final boolean numericId;
+
+    TimelineEntryType(boolean numericId) {
+        this.numericId = numericId;
+    }
+
+    /**
+     * Compares two ids of this type: numeric database ids by value, Mongo ObjectId hex strings as text.
+     */
+    public int compareIds(String left, String right) {
+        return numericId ? Long.compare(Long.parseLong(left), Long.parseLong(right)) : left.compareTo(right);
+    }
+}
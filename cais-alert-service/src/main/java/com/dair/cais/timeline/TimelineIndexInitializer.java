@@ -0,0 +1,58 @@
+package com.dair.cais.timeline;
+
+import com.dair.util.PostgresIndexes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static com.dair.util.PostgresIndexes.index;
+
+/**
+ * Creates the compound indexes behind the timeline keyset queries when the application starts.
+ * The PostgreSQL indexes are built concurrently, see {@link PostgresIndexes}, so the audit trail and
+ * communication tables stay writable meanwhile.
+ * Disable with {@code alert.timeline.ensure-indexes} where schema changes are managed by DBAs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimelineIndexInitializer {
+    private static final String[] MONGO_COLLECTIONS = {"notes", "attachments"};
+
+    private static final List<PostgresIndexes.Index> POSTGRES_INDEXES = List.of(
+            index("info_alert.ix_cm_alert_communication_timeline",
+                    "ON info_alert.cm_alert_communication (alert_id, create_date DESC, id DESC)"),
+            index("info_alert.ix_cm_audit_trail_item_timeline",
+                    "ON info_alert.cm_audit_trail (affected_item_type, affected_item_id, action_timestamp DESC, audit_id DESC)"));
+
+    private final MongoTemplate mongoTemplate;
+    private final DataSource dataSource;
+    private final TimelineConfig config;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!config.isEnsureIndexes()) {
+            return;
+        }
+        for (String collection : MONGO_COLLECTIONS) {
+            try {
+                mongoTemplate.indexOps(collection).ensureIndex(new Index()
+                        .on("alertId", Sort.Direction.ASC)
+                        .on("createdDate", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named("alertId_createdDate_id"));
+            } catch (Exception e) {
+                log.warn("Could not ensure timeline index on {}: {}", collection, e.getMessage());
+            }
+        }
+        PostgresIndexes.ensure(dataSource, "Timeline", List.of(), POSTGRES_INDEXES);
+    }
+}
@@ -0,0 +1,26 @@
+package com.dair.cais.timeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelinePage {
+    private List<TimelineEntry> entries;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Builds a page from up to {@code limit + 1} sorted entries; the extra entry only signals that more exist.
+     */
+    public static TimelinePage of(List<TimelineEntry> entries, int limit) {
+        boolean hasMore = entries.size() > limit;
+        List<TimelineEntry> page = hasMore ? entries.subList(0, limit) : entries;
+        String nextCursor = hasMore ? TimelineCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new TimelinePage(List.copyOf(page), nextCursor, hasMore);
+    }
+}
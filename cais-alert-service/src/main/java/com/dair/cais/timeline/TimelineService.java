@@ -0,0 +1,129 @@
+package com.dair.cais.timeline;
+
+import com.dair.cais.attachment.AttachmentRepository;
+import com.dair.cais.audit.AuditTimelineSummary;
+import com.dair.cais.audit.AuditTrailRepository;
+import com.dair.cais.communication.CommunicationRepository;
+import com.dair.cais.communication.CommunicationSummary;
+import com.dair.cais.note.NoteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Cursor-paginated alert timelines, newest first. Each source reads at most one page plus one entry
+ * through its keyset index, and the merged timeline interleaves the four sources in a single merge pass.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+    private static final String ALERT_ITEM_TYPE = "Alert";
+
+    private final NoteRepository noteRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final CommunicationRepository communicationRepository;
+    private final AuditTrailRepository auditTrailRepository;
+    private final TimelineConfig config;
+
+    private record Source(TimelineEntry head, Iterator<TimelineEntry> rest) {}
+
+    public TimelinePage getNoteTimeline(String alertId, String cursor, Integer limit, boolean includeBody) {
+        int pageSize = config.pageSize(limit);
+        return TimelinePage.of(
+                noteRepository.findTimeline(alertId, TimelineCursor.decode(cursor), pageSize, includeBody), pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TimelinePage getCommunicationTimeline(String alertId, String cursor, Integer limit, boolean includeBody) {
+        int pageSize = config.pageSize(limit);
+        return TimelinePage.of(
+                findCommunications(alertId, TimelineCursor.decode(cursor), pageSize, includeBody), pageSize);
+    }
+
+    /**
+     * Notes, communications, attachments and audit entries of an alert, interleaved by creation time.
+     */
+    @Transactional(readOnly = true)
+    public TimelinePage getAlertTimeline(String alertId, String cursor, Integer limit, boolean includeBody) {
+        int pageSize = config.pageSize(limit);
+        TimelineCursor position = TimelineCursor.decode(cursor);
+
+        List<List<TimelineEntry>> sources = List.of(
+                noteRepository.findTimeline(alertId, position, pageSize, includeBody),
+                attachmentRepository.findTimeline(alertId, position, pageSize, includeBody),
+                findCommunications(alertId, position, pageSize, includeBody),
+                findAuditEntries(alertId, position, pageSize, includeBody));
+        return TimelinePage.of(merge(sources, pageSize + 1), pageSize);
+    }
+
+    private List<TimelineEntry> merge(List<List<TimelineEntry>> sources, int limit) {
+        PriorityQueue<Source> heads = new PriorityQueue<>(
+                (left, right) -> TimelineEntry.NEWEST_FIRST.compare(left.head(), right.head()));
+        for (List<TimelineEntry> entries : sources) {
+            Iterator<TimelineEntry> iterator = entries.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Source(iterator.next(), iterator));
+            }
+        }
+
+        List<TimelineEntry> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Source next = heads.poll();
+            merged.add(next.head());
+            if (next.rest().hasNext()) {
+                heads.add(new Source(next.rest().next(), next.rest()));
+            }
+        }
+        return merged;
+    }
+
+    private List<TimelineEntry> findCommunications(String alertId, TimelineCursor cursor, int limit,
+                                                   boolean includeBody) {
+        LocalDateTime before = LocalDateTime.ofInstant(cursor.createdAt(), ZoneId.systemDefault());
+        Long beforeId = cursor.idBound(TimelineEntryType.COMMUNICATION, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf);
+        List<CommunicationSummary> rows = communicationRepository.findTimeline(
+                alertId, before, beforeId, includeBody, PageRequest.of(0, limit + 1));
+        return rows.stream()
+                .map(row -> TimelineEntry.builder()
+                        .type(TimelineEntryType.COMMUNICATION)
+                        .id(String.valueOf(row.getId()))
+                        .alertId(row.getAlertId())
+                        .createdAt(row.getCreateDate().atZone(ZoneId.systemDefault()).toInstant())
+                        .createdBy(row.getUserId())
+                        .title(row.getType())
+                        .size(row.getMessageLength() != null ? row.getMessageLength().longValue() : null)
+                        .body(row.getMessage())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<TimelineEntry> findAuditEntries(String alertId, TimelineCursor cursor, int limit,
+                                                 boolean includeBody) {
+        ZonedDateTime before = ZonedDateTime.ofInstant(cursor.createdAt(), ZoneOffset.UTC);
+        Long beforeId = cursor.idBound(TimelineEntryType.AUDIT, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf);
+        List<AuditTimelineSummary> rows = auditTrailRepository.findTimeline(
+                ALERT_ITEM_TYPE, alertId, before, beforeId, includeBody, PageRequest.of(0, limit + 1));
+        return rows.stream()
+                .map(row -> TimelineEntry.builder()
+                        .type(TimelineEntryType.AUDIT)
+                        .id(String.valueOf(row.getAuditId()))
+                        .alertId(row.getAffectedItemId())
+                        .createdAt(row.getActionTimestamp().toInstant())
+                        .createdBy(row.getUserId() != null ? String.valueOf(row.getUserId()) : null)
+                        .title(row.getActionName() != null ? row.getActionName() : row.getDescription())
+                        .body(row.getNewValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -23,6 +23,8 @@ public class AlertTypeController {
    private AlertTypeService typeService;
    @Autowired
    private AlertTypeServiceExtended typeServiceExtended;
+   @Autowired
+   private AlertTypeRegistry alertTypeRegistry;
 
 
 //   below method created to fetch all the fields associated to an alert type
@@ -109,6 +111,18 @@ public class AlertTypeController {
       List<AlertType> createdAlertTypes = typeService.createAlertTypes(types);
       return ResponseEntity.ok().body(createdAlertTypes);
    }
+   @GetMapping("/registry")
+   @Operation(summary = "Get the state of the compiled alert type registry used for alert validation")
+   public ResponseEntity<Map<String, Object>> getRegistryStatus() {
+      return ResponseEntity.ok(alertTypeRegistry.getStatus());
+   }
+
+   @PostMapping("/registry/refresh")
+   @Operation(summary = "Reload alert types after editing the alertTypes collection directly")
+   public ResponseEntity<Map<String, Object>> refreshRegistry() {
+      return ResponseEntity.ok(alertTypeRegistry.refresh());
+   }
+
    @GetMapping("getAllAlertTypes")
    @Operation(summary = "Get all alert types which are Active")
    public ResponseEntity<Map<String, Object>> fetchAllAlerttypes() {
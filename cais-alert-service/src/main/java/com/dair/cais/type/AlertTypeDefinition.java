@@ -0,0 +1,216 @@
+package com.dair.cais.type;
+
+import com.dair.cais.alert.Alert;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An alert type compiled for validation: its id, workflow, a rule per entry of {@code field_schema} and a getter
+ * per entry of {@code mandatory_fields}.
+ * <p>
+ * Both columns hold the JSON arrays of {@code {"name", "type", "required"}} objects that the alert type
+ * {@code /fields} endpoint serves: {@code field_schema} describes the alert's {@code customFields} and
+ * {@code mandatory_fields} names alert properties that must be set. They are parsed once when the definition is
+ * built, so validating an alert only walks the compiled rules.
+ */
+@Slf4j
+public final class AlertTypeDefinition {
+    private static final ObjectMapper SCHEMA_MAPPER = new ObjectMapper();
+    private static final Pattern INTEGER_TEXT = Pattern.compile("[-+]?\\d+");
+    private static final Pattern NUMBER_TEXT = Pattern.compile("[-+]?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
+
+    enum FieldKind {
+        STRING, INTEGER, NUMBER, BOOLEAN, DATE, ANY;
+
+        static FieldKind of(Object declared) {
+            if (declared == null) {
+                return ANY;
+            }
+            switch (declared.toString().trim().toLowerCase(Locale.ROOT)) {
+                case "string": case "text": case "textarea": case "select": case "dropdown":
+                    return STRING;
+                case "int": case "integer": case "long":
+                    return INTEGER;
+                case "number": case "numeric": case "decimal": case "double": case "float": case "amount":
+                    return NUMBER;
+                case "bool": case "boolean": case "checkbox":
+                    return BOOLEAN;
+                case "date": case "datetime": case "timestamp":
+                    return DATE;
+                default:
+                    return ANY;
+            }
+        }
+
+        boolean accepts(Object value) {
+            switch (this) {
+                case STRING:
+                    return value instanceof String;
+                case INTEGER:
+                    return value instanceof Integer || value instanceof Long || value instanceof Short
+                            || (value instanceof String s && INTEGER_TEXT.matcher(s.trim()).matches());
+                case NUMBER:
+                    return value instanceof Number || (value instanceof String s && NUMBER_TEXT.matcher(s.trim()).matches());
+                case BOOLEAN:
+                    return value instanceof Boolean
+                            || (value instanceof String s && ("true".equalsIgnoreCase(s) || "false".equalsIgnoreCase(s)));
+                case DATE:
+                    return value instanceof String || value instanceof Date || value instanceof java.time.temporal.Temporal;
+                default:
+                    return true;
+            }
+        }
+    }
+
+    /** One entry of {@code field_schema} or {@code mandatory_fields}; display attributes are ignored. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record SchemaField(String name, String type, Boolean required) {}
+
+    record FieldRule(String name, FieldKind kind, boolean required) {}
+
+    record MandatoryField(String name, Method getter) {}
+
+    private final String alertTypeId;
+    private final Integer workflowId;
+    private final boolean active;
+    private final List<FieldRule> rules;
+    private final List<MandatoryField> mandatoryFields;
+
+    private AlertTypeDefinition(String alertTypeId, Integer workflowId, boolean active, List<FieldRule> rules,
+                                List<MandatoryField> mandatoryFields) {
+        this.alertTypeId = alertTypeId;
+        this.workflowId = workflowId;
+        this.active = active;
+        this.rules = rules;
+        this.mandatoryFields = mandatoryFields;
+    }
+
+    /**
+     * Compiles an alert type. A column that cannot be parsed yields no rules, so a malformed type still accepts
+     * alerts as it did before field validation existed.
+     */
+    public static AlertTypeDefinition compile(AlertTypeExtended alertType) {
+        String alertTypeId = alertType.getAlertTypeId();
+        return new AlertTypeDefinition(alertTypeId, alertType.getWorkflowId(), alertType.isActive(),
+                compileRules(parse(alertTypeId, "field_schema", alertType.getField_schema())),
+                compileMandatory(alertTypeId, parse(alertTypeId, "mandatory_fields", alertType.getMandatory_fields())));
+    }
+
+    public String getAlertTypeId() {
+        return alertTypeId;
+    }
+
+    public Integer getWorkflowId() {
+        return workflowId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getFieldCount() {
+        return rules.size();
+    }
+
+    public int getMandatoryFieldCount() {
+        return mandatoryFields.size();
+    }
+
+    /**
+     * Checks the alert's mandatory fields and its {@code customFields}, adding one message per violation to
+     * {@code errors}. Custom fields not declared in {@code field_schema} are allowed.
+     */
+    public void validate(Alert alert, List<String> errors) {
+        for (MandatoryField field : mandatoryFields) {
+            if (isMissing(read(field, alert))) {
+                errors.add("Field '" + field.name() + "' is required for alert type " + alertTypeId);
+            }
+        }
+        validateCustomFields(alert.getCustomFields(), errors);
+    }
+
+    void validateCustomFields(Map<String, Object> customFields, List<String> errors) {
+        Map<String, Object> fields = customFields != null ? customFields : Collections.emptyMap();
+        for (FieldRule rule : rules) {
+            Object value = fields.get(rule.name());
+            if (isMissing(value)) {
+                if (rule.required()) {
+                    errors.add("Custom field '" + rule.name() + "' is required for alert type " + alertTypeId);
+                }
+            } else if (!rule.kind().accepts(value)) {
+                errors.add("Custom field '" + rule.name() + "' must be of type " + rule.kind().name().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private static List<SchemaField> parse(String alertTypeId, String column, String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        List<SchemaField> fields;
+        try {
+            fields = SCHEMA_MAPPER.readValue(json, new TypeReference<>() {});
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable {} of alert type {}: {}", column, alertTypeId, e.getMessage());
+            return List.of();
+        }
+        List<SchemaField> named = new ArrayList<>(fields.size());
+        for (SchemaField field : fields) {
+            if (field == null || field.name() == null || field.name().isBlank()) {
+                log.warn("Ignoring {} entry without a name in alert type {}", column, alertTypeId);
+            } else {
+                named.add(field);
+            }
+        }
+        return named;
+    }
+
+    private static List<FieldRule> compileRules(List<SchemaField> fields) {
+        Map<String, FieldRule> rules = new LinkedHashMap<>();
+        for (SchemaField field : fields) {
+            rules.put(field.name(), new FieldRule(field.name(), FieldKind.of(field.type()),
+                    Boolean.TRUE.equals(field.required())));
+        }
+        return List.copyOf(rules.values());
+    }
+
+    private static List<MandatoryField> compileMandatory(String alertTypeId, List<SchemaField> fields) {
+        Map<String, MandatoryField> mandatory = new LinkedHashMap<>();
+        for (SchemaField field : fields) {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(Alert.class, field.name());
+            if (property == null || property.getReadMethod() == null) {
+                log.warn("Ignoring mandatory field '{}' of alert type {}: alerts have no such field",
+                        field.name(), alertTypeId);
+            } else {
+                mandatory.put(field.name(), new MandatoryField(field.name(), property.getReadMethod()));
+            }
+        }
+        return List.copyOf(mandatory.values());
+    }
+
+    private static Object read(MandatoryField field, Alert alert) {
+        try {
+            return field.getter().invoke(alert);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read alert field " + field.name(), e);
+        }
+    }
+
+    private static boolean isMissing(Object value) {
+        return value == null || (value instanceof String s && s.isBlank());
+    }
+}
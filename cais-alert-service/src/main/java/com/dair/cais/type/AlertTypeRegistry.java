@@ -0,0 +1,99 @@
+package com.dair.cais.type;
+
+import com.dair.cais.alert.Alert;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiled alert types used to validate alerts on creation.
+ * <p>
+ * Definitions are compiled from the alert types in the current {@link ReferenceDataSnapshot} and rebuilt
+ * whenever the snapshot carries a different set of alert types, so the registry follows every reference
+ * data reload without polling of its own. Validation is a map lookup plus a walk of the compiled rules.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertTypeRegistry {
+    private final ReferenceDataService referenceDataService;
+    private final AlertTypeValidationConfig config;
+
+    private volatile Compiled compiled;
+
+    private record Compiled(Map<String, AlertTypeExtended> source, long version, Instant compiledAt,
+                            Map<String, AlertTypeDefinition> definitions) {}
+
+    public Optional<AlertTypeDefinition> find(String alertTypeId) {
+        AlertTypeDefinition definition = current().definitions().get(alertTypeId);
+        if (definition != null) {
+            return Optional.of(definition);
+        }
+        // Let the reference data service reload on a miss, then recompile if the alert types moved
+        return referenceDataService.find(ReferenceDataSnapshot::getAlertTypes, alertTypeId)
+                .map(alertType -> current().definitions().get(alertTypeId));
+    }
+
+    /**
+     * Adds the validation errors for the alert's type to {@code errors}: an unknown type, and when
+     * {@code alert.type-validation.validate-custom-fields} is on, its mandatory and custom fields.
+     */
+    public void validate(Alert alert, List<String> errors) {
+        Optional<AlertTypeDefinition> definition = find(alert.getAlertTypeId());
+        if (definition.isEmpty()) {
+            errors.add("Invalid Alert type ID: " + alert.getAlertTypeId());
+        } else if (config.isValidateCustomFields()) {
+            definition.get().validate(alert, errors);
+        }
+    }
+
+    /**
+     * Reloads alert types now, for edits made directly in the {@code alertTypes} collection.
+     */
+    public Map<String, Object> refresh() {
+        referenceDataService.markChanged(ReferenceDataType.ALERT_TYPES);
+        return getStatus();
+    }
+
+    public Map<String, Object> getStatus() {
+        Compiled current = current();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("version", current.version());
+        status.put("compiledAt", current.compiledAt());
+        status.put("alertTypes", current.definitions().size());
+        status.put("validateCustomFields", config.isValidateCustomFields());
+        return status;
+    }
+
+    private Compiled current() {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        Compiled current = compiled;
+        if (current != null && current.source() == snapshot.getAlertTypes()) {
+            return current;
+        }
+        return compile(snapshot);
+    }
+
+    private synchronized Compiled compile(ReferenceDataSnapshot snapshot) {
+        Compiled current = compiled;
+        if (current != null && current.source() == snapshot.getAlertTypes()) {
+            return current;
+        }
+        Map<String, AlertTypeDefinition> definitions = new LinkedHashMap<>();
+        snapshot.getAlertTypes().forEach((id, alertType) -> definitions.put(id, AlertTypeDefinition.compile(alertType)));
+        Compiled next = new Compiled(snapshot.getAlertTypes(), snapshot.getVersion(), Instant.now(), Collections.unmodifiableMap(definitions));
+        compiled = next;
+        log.info("Compiled {} alert type definitions at reference data version {}", definitions.size(), snapshot.getVersion());
+        return next;
+    }
+}
@@ -2,6 +2,7 @@ package com.dair.cais.type;
 
 import com.dair.cais.common.config.CaisAlertConstants;
 import com.dair.exception.CaisBaseException;
+import com.dair.util.PatchFields;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
@@ -11,11 +12,9 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public class AlertTypeRepository {
@@ -41,21 +40,7 @@ public class AlertTypeRepository {
 
         Update update = new Update();
 
-        for (Field field : typeEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(typeEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(typeEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(typeEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
@@ -1,15 +1,21 @@
 package com.dair.cais.type;
 
+import com.dair.cais.reference.ReferenceDataLoader;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
 import com.dair.exception.CaisBaseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,10 +23,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-public class AlertTypeServiceExtended {
-
-    @Autowired
-    private AlertTypeMapperExtended typeMapper;
+public class AlertTypeServiceExtended implements ReferenceDataLoader {
 
     @Autowired
     private AlertTypeMapperExtended typeMapperExtended;
@@ -31,18 +34,52 @@ public class AlertTypeServiceExtended {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Transactional(readOnly = true)
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Override
+    public ReferenceDataType type() {
+        return ReferenceDataType.ALERT_TYPES;
+    }
+
+    @Override
+    public void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot) {
+        snapshot.alertTypes(ReferenceDataSnapshot.index(
+                typeRepository.fetchAllAlertTypes().stream().map(typeMapperExtended::toModel).collect(Collectors.toList()),
+                AlertTypeExtended::getAlertTypeId));
+    }
+
+    /**
+     * Copies a snapshot alert type, including its lists, metadata and dates, so callers cannot change the
+     * shared instance.
+     */
+    static AlertTypeExtended copy(AlertTypeExtended alertType) {
+        AlertTypeExtended copy = new AlertTypeExtended();
+        BeanUtils.copyProperties(alertType, copy);
+        copy.setExtraField(alertType.getExtraField() != null ? new ArrayList<>(alertType.getExtraField()) : null);
+        copy.setTags(alertType.getTags() != null ? new ArrayList<>(alertType.getTags()) : null);
+        copy.setMetadata(alertType.getMetadata() != null ? new HashMap<>(alertType.getMetadata()) : null);
+        copy.setCreatedAt(copy(alertType.getCreatedAt()));
+        copy.setUpdatedAt(copy(alertType.getUpdatedAt()));
+        copy.setCreatedDate(copy(alertType.getCreatedDate()));
+        copy.setUpdatedDate(copy(alertType.getUpdatedDate()));
+        return copy;
+    }
+
+    private static Date copy(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+
     public AlertTypeExtended getAlertTypeFields(final String alertTypeId) {
         log.debug("Fetching alert type fields for ID: {}", alertTypeId);
 
         try {
-            AlertTypeEntityExtended typeById = typeRepository.getAlertTypeFields(alertTypeId);
-            if (typeById == null) {
-                log.error("Alert type not found with ID: {}", alertTypeId);
-                throw new EntityNotFoundException("Alert type not found with ID: " + alertTypeId);
-            }
-
-            return typeMapper.toModel(typeById);
+            return referenceDataService.findCopy(ReferenceDataSnapshot::getAlertTypes, alertTypeId,
+                            AlertTypeServiceExtended::copy)
+                    .orElseThrow(() -> {
+                        log.error("Alert type not found with ID: {}", alertTypeId);
+                        return new EntityNotFoundException("Alert type not found with ID: " + alertTypeId);
+                    });
         } catch (EntityNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -51,17 +88,13 @@ public class AlertTypeServiceExtended {
         }
     }
 
-    @Transactional(readOnly = true)
     public Map<String, Object> fetchalertTypesAll() {
         log.debug("Fetching all alert types");
 
         try {
-            List<AlertTypeEntityExtended> allAlertTypeEntities = typeRepository.fetchAllAlertTypes();
-            log.debug("Found {} alert types", allAlertTypeEntities.size());
-
-            List<AlertTypeExtended> allAlertTypes = allAlertTypeEntities.stream()
-                    .map(typeMapperExtended::toModel)
-                    .collect(Collectors.toList());
+            List<AlertTypeExtended> allAlertTypes =
+                    referenceDataService.copyAll(ReferenceDataSnapshot::getAlertTypes, AlertTypeServiceExtended::copy);
+            log.debug("Found {} alert types", allAlertTypes.size());
 
             Map<String, Object> response = new HashMap<>();
             response.put("types", allAlertTypes);
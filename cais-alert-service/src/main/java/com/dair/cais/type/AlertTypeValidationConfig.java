@@ -0,0 +1,18 @@
+package com.dair.cais.type;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "alert.type-validation")
+@Data
+@Validated
+public class AlertTypeValidationConfig {
+    /**
+     * Checks alerts against their type's {@code mandatory_fields} and {@code field_schema} on creation. Off by
+     * default, as existing alert types may declare fields their producers do not send yet.
+     */
+    private boolean validateCustomFields = false;
+}
@@ -1,5 +1,9 @@
 package com.dair.cais.workflow.service;
 
+import com.dair.cais.reference.ReferenceDataLoader;
+import com.dair.cais.reference.ReferenceDataService;
+import com.dair.cais.reference.ReferenceDataSnapshot;
+import com.dair.cais.reference.ReferenceDataType;
 import com.dair.cais.workflow.entity.TransitionReasonEntity;
 import com.dair.cais.workflow.model.TransitionReasonDTO;
 import com.dair.cais.workflow.repository.TransitionReasonRepository;
@@ -12,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -20,20 +25,32 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class TransitionReasonService {
+public class TransitionReasonService implements ReferenceDataLoader {
+    private static final UnaryOperator<TransitionReasonDTO> COPY = ReferenceDataSnapshot.copier(TransitionReasonDTO::new);
+
     private final TransitionReasonRepository transitionReasonRepository;
+    private final ReferenceDataService referenceDataService;
+
+    @Override
+    public ReferenceDataType type() {
+        return ReferenceDataType.TRANSITION_REASONS;
+    }
+
+    @Override
+    public void load(ReferenceDataSnapshot.ReferenceDataSnapshotBuilder snapshot) {
+        snapshot.transitionReasons(ReferenceDataSnapshot.index(
+                transitionReasonRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList()),
+                TransitionReasonDTO::getId));
+    }
 
     /**
      * Get all transition reasons.
      *
      * @return list of all transition reasons
      */
-    @Transactional(readOnly = true)
     public List<TransitionReasonDTO> getAllReasons() {
         log.debug("Request to get all Transition Reasons");
-        return transitionReasonRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return referenceDataService.copyAll(ReferenceDataSnapshot::getTransitionReasons, COPY);
     }
 
     /**
@@ -43,11 +60,9 @@ public class TransitionReasonService {
      * @return the transition reason
      * @throws EntityNotFoundException if the transition reason is not found
      */
-    @Transactional(readOnly = true)
     public TransitionReasonDTO getReasonById(Long id) {
         log.debug("Request to get Transition Reason : {}", id);
-        return transitionReasonRepository.findById(id)
-                .map(this::toDTO)
+        return referenceDataService.findCopy(ReferenceDataSnapshot::getTransitionReasons, id, COPY)
                 .orElseThrow(() -> {
                     log.error("Transition reason not found with id: {}", id);
                     return new EntityNotFoundException("Transition reason not found with id: " + id);
@@ -75,6 +90,7 @@ public class TransitionReasonService {
         entity.setUpdatedDate(LocalDateTime.now());
 
         TransitionReasonEntity savedEntity = transitionReasonRepository.save(entity);
+        referenceDataService.markChanged(ReferenceDataType.TRANSITION_REASONS);
         log.info("Created new Transition Reason with id: {}", savedEntity.getId());
 
         return toDTO(savedEntity);
@@ -110,6 +126,7 @@ public class TransitionReasonService {
         existingEntity.setUpdatedBy(dto.getUpdatedBy());
 
         TransitionReasonEntity updatedEntity = transitionReasonRepository.save(existingEntity);
+        referenceDataService.markChanged(ReferenceDataType.TRANSITION_REASONS);
         log.info("Updated Transition Reason with id: {}", id);
 
         return toDTO(updatedEntity);
@@ -131,6 +148,7 @@ public class TransitionReasonService {
         }
 
         transitionReasonRepository.deleteById(id);
+        referenceDataService.markChanged(ReferenceDataType.TRANSITION_REASONS);
         log.info("Deleted Transition Reason with id: {}", id);
     }
 
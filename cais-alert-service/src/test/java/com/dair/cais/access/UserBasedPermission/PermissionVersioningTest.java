@@ -0,0 +1,155 @@
+package com.dair.cais.access.UserBasedPermission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionVersioningTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PermissionVersioning versioning = new PermissionVersioning(null, objectMapper);
+
+    @Test
+    void firstStampStartsAtVersionOne() {
+        UserPermissionDto document = document(Map.of("export", true), Map.of());
+
+        assertThat(versioning.stamp(document, null)).isTrue();
+        assertThat(document.getVersion()).isEqualTo(1L);
+        assertThat(document.getContentHash()).isNotBlank();
+        assertThat(sectionVersions(document)).containsOnly(
+                Map.entry(PermissionVersioning.ADDITIONAL, 1L),
+                Map.entry(PermissionVersioning.MODULES, 1L));
+    }
+
+    @Test
+    void unchangedContentIsNotRewritten() {
+        UserPermissionDto previous = document(Map.of("export", true), Map.of());
+        versioning.stamp(previous, null);
+
+        UserPermissionDto next = document(Map.of("export", true), Map.of());
+
+        assertThat(versioning.stamp(next, previous)).isFalse();
+        assertThat(next.getVersion()).isEqualTo(1L);
+        assertThat(next.getContentHash()).isEqualTo(previous.getContentHash());
+    }
+
+    @Test
+    void hashIgnoresMapEntryOrder() {
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("export", true);
+        ordered.put("print", false);
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("print", false);
+        reversed.put("export", true);
+
+        UserPermissionDto first = document(ordered, Map.of());
+        UserPermissionDto second = document(reversed, Map.of());
+        versioning.stamp(first, null);
+        versioning.stamp(second, null);
+
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+    }
+
+    @Test
+    void onlyChangedSectionsTakeTheNewVersion() {
+        UserPermissionDto previous = document(Map.of("export", true), Map.of());
+        versioning.stamp(previous, null);
+
+        UserPermissionDto next = document(Map.of("export", false), Map.of());
+
+        assertThat(versioning.stamp(next, previous)).isTrue();
+        assertThat(next.getVersion()).isEqualTo(2L);
+        assertThat(next.getContentHash()).isNotEqualTo(previous.getContentHash());
+        assertThat(sectionVersions(next)).containsOnly(
+                Map.entry(PermissionVersioning.ADDITIONAL, 2L),
+                Map.entry(PermissionVersioning.MODULES, 1L));
+    }
+
+    @Test
+    void droppedSectionIsKeptAsRemoved() {
+        UserPermissionDto previous = document(Map.of("export", true), Map.of());
+        versioning.stamp(previous, null);
+
+        UserPermissionDto next = document(null, Map.of());
+        versioning.stamp(next, previous);
+
+        PermissionSection removed = next.getSections().stream()
+                .filter(section -> section.getKey().equals(PermissionVersioning.ADDITIONAL))
+                .findFirst()
+                .orElseThrow();
+        assertThat(removed.isRemoved()).isTrue();
+        assertThat(removed.getVersion()).isEqualTo(2L);
+        assertThat(removed.getHash()).isNull();
+    }
+
+    @Test
+    void etagUsesTheStampWhenPresent() throws Exception {
+        ObjectNode stamped = (ObjectNode) objectMapper.readTree("{\"version\": 3, \"contentHash\": \"abc\"}");
+        ObjectNode legacy = (ObjectNode) objectMapper.readTree("{\"userId\": \"u1\"}");
+
+        assertThat(versioning.etagOf(stamped)).isEqualTo("\"3-abc\"");
+        assertThat(versioning.etagOf(legacy)).startsWith("\"").endsWith("\"").hasSizeGreaterThan(2);
+        assertThat(versioning.etagOf(legacy)).isEqualTo(versioning.etagOf(legacy.deepCopy()));
+    }
+
+    @Test
+    void deltaReturnsSectionsChangedSinceTheClientVersion() throws Exception {
+        ObjectNode document = (ObjectNode) objectMapper.readTree("""
+                {
+                  "version": 3,
+                  "contentHash": "h3",
+                  "permission": {
+                    "alertType": {"AML": {"read": true}},
+                    "modules": {"cases": []}
+                  },
+                  "metadata": {"orgs": []},
+                  "sections": [
+                    {"key": "alertType:AML", "hash": "a", "version": 3, "removed": false},
+                    {"key": "modules", "hash": "m", "version": 1, "removed": false},
+                    {"key": "metadata", "hash": "d", "version": 2, "removed": false},
+                    {"key": "reports", "version": 3, "removed": true}
+                  ]
+                }
+                """);
+
+        PermissionDelta delta = versioning.delta("u1", document, 2);
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getVersion()).isEqualTo(3L);
+        assertThat(delta.getChanged()).containsOnlyKeys("alertType:AML");
+        assertThat(delta.getChanged().get("alertType:AML").path("read").asBoolean()).isTrue();
+        assertThat(delta.getRemoved()).containsExactly("reports");
+    }
+
+    @Test
+    void deltaFallsBackToTheFullDocumentForUnknownVersions() throws Exception {
+        ObjectNode document = (ObjectNode) objectMapper.readTree(
+                "{\"version\": 3, \"sections\": [{\"key\": \"modules\", \"version\": 3}]}");
+
+        assertThat(versioning.delta("u1", document, 0).isFull()).isTrue();
+        assertThat(versioning.delta("u1", document, 4).isFull()).isTrue();
+        assertThat(versioning.delta("u1", (ObjectNode) objectMapper.readTree("{\"version\": 3}"), 1).isFull()).isTrue();
+    }
+
+    private UserPermissionDto document(Map<String, Object> additionalPermissions, Map<String, List<ActionCondition>> modules) {
+        PermissionWrapper permission = new PermissionWrapper();
+        permission.setAdditionalPermissions(additionalPermissions);
+        permission.setModules(modules);
+        UserPermissionDto document = new UserPermissionDto();
+        document.setUserId("u1");
+        document.setPermission(permission);
+        return document;
+    }
+
+    private Map<String, Long> sectionVersions(UserPermissionDto document) {
+        return document.getSections().stream()
+                .collect(Collectors.toMap(PermissionSection::getKey, PermissionSection::getVersion));
+    }
+}
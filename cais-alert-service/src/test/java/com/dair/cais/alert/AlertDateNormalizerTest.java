@@ -0,0 +1,123 @@
+package com.dair.cais.alert;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlertDateNormalizerTest {
+
+    @Test
+    void detectsEverySupportedFormat() {
+        assertThat(AlertDateNormalizer.detect("2024-03-05T14:07:09")).isEqualTo(AlertDateNormalizer.Format.CANONICAL);
+        assertThat(AlertDateNormalizer.detect("2024-03-05 14:07:09")).isEqualTo(AlertDateNormalizer.Format.SPACED);
+        assertThat(AlertDateNormalizer.detect("2024-03-05T14:07")).isEqualTo(AlertDateNormalizer.Format.MINUTES);
+        assertThat(AlertDateNormalizer.detect("2024-03-05T14:07:09.5")).isEqualTo(AlertDateNormalizer.Format.FRACTION);
+        assertThat(AlertDateNormalizer.detect("2024-03-05")).isEqualTo(AlertDateNormalizer.Format.DATE);
+    }
+
+    @Test
+    void parsesEverySupportedFormat() {
+        assertThat(AlertDateNormalizer.parse("2024-03-05T14:07:09")).isEqualTo(LocalDateTime.of(2024, 3, 5, 14, 7, 9));
+        assertThat(AlertDateNormalizer.parse("2024-03-05 14:07:09")).isEqualTo(LocalDateTime.of(2024, 3, 5, 14, 7, 9));
+        assertThat(AlertDateNormalizer.parse("2024-03-05T14:07")).isEqualTo(LocalDateTime.of(2024, 3, 5, 14, 7));
+        assertThat(AlertDateNormalizer.parse("2024-03-05")).isEqualTo(LocalDateTime.of(2024, 3, 5, 0, 0));
+    }
+
+    @Test
+    void scalesFractionDigitsToNanoseconds() {
+        assertThat(AlertDateNormalizer.parse("2024-03-05T14:07:09.5").getNano()).isEqualTo(500_000_000);
+        assertThat(AlertDateNormalizer.parse("2024-03-05T14:07:09.123").getNano()).isEqualTo(123_000_000);
+        assertThat(AlertDateNormalizer.parse("2024-03-05T14:07:09.000000001").getNano()).isEqualTo(1);
+    }
+
+    @Test
+    void parsesWhatLocalDateTimeToStringWrites() {
+        LocalDateTime[] values = {
+                LocalDateTime.of(2024, 12, 31, 23, 59),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 58),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 58, 120_000_000),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 58, 123_456_789)
+        };
+        for (LocalDateTime value : values) {
+            assertThat(AlertDateNormalizer.parse(value.toString())).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void nullParsesToNull() {
+        assertThat(AlertDateNormalizer.parse(null)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "not a date",
+            "2024-3-05",
+            "2024/03/05",
+            "2024-03-05X14:07:09",
+            "2024-03-05 14:07",
+            "2024-03-05T14:07:09.",
+            "2024-03-05T14:07:09.1234567890",
+            "2024-03-05T14:07:09Z",
+            "2024-03-05 14:07:09.123",
+            "2024-13-05",
+            "2024-02-30T10:00:00",
+            "2024-03-05T24:00:00"
+    })
+    void rejectsInvalidInput(String value) {
+        assertThatThrownBy(() -> AlertDateNormalizer.parse(value))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(value);
+    }
+
+    @Test
+    void normalizeRewritesOnlySpacedDates() {
+        assertThat(AlertDateNormalizer.normalize("2024-03-05 14:07:09")).isEqualTo("2024-03-05T14:07:09");
+        assertThat(AlertDateNormalizer.normalize("2024-03-05T14:07:09.123")).isEqualTo("2024-03-05T14:07:09.123");
+        assertThat(AlertDateNormalizer.normalize("2024-03-05")).isEqualTo("2024-03-05");
+        assertThat(AlertDateNormalizer.normalize("2024-02-30 10:00:00")).isEqualTo("2024-02-30 10:00:00");
+        assertThat(AlertDateNormalizer.normalize("free text")).isEqualTo("free text");
+        assertThat(AlertDateNormalizer.normalize(null)).isNull();
+    }
+
+    @Test
+    void formatWritesTheStoredFormat() {
+        assertThat(AlertDateNormalizer.format(LocalDateTime.of(2024, 3, 5, 14, 7, 9, 999)))
+                .isEqualTo("2024-03-05T14:07:09");
+    }
+
+    @Test
+    void normalizeDatesCopiesOnlyChangedBranches() {
+        Map<String, Object> unchanged = Map.of("amount", 10, "note", "2024-03-05");
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("tradeDate", "2024-03-05 14:07:09");
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put("static", unchanged);
+        source.put("nested", nested);
+        source.put("dates", List.of("2024-03-06 00:00:00", "other"));
+
+        Map<String, Object> result = AlertDateNormalizer.normalizeDates(source);
+
+        assertThat(result).isNotSameAs(source);
+        assertThat(result.get("static")).isSameAs(unchanged);
+        assertThat(result.get("nested")).isEqualTo(Map.of("tradeDate", "2024-03-05T14:07:09"));
+        assertThat(result.get("dates")).isEqualTo(List.of("2024-03-06T00:00:00", "other"));
+        assertThat(nested.get("tradeDate")).isEqualTo("2024-03-05 14:07:09");
+    }
+
+    @Test
+    void normalizeDatesReturnsTheSameMapWhenNothingChanges() {
+        Map<String, Object> source = Map.of("tradeDate", "2024-03-05T14:07:09", "count", 3);
+
+        assertThat(AlertDateNormalizer.normalizeDates(source)).isSameAs(source);
+        assertThat(AlertDateNormalizer.normalizeDates(null)).isNull();
+    }
+}
@@ -0,0 +1,106 @@
+package com.dair.cais.organization;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrganizationTreeTest {
+
+    //        BANK            (EXTERNAL is referenced as a parent but is not a unit)
+    //       /    \                 |
+    //    RETAIL  CORP            BRANCH
+    //      |
+    //    CARDS
+    private final OrganizationTree tree = OrganizationTree.of(List.of(
+            new OrgKeyPair("BANK", null),
+            new OrgKeyPair("RETAIL", "BANK"),
+            new OrgKeyPair("CORP", "BANK"),
+            new OrgKeyPair("CARDS", "RETAIL"),
+            new OrgKeyPair("BRANCH", "EXTERNAL")));
+
+    @Test
+    void descendantsIncludeTheUnitAndItsWholeSubtree() {
+        assertThat(tree.descendantsOf("RETAIL")).containsExactly("RETAIL", "CARDS");
+        assertThat(tree.descendantsOf("BANK")).containsExactlyInAnyOrder("BANK", "RETAIL", "CORP", "CARDS");
+        assertThat(tree.descendantsOf("CARDS")).containsExactly("CARDS");
+    }
+
+    @Test
+    void overlappingSubtreesAreReturnedOnce() {
+        assertThat(tree.descendantsOf(List.of("RETAIL", "BANK", "CARDS")))
+                .containsExactlyInAnyOrder("BANK", "RETAIL", "CORP", "CARDS");
+    }
+
+    @Test
+    void familyIsThePathFromTheRoot() {
+        assertThat(tree.familyOf("CARDS")).isEqualTo("BANK:RETAIL:CARDS");
+        assertThat(tree.familyOf("BANK")).isEqualTo("BANK");
+        assertThat(tree.parentOf("BANK")).isEmpty();
+    }
+
+    @Test
+    void unknownParentIsKeptInTheFamilyButHasNoSubtree() {
+        assertThat(tree.familyOf("BRANCH")).isEqualTo("EXTERNAL:BRANCH");
+        assertThat(tree.contains("EXTERNAL")).isFalse();
+        assertThat(tree.descendantsOf("EXTERNAL")).containsExactly("EXTERNAL", "BRANCH");
+    }
+
+    @Test
+    void moveReturnsANewTreeAndLeavesTheOriginalUntouched() {
+        OrganizationTree moved = tree.withParent("RETAIL", "CORP");
+
+        assertThat(moved.familyOf("CARDS")).isEqualTo("BANK:CORP:RETAIL:CARDS");
+        assertThat(moved.descendantsOf("CORP")).containsExactlyInAnyOrder("CORP", "RETAIL", "CARDS");
+        assertThat(tree.familyOf("CARDS")).isEqualTo("BANK:RETAIL:CARDS");
+        assertThat(tree.descendantsOf("CORP")).containsExactly("CORP");
+    }
+
+    @Test
+    void addingAUnitAttachesItUnderItsParent() {
+        OrganizationTree added = tree.withParent("LOANS", "RETAIL");
+
+        assertThat(added.contains("LOANS")).isTrue();
+        assertThat(added.descendantsOf("RETAIL")).containsExactlyInAnyOrder("RETAIL", "CARDS", "LOANS");
+        assertThat(tree.contains("LOANS")).isFalse();
+    }
+
+    @Test
+    void movingToTheSameParentKeepsOneChildEntry() {
+        OrganizationTree moved = tree.withParent("CARDS", "RETAIL");
+
+        assertThat(moved.descendantsOf("RETAIL")).containsExactly("RETAIL", "CARDS");
+        assertThat(moved.size()).isEqualTo(tree.size());
+    }
+
+    @Test
+    void manyMovesMatchTheTreeLoadedFromTheResult() {
+        // Enough moves to fold the overrides into new base maps more than once
+        List<OrgKeyPair> pairs = new ArrayList<>();
+        pairs.add(new OrgKeyPair("ROOT", null));
+        for (int i = 0; i < 200; i++) {
+            pairs.add(new OrgKeyPair("U" + i, "ROOT"));
+        }
+        OrganizationTree moved = OrganizationTree.of(pairs);
+        for (int i = 1; i < 200; i++) {
+            moved = moved.withParent("U" + i, "U" + (i - 1));
+        }
+
+        assertThat(moved.size()).isEqualTo(201);
+        assertThat(moved.descendantsOf("ROOT")).hasSize(201);
+        assertThat(moved.descendantsOf("U150")).hasSize(50);
+        assertThat(moved.pathTo("U199")).hasSize(201).startsWith("ROOT", "U0", "U1");
+        assertThat(moved.parentOf("U100")).isEqualTo("U99");
+    }
+
+    @Test
+    void cycleInSourceDataEndsThePathWalk() {
+        OrganizationTree cyclic = OrganizationTree.of(List.of(
+                new OrgKeyPair("A", "B"),
+                new OrgKeyPair("B", "A")));
+
+        assertThat(cyclic.pathTo("A")).containsExactly("B", "A");
+    }
+}
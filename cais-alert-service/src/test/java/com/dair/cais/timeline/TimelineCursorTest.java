@@ -0,0 +1,74 @@
+package com.dair.cais.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimelineCursorTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T10:15:30.123Z");
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        TimelineEntry entry = TimelineEntry.builder()
+                .type(TimelineEntryType.COMMUNICATION)
+                .id("42")
+                .createdAt(CREATED_AT)
+                .build();
+
+        TimelineCursor cursor = TimelineCursor.after(entry);
+
+        assertThat(TimelineCursor.decode(cursor.encode()))
+                .isEqualTo(new TimelineCursor(CREATED_AT, TimelineEntryType.COMMUNICATION, "42"));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new TimelineCursor(CREATED_AT, TimelineEntryType.NOTE, "65f1c2a9e4b0a1b2c3d4e5f6").encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorStartsAtTheHead() {
+        assertThat(TimelineCursor.decode(null)).isSameAs(TimelineCursor.HEAD);
+        assertThat(TimelineCursor.decode("  ")).isSameAs(TimelineCursor.HEAD);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        String unknownType = Base64.getUrlEncoder().encodeToString("2024-05-01T10:15:30Z|MEMO|1".getBytes());
+        String badInstant = Base64.getUrlEncoder().encodeToString("yesterday|NOTE|1".getBytes());
+        String missingId = Base64.getUrlEncoder().encodeToString("2024-05-01T10:15:30Z|NOTE".getBytes());
+
+        for (String cursor : new String[]{"not base64!", unknownType, badInstant, missingId}) {
+            assertThatThrownBy(() -> TimelineCursor.decode(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid timeline cursor");
+        }
+    }
+
+    @Test
+    void headTakesEveryIdOfEverySource() {
+        for (TimelineEntryType source : TimelineEntryType.values()) {
+            assertThat(TimelineCursor.HEAD.idBound(source, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf))
+                    .isEqualTo(Long.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void idBoundFollowsTheTypeOrderAtTheCursorInstant() {
+        TimelineCursor cursor = new TimelineCursor(CREATED_AT, TimelineEntryType.COMMUNICATION, "42");
+
+        assertThat(cursor.idBound(TimelineEntryType.NOTE, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf))
+                .isEqualTo(Long.MAX_VALUE);
+        assertThat(cursor.idBound(TimelineEntryType.COMMUNICATION, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf))
+                .isEqualTo(42L);
+        assertThat(cursor.idBound(TimelineEntryType.AUDIT, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf))
+                .isEqualTo(Long.MIN_VALUE);
+    }
+}
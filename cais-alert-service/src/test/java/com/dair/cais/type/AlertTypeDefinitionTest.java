@@ -0,0 +1,117 @@
+package com.dair.cais.type;
+
+import com.dair.cais.alert.Alert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertTypeDefinitionTest {
+
+    private static final String FIELD_SCHEMA = """
+            [
+              {"name": "riskScore", "type": "number", "required": true, "label": "Risk score"},
+              {"name": "tradeCount", "type": "integer"},
+              {"name": "isWhitelisted", "type": "boolean"},
+              {"name": "reviewDate", "type": "date"},
+              {"name": "notes", "type": "string"},
+              {"name": "payload", "type": "json"}
+            ]""";
+
+    private static final String MANDATORY_FIELDS = """
+            [
+              {"name": "accountId", "type": "string", "label": "Account"},
+              {"name": "noSuchAlertField", "type": "string"}
+            ]""";
+
+    @Test
+    void compilesTheSchemaAndKnownMandatoryFields() {
+        AlertTypeDefinition definition = definition(FIELD_SCHEMA, MANDATORY_FIELDS);
+
+        assertThat(definition.getFieldCount()).isEqualTo(6);
+        assertThat(definition.getMandatoryFieldCount()).isEqualTo(1);
+    }
+
+    @Test
+    void acceptsValuesOfTheDeclaredTypes() {
+        assertThat(validate(definition(FIELD_SCHEMA, null), customFields(
+                "riskScore", "12.5", "tradeCount", 3L, "isWhitelisted", "false", "reviewDate", "2024-03-05",
+                "notes", "checked", "payload", List.of(1, 2)))).isEmpty();
+    }
+
+    @Test
+    void rejectsValuesOfTheWrongType() {
+        assertThat(validate(definition(FIELD_SCHEMA, null), customFields(
+                "riskScore", "high", "tradeCount", "1.5", "isWhitelisted", "yes", "notes", 7))).containsExactly(
+                "Custom field 'riskScore' must be of type number",
+                "Custom field 'tradeCount' must be of type integer",
+                "Custom field 'isWhitelisted' must be of type boolean",
+                "Custom field 'notes' must be of type string");
+    }
+
+    @Test
+    void requiresRequiredCustomFieldsAndMandatoryAlertFields() {
+        Alert alert = alert(customFields("riskScore", " "));
+        alert.setAccountId("");
+
+        assertThat(validate(definition(FIELD_SCHEMA, MANDATORY_FIELDS), alert)).containsExactly(
+                "Field 'accountId' is required for alert type AT1",
+                "Custom field 'riskScore' is required for alert type AT1");
+
+        alert.setAccountId("ACC-1");
+        alert.setCustomFields(customFields("riskScore", 4));
+        assertThat(validate(definition(FIELD_SCHEMA, MANDATORY_FIELDS), alert)).isEmpty();
+    }
+
+    @Test
+    void allowsCustomFieldsTheSchemaDoesNotDeclare() {
+        assertThat(validate(definition(FIELD_SCHEMA, null), customFields(
+                "riskScore", 1, "extra_fields", Map.of("Is_Centralized", true)))).isEmpty();
+    }
+
+    @Test
+    void unreadableOrUnnamedEntriesYieldNoRules() {
+        assertThat(definition("{not json", "[{\"type\": \"string\"}]").getFieldCount()).isZero();
+        assertThat(definition("[{\"type\": \"string\"}]", "{not json").getMandatoryFieldCount()).isZero();
+        assertThat(validate(definition("{not json", null), alert(null))).isEmpty();
+    }
+
+    private static AlertTypeDefinition definition(String fieldSchema, String mandatoryFields) {
+        AlertTypeExtended alertType = new AlertTypeExtended();
+        alertType.setAlertTypeId("AT1");
+        alertType.setField_schema(fieldSchema);
+        alertType.setMandatory_fields(mandatoryFields);
+        return AlertTypeDefinition.compile(alertType);
+    }
+
+    private static List<String> validate(AlertTypeDefinition definition, Map<String, Object> customFields) {
+        Alert alert = alert(customFields);
+        alert.setAccountId("ACC-1");
+        return validate(definition, alert);
+    }
+
+    private static List<String> validate(AlertTypeDefinition definition, Alert alert) {
+        List<String> errors = new ArrayList<>();
+        definition.validate(alert, errors);
+        return errors;
+    }
+
+    private static Alert alert(Map<String, Object> customFields) {
+        Alert alert = new Alert();
+        alert.setAlertTypeId("AT1");
+        alert.setCustomFields(customFields);
+        return alert;
+    }
+
+    private static Map<String, Object> customFields(Object... keysAndValues) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            fields.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return fields;
+    }
+}
@@ -19,6 +19,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -57,6 +60,19 @@ public class BranchController {
       return ResponseEntity.ok().body(createdBranchs);
    }
 
+   @PostMapping("/bulk/create")
+   @Operation(summary = "Create bulk branches with unordered batched writes; returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkCreateBranchs(@RequestBody List<Branch> branches) {
+      return ResponseEntity.ok().body(branchService.bulkWriteBranchs(branches, BulkWriteMode.CREATE));
+   }
+
+   @PostMapping("/bulk/upsert")
+   @Operation(summary = "Create or replace bulk branches by id with unordered batched writes; "
+         + "returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkUpsertBranchs(@RequestBody List<Branch> branches) {
+      return ResponseEntity.ok().body(branchService.bulkWriteBranchs(branches, BulkWriteMode.UPSERT));
+   }
+
    @GetMapping("{branchId}")
    @Operation(summary = "Get a branch by its id")
    public ResponseEntity<Branch> getBranchById(@PathVariable final String branchId) {
@@ -72,15 +88,18 @@ public class BranchController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all branches; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all branches in id order; pass nextCursor from the previous response as cursor for the next page, "
+         + "namesOnly for just ids and names")
    public ResponseEntity<Map<String, Object>> getAllBranchs(
          @RequestParam(required = false) String name,
          @RequestParam(required = false, name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date createdDateFrom,
          @RequestParam(required = false, name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date createdDateTo,
+         @RequestParam(required = false) String cursor,
          @Valid @RequestParam(defaultValue = "10") int limit,
-         @Valid @RequestParam(defaultValue = "0") int offset) {
+         @Valid @RequestParam(defaultValue = "0") int offset,
+         @RequestParam(required = false) boolean namesOnly) {
       return ResponseEntity.ok()
             .body(branchService.getAllBranchs(name,
-                  createdDateFrom, createdDateTo, limit, offset));
+                  createdDateFrom, createdDateTo, cursor, limit, offset, namesOnly));
    }
 }
\ No newline at end of file
@@ -2,11 +2,9 @@ package com.dair.cais.branch;
 
 import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_BRANCHES;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,13 +15,18 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
+import com.dair.util.PatchFields;
 
 @Repository
 public class BranchRepository {
 
     @Autowired
     private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoListing mongoListing;
 
     public BranchEntity createUpsertBranch(BranchEntity alertEntity) {
         BranchEntity alEntity = mongoTemplate.save(alertEntity, MONGO_COLLECTION_BRANCHES);
@@ -34,21 +37,7 @@ public class BranchRepository {
 
         Update update = new Update();
 
-        for (Field field : alertEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(alertEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(alertEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(alertEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
@@ -76,8 +65,18 @@ public class BranchRepository {
         return branchEntity;
     }
 
-    public List<BranchEntity> getAllBranchs(String name, Date createdDateFrom, Date createdDateTo, int offset,
-            int limit) {
+    public List<BranchEntity> getAllBranchs(String name, Date createdDateFrom, Date createdDateTo, String cursor,
+            int offset, int limit) {
+        return mongoListing.findSlice(filterQuery(createdDateFrom, createdDateTo), cursor, offset, limit, false,
+                BranchEntity.class, MONGO_COLLECTION_BRANCHES);
+    }
+
+    public List<IdName> getBranchNames(Date createdDateFrom, Date createdDateTo, String cursor, int offset, int limit) {
+        return mongoListing.findIdNameSlice(filterQuery(createdDateFrom, createdDateTo), cursor, offset, limit, false,
+                MONGO_COLLECTION_BRANCHES);
+    }
+
+    private Query filterQuery(Date createdDateFrom, Date createdDateTo) {
         final Query query = new Query();
         final List<Criteria> criteria = new ArrayList<>();
 
@@ -88,11 +87,7 @@ public class BranchRepository {
 
         if (!criteria.isEmpty())
             query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[criteria.size()])));
-
-        List<BranchEntity> alertEntities = new ArrayList<>();
-        List<BranchEntity> documents = mongoTemplate.find(query, BranchEntity.class, MONGO_COLLECTION_BRANCHES);
-        alertEntities.addAll(documents);
-        return alertEntities;
+        return query;
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.dair.cais.branch;
 
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_BRANCHES;
+
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -8,9 +10,16 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+import com.dair.cais.bulk.MongoBulkWriter;
+import com.dair.cais.config.AuthListingConfig;
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisIllegalArgumentException;
 import com.dair.exception.CaisNotFoundException;
@@ -25,6 +34,10 @@ public class BranchService {
    private BranchMapper branchMapper;
    @Autowired
    private BranchRepository branchRepository;
+   @Autowired
+   private MongoBulkWriter bulkWriter;
+   @Autowired
+   private AuthListingConfig listingConfig;
 
    public Branch createBranch(Branch branch) {
       BranchEntity upsertedBranch = branchRepository.createUpsertBranch(branchMapper.toEntity(branch));
@@ -52,24 +65,33 @@ public class BranchService {
       return branchMapper.toModel(branchById);
    }
 
-   public Map<String, Object> getAllBranchs(String name, Date createdDateFrom, Date createdDateTo, @Valid int limit,
-         @Valid int offset) {
-      validateRequestParams(name, createdDateFrom, createdDateTo, offset,
-            limit);
+   /**
+    * One page of branches in id order; pass the previous response's {@code nextCursor} as {@code cursor} for the
+    * next page. With {@code namesOnly} only ids and names are read.
+    */
+   public Map<String, Object> getAllBranchs(String name, Date createdDateFrom, Date createdDateTo,
+         String cursor, @Valid int limit, @Valid int offset, boolean namesOnly) {
+      validateRequestParams(name, createdDateFrom, createdDateTo, cursor, offset, limit);
 
       try {
+         Map<String, Object> response = new HashMap<>();
+         if (namesOnly) {
+            List<IdName> names = branchRepository.getBranchNames(createdDateFrom, createdDateTo, cursor, offset,
+                  limit + 1);
+            MongoListing.putPage(response, "branches", names, limit, IdName::id);
+            return response;
+         }
 
-         List<BranchEntity> allBranchEntities = branchRepository.getAllBranchs(name,
-               createdDateFrom, createdDateTo, offset, limit);
+         List<BranchEntity> allBranchEntities = branchRepository.getAllBranchs(name, createdDateFrom, createdDateTo,
+               cursor, offset, limit + 1);
 
          List<Branch> allBranchs = allBranchEntities.stream().map(a -> branchMapper.toModel(a))
                .collect(Collectors.toList());
 
-         Map<String, Object> response = new HashMap<>();
-         response.put("branches", allBranchs);
-         response.put("count", allBranchs.size());
+         MongoListing.putPage(response, "branches", allBranchs, limit, Branch::getId);
          return response;
       } catch (Exception e) {
+         log.error("Error retrieving branches", e);
          throw new CaisBaseException("Error retrieving branches");
       }
    }
@@ -79,7 +101,16 @@ public class BranchService {
       return createdBranchs;
    }
 
-   private void validateRequestParams(String name, Date createdDateFrom, Date createdDateTo, int offset, int limit) {
+   /**
+    * Creates or upserts branches with unordered bulk writes and reports the outcome of every item.
+    */
+   public BulkWriteResponse bulkWriteBranchs(List<Branch> branches, BulkWriteMode mode) {
+      return bulkWriter.write(branches, mode, this::validateBulkBranch, branchMapper::toEntity, BranchEntity.class,
+            MONGO_COLLECTION_BRANCHES);
+   }
+
+   private void validateRequestParams(String name, Date createdDateFrom, Date createdDateTo, String cursor,
+         int offset, int limit) {
       StringBuilder errorMessage = new StringBuilder();
 
       if (name != null && !name.isEmpty()) {
@@ -94,8 +125,11 @@ public class BranchService {
          }
       }
 
-      if (limit < 0) {
-         errorMessage.append("limit cannot be negative;");
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         errorMessage.append("limit must be between 1 and " + listingConfig.getMaxPageSize() + ";");
+      }
+      if (cursor != null && !cursor.isBlank() && !ObjectId.isValid(cursor)) {
+         errorMessage.append("cursor is not valid;");
       }
       if (offset < 0) {
          errorMessage.append("offset cannot be negative;");
@@ -107,4 +141,11 @@ public class BranchService {
       throw new CaisIllegalArgumentException(errorMessage.toString());
    }
 
+   private String validateBulkBranch(Branch branch) {
+      if (branch.getName() == null || branch.getName().isBlank()) {
+         return "name is required";
+      }
+      return null;
+   }
+
 }
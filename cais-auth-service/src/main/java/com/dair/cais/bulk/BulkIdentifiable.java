@@ -0,0 +1,11 @@
+package com.dair.cais.bulk;
+
+/**
+ * An entity the bulk writer can assign an id to before inserting it.
+ */
+public interface BulkIdentifiable {
+
+    String getId();
+
+    void setId(String id);
+}
@@ -0,0 +1,24 @@
+package com.dair.cais.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED, UPDATED, REJECTED, FAILED
+    }
+
+    /** Position of the item in the request. */
+    private int index;
+    private String id;
+    private Status status;
+    private String error;
+}
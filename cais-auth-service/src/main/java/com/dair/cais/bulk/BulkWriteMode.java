@@ -0,0 +1,8 @@
+package com.dair.cais.bulk;
+
+public enum BulkWriteMode {
+    /** Insert every item; an item whose id already exists fails. */
+    CREATE,
+    /** Replace the item with the given id, inserting it if missing; items without an id are inserted. */
+    UPSERT
+}
@@ -0,0 +1,24 @@
+package com.dair.cais.bulk;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk request: one result per item, in request order, plus the counts per status.
+ * Rejected items failed validation and were never sent; failed items were refused by Mongo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteResponse {
+
+    private int total;
+    private int created;
+    private int updated;
+    private int rejected;
+    private int failed;
+    private List<BulkItemResult> items;
+}
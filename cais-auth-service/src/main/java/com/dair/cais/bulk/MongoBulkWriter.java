@@ -0,0 +1,175 @@
+package com.dair.cais.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.dair.cais.config.BulkWriteConfig;
+import com.dair.exception.CaisIllegalArgumentException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a list of items with unordered Mongo bulk writes, one per batch.
+ * <p>
+ * Each batch is validated first; items that fail validation are rejected and the rest of the batch is still
+ * written. Errors Mongo reports for single items (e.g. a duplicate key) fail only those items, and a batch that
+ * fails as a whole fails only its own items, so every item of the request gets a result.
+ */
+@Component
+@Slf4j
+public class MongoBulkWriter {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private BulkWriteConfig bulkWriteConfig;
+
+    /**
+     * @param validator returns the reason an item is invalid, or {@code null} if it can be written
+     * @param mapper    maps a valid item to the entity to store
+     */
+    public <M, E extends BulkIdentifiable> BulkWriteResponse write(List<M> items, BulkWriteMode mode,
+            Function<M, String> validator, Function<M, E> mapper, Class<E> entityType, String collection) {
+        if (items == null || items.isEmpty()) {
+            throw new CaisIllegalArgumentException("request must contain at least one item");
+        }
+        if (items.size() > bulkWriteConfig.getMaxItems()) {
+            throw new CaisIllegalArgumentException(
+                    String.format("request cannot contain more than %d items", bulkWriteConfig.getMaxItems()));
+        }
+
+        long start = System.currentTimeMillis();
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        Set<String> seenIds = new HashSet<>();
+        for (int from = 0; from < items.size(); from += bulkWriteConfig.getBatchSize()) {
+            int to = Math.min(from + bulkWriteConfig.getBatchSize(), items.size());
+            writeBatch(items, from, to, mode, validator, mapper, entityType, collection, seenIds, results);
+        }
+
+        BulkWriteResponse response = summarize(Arrays.asList(results));
+        log.info("Bulk {} of {} items into {} took {}ms: {} created, {} updated, {} rejected, {} failed",
+                mode, response.getTotal(), collection, System.currentTimeMillis() - start, response.getCreated(),
+                response.getUpdated(), response.getRejected(), response.getFailed());
+        return response;
+    }
+
+    private <M, E extends BulkIdentifiable> void writeBatch(List<M> items, int from, int to, BulkWriteMode mode,
+            Function<M, String> validator, Function<M, E> mapper, Class<E> entityType, String collection,
+            Set<String> seenIds, BulkItemResult[] results) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityType, collection);
+        List<Integer> positions = new ArrayList<>();
+        List<E> entities = new ArrayList<>();
+        List<Boolean> replaces = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            M item = items.get(i);
+            String error = item == null ? "item cannot be null" : validator.apply(item);
+            E entity = error == null ? mapper.apply(item) : null;
+            if (entity != null) {
+                error = validateId(entity.getId(), seenIds);
+            }
+            if (error != null) {
+                results[i] = new BulkItemResult(i, entity != null ? entity.getId() : null,
+                        BulkItemResult.Status.REJECTED, error);
+                continue;
+            }
+
+            boolean replace = mode == BulkWriteMode.UPSERT && entity.getId() != null;
+            if (replace) {
+                bulk.replaceOne(new Query(Criteria.where("id").is(entity.getId())), entity,
+                        FindAndReplaceOptions.options().upsert());
+            } else {
+                if (entity.getId() == null) {
+                    // Assigned here so the id can be returned without reading the documents back
+                    entity.setId(new ObjectId().toHexString());
+                }
+                bulk.insert(entity);
+            }
+            positions.add(i);
+            entities.add(entity);
+            replaces.add(replace);
+        }
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        BulkWriteResult result;
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        } catch (DataAccessException e) {
+            log.error("Bulk write of items {} to {} into {} failed: {}", from, to - 1, collection, e.getMessage(), e);
+            for (int k = 0; k < entities.size(); k++) {
+                results[positions.get(k)] = new BulkItemResult(positions.get(k), entities.get(k).getId(),
+                        BulkItemResult.Status.FAILED, e.getMessage());
+            }
+            return;
+        }
+
+        Set<Integer> upserted = result.getUpserts().stream()
+                .map(BulkWriteUpsert::getIndex)
+                .collect(Collectors.toSet());
+        for (int k = 0; k < entities.size(); k++) {
+            BulkItemResult.Status status;
+            if (errors.containsKey(k)) {
+                status = BulkItemResult.Status.FAILED;
+            } else if (!replaces.get(k) || upserted.contains(k)) {
+                status = BulkItemResult.Status.CREATED;
+            } else {
+                status = BulkItemResult.Status.UPDATED;
+            }
+            results[positions.get(k)] = new BulkItemResult(positions.get(k), entities.get(k).getId(), status,
+                    errors.get(k));
+        }
+    }
+
+    private static String validateId(String id, Set<String> seenIds) {
+        if (id == null) {
+            return null;
+        }
+        if (!ObjectId.isValid(id)) {
+            return "id is not a valid ObjectId";
+        }
+        if (!seenIds.add(id.toLowerCase())) {
+            return "id appears more than once in the request";
+        }
+        return null;
+    }
+
+    private static BulkWriteResponse summarize(List<BulkItemResult> results) {
+        Map<BulkItemResult.Status, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkItemResult::getStatus, Collectors.counting()));
+        return new BulkWriteResponse(results.size(),
+                counts.getOrDefault(BulkItemResult.Status.CREATED, 0L).intValue(),
+                counts.getOrDefault(BulkItemResult.Status.UPDATED, 0L).intValue(),
+                counts.getOrDefault(BulkItemResult.Status.REJECTED, 0L).intValue(),
+                counts.getOrDefault(BulkItemResult.Status.FAILED, 0L).intValue(),
+                results);
+    }
+}
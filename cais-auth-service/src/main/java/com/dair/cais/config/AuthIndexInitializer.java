@@ -0,0 +1,65 @@
+package com.dair.cais.config;
+
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_BRANCHES;
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_PERMISSIONS;
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_ROLES;
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_USERS;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.dair.cais.listing.MongoListing;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the indexes behind the auth-service listings when the application starts.
+ * <p>
+ * Each equality filter gets an index of the filtered field followed by {@code _id}, the keyset order, so a page is
+ * read as one index range. The array filters of permissions get one index each, since Mongo cannot index two arrays
+ * of the same document together, and use the case-insensitive collation their queries run with. The createdDate
+ * range of roles and branches stays unindexed: pages are ordered by {@code _id}, which a
+ * {@code {createdDate, _id}} index cannot return for a range, so those listings walk {@code _id} and filter.
+ * Every collection also gets {@code {_id, name}} to answer the id/name projection without reading documents.
+ * Disable with {@code auth.listing.ensure-indexes} where indexes are managed outside the application.
+ */
+@Slf4j
+@Component
+public class AuthIndexInitializer {
+
+   @Autowired
+   private MongoTemplate mongoTemplate;
+   @Autowired
+   private AuthListingConfig config;
+
+   @EventListener(ApplicationReadyEvent.class)
+   public void ensureIndexes() {
+      if (!config.isEnsureIndexes()) {
+         return;
+      }
+      for (String field : new String[] { "alertTypes", "roles", "businessUnits" }) {
+         ensure(MONGO_COLLECTION_PERMISSIONS, new Index().on(field, Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+               .named("ix_" + field + "_id").collation(MongoListing.CASE_INSENSITIVE));
+      }
+      for (String collection : new String[] { MONGO_COLLECTION_PERMISSIONS, MONGO_COLLECTION_ROLES,
+            MONGO_COLLECTION_BRANCHES, MONGO_COLLECTION_USERS }) {
+         ensure(collection, new Index().on("_id", Sort.Direction.ASC).on("name", Sort.Direction.ASC)
+               .named(MongoListing.ID_NAME_INDEX));
+      }
+      log.info("Auth listing indexes ensured");
+   }
+
+   private void ensure(String collection, Index index) {
+      try {
+         mongoTemplate.indexOps(collection).ensureIndex(index);
+      } catch (Exception e) {
+         // Listings still work without the index, they just scan
+         log.warn("Could not ensure index on {}: {}", collection, e.getMessage());
+      }
+   }
+}
@@ -0,0 +1,24 @@
+package com.dair.cais.config;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Configuration
+@ConfigurationProperties(prefix = "auth.listing")
+@Data
+@Validated
+public class AuthListingConfig {
+   /** Largest page a listing endpoint returns. */
+   @Min(1)
+   @Max(5000)
+   private int maxPageSize = 500;
+
+   /** Create the listing indexes at startup; turn off where indexes are managed outside the application. */
+   private boolean ensureIndexes = true;
+}
@@ -0,0 +1,25 @@
+package com.dair.cais.config;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Configuration
+@ConfigurationProperties(prefix = "auth.bulk")
+@Data
+@Validated
+public class BulkWriteConfig {
+   /** Items validated and sent per unordered Mongo bulk write. */
+   @Min(1)
+   @Max(10000)
+   private int batchSize = 500;
+
+   /** Largest request a bulk endpoint accepts. */
+   @Min(1)
+   private int maxItems = 50000;
+}
@@ -0,0 +1,7 @@
+package com.dair.cais.listing;
+
+/**
+ * Compact listing row for dropdowns.
+ */
+public record IdName(String id, String name) {
+}
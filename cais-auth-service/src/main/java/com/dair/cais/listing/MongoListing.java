@@ -0,0 +1,96 @@
+package com.dair.cais.listing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.dair.exception.CaisBadRequestException;
+
+/**
+ * Runs the auth-service listings as keyset pages ordered by {@code _id}.
+ * <p>
+ * The next page starts after the last id of the previous one, so a page costs the same wherever it is; offset is
+ * still honoured for the first page of callers that do not pass a cursor. Filters on string values use the
+ * {@link #CASE_INSENSITIVE} collation, which must match the collation of the indexes declared in
+ * {@link com.dair.cais.config.AuthIndexInitializer} for Mongo to use them.
+ */
+@Component
+public class MongoListing {
+
+    /** Case-insensitive equality, as the former anchored {@code i} regex filters gave. */
+    public static final Collation CASE_INSENSITIVE = Collation.of("en").strength(2);
+
+    /** Covering index for the id/name projection; also declared by the index initializer. */
+    public static final String ID_NAME_INDEX = "ix_id_name";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Reads up to {@code limit} entities after {@code cursor}, an id from a previous page.
+     */
+    public <E> List<E> findSlice(Query query, String cursor, int offset, int limit, boolean caseInsensitive,
+            Class<E> entityType, String collection) {
+        page(query, cursor, offset, limit, caseInsensitive).with(Sort.by(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.find(query, entityType, collection);
+    }
+
+    /**
+     * Reads only ids and names. Without a case-insensitive filter the query is answered from the
+     * {@value #ID_NAME_INDEX} index alone.
+     */
+    public List<IdName> findIdNameSlice(Query query, String cursor, int offset, int limit, boolean caseInsensitive,
+            String collection) {
+        page(query, cursor, offset, limit, caseInsensitive);
+        query.fields().include("_id", "name");
+        // Same order as _id alone since ids are unique, but only {_id, name} provides it without a sort stage
+        query.with(caseInsensitive
+                ? Sort.by(Sort.Direction.ASC, "_id")
+                : Sort.by(Sort.Direction.ASC, "_id", "name"));
+        return mongoTemplate.find(query, Document.class, collection).stream()
+                .map(document -> new IdName(String.valueOf(document.get("_id")), document.getString("name")))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Puts a page into a listing response. {@code slice} was read with one row more than {@code limit}; that row
+     * only tells whether another page follows, and {@code nextCursor} is the id of the page's last row.
+     */
+    public static <T> void putPage(Map<String, Object> response, String key, List<T> slice, int limit,
+            Function<T, String> idOf) {
+        boolean hasMore = slice.size() > limit;
+        List<T> page = hasMore ? slice.subList(0, limit) : slice;
+        response.put(key, page);
+        response.put("count", page.size());
+        response.put("hasMore", hasMore);
+        if (hasMore) {
+            response.put("nextCursor", idOf.apply(page.get(page.size() - 1)));
+        }
+    }
+
+    private static Query page(Query query, String cursor, int offset, int limit, boolean caseInsensitive) {
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new CaisBadRequestException("Invalid cursor: " + cursor);
+            }
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(cursor)));
+        } else if (offset > 0) {
+            query.skip(offset);
+        }
+        if (caseInsensitive) {
+            query.collation(CASE_INSENSITIVE);
+        }
+        return query.limit(limit);
+    }
+}
@@ -17,6 +17,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -55,6 +58,18 @@ public class MemberController {
       return ResponseEntity.ok().body(createdMembers);
    }
 
+   @PostMapping("/bulk/create")
+   @Operation(summary = "Create bulk members with unordered batched writes; returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkCreateMembers(@RequestBody List<Member> members) {
+      return ResponseEntity.ok().body(memberService.bulkWriteMembers(members, BulkWriteMode.CREATE));
+   }
+
+   @PostMapping("/bulk/upsert")
+   @Operation(summary = "Create or replace bulk members by id with unordered batched writes; returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkUpsertMembers(@RequestBody List<Member> members) {
+      return ResponseEntity.ok().body(memberService.bulkWriteMembers(members, BulkWriteMode.UPSERT));
+   }
+
    @GetMapping("{memberId}")
    @Operation(summary = "Get a member by its id")
    public ResponseEntity<Member> getMemberById(@PathVariable final String memberId) {
@@ -70,12 +85,15 @@ public class MemberController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all members; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all members in id order; pass nextCursor from the previous response as cursor for the next page, "
+         + "namesOnly for just ids and names")
    public ResponseEntity<Map<String, Object>> getAllMembers(
          @RequestParam(required = false) String name,
+         @RequestParam(required = false) String cursor,
          @Valid @RequestParam(defaultValue = "10") int limit,
-         @Valid @RequestParam(defaultValue = "0") int offset) {
+         @Valid @RequestParam(defaultValue = "0") int offset,
+         @RequestParam(required = false) boolean namesOnly) {
       return ResponseEntity.ok()
-            .body(memberService.getAllMembers(name, limit, offset));
+            .body(memberService.getAllMembers(name, cursor, limit, offset, namesOnly));
    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.dair.cais.member;
 
+import com.dair.cais.bulk.BulkIdentifiable;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,7 +16,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class MemberEntity implements Serializable {
+public class MemberEntity implements Serializable, BulkIdentifiable {
 
     private static final long serialVersionUID = 1L;
 
@@ -2,10 +2,8 @@ package com.dair.cais.member;
 
 import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_USERS;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +14,18 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
+import com.dair.util.PatchFields;
 
 @Repository
 public class MemberRepository {
 
     @Autowired
     private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoListing mongoListing;
 
     public MemberEntity createUpsertMember(MemberEntity alertEntity) {
         MemberEntity alEntity = mongoTemplate.save(alertEntity, MONGO_COLLECTION_USERS);
@@ -33,21 +36,7 @@ public class MemberRepository {
 
         Update update = new Update();
 
-        for (Field field : alertEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(alertEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(alertEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(alertEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
@@ -75,18 +64,13 @@ public class MemberRepository {
         return memberEntity;
     }
 
-    public List<MemberEntity> getAllMembers(String name, int offset,
-            int limit) {
-        final Query query = new Query();
-        final List<Criteria> criteria = new ArrayList<>();
-
-        if (!criteria.isEmpty())
-            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[criteria.size()])));
+    public List<MemberEntity> getAllMembers(String name, String cursor, int offset, int limit) {
+        return mongoListing.findSlice(new Query(), cursor, offset, limit, false, MemberEntity.class,
+                MONGO_COLLECTION_USERS);
+    }
 
-        List<MemberEntity> alertEntities = new ArrayList<>();
-        List<MemberEntity> documents = mongoTemplate.find(query, MemberEntity.class, MONGO_COLLECTION_USERS);
-        alertEntities.addAll(documents);
-        return alertEntities;
+    public List<IdName> getMemberNames(String cursor, int offset, int limit) {
+        return mongoListing.findIdNameSlice(new Query(), cursor, offset, limit, false, MONGO_COLLECTION_USERS);
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.dair.cais.member;
 
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_USERS;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -7,9 +9,16 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+import com.dair.cais.bulk.MongoBulkWriter;
+import com.dair.cais.config.AuthListingConfig;
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisIllegalArgumentException;
 import com.dair.exception.CaisNotFoundException;
@@ -24,6 +33,10 @@ public class MemberService {
    private MemberMapper memberMapper;
    @Autowired
    private MemberRepository memberRepository;
+   @Autowired
+   private MongoBulkWriter bulkWriter;
+   @Autowired
+   private AuthListingConfig listingConfig;
 
    public Member createMember(Member member) {
       MemberEntity upsertedMember = memberRepository.createUpsertMember(memberMapper.toEntity(member));
@@ -51,23 +64,32 @@ public class MemberService {
       return memberMapper.toModel(memberById);
    }
 
-   public Map<String, Object> getAllMembers(String name, @Valid int limit,
-         @Valid int offset) {
-      validateRequestParams(name, offset,
-            limit);
+   /**
+    * One page of members in id order; pass the previous response's {@code nextCursor} as {@code cursor} for the
+    * next page. With {@code namesOnly} only ids and names are read.
+    */
+   public Map<String, Object> getAllMembers(String name,
+         String cursor, @Valid int limit, @Valid int offset, boolean namesOnly) {
+      validateRequestParams(name, cursor, offset, limit);
 
       try {
+         Map<String, Object> response = new HashMap<>();
+         if (namesOnly) {
+            List<IdName> names = memberRepository.getMemberNames(cursor, offset, limit + 1);
+            MongoListing.putPage(response, "members", names, limit, IdName::id);
+            return response;
+         }
 
-         List<MemberEntity> allMemberEntities = memberRepository.getAllMembers(name, offset, limit);
+         List<MemberEntity> allMemberEntities = memberRepository.getAllMembers(name,
+               cursor, offset, limit + 1);
 
          List<Member> allMembers = allMemberEntities.stream().map(a -> memberMapper.toModel(a))
                .collect(Collectors.toList());
 
-         Map<String, Object> response = new HashMap<>();
-         response.put("members", allMembers);
-         response.put("count", allMembers.size());
+         MongoListing.putPage(response, "members", allMembers, limit, Member::getId);
          return response;
       } catch (Exception e) {
+         log.error("Error retrieving members", e);
          throw new CaisBaseException("Error retrieving members");
       }
    }
@@ -77,7 +99,15 @@ public class MemberService {
       return createdMembers;
    }
 
-   private void validateRequestParams(String name, int offset, int limit) {
+   /**
+    * Creates or upserts members with unordered bulk writes and reports the outcome of every item.
+    */
+   public BulkWriteResponse bulkWriteMembers(List<Member> members, BulkWriteMode mode) {
+      return bulkWriter.write(members, mode, this::validateBulkMember, memberMapper::toEntity, MemberEntity.class,
+            MONGO_COLLECTION_USERS);
+   }
+
+   private void validateRequestParams(String name, String cursor, int offset, int limit) {
       StringBuilder errorMessage = new StringBuilder();
 
       if (name != null && !name.isEmpty()) {
@@ -86,8 +116,11 @@ public class MemberService {
          }
       }
 
-      if (limit < 0) {
-         errorMessage.append("limit cannot be negative;");
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         errorMessage.append("limit must be between 1 and " + listingConfig.getMaxPageSize() + ";");
+      }
+      if (cursor != null && !cursor.isBlank() && !ObjectId.isValid(cursor)) {
+         errorMessage.append("cursor is not valid;");
       }
       if (offset < 0) {
          errorMessage.append("offset cannot be negative;");
@@ -99,4 +132,17 @@ public class MemberService {
       throw new CaisIllegalArgumentException(errorMessage.toString());
    }
 
+   private String validateBulkMember(Member member) {
+      if (member.getName() == null || member.getName().isBlank()) {
+         return "name is required";
+      }
+      if (member.getUsername() == null || member.getUsername().isBlank()) {
+         return "username is required";
+      }
+      if (member.getEmail() != null && !member.getEmail().contains("@")) {
+         return "email is not a valid address";
+      }
+      return null;
+   }
+
 }
@@ -17,6 +17,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -56,6 +59,19 @@ public class PermissionController {
       return ResponseEntity.ok().body(createdPermissions);
    }
 
+   @PostMapping("/bulk/create")
+   @Operation(summary = "Create bulk permissions with unordered batched writes; returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkCreatePermissions(@RequestBody List<Permission> permissions) {
+      return ResponseEntity.ok().body(permissionService.bulkWritePermissions(permissions, BulkWriteMode.CREATE));
+   }
+
+   @PostMapping("/bulk/upsert")
+   @Operation(summary = "Create or replace bulk permissions by id with unordered batched writes; "
+         + "returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkUpsertPermissions(@RequestBody List<Permission> permissions) {
+      return ResponseEntity.ok().body(permissionService.bulkWritePermissions(permissions, BulkWriteMode.UPSERT));
+   }
+
    @GetMapping("{permissionId}")
    @Operation(summary = "Get a permission by its id")
    public ResponseEntity<Permission> getPermissionById(@PathVariable final String permissionId) {
@@ -71,14 +87,17 @@ public class PermissionController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all permissions; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all permissions in id order; pass nextCursor from the previous response as cursor for the next page, "
+         + "namesOnly for just ids and names")
    public ResponseEntity<Map<String, Object>> getAllPermissions(
          @RequestParam(name = "alertType", required = false) String alertType,
          @RequestParam(name = "role", required = false) String role,
          @RequestParam(name = "businessUnit", required = false) String businessUnit,
+         @RequestParam(required = false) String cursor,
          @Valid @RequestParam(defaultValue = "10") int limit,
-         @Valid @RequestParam(defaultValue = "0") int offset) {
+         @Valid @RequestParam(defaultValue = "0") int offset,
+         @RequestParam(required = false) boolean namesOnly) {
       return ResponseEntity.ok()
-            .body(permissionService.getAllPermissions(alertType, role, businessUnit, limit, offset));
+            .body(permissionService.getAllPermissions(alertType, role, businessUnit, cursor, limit, offset, namesOnly));
    }
 }
\ No newline at end of file
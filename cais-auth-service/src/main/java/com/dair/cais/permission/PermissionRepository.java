@@ -2,10 +2,8 @@ package com.dair.cais.permission;
 
 import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_PERMISSIONS;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +14,18 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
+import com.dair.util.PatchFields;
 
 @Repository
 public class PermissionRepository {
 
     @Autowired
     private MongoTemplate mongoTemplate;
+    @Autowired
+    private MongoListing mongoListing;
 
     public PermissionEntity createUpsertPermission(PermissionEntity alertEntity) {
         PermissionEntity alEntity = mongoTemplate.save(alertEntity, MONGO_COLLECTION_PERMISSIONS);
@@ -33,21 +36,7 @@ public class PermissionRepository {
 
         Update update = new Update();
 
-        for (Field field : alertEntity.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            Optional<Object> fieldValue;
-            try {
-                fieldValue = Optional.ofNullable(field.get(alertEntity));
-                if (fieldValue.isPresent()
-                        && field.getName() != "serialVersionUID"
-                        && field.getName() != "id") {
-                    System.out.println(field.getName() + ": " + fieldValue.get());
-                    update.set(field.getName(), fieldValue.get());
-                }
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
+        PatchFields.forEachNonNull(alertEntity, update::set);
 
         Query query = new Query(Criteria.where("id").is(alertEntity.getId()));
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
@@ -76,32 +65,41 @@ public class PermissionRepository {
         return permissionEntity;
     }
 
-    public List<PermissionEntity> getAllPermissions(String alertType, String role, String businessUnit, int offset,
-            int limit) {
+    public List<PermissionEntity> getAllPermissions(String alertType, String role, String businessUnit,
+            String cursor, int offset, int limit) {
+        Query query = filterQuery(alertType, role, businessUnit);
+        return mongoListing.findSlice(query, cursor, offset, limit, !query.getQueryObject().isEmpty(),
+                PermissionEntity.class, MONGO_COLLECTION_PERMISSIONS);
+    }
+
+    public List<IdName> getPermissionNames(String alertType, String role, String businessUnit, String cursor,
+            int offset, int limit) {
+        Query query = filterQuery(alertType, role, businessUnit);
+        return mongoListing.findIdNameSlice(query, cursor, offset, limit, !query.getQueryObject().isEmpty(),
+                MONGO_COLLECTION_PERMISSIONS);
+    }
+
+    /**
+     * Equality on the array fields, case-insensitive through the listing collation rather than an anchored regex,
+     * so each filter is served by its {@code (field, _id)} index.
+     */
+    private Query filterQuery(String alertType, String role, String businessUnit) {
         final Query query = new Query();
         final List<Criteria> criteria = new ArrayList<>();
 
         if (alertType != null && !alertType.isBlank()) {
-            String alertTypeRegex = "^" + alertType + "$";
-            criteria.add(Criteria.where("alertTypes").regex(alertTypeRegex, "i"));
+            criteria.add(Criteria.where("alertTypes").is(alertType));
         }
         if (role != null && !role.isBlank()) {
-            String roleRegex = "^" + role + "$";
-            criteria.add(Criteria.where("roles").regex(roleRegex, "i"));
+            criteria.add(Criteria.where("roles").is(role));
         }
         if (businessUnit != null && !businessUnit.isBlank()) {
-            String businessUnitRegex = "^" + businessUnit + "$";
-            criteria.add(Criteria.where("businessUnits").regex(businessUnitRegex, "i"));
+            criteria.add(Criteria.where("businessUnits").is(businessUnit));
         }
 
         if (!criteria.isEmpty())
             query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[criteria.size()])));
-
-        List<PermissionEntity> alertEntities = new ArrayList<>();
-        List<PermissionEntity> documents = mongoTemplate.find(query, PermissionEntity.class,
-                MONGO_COLLECTION_PERMISSIONS);
-        alertEntities.addAll(documents);
-        return alertEntities;
+        return query;
     }
 
 }
\ No newline at end of file
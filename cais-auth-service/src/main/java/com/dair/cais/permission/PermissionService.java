@@ -1,5 +1,7 @@
 package com.dair.cais.permission;
 
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_PERMISSIONS;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -7,9 +9,16 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+import com.dair.cais.bulk.MongoBulkWriter;
+import com.dair.cais.config.AuthListingConfig;
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisIllegalArgumentException;
 import com.dair.exception.CaisNotFoundException;
@@ -24,6 +33,10 @@ public class PermissionService {
    private PermissionMapper permissionMapper;
    @Autowired
    private PermissionRepository permissionRepository;
+   @Autowired
+   private MongoBulkWriter bulkWriter;
+   @Autowired
+   private AuthListingConfig listingConfig;
 
    public Permission createPermission(Permission permission) {
       validatePermissions(permission);
@@ -55,24 +68,33 @@ public class PermissionService {
       return permissionMapper.toModel(permissionById);
    }
 
-   public Map<String, Object> getAllPermissions(String alertType, String role, String businessUnit, @Valid int limit,
-         @Valid int offset) {
-      validateRequestParams(alertType, role, businessUnit, offset, limit);
+   /**
+    * One page of permissions in id order; pass the previous response's {@code nextCursor} as {@code cursor} for the
+    * next page. With {@code namesOnly} only ids and names are read.
+    */
+   public Map<String, Object> getAllPermissions(String alertType, String role, String businessUnit,
+         String cursor, @Valid int limit, @Valid int offset, boolean namesOnly) {
+      validateRequestParams(alertType, role, businessUnit, cursor, offset, limit);
 
       try {
+         Map<String, Object> response = new HashMap<>();
+         if (namesOnly) {
+            List<IdName> names = permissionRepository.getPermissionNames(alertType, role, businessUnit, cursor, offset,
+                  limit + 1);
+            MongoListing.putPage(response, "permissions", names, limit, IdName::id);
+            return response;
+         }
 
          List<PermissionEntity> allPermissionEntities = permissionRepository.getAllPermissions(alertType, role,
-               businessUnit, offset,
-               limit);
+               businessUnit, cursor, offset, limit + 1);
 
          List<Permission> allPermissions = allPermissionEntities.stream().map(a -> permissionMapper.toModel(a))
                .collect(Collectors.toList());
 
-         Map<String, Object> response = new HashMap<>();
-         response.put("permissions", allPermissions);
-         response.put("count", allPermissions.size());
+         MongoListing.putPage(response, "permissions", allPermissions, limit, Permission::getId);
          return response;
       } catch (Exception e) {
+         log.error("Error retrieving permissions", e);
          throw new CaisBaseException("Error retrieving permissions");
       }
    }
@@ -83,7 +105,16 @@ public class PermissionService {
       return createdPermissions;
    }
 
-   private void validateRequestParams(String alertType, String role, String businessUnit, int offset, int limit) {
+   /**
+    * Creates or upserts permissions with unordered bulk writes and reports the outcome of every item.
+    */
+   public BulkWriteResponse bulkWritePermissions(List<Permission> permissions, BulkWriteMode mode) {
+      return bulkWriter.write(permissions, mode, this::validateBulkPermission, permissionMapper::toEntity,
+            PermissionEntity.class, MONGO_COLLECTION_PERMISSIONS);
+   }
+
+   private void validateRequestParams(String alertType, String role, String businessUnit, String cursor,
+         int offset, int limit) {
       StringBuilder errorMessage = new StringBuilder();
 
       if (alertType != null && !alertType.isEmpty()) {
@@ -104,8 +135,11 @@ public class PermissionService {
          }
       }
 
-      if (limit < 0) {
-         errorMessage.append("limit cannot be negative;");
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         errorMessage.append("limit must be between 1 and " + listingConfig.getMaxPageSize() + ";");
+      }
+      if (cursor != null && !cursor.isBlank() && !ObjectId.isValid(cursor)) {
+         errorMessage.append("cursor is not valid;");
       }
       if (offset < 0) {
          errorMessage.append("offset cannot be negative;");
@@ -121,4 +155,11 @@ public class PermissionService {
 
    }
 
+   private String validateBulkPermission(Permission permission) {
+      if (permission.getName() == null || permission.getName().isBlank()) {
+         return "name is required";
+      }
+      return null;
+   }
+
 }
@@ -19,6 +19,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -57,6 +60,18 @@ public class RoleController {
       return ResponseEntity.ok().body(createdRoles);
    }
 
+   @PostMapping("/bulk/create")
+   @Operation(summary = "Create bulk roles with unordered batched writes; returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkCreateRoles(@RequestBody List<Role> roles) {
+      return ResponseEntity.ok().body(roleService.bulkWriteRoles(roles, BulkWriteMode.CREATE));
+   }
+
+   @PostMapping("/bulk/upsert")
+   @Operation(summary = "Create or replace bulk roles by id with unordered batched writes; returns a result per item")
+   public ResponseEntity<BulkWriteResponse> bulkUpsertRoles(@RequestBody List<Role> roles) {
+      return ResponseEntity.ok().body(roleService.bulkWriteRoles(roles, BulkWriteMode.UPSERT));
+   }
+
    @GetMapping("{roleId}")
    @Operation(summary = "Get a role by its id")
    public ResponseEntity<Role> getRoleById(@PathVariable final String roleId) {
@@ -72,15 +87,18 @@ public class RoleController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all roles; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all roles in id order; pass nextCursor from the previous response as cursor for the next page, "
+         + "namesOnly for just ids and names")
    public ResponseEntity<Map<String, Object>> getAllRoles(
          @RequestParam(required = false) String name,
          @RequestParam(required = false, name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date createdDateFrom,
          @RequestParam(required = false, name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date createdDateTo,
+         @RequestParam(required = false) String cursor,
          @Valid @RequestParam(defaultValue = "10") int limit,
-         @Valid @RequestParam(defaultValue = "0") int offset) {
+         @Valid @RequestParam(defaultValue = "0") int offset,
+         @RequestParam(required = false) boolean namesOnly) {
       return ResponseEntity.ok()
             .body(roleService.getAllRoles(name,
-                  createdDateFrom, createdDateTo, limit, offset));
+                  createdDateFrom, createdDateTo, cursor, limit, offset, namesOnly));
    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.dair.cais.role;
 
+import com.dair.cais.bulk.BulkIdentifiable;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.io.Serializable;
 import java.util.Date;
@@ -13,7 +14,7 @@ import org.springframework.data.mongodb.core.mapping.MongoId;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class RoleEntity implements Serializable {
+public class RoleEntity implements Serializable, BulkIdentifiable {
 
     private static final long serialVersionUID = 1L;
 
@@ -1,5 +1,7 @@
 package com.dair.cais.role;
 
+import static com.dair.cais.config.CaisAuthConstants.MONGO_COLLECTION_ROLES;
+
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -8,9 +10,16 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.dair.cais.bulk.BulkWriteMode;
+import com.dair.cais.bulk.BulkWriteResponse;
+import com.dair.cais.bulk.MongoBulkWriter;
+import com.dair.cais.config.AuthListingConfig;
+import com.dair.cais.listing.IdName;
+import com.dair.cais.listing.MongoListing;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisIllegalArgumentException;
 import com.dair.exception.CaisNotFoundException;
@@ -25,6 +34,10 @@ public class RoleService {
    private RoleMapper roleMapper;
    @Autowired
    private RoleRepository roleRepository;
+   @Autowired
+   private MongoBulkWriter bulkWriter;
+   @Autowired
+   private AuthListingConfig listingConfig;
 
    public Role createRole(Role role) {
       RoleEntity upsertedRole = roleRepository.createUpsertRole(roleMapper.toEntity(role));
@@ -52,24 +65,32 @@ public class RoleService {
       return roleMapper.toModel(roleById);
    }
 
-   public Map<String, Object> getAllRoles(String name, Date createdDateFrom, Date createdDateTo, @Valid int limit,
-         @Valid int offset) {
-      validateRequestParams(name, createdDateFrom, createdDateTo, offset,
-            limit);
+   /**
+    * One page of roles in id order; pass the previous response's {@code nextCursor} as {@code cursor} for the
+    * next page. With {@code namesOnly} only ids and names are read.
+    */
+   public Map<String, Object> getAllRoles(String name, Date createdDateFrom, Date createdDateTo,
+         String cursor, @Valid int limit, @Valid int offset, boolean namesOnly) {
+      validateRequestParams(name, createdDateFrom, createdDateTo, cursor, offset, limit);
 
       try {
+         Map<String, Object> response = new HashMap<>();
+         if (namesOnly) {
+            List<IdName> names = roleRepository.getRoleNames(createdDateFrom, createdDateTo, cursor, offset, limit + 1);
+            MongoListing.putPage(response, "roles", names, limit, IdName::id);
+            return response;
+         }
 
-         List<RoleEntity> allRoleEntities = roleRepository.getAllRoles(name,
-               createdDateFrom, createdDateTo, offset, limit);
+         List<RoleEntity> allRoleEntities = roleRepository.getAllRoles(name, createdDateFrom, createdDateTo,
+               cursor, offset, limit + 1);
 
          List<Role> allRoles = allRoleEntities.stream().map(a -> roleMapper.toModel(a))
                .collect(Collectors.toList());
 
-         Map<String, Object> response = new HashMap<>();
-         response.put("roles", allRoles);
-         response.put("count", allRoles.size());
+         MongoListing.putPage(response, "roles", allRoles, limit, Role::getId);
          return response;
       } catch (Exception e) {
+         log.error("Error retrieving roles", e);
          throw new CaisBaseException("Error retrieving roles");
       }
    }
@@ -79,7 +100,16 @@ public class RoleService {
       return createdRoles;
    }
 
-   private void validateRequestParams(String name, Date createdDateFrom, Date createdDateTo, int offset, int limit) {
+   /**
+    * Creates or upserts roles with unordered bulk writes and reports the outcome of every item.
+    */
+   public BulkWriteResponse bulkWriteRoles(List<Role> roles, BulkWriteMode mode) {
+      return bulkWriter.write(roles, mode, this::validateBulkRole, roleMapper::toEntity, RoleEntity.class,
+            MONGO_COLLECTION_ROLES);
+   }
+
+   private void validateRequestParams(String name, Date createdDateFrom, Date createdDateTo, String cursor,
+         int offset, int limit) {
       StringBuilder errorMessage = new StringBuilder();
 
       if (name != null && !name.isEmpty()) {
@@ -94,8 +124,11 @@ public class RoleService {
          }
       }
 
-      if (limit < 0) {
-         errorMessage.append("limit cannot be negative;");
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         errorMessage.append("limit must be between 1 and " + listingConfig.getMaxPageSize() + ";");
+      }
+      if (cursor != null && !cursor.isBlank() && !ObjectId.isValid(cursor)) {
+         errorMessage.append("cursor is not valid;");
       }
       if (offset < 0) {
          errorMessage.append("offset cannot be negative;");
@@ -107,4 +140,11 @@ public class RoleService {
       throw new CaisIllegalArgumentException(errorMessage.toString());
    }
 
+   private String validateBulkRole(Role role) {
+      if (role.getName() == null || role.getName().isBlank()) {
+         return "name is required";
+      }
+      return null;
+   }
+
 }
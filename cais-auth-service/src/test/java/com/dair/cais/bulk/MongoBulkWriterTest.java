@@ -0,0 +1,202 @@
+package com.dair.cais.bulk;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.dair.cais.config.BulkWriteConfig;
+import com.dair.exception.CaisIllegalArgumentException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MongoBulkWriterTest {
+
+    private static final String COLLECTION = "items";
+    private static final String ID_1 = "65f0c0ffee0000000000a001";
+    private static final String ID_2 = "65f0c0ffee0000000000a002";
+    private static final String ID_3 = "65f0c0ffee0000000000a003";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulk;
+    @Spy
+    private BulkWriteConfig bulkWriteConfig = new BulkWriteConfig();
+    @InjectMocks
+    private MongoBulkWriter writer;
+
+    private final Function<Item, String> validator = item -> item.name() == null ? "name is required" : null;
+    private final Function<Item, Entity> mapper = item -> new Entity(item.id());
+
+    @BeforeEach
+    void setUp() {
+        // lenient: requests rejected up front never open a bulk operation
+        lenient().when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Entity.class),
+                eq(COLLECTION))).thenReturn(bulk);
+    }
+
+    @Test
+    void createAssignsIdsAndReportsEveryItemCreated() {
+        BulkWriteResult result = result();
+        when(bulk.execute()).thenReturn(result);
+
+        BulkWriteResponse response = write(BulkWriteMode.CREATE, new Item(null, "a"), new Item(null, "b"));
+
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getItems()).extracting(BulkItemResult::getStatus)
+                .containsExactly(BulkItemResult.Status.CREATED, BulkItemResult.Status.CREATED);
+        assertThat(response.getItems()).allSatisfy(item -> assertThat(ObjectId.isValid(item.getId())).isTrue());
+    }
+
+    @Test
+    void upsertTellsInsertedFromReplacedByTheUpsertIndexes() {
+        BulkWriteResult result = result(0);
+        when(bulk.execute()).thenReturn(result);
+
+        BulkWriteResponse response = write(BulkWriteMode.UPSERT,
+                new Item(ID_1, "a"), new Item(ID_2, "b"), new Item(null, "c"));
+
+        assertThat(response.getItems()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.UPDATED, BulkItemResult.Status.CREATED);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getUpdated()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedItemsDoNotShiftTheResultsOfTheWrittenOnes() {
+        // Bulk index 0 is request item 2: items 0 and 1 are rejected and never sent
+        BulkWriteResult result = result(0);
+        when(bulk.execute()).thenReturn(result);
+
+        BulkWriteResponse response = write(BulkWriteMode.UPSERT,
+                new Item(ID_1, null), new Item("not-an-object-id", "b"), new Item(ID_2, "c"), new Item(ID_3, "d"),
+                new Item(ID_2.toUpperCase(), "e"));
+
+        assertThat(response.getItems()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.CREATED,
+                BulkItemResult.Status.UPDATED, BulkItemResult.Status.REJECTED);
+        assertThat(response.getItems()).extracting(BulkItemResult::getError).containsExactly(
+                "name is required", "id is not a valid ObjectId", null, null,
+                "id appears more than once in the request");
+        assertThat(response.getItems()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getRejected()).isEqualTo(3);
+    }
+
+    @Test
+    void itemErrorsFailOnlyTheirItems() {
+        BulkWriteResult result = result();
+        BulkOperationException exception = mock(BulkOperationException.class);
+        when(exception.getResult()).thenReturn(result);
+        when(exception.getErrors()).thenReturn(List.of(
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument("id", new BsonString(ID_2)), 1)));
+        when(bulk.execute()).thenThrow(exception);
+
+        BulkWriteResponse response = write(BulkWriteMode.CREATE,
+                new Item(ID_1, "a"), new Item(ID_2, "b"), new Item(ID_3, "c"));
+
+        assertThat(response.getItems()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.FAILED, BulkItemResult.Status.CREATED);
+        assertThat(response.getItems().get(1).getId()).isEqualTo(ID_2);
+        assertThat(response.getItems().get(1).getError()).isEqualTo("E11000 duplicate key");
+        assertThat(response.getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedBatchFailsOnlyItsOwnItems() {
+        bulkWriteConfig.setBatchSize(2);
+        BulkWriteResult result = result();
+        when(bulk.execute())
+                .thenThrow(new DataAccessResourceFailureException("connection reset"))
+                .thenReturn(result);
+
+        BulkWriteResponse response = write(BulkWriteMode.CREATE,
+                new Item(ID_1, "a"), new Item(ID_2, "b"), new Item(ID_3, "c"));
+
+        assertThat(response.getItems()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.FAILED, BulkItemResult.Status.FAILED, BulkItemResult.Status.CREATED);
+        assertThat(response.getItems()).extracting(BulkItemResult::getError)
+                .containsExactly("connection reset", "connection reset", null);
+        assertThat(response.getItems()).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void aBatchWithNothingValidIsNotSent() {
+        BulkWriteResponse response = write(BulkWriteMode.CREATE, new Item(null, null), null);
+
+        assertThat(response.getItems()).extracting(BulkItemResult::getError)
+                .containsExactly("name is required", "item cannot be null");
+        assertThat(response.getRejected()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        bulkWriteConfig.setMaxItems(1);
+
+        assertThatThrownBy(() -> writer.write(List.of(), BulkWriteMode.CREATE, validator, mapper, Entity.class,
+                COLLECTION))
+                .isInstanceOf(CaisIllegalArgumentException.class)
+                .hasMessage("request must contain at least one item");
+        assertThatThrownBy(() -> write(BulkWriteMode.CREATE, new Item(null, "a"), new Item(null, "b")))
+                .isInstanceOf(CaisIllegalArgumentException.class)
+                .hasMessage("request cannot contain more than 1 items");
+    }
+
+    private BulkWriteResponse write(BulkWriteMode mode, Item... items) {
+        return writer.write(Arrays.asList(items), mode, validator, mapper, Entity.class, COLLECTION);
+    }
+
+    private static BulkWriteResult result(int... upsertIndexes) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getUpserts()).thenReturn(Arrays.stream(upsertIndexes)
+                .mapToObj(index -> new BulkWriteUpsert(index, new BsonString("upserted")))
+                .toList());
+        return result;
+    }
+
+    private record Item(String id, String name) {
+    }
+
+    private static final class Entity implements BulkIdentifiable {
+
+        private String id;
+
+        Entity(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -2,4 +2,21 @@ package com.dair.util;
 
 public final class CaisBaseUtils {
 
+    private CaisBaseUtils() {
+    }
+
+    /**
+     * LIKE/ILIKE pattern matching {@code text} anywhere, with the wildcards in {@code text} taken literally.
+     */
+    public static String containsPattern(String text) {
+        StringBuilder pattern = new StringBuilder(text.length() + 2).append('%');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
 }
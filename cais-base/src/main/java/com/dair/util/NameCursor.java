@@ -0,0 +1,43 @@
+package com.dair.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.dair.exception.CaisBadRequestException;
+
+/**
+ * Position in a listing ordered by {@code (COALESCE(name, ''), id)}: the sort key and id of the last row returned.
+ * Encoded as an opaque URL-safe string for clients.
+ */
+public record NameCursor(String name, String id) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public static NameCursor after(String name, String id) {
+        return new NameCursor(name == null ? "" : name, id);
+    }
+
+    public String encode() {
+        String raw = name + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a missing cursor, i.e. the first page.
+     */
+    public static NameCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new NameCursor(raw.substring(0, separator), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CaisBadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
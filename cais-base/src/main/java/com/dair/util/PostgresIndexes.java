@@ -0,0 +1,109 @@
+package com.dair.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds PostgreSQL indexes with {@code CREATE INDEX CONCURRENTLY}, so large tables stay writable meanwhile.
+ * <p>
+ * A concurrent build that fails leaves an INVALID index behind under the requested name, which
+ * {@code IF NOT EXISTS} would skip on every later start. Each index is therefore looked up in {@code pg_index}
+ * first: a valid index is left alone, an invalid one is dropped and built again.
+ */
+@Slf4j
+public final class PostgresIndexes {
+
+    private static final String VALIDITY = "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)";
+
+    /**
+     * One index, e.g. {@code index("ix_trades_name", "ON trades (name)")}. Qualify the name, e.g.
+     * {@code "info_alert.ix_cm_alerts_id"}, when the table is outside the search path; the index is always created
+     * in its table's schema.
+     *
+     * @param definition everything after the index name in {@code CREATE INDEX}
+     */
+    public record Index(String name, String definition) {
+    }
+
+    private PostgresIndexes() {
+    }
+
+    public static Index index(String name, String definition) {
+        return new Index(name, definition);
+    }
+
+    /**
+     * Runs {@code statements} (e.g. {@code CREATE EXTENSION}) and then builds every missing or invalid index.
+     * Failures are logged and skipped, so one index that cannot be built does not stop the others.
+     *
+     * @param label names the indexes in log messages, e.g. "trade listing"
+     * @return the number of statements and indexes that failed
+     */
+    public static int ensure(DataSource dataSource, String label, List<String> statements, List<Index> indexes) {
+        int failures = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            // CONCURRENTLY cannot run inside a transaction block
+            connection.setAutoCommit(true);
+            for (String sql : statements) {
+                try {
+                    execute(connection, sql);
+                } catch (SQLException e) {
+                    failures++;
+                    log.warn("Could not run {} index prerequisite '{}': {}", label, sql, e.getMessage());
+                }
+            }
+            for (Index index : indexes) {
+                try {
+                    ensure(connection, index);
+                } catch (SQLException e) {
+                    failures++;
+                    log.warn("Could not ensure {} index {}: {}", label, index.name(), e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Could not ensure {} indexes: {}", label, e.getMessage());
+            return statements.size() + indexes.size();
+        }
+        log.info("{} indexes ensured ({} failed)", label, failures);
+        return failures;
+    }
+
+    private static void ensure(Connection connection, Index index) throws SQLException {
+        Boolean valid = validity(connection, index.name());
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            log.warn("Index {} is invalid, probably from an interrupted build; rebuilding it", index.name());
+            execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+        }
+        String unqualified = index.name().substring(index.name().lastIndexOf('.') + 1);
+        execute(connection, "CREATE INDEX CONCURRENTLY " + unqualified + " " + index.definition());
+    }
+
+    /**
+     * {@code null} when no index of that name exists.
+     */
+    private static Boolean validity(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(VALIDITY)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
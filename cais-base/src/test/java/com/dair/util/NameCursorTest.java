@@ -0,0 +1,46 @@
+package com.dair.util;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.dair.exception.CaisBadRequestException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NameCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        NameCursor cursor = NameCursor.after("Öl & Gas | 50/50", "T-100");
+
+        assertThat(NameCursor.decode(cursor.encode())).isEqualTo(new NameCursor("Öl & Gas | 50/50", "T-100"));
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void nullNameSortsAsEmpty() {
+        NameCursor cursor = NameCursor.after(null, "42");
+
+        assertThat(cursor.name()).isEmpty();
+        assertThat(NameCursor.decode(cursor.encode())).isEqualTo(new NameCursor("", "42"));
+    }
+
+    @Test
+    void missingCursorIsTheFirstPage() {
+        assertThat(NameCursor.decode(null)).isNull();
+        assertThat(NameCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        String withoutSeparator = Base64.getUrlEncoder().encodeToString("name-only".getBytes());
+
+        for (String cursor : new String[]{"%%%", withoutSeparator}) {
+            assertThatThrownBy(() -> NameCursor.decode(cursor))
+                    .isInstanceOf(CaisBadRequestException.class)
+                    .hasMessage("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.dair.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatchFieldsTest {
+
+    @SuppressWarnings("unused")
+    private static class Patch {
+        private static final String CONSTANT = "ignored";
+        private String id;
+        private String name;
+        private Integer score;
+        private Boolean active;
+        private int attempts;
+    }
+
+    private static class ExtendedPatch extends Patch {
+        private String owner;
+    }
+
+    @Test
+    void passesEveryNonNullField() {
+        Patch patch = new Patch();
+        patch.name = "alert";
+        patch.active = Boolean.FALSE;
+
+        assertThat(collect(patch))
+                .containsOnly(Map.entry("name", "alert"), Map.entry("active", false), Map.entry("attempts", 0));
+    }
+
+    @Test
+    void skipsIdAndStaticFields() {
+        Patch patch = new Patch();
+        patch.id = "A-1";
+        patch.score = 7;
+
+        assertThat(collect(patch)).containsOnlyKeys("score", "attempts");
+    }
+
+    @Test
+    void readsOnlyFieldsDeclaredOnTheRuntimeClass() {
+        ExtendedPatch patch = new ExtendedPatch();
+        patch.owner = "ops";
+
+        assertThat(collect(patch)).containsOnly(Map.entry("owner", "ops"));
+    }
+
+    @Test
+    void buildsTheAccessorsOfAClassOnce() {
+        Patch first = new Patch();
+        first.name = "first";
+        Patch second = new Patch();
+        second.score = 3;
+
+        collect(first);
+        List<?> accessors = PatchFields.accessors(Patch.class);
+        collect(second);
+
+        assertThat(PatchFields.accessors(Patch.class)).isSameAs(accessors).hasSize(4);
+        assertThat(PatchFields.accessors(ExtendedPatch.class)).isNotSameAs(accessors).hasSize(1);
+    }
+
+    private Map<String, Object> collect(Object source) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        PatchFields.forEachNonNull(source, fields::put);
+        return fields;
+    }
+}
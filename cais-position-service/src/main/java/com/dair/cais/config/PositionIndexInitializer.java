@@ -0,0 +1,45 @@
+package com.dair.cais.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dair.util.PostgresIndexes;
+
+import static com.dair.util.PostgresIndexes.index;
+
+/**
+ * Creates the indexes behind the positions listing when the application starts: a btree on the keyset order
+ * {@code (COALESCE(name, ''), id)} and a trigram GIN index that serves {@code name ILIKE '%...%'}. Also indexes
+ * the exposure rollup by absolute value. See {@link PostgresIndexes} for how builds are run and repaired.
+ * Disable with {@code position.listing.ensure-indexes} where schema changes are managed by DBAs.
+ */
+@Component
+public class PositionIndexInitializer {
+
+   // Without pg_trgm name search still works, it just scans
+   private static final List<String> PREREQUISITES = List.of("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+
+   private static final List<PostgresIndexes.Index> INDEXES = List.of(
+         index("ix_cais_positions_name_keyset", "ON cais_positions ((COALESCE(name, '')), id)"),
+         index("ix_cais_positions_name_trgm", "ON cais_positions USING gin (name gin_trgm_ops)"),
+         // Largest exposures first within a dimension
+         index("ix_cais_position_exposure_value", "ON cais_position_exposure (dimension, (ABS(total_value)) DESC)"));
+
+   @Autowired
+   private DataSource dataSource;
+   @Autowired
+   private PositionListingConfig config;
+
+   @EventListener(ApplicationReadyEvent.class)
+   public void ensureIndexes() {
+      if (config.isEnsureIndexes()) {
+         PostgresIndexes.ensure(dataSource, "Position listing", PREREQUISITES, INDEXES);
+      }
+   }
+}
@@ -0,0 +1,23 @@
+package com.dair.cais.config;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Configuration
+@ConfigurationProperties(prefix = "position.listing")
+@Data
+@Validated
+public class PositionListingConfig {
+   @Min(1)
+   @Max(1000)
+   private int maxPageSize = 200;
+
+   /** Create the keyset and trigram indexes at startup; disable where DBAs manage the schema. */
+   private boolean ensureIndexes = true;
+}
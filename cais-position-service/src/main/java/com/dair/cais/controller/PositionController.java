@@ -54,12 +54,14 @@ public class PositionController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all positions; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all positions ordered by name; pass nextCursor from the previous response as cursor for the next page, "
+         + "name for a case-insensitive substring search")
    public ResponseEntity<Map<String, Object>> getAllPositions(@RequestParam(required = false) String name,
+         @RequestParam(required = false) String cursor,
          @Valid @RequestParam(defaultValue = "0") int offset,
          @Valid @RequestParam(defaultValue = "10") int limit,
          @RequestParam(required = false) boolean favourite,
          @RequestParam(required = false) boolean recent) {
-      return ResponseEntity.ok().body(positionService.getAllPositions(name, offset, limit, favourite, recent));
+      return ResponseEntity.ok().body(positionService.getAllPositions(name, cursor, offset, limit, favourite, recent));
    }
 }
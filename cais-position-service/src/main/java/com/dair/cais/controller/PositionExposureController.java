@@ -0,0 +1,47 @@
+package com.dair.cais.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dair.cais.model.ExposureDimension;
+import com.dair.cais.model.PositionExposure;
+import com.dair.cais.service.PositionExposureService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/positions/exposure")
+@Tag(name = "positions")
+
+public class PositionExposureController {
+
+   @Autowired
+   private PositionExposureService positionExposureService;
+
+   @GetMapping("")
+   @Operation(summary = "Get exposure grouped by account, product or sector, split by long/short and currency; "
+         + "largest absolute value first")
+   public ResponseEntity<List<PositionExposure>> getExposure(@RequestParam(defaultValue = "account") String groupBy,
+         @RequestParam(required = false) String key,
+         @RequestParam(required = false) String longShortCd,
+         @RequestParam(required = false) String currencyCd,
+         @RequestParam(defaultValue = "50") int limit) {
+      return ResponseEntity.ok().body(positionExposureService.getExposure(ExposureDimension.of(groupBy), key,
+            longShortCd, currencyCd, limit));
+   }
+
+   @PostMapping("/rebuild")
+   @Operation(summary = "Backfill numeric position columns and recompute the exposure rollup from all positions")
+   public ResponseEntity<Map<String, Object>> rebuildExposure() {
+      return ResponseEntity.ok().body(positionExposureService.rebuild());
+   }
+}
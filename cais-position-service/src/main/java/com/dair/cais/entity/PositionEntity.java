@@ -1,11 +1,13 @@
 package com.dair.cais.entity;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.Map;
 
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -36,6 +38,14 @@ public class PositionEntity implements Serializable {
     private String sectorCd;
     private String symbol;
 
+    // Numeric copies of quantity, baseCurrPrice and baseCurrValue, set on write and null when the text is not a number
+    @Column(precision = 38, scale = 10)
+    private BigDecimal quantityAmount;
+    @Column(precision = 38, scale = 10)
+    private BigDecimal baseCurrPriceAmount;
+    @Column(precision = 38, scale = 10)
+    private BigDecimal baseCurrValueAmount;
+
     @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> customFields;
 }
\ No newline at end of file
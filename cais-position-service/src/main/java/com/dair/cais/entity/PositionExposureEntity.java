@@ -0,0 +1,30 @@
+package com.dair.cais.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Running totals of positions per dimension value (account, product or sector), long/short and currency.
+ * Maintained by {@code PositionExposureService} in the same transaction as each position write.
+ */
+@Data
+@Entity
+@Table(name = "cais_position_exposure")
+public class PositionExposureEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    @EmbeddedId
+    private PositionExposureKey id;
+
+    private long positionCount;
+    @Column(precision = 38, scale = 10)
+    private BigDecimal totalQuantity;
+    @Column(precision = 38, scale = 10)
+    private BigDecimal totalValue;
+}
@@ -0,0 +1,24 @@
+package com.dair.cais.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Grain of the exposure rollup. Missing values are stored as an empty string so they take part in the key.
+ */
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionExposureKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private String dimension;
+    private String dimKey;
+    private String longShortCd;
+    private String currencyCd;
+}
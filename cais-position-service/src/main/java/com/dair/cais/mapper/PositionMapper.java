@@ -1,5 +1,7 @@
 package com.dair.cais.mapper;
 
+import java.math.BigDecimal;
+
 import org.springframework.stereotype.Component;
 
 import com.dair.cais.entity.PositionEntity;
@@ -46,8 +48,26 @@ public class PositionMapper {
         positionEntity.setProductName(position.getProductName());
         positionEntity.setSectorCd(position.getSectorCd());
         positionEntity.setSymbol(position.getSymbol());
+        positionEntity.setQuantityAmount(toAmount(position.getQuantity()));
+        positionEntity.setBaseCurrPriceAmount(toAmount(position.getBaseCurrPrice()));
+        positionEntity.setBaseCurrValueAmount(toAmount(position.getBaseCurrValue()));
 
         return positionEntity;
     }
 
+    /**
+     * Reads a numeric text such as {@code "1,250.50"}; {@code null} when it is empty or not a number. The exposure
+     * rebuild parses legacy rows with this too, so both agree on what counts as a number.
+     */
+    public static BigDecimal toAmount(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text.trim().replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.dair.cais.model;
+
+import java.util.Locale;
+
+import com.dair.exception.CaisBadRequestException;
+
+/**
+ * Position attributes exposure is rolled up by, with the {@code cais_positions} column each one reads.
+ */
+public enum ExposureDimension {
+    ACCOUNT("account_number"),
+    PRODUCT("product_key"),
+    SECTOR("sector_cd");
+
+    private final String column;
+
+    ExposureDimension(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public static ExposureDimension of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new CaisBadRequestException("groupBy must be one of account, product, sector");
+        }
+    }
+}
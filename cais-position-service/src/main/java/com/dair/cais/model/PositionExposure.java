@@ -0,0 +1,24 @@
+package com.dair.cais.model;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PositionExposure {
+
+    private ExposureDimension dimension;
+    private String key;
+    private String longShortCd;
+    private String currencyCd;
+    private long positionCount;
+    private BigDecimal totalQuantity;
+    private BigDecimal totalValue;
+}
@@ -0,0 +1,44 @@
+package com.dair.cais.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.dair.cais.entity.PositionExposureEntity;
+import com.dair.cais.entity.PositionExposureKey;
+
+import io.swagger.v3.oas.annotations.Hidden;
+
+@Hidden
+@Repository
+public interface PositionExposureRepository extends JpaRepository<PositionExposureEntity, PositionExposureKey> {
+
+    /**
+     * Adds a signed contribution to one rollup row, creating it if needed. The upsert is atomic, so concurrent
+     * position writes never lose each other's deltas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cais_position_exposure (dimension, dim_key, long_short_cd, currency_cd, position_count, "
+            + "total_quantity, total_value) VALUES (:dimension, :dimKey, :longShortCd, :currencyCd, :count, :quantity, :value) "
+            + "ON CONFLICT (dimension, dim_key, long_short_cd, currency_cd) DO UPDATE SET "
+            + "position_count = cais_position_exposure.position_count + EXCLUDED.position_count, "
+            + "total_quantity = cais_position_exposure.total_quantity + EXCLUDED.total_quantity, "
+            + "total_value = cais_position_exposure.total_value + EXCLUDED.total_value", nativeQuery = true)
+    void applyDelta(@Param("dimension") String dimension, @Param("dimKey") String dimKey,
+            @Param("longShortCd") String longShortCd, @Param("currencyCd") String currencyCd,
+            @Param("count") long count, @Param("quantity") BigDecimal quantity, @Param("value") BigDecimal value);
+
+    @Query("SELECT e FROM PositionExposureEntity e WHERE e.id.dimension = :dimension "
+            + "AND (:dimKey IS NULL OR e.id.dimKey = :dimKey) "
+            + "AND (:longShortCd IS NULL OR e.id.longShortCd = :longShortCd) "
+            + "AND (:currencyCd IS NULL OR e.id.currencyCd = :currencyCd) "
+            + "AND e.positionCount > 0 ORDER BY ABS(e.totalValue) DESC, e.id.dimKey")
+    List<PositionExposureEntity> findExposure(@Param("dimension") String dimension, @Param("dimKey") String dimKey,
+            @Param("longShortCd") String longShortCd, @Param("currencyCd") String currencyCd, Pageable pageable);
+}
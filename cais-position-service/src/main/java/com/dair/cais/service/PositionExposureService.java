@@ -0,0 +1,295 @@
+package com.dair.cais.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dair.cais.config.PositionListingConfig;
+import com.dair.cais.entity.PositionEntity;
+import com.dair.cais.entity.PositionExposureEntity;
+import com.dair.cais.entity.PositionExposureKey;
+import com.dair.cais.mapper.PositionMapper;
+import com.dair.cais.model.ExposureDimension;
+import com.dair.cais.model.PositionExposure;
+import com.dair.cais.repository.PositionExposureRepository;
+import com.dair.exception.CaisBadRequestException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exposure by account, product and sector, split by long/short and currency.
+ * <p>
+ * Totals live in the {@code cais_position_exposure} rollup, one row per dimension value, long/short code and
+ * currency. Every position write moves its contribution from the old row to the new one inside the write's
+ * transaction, so exposure queries read a few rollup rows instead of aggregating the position table. A position's
+ * value is {@code baseCurrValue}, or quantity times price when no value is given. {@link #rebuild()} recomputes
+ * everything from the positions, e.g. after a bulk load that bypassed the service.
+ * <p>
+ * Deltas are summed per transaction and written just before commit, each rollup row once and in key order. Rollup
+ * row locks are therefore held only for the commit, and two bulk loads touching the same rows lock them in the
+ * same order instead of deadlocking.
+ */
+@Service
+@Slf4j
+public class PositionExposureService {
+
+   // Namespace of the position id advisory locks, the first key of pg_advisory_xact_lock(int, int)
+   private static final int POSITION_LOCK_NAMESPACE = 0x504f53;
+   private static final String LOCK_POSITIONS = "SELECT count(pg_advisory_xact_lock(?, hashtext(id))) "
+         + "FROM (SELECT DISTINCT id FROM unnest(?::text[]) AS ids(id) ORDER BY id) sorted";
+   private static final int BACKFILL_BATCH = 500;
+   private static final String BACKFILL_PAGE = "SELECT id, quantity, base_curr_price, base_curr_value "
+         + "FROM cais_positions "
+         + "WHERE quantity_amount IS NULL AND base_curr_price_amount IS NULL AND base_curr_value_amount IS NULL "
+         + "AND (quantity IS NOT NULL OR base_curr_price IS NOT NULL OR base_curr_value IS NOT NULL)";
+   private static final Comparator<PositionExposureKey> KEY_ORDER = Comparator
+         .comparing(PositionExposureKey::getDimension)
+         .thenComparing(PositionExposureKey::getDimKey)
+         .thenComparing(PositionExposureKey::getLongShortCd)
+         .thenComparing(PositionExposureKey::getCurrencyCd);
+
+   @Autowired
+   private PositionExposureRepository positionExposureRepository;
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+   @Autowired
+   private PositionListingConfig listingConfig;
+
+   /**
+    * What one position adds to the rollup, captured before the entity is changed.
+    */
+   public record Contribution(String accountNumber, String productKey, String sectorCd, String longShortCd,
+         String currencyCd, BigDecimal quantity, BigDecimal value) {
+
+      public static Contribution of(PositionEntity position) {
+         BigDecimal value = position.getBaseCurrValueAmount();
+         if (value == null && position.getQuantityAmount() != null && position.getBaseCurrPriceAmount() != null) {
+            value = position.getQuantityAmount().multiply(position.getBaseCurrPriceAmount());
+         }
+         return new Contribution(key(position.getAccountNumber()), key(position.getProductKey()),
+               key(position.getSectorCd()), key(position.getLongShortCd()), key(position.getBaseCurrCd()),
+               zeroIfNull(position.getQuantityAmount()), zeroIfNull(value));
+      }
+
+      String keyOf(ExposureDimension dimension) {
+         return switch (dimension) {
+            case ACCOUNT -> accountNumber;
+            case PRODUCT -> productKey;
+            case SECTOR -> sectorCd;
+         };
+      }
+   }
+
+   /**
+    * Serializes writers of these position ids until the current transaction ends. A row lock cannot do this for
+    * an id that does not exist yet, so two creates of the same new position would both see no previous
+    * contribution and count it twice. The ids are locked in sorted order, so concurrent batches cannot deadlock.
+    */
+   public void lockPositions(Collection<String> ids) {
+      if (ids.isEmpty()) {
+         return;
+      }
+      jdbcTemplate.query(LOCK_POSITIONS, statement -> {
+         statement.setInt(1, POSITION_LOCK_NAMESPACE);
+         statement.setArray(2, statement.getConnection().createArrayOf("text", ids.toArray()));
+      }, rs -> null);
+   }
+
+   /**
+    * Moves a position's contribution from {@code before} (null for a new position) to {@code after}. Must run in
+    * the transaction that writes the position, after {@link #lockPositions} for its id.
+    */
+   public void apply(Contribution before, Contribution after) {
+      if (Objects.equals(before, after)) {
+         return;
+      }
+      Map<PositionExposureKey, Delta> pending = pendingDeltas();
+      for (ExposureDimension dimension : ExposureDimension.values()) {
+         if (before != null) {
+            pending.computeIfAbsent(keyOf(dimension, before), k -> new Delta()).add(-1, before);
+         }
+         pending.computeIfAbsent(keyOf(dimension, after), k -> new Delta()).add(1, after);
+      }
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         flush(pending);
+      }
+   }
+
+   /**
+    * The deltas of the current transaction, written by a before-commit callback. Outside a transaction a fresh
+    * map is returned and the caller writes it at once.
+    */
+   @SuppressWarnings("unchecked")
+   private Map<PositionExposureKey, Delta> pendingDeltas() {
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+         return new TreeMap<>(KEY_ORDER);
+      }
+      Map<PositionExposureKey, Delta> pending =
+            (Map<PositionExposureKey, Delta>) TransactionSynchronizationManager.getResource(this);
+      if (pending == null) {
+         Map<PositionExposureKey, Delta> created = new TreeMap<>(KEY_ORDER);
+         TransactionSynchronizationManager.bindResource(this, created);
+         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+               flush(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+               TransactionSynchronizationManager.unbindResourceIfPossible(PositionExposureService.this);
+            }
+         });
+         pending = created;
+      }
+      return pending;
+   }
+
+   private void flush(Map<PositionExposureKey, Delta> pending) {
+      pending.forEach((key, delta) -> {
+         if (!delta.isZero()) {
+            positionExposureRepository.applyDelta(key.getDimension(), key.getDimKey(), key.getLongShortCd(),
+                  key.getCurrencyCd(), delta.count, delta.quantity, delta.value);
+         }
+      });
+      pending.clear();
+   }
+
+   private static PositionExposureKey keyOf(ExposureDimension dimension, Contribution contribution) {
+      return new PositionExposureKey(dimension.name(), contribution.keyOf(dimension), contribution.longShortCd(),
+            contribution.currencyCd());
+   }
+
+   /**
+    * Sum of the contributions one transaction moves into or out of a rollup row.
+    */
+   private static final class Delta {
+      private long count;
+      private BigDecimal quantity = BigDecimal.ZERO;
+      private BigDecimal value = BigDecimal.ZERO;
+
+      void add(int sign, Contribution contribution) {
+         count += sign;
+         quantity = sign < 0 ? quantity.subtract(contribution.quantity()) : quantity.add(contribution.quantity());
+         value = sign < 0 ? value.subtract(contribution.value()) : value.add(contribution.value());
+      }
+
+      boolean isZero() {
+         return count == 0 && quantity.signum() == 0 && value.signum() == 0;
+      }
+   }
+
+   @Transactional(readOnly = true)
+   public List<PositionExposure> getExposure(ExposureDimension dimension, String key, String longShortCd,
+         String currencyCd, int limit) {
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         throw new CaisBadRequestException("limit must be between 1 and " + listingConfig.getMaxPageSize());
+      }
+      return positionExposureRepository.findExposure(dimension.name(), key, longShortCd, currencyCd,
+            PageRequest.of(0, limit)).stream()
+            .map(this::toModel)
+            .collect(Collectors.toList());
+   }
+
+   /**
+    * Backfills the numeric columns of positions written before they existed and recomputes the rollup. The
+    * rollup is locked meanwhile, so position writes wait and apply their deltas on top of the new totals.
+    */
+   @Transactional
+   public Map<String, Object> rebuild() {
+      long start = System.currentTimeMillis();
+      jdbcTemplate.execute("LOCK TABLE cais_position_exposure IN EXCLUSIVE MODE");
+      int backfilled = backfillAmounts();
+
+      jdbcTemplate.execute("DELETE FROM cais_position_exposure");
+      int rows = 0;
+      for (ExposureDimension dimension : ExposureDimension.values()) {
+         rows += jdbcTemplate.update("INSERT INTO cais_position_exposure (dimension, dim_key, long_short_cd, "
+               + "currency_cd, position_count, total_quantity, total_value) "
+               + "SELECT ?, COALESCE(" + dimension.column() + ", ''), COALESCE(long_short_cd, ''), "
+               + "COALESCE(base_curr_cd, ''), COUNT(*), COALESCE(SUM(quantity_amount), 0), "
+               + "COALESCE(SUM(COALESCE(base_curr_value_amount, quantity_amount * base_curr_price_amount)), 0) "
+               + "FROM cais_positions GROUP BY 2, 3, 4", dimension.name());
+      }
+      long elapsed = System.currentTimeMillis() - start;
+      log.info("Position exposure rebuilt in {}ms: {} positions backfilled, {} rollup rows", elapsed, backfilled,
+            rows);
+
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("positionsBackfilled", backfilled);
+      result.put("rollupRows", rows);
+      result.put("elapsedMillis", elapsed);
+      return result;
+   }
+
+   /**
+    * Parses the text amounts of positions written before the numeric columns existed. The text is read here with
+    * {@link PositionMapper#toAmount}, the rule position writes use, so rebuilt and incremental totals agree.
+    * Positions are read in pages keyed by id, so the driver never holds more than one page of the legacy rows
+    * in memory however long the transaction runs.
+    */
+   private int backfillAmounts() {
+      int backfilled = 0;
+      String lastId = null;
+      List<Object[]> page;
+      do {
+         String sql = BACKFILL_PAGE + (lastId != null ? " AND id > ?" : "") + " ORDER BY id LIMIT " + BACKFILL_BATCH;
+         Object[] args = lastId != null ? new Object[] { lastId } : new Object[0];
+         page = jdbcTemplate.query(sql, (rs, rowNum) -> new Object[] {
+               PositionMapper.toAmount(rs.getString("quantity")),
+               PositionMapper.toAmount(rs.getString("base_curr_price")),
+               PositionMapper.toAmount(rs.getString("base_curr_value")),
+               rs.getString("id") }, args);
+         if (!page.isEmpty()) {
+            lastId = (String) page.get(page.size() - 1)[3];
+         }
+         // Text that does not parse leaves all three amounts null; the id cursor moves past such rows
+         backfilled += updateAmounts(page.stream()
+               .filter(row -> row[0] != null || row[1] != null || row[2] != null)
+               .collect(Collectors.toList()));
+      } while (page.size() == BACKFILL_BATCH);
+      return backfilled;
+   }
+
+   private int updateAmounts(List<Object[]> batch) {
+      if (batch.isEmpty()) {
+         return 0;
+      }
+      jdbcTemplate.batchUpdate("UPDATE cais_positions SET quantity_amount = ?, base_curr_price_amount = ?, "
+            + "base_curr_value_amount = ? WHERE id = ?", batch);
+      return batch.size();
+   }
+
+   private PositionExposure toModel(PositionExposureEntity entity) {
+      return new PositionExposure(ExposureDimension.valueOf(entity.getId().getDimension()),
+            emptyToNull(entity.getId().getDimKey()), emptyToNull(entity.getId().getLongShortCd()),
+            emptyToNull(entity.getId().getCurrencyCd()), entity.getPositionCount(), entity.getTotalQuantity(),
+            entity.getTotalValue());
+   }
+
+   private static String key(String value) {
+      return value == null ? "" : value;
+   }
+
+   private static String emptyToNull(String value) {
+      return value == null || value.isEmpty() ? null : value;
+   }
+
+   private static BigDecimal zeroIfNull(BigDecimal value) {
+      return value == null ? BigDecimal.ZERO : value;
+   }
+}
@@ -1,5 +1,6 @@
 package com.dair.cais.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,17 +11,20 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.dair.cais.config.PositionListingConfig;
 import com.dair.cais.entity.PositionEntity;
 import com.dair.cais.mapper.PositionMapper;
 import com.dair.cais.model.Position;
 import com.dair.cais.repository.PositionRepository;
+import com.dair.cais.service.PositionExposureService.Contribution;
+import com.dair.exception.CaisBadRequestException;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisNotFoundException;
+import com.dair.util.CaisBaseUtils;
+import com.dair.util.NameCursor;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,19 +36,45 @@ public class PositionService {
    private PositionMapper positionMapper;
    @Autowired
    private PositionRepository positionRepository;
+   @Autowired
+   private PositionListingConfig listingConfig;
+   @Autowired
+   private PositionExposureService positionExposureService;
 
+   @Transactional
    public Position createPosition(Position position) {
-      String extractPositionId = Objects.nonNull(position.getId()) ? position.getId() : UUID.randomUUID().toString();
-      PositionEntity positionEntityToUpsert = positionMapper.toEntity(extractPositionId, position);
-      PositionEntity upsertedPositionEntity = positionRepository.save(positionEntityToUpsert);
-      return positionMapper.toModel(upsertedPositionEntity);
+      String extractPositionId = idOf(position);
+      positionExposureService.lockPositions(List.of(extractPositionId));
+      return upsert(extractPositionId, position);
    }
 
+   @Transactional
    public List<Position> createPositions(List<Position> positions) {
-      List<Position> createdPositions = positions.stream().map(a -> createPosition(a)).collect(Collectors.toList());
+      List<String> ids = positions.stream().map(this::idOf).collect(Collectors.toList());
+      positionExposureService.lockPositions(ids);
+      List<Position> createdPositions = new ArrayList<>(positions.size());
+      for (int i = 0; i < positions.size(); i++) {
+         createdPositions.add(upsert(ids.get(i), positions.get(i)));
+      }
       return createdPositions;
    }
 
+   private String idOf(Position position) {
+      return Objects.nonNull(position.getId()) ? position.getId() : UUID.randomUUID().toString();
+   }
+
+   /**
+    * Writes one position and moves its exposure. The caller holds the position's lock, so no concurrent write
+    * of the same id can change or create it between reading its contribution and saving.
+    */
+   private Position upsert(String positionId, Position position) {
+      Contribution before = positionRepository.findById(positionId).map(Contribution::of).orElse(null);
+      PositionEntity positionEntityToUpsert = positionMapper.toEntity(positionId, position);
+      PositionEntity upsertedPositionEntity = positionRepository.save(positionEntityToUpsert);
+      positionExposureService.apply(before, Contribution.of(upsertedPositionEntity));
+      return positionMapper.toModel(upsertedPositionEntity);
+   }
+
    public Position getPositionById(final String positionId) {
       Optional<PositionEntity> positionByIdOptional = positionRepository.findById(positionId);
       if (positionByIdOptional.isPresent()) {
@@ -54,34 +84,52 @@ public class PositionService {
       }
    }
 
-   public Map<String, Object> getAllPositions(String name, int offset, int limit, boolean favourite, boolean recent) {
+   /**
+    * Lists positions ordered by name then id. With a {@code cursor} from a previous response the next page is
+    * read by keyset, which costs the same at any depth; {@code offset} is still honoured for the first request.
+    * A {@code name} matches anywhere in the position name, case-insensitively. No count query is run:
+    * {@code hasMore} tells whether another page exists.
+    */
+   public Map<String, Object> getAllPositions(String name, String cursor, int offset, int limit, boolean favourite,
+         boolean recent) {
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         throw new CaisBadRequestException("limit must be between 1 and " + listingConfig.getMaxPageSize());
+      }
+      if (offset < 0) {
+         throw new CaisBadRequestException("offset must not be negative");
+      }
+      NameCursor after = NameCursor.decode(cursor);
       try {
-
-         Page<PositionEntity> allPositionEntities = routeToJpaMethod(name, offset, limit, favourite, recent);
-         List<Position> allPosition = allPositionEntities.stream().map(a -> positionMapper.toModel(a))
-               .collect(Collectors.toList());
+         List<PositionEntity> slice = fetchSlice(name, after, offset, limit + 1);
+         boolean hasMore = slice.size() > limit;
+         List<PositionEntity> page = hasMore ? slice.subList(0, limit) : slice;
+         List<Position> allPositions = page.stream().map(a -> positionMapper.toModel(a)).collect(Collectors.toList());
 
          Map<String, Object> response = new HashMap<>();
-         response.put("positions", allPosition);
-         response.put("count", allPosition.size());
+         response.put("positions", allPositions);
+         response.put("count", allPositions.size());
+         response.put("hasMore", hasMore);
+         if (hasMore) {
+            PositionEntity last = page.get(page.size() - 1);
+            response.put("nextCursor", NameCursor.after(last.getName(), last.getId()).encode());
+         }
          return response;
       } catch (Exception e) {
+         log.error("Error retrieving positions", e);
          throw new CaisBaseException("Error retrieving positions");
       }
    }
 
-   private Page<PositionEntity> routeToJpaMethod(String name, int offset, int limit, boolean favourite,
-         boolean recent) {
-      int pageNumber = (int) (Math.floor(offset / limit) + (offset % limit));
-
-      Pageable paging = PageRequest.of(pageNumber, limit);
-      Page<PositionEntity> positionEntityPages;
+   private List<PositionEntity> fetchSlice(String name, NameCursor after, int offset, int limit) {
       if (StringUtils.isNotEmpty(name)) {
-         positionEntityPages = positionRepository.findByNameContainingIgnoreCase(name, paging);
-      } else {
-         positionEntityPages = positionRepository.findAll(paging);
+         String pattern = CaisBaseUtils.containsPattern(name);
+         return after != null
+               ? positionRepository.searchSliceAfter(pattern, after.name(), after.id(), limit)
+               : positionRepository.searchSlice(pattern, offset, limit);
       }
-      return positionEntityPages;
+      return after != null
+            ? positionRepository.findSliceAfter(after.name(), after.id(), limit)
+            : positionRepository.findSlice(offset, limit);
    }
 
 }
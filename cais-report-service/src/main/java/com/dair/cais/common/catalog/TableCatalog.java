@@ -0,0 +1,103 @@
+package com.dair.cais.common.catalog;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.dair.cais.common.repository.CustomDatabaseRepository;
+import com.dair.exception.CaisBadRequestException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Table lists per schema, read from the database once and cached for {@code report.catalog.ttl-seconds}.
+ * Concurrent requests for an expired schema wait for a single reload instead of each querying the catalog.
+ * Only schemas that exist and the current user may use are looked up, and at most
+ * {@code report.catalog.max-schemas} of them are kept, so arbitrary schema names cannot grow the cache.
+ */
+@Slf4j
+@Component
+public class TableCatalog {
+
+    private static final String ALL = "*";
+
+    private record Snapshot(List<TableInfo> tables, Instant loadedAt) {
+    }
+
+    /** One page of a schema's tables plus the number of tables that matched. */
+    public record Page(List<TableInfo> tables, int total, Instant loadedAt) {
+    }
+
+    @Autowired
+    private CustomDatabaseRepository customDatabaseRepository;
+    @Autowired
+    private TableCatalogConfig config;
+
+    private LoadingCache<String, Set<String>> schemas;
+    private LoadingCache<String, Snapshot> snapshots;
+
+    @PostConstruct
+    void init() {
+        Duration ttl = Duration.ofSeconds(config.getTtlSeconds());
+        schemas = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build(key -> Set.copyOf(customDatabaseRepository.findSchemas()));
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSchemas())
+                .expireAfterWrite(ttl)
+                .build(this::load);
+    }
+
+    /**
+     * Tables of {@code schema} in name order, optionally filtered by a case-insensitive name fragment.
+     *
+     * @throws CaisBadRequestException when the schema does not exist or cannot be used
+     */
+    public Page find(String schema, String nameFilter, int offset, int limit) {
+        if (!schemas.get(ALL).contains(schema)) {
+            throw new CaisBadRequestException("Unknown schema " + schema);
+        }
+        Snapshot snapshot = snapshots.get(schema);
+        List<TableInfo> matching = snapshot.tables();
+        if (nameFilter != null && !nameFilter.isBlank()) {
+            String fragment = nameFilter.toLowerCase(Locale.ROOT);
+            matching = matching.stream()
+                    .filter(table -> table.name().toLowerCase(Locale.ROOT).contains(fragment))
+                    .collect(Collectors.toList());
+        }
+        int from = Math.min(offset, matching.size());
+        int to = Math.min(from + limit, matching.size());
+        return new Page(List.copyOf(matching.subList(from, to)), matching.size(), snapshot.loadedAt());
+    }
+
+    /**
+     * Drops the cached list of {@code schema}, or of every schema when {@code null}. The schema names are read
+     * again either way, so a schema created since the last load becomes visible.
+     */
+    public void refresh(String schema) {
+        schemas.invalidateAll();
+        if (schema == null) {
+            snapshots.invalidateAll();
+        } else {
+            snapshots.invalidate(schema);
+        }
+        log.info("Table catalog cleared for {}", schema == null ? "all schemas" : "schema " + schema);
+    }
+
+    private Snapshot load(String schema) {
+        long start = System.currentTimeMillis();
+        List<TableInfo> tables = List.copyOf(customDatabaseRepository.findTables(schema));
+        log.info("Loaded {} tables of schema {} in {}ms", tables.size(), schema, System.currentTimeMillis() - start);
+        return new Snapshot(tables, Instant.now());
+    }
+}
@@ -0,0 +1,33 @@
+package com.dair.cais.common.catalog;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Configuration
+@ConfigurationProperties(prefix = "report.catalog")
+@Data
+@Validated
+public class TableCatalogConfig {
+    /** Schema listed when a request names none. */
+    @NotBlank
+    private String defaultSchema = "data_info";
+
+    /** How long a schema's table list is served from memory before it is read again. */
+    @Min(0)
+    private long ttlSeconds = 300;
+
+    /** Most schemas whose table lists are kept in memory at once; the least recently used are dropped. */
+    @Min(1)
+    private int maxSchemas = 100;
+
+    @Min(1)
+    @Max(5000)
+    private int maxPageSize = 500;
+}
@@ -0,0 +1,8 @@
+package com.dair.cais.common.catalog;
+
+/**
+ * A table or view in the catalog. {@code estimatedRows} is the planner's estimate from {@code pg_class.reltuples};
+ * it is {@code null} for views and for tables that have never been analyzed.
+ */
+public record TableInfo(String schema, String name, String type, Long estimatedRows) {
+}
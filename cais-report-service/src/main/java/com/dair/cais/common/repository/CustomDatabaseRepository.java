@@ -1,9 +1,12 @@
 package com.dair.cais.common.repository;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Repository;
 
+import com.dair.cais.common.catalog.TableInfo;
+
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
@@ -16,11 +19,45 @@ public class CustomDatabaseRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
-    public List<String> findAllTableNames(String schema) {
+    /**
+     * Names of the schemas the current user may use.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> findSchemas() {
+        return entityManager
+                .createNativeQuery("SELECT nspname FROM pg_namespace WHERE has_schema_privilege(oid, 'USAGE')")
+                .getResultList();
+    }
+
+    /**
+     * Tables, views and foreign tables of {@code schema} the current user can select from, with the planner's
+     * row estimate. Reads {@code pg_class} directly, which is much cheaper than {@code information_schema}.
+     */
+    @SuppressWarnings("unchecked")
+    public List<TableInfo> findTables(String schema) {
         Query query = entityManager
-                .createNativeQuery(
-                        "SELECT table_name FROM information_schema.tables WHERE table_schema = 'data_info'");
-        log.info(query.getResultList().toString());
-        return query.getResultList();
+                .createNativeQuery("SELECT c.relname, c.relkind, c.reltuples FROM pg_class c "
+                        + "JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE n.nspname = :schema AND c.relkind IN ('r', 'p', 'v', 'm', 'f') "
+                        + "AND has_table_privilege(c.oid, 'SELECT') ORDER BY c.relname")
+                .setParameter("schema", schema);
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> toTableInfo(schema, row))
+                .collect(Collectors.toList());
+    }
+
+    private static TableInfo toTableInfo(String schema, Object[] row) {
+        String kind = String.valueOf(row[1]);
+        String type = switch (kind) {
+            case "v" -> "VIEW";
+            case "m" -> "MATERIALIZED_VIEW";
+            case "f" -> "FOREIGN_TABLE";
+            default -> "TABLE";
+        };
+        // reltuples is -1 until the table is first analyzed (PostgreSQL 14+) and 0 for views
+        double reltuples = ((Number) row[2]).doubleValue();
+        Long estimatedRows = "VIEW".equals(type) || reltuples < 0 ? null : Math.round(reltuples);
+        return new TableInfo(schema, String.valueOf(row[0]), type, estimatedRows);
     }
-}
\ No newline at end of file
+}
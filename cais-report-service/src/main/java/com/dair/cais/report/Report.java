@@ -8,4 +8,9 @@ import lombok.Data;
 @Data
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Report extends CaisBaseModel {
+
+    /** Schema of a catalog table; not set for saved reports. */
+    private String schema;
+    /** Planner row estimate of a catalog table, when known. */
+    private Long estimatedRows;
 }
@@ -51,10 +51,20 @@ public class ReportController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all reports; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all reports; Use query params for search options like offset ,limit ,fuzzy search",
+         description = "Lists the tables of the given schema (default report.catalog.default-schema) with row "
+               + "estimates, from a cached catalog")
    public ResponseEntity<Map<String, Object>> getAllReports(@RequestParam(required = false) String name,
+         @RequestParam(required = false) String schema,
          @Valid @RequestParam(defaultValue = "0") int offset,
          @Valid @RequestParam(defaultValue = "10") int limit) {
-      return ResponseEntity.ok().body(reportService.getAllReports(name, offset, limit));
+      return ResponseEntity.ok().body(reportService.getAllReports(name, schema, offset, limit));
+   }
+
+   @PostMapping("/catalog/refresh")
+   @Operation(summary = "Reload the cached table catalog of a schema, or of all schemas when none is given")
+   public ResponseEntity<Void> refreshCatalog(@RequestParam(required = false) String schema) {
+      reportService.refreshCatalog(schema);
+      return ResponseEntity.noContent().build();
    }
 }
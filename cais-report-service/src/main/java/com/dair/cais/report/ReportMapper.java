@@ -2,6 +2,8 @@ package com.dair.cais.report;
 
 import org.springframework.stereotype.Component;
 
+import com.dair.cais.common.catalog.TableInfo;
+
 @Component
 public class ReportMapper {
 
@@ -23,6 +25,15 @@ public class ReportMapper {
         return report;
     }
 
+    public Report toModel(TableInfo table) {
+        Report report = toModel(table.name());
+        report.setType(table.type());
+        report.setSchema(table.schema());
+        report.setEstimatedRows(table.estimatedRows());
+
+        return report;
+    }
+
     public ReportEntity toEntity(String extractReportId, Report report) {
         ReportEntity reportEntity = new ReportEntity();
         reportEntity.setReportId(extractReportId);
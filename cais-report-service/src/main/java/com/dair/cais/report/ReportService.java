@@ -15,7 +15,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import com.dair.cais.common.repository.CustomDatabaseRepository;
+import com.dair.cais.common.catalog.TableCatalog;
+import com.dair.cais.common.catalog.TableCatalogConfig;
+import com.dair.exception.CaisBadRequestException;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisNotFoundException;
 
@@ -30,7 +32,9 @@ public class ReportService {
    @Autowired
    private ReportRepository reportRepository;
    @Autowired
-   private CustomDatabaseRepository customDatabaseRepository;
+   private TableCatalog tableCatalog;
+   @Autowired
+   private TableCatalogConfig catalogConfig;
 
    public Report createReport(Report report) {
       String extractReportId = Objects.nonNull(report.getId()) ? report.getId() : UUID.randomUUID().toString();
@@ -53,33 +57,49 @@ public class ReportService {
       }
    }
 
-   public Map<String, Object> getAllReports(String name, int offset, int limit) {
-      String schema = "public";
-      List<Report> allReports;
+   /**
+    * Lists the tables of {@code schema} (the configured default when blank) from the cached catalog, filtered by
+    * {@code name} when given. An empty {@code name} lists saved reports instead.
+    */
+   public Map<String, Object> getAllReports(String name, String schema, int offset, int limit) {
+      if (offset < 0 || limit < 1 || limit > catalogConfig.getMaxPageSize()) {
+         throw new CaisBadRequestException("offset must be >= 0 and limit between 1 and " + catalogConfig.getMaxPageSize());
+      }
+      String catalogSchema = StringUtils.isBlank(schema) ? catalogConfig.getDefaultSchema() : schema;
       try {
-         if (name==null || !StringUtils.isEmpty(name)) {
-            List<String> tableNames = customDatabaseRepository.findAllTableNames(schema);
-            allReports = tableNames.stream().map(a -> reportMapper.toModel(a))
+         Map<String, Object> response = new HashMap<>();
+         List<Report> allReports;
+         if (name == null || !StringUtils.isEmpty(name)) {
+            TableCatalog.Page page = tableCatalog.find(catalogSchema, name, offset, limit);
+            allReports = page.tables().stream().map(a -> reportMapper.toModel(a))
                   .collect(Collectors.toList());
+            response.put("schema", catalogSchema);
+            response.put("total", page.total());
+            response.put("hasMore", offset + allReports.size() < page.total());
+            response.put("catalogLoadedAt", page.loadedAt());
          } else {
-            Page<ReportEntity> allReportEntities = routeToJpaMethod(schema, name, offset, limit);
+            Page<ReportEntity> allReportEntities = routeToJpaMethod(name, offset, limit);
 
             allReports = allReportEntities.stream().map(a -> reportMapper.toModel(a))
                   .collect(Collectors.toList());
          }
-         Map<String, Object> response = new HashMap<>();
          response.put("reports", allReports);
          response.put("count", allReports.size());
          return response;
+      } catch (CaisBadRequestException e) {
+         throw e;
       } catch (Exception e) {
+         log.error("Error retrieving reports", e);
          throw new CaisBaseException("Error retrieving reports");
       }
    }
 
-   private Page<ReportEntity> routeToJpaMethod(String schema, String name, int offset, int limit) {
-      int pageNumber = (int) (Math.floor(offset / limit) + (offset % limit));
+   public void refreshCatalog(String schema) {
+      tableCatalog.refresh(StringUtils.isBlank(schema) ? null : schema);
+   }
 
-      Pageable paging = PageRequest.of(pageNumber, limit);
+   private Page<ReportEntity> routeToJpaMethod(String name, int offset, int limit) {
+      Pageable paging = PageRequest.of(offset / limit, limit);
       Page<ReportEntity> reportEntityPages;
       if (StringUtils.isNotEmpty(name)) {
          reportEntityPages = reportRepository.findByNameContainingIgnoreCase(name, paging);
@@ -0,0 +1,46 @@
+package com.dair.cais.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.dair.util.PostgresIndexes;
+
+import static com.dair.util.PostgresIndexes.index;
+
+/**
+ * Creates the indexes behind the trades listing when the application starts: a btree on the keyset order
+ * {@code (COALESCE(name, ''), trade_id)} and a trigram GIN index that serves {@code name ILIKE '%...%'}.
+ * See {@link PostgresIndexes} for how builds are run and repaired. Disable with
+ * {@code trade.listing.ensure-indexes} where schema changes are managed by DBAs.
+ */
+@Component
+public class TradeIndexInitializer {
+
+   // Without pg_trgm name search still works, it just scans
+   private static final List<String> PREREQUISITES = List.of("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+
+   private static final List<PostgresIndexes.Index> INDEXES = List.of(
+         index("ix_cais_trades_name_keyset", "ON cais_trades ((COALESCE(name, '')), trade_id)"),
+         index("ix_cais_trades_name_trgm", "ON cais_trades USING gin (name gin_trgm_ops)"),
+         // Alert drill-down: trades by the alert's transaction and latest trades of its account
+         index("ix_cais_trades_trade_key", "ON cais_trades (trade_key)"),
+         index("ix_cais_trades_account_settle", "ON cais_trades (account_number, settle_date DESC NULLS LAST, trade_id)"));
+
+   @Autowired
+   private DataSource dataSource;
+   @Autowired
+   private TradeListingConfig config;
+
+   @EventListener(ApplicationReadyEvent.class)
+   public void ensureIndexes() {
+      if (config.isEnsureIndexes()) {
+         PostgresIndexes.ensure(dataSource, "Trade listing", PREREQUISITES, INDEXES);
+      }
+   }
+}
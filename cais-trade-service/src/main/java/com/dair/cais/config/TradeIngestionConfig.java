@@ -0,0 +1,29 @@
+package com.dair.cais.config;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Configuration
+@ConfigurationProperties(prefix = "trade.ingestion")
+@Data
+@Validated
+public class TradeIngestionConfig {
+   /** Rows written per JDBC batch and per transaction. */
+   @Min(1)
+   @Max(20000)
+   private int batchSize = 1000;
+
+   /** Rejected rows kept with their reason; further rejects are only counted. */
+   @Min(0)
+   private int maxReportedRejects = 100;
+
+   /** Finished ingestions kept for the status endpoint. */
+   @Min(1)
+   private int maxRetainedJobs = 50;
+}
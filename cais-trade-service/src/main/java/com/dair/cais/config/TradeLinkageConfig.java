@@ -0,0 +1,25 @@
+package com.dair.cais.config;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Configuration
+@ConfigurationProperties(prefix = "trade.linkage")
+@Data
+@Validated
+public class TradeLinkageConfig {
+   @Min(1)
+   @Max(5000)
+   private int maxAlertsPerLookup = 500;
+
+   /** Upper bound for the per-alert account trade limit a caller may ask for. */
+   @Min(1)
+   @Max(1000)
+   private int maxAccountTrades = 100;
+}
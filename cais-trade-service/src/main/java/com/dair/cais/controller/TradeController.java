@@ -1,21 +1,31 @@
 package com.dair.cais.controller;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dair.cais.ingest.TradeFeedFormat;
+import com.dair.cais.model.AlertTradeReference;
+import com.dair.cais.model.AlertTrades;
 import com.dair.cais.model.Trade;
+import com.dair.cais.model.TradeIngestionJob;
+import com.dair.cais.service.TradeIngestionService;
+import com.dair.cais.service.TradeLinkService;
 import com.dair.cais.service.TradeService;
 
 import io.swagger.v3.oas.annotations.Hidden;
@@ -30,6 +40,10 @@ public class TradeController {
 
    @Autowired
    private TradeService tradeService;
+   @Autowired
+   private TradeIngestionService tradeIngestionService;
+   @Autowired
+   private TradeLinkService tradeLinkService;
 
    @PostMapping
    @Operation(summary = "Create a trade")
@@ -46,6 +60,48 @@ public class TradeController {
       return ResponseEntity.ok().body(createdTrades);
    }
 
+   @PostMapping(value = "/ingest", consumes = { "text/csv", "application/x-ndjson", "application/jsonl",
+         MediaType.APPLICATION_OCTET_STREAM_VALUE })
+   @Operation(summary = "Stream a trade feed into the trade store", description = "Accepts NDJSON (one trade per line) "
+         + "or CSV with a header row. The feed is read incrementally and written in batches; rows that cannot be "
+         + "parsed or stored are rejected individually and reported with their line number")
+   public ResponseEntity<TradeIngestionJob> ingestTrades(
+         @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+         @RequestParam(required = false) String format,
+         InputStream feed) {
+      TradeIngestionJob job = tradeIngestionService.ingest(feed, TradeFeedFormat.resolve(format, contentType));
+      return ResponseEntity.ok().body(job);
+   }
+
+   @GetMapping("/ingest")
+   @Operation(summary = "Get running and recent trade feed ingestions, newest first")
+   public ResponseEntity<List<TradeIngestionJob>> getIngestions() {
+      return ResponseEntity.ok().body(tradeIngestionService.getJobs());
+   }
+
+   @GetMapping("/ingest/{jobId}")
+   @Operation(summary = "Get the progress of a trade feed ingestion")
+   public ResponseEntity<TradeIngestionJob> getIngestion(@PathVariable final String jobId) {
+      return tradeIngestionService.getJob(jobId)
+            .map(job -> ResponseEntity.ok().body(job))
+            .orElse(ResponseEntity.notFound().build());
+   }
+
+   @PostMapping("/alert-links")
+   @Operation(summary = "Replace the trade links of the given alerts", description = "Called by the alert service "
+         + "as alerts are written; an alert sent without transactionId and accountId loses its links")
+   public ResponseEntity<Map<String, Object>> linkAlerts(@RequestBody List<AlertTradeReference> references) {
+      return ResponseEntity.ok().body(Map.of("linkedAlerts", tradeLinkService.linkAlerts(references)));
+   }
+
+   @PostMapping("/by-alerts")
+   @Operation(summary = "Get the trades behind many alerts in one call", description = "Trades are matched on the "
+         + "alert's transaction; accountTradeLimit > 0 also returns the latest trades of the alert's account")
+   public ResponseEntity<List<AlertTrades>> getTradesForAlerts(@RequestBody List<String> alertIds,
+         @RequestParam(defaultValue = "0") int accountTradeLimit) {
+      return ResponseEntity.ok().body(tradeLinkService.getTradesForAlerts(alertIds, accountTradeLimit));
+   }
+
    @GetMapping("{tradeId}")
    @Operation(summary = "Get a trade by its id")
    public ResponseEntity<Trade> getTradeById(@PathVariable final String tradeId) {
@@ -54,12 +110,14 @@ public class TradeController {
    }
 
    @GetMapping("")
-   @Operation(summary = "Get all trades; Use query params for search options like offset ,limit ,fuzzy search")
+   @Operation(summary = "Get all trades ordered by name; pass nextCursor from the previous response as cursor for the next page, "
+         + "name for a case-insensitive substring search")
    public ResponseEntity<Map<String, Object>> getAllTrades(@RequestParam(required = false) String name,
+         @RequestParam(required = false) String cursor,
          @Valid @RequestParam(defaultValue = "0") int offset,
          @Valid @RequestParam(defaultValue = "10") int limit,
          @RequestParam(required = false) boolean favourite,
          @RequestParam(required = false) boolean recent) {
-      return ResponseEntity.ok().body(tradeService.getAllTrades(name, offset, limit, favourite, recent));
+      return ResponseEntity.ok().body(tradeService.getAllTrades(name, cursor, offset, limit, favourite, recent));
    }
 }
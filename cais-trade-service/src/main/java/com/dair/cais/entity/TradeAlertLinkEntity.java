@@ -0,0 +1,22 @@
+package com.dair.cais.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Links an alert to the trade key and account it was raised on. Trades are joined by key when the links are
+ * read, so a trade ingested after its alert is found without relinking.
+ */
+@Data
+@Entity
+@Table(name = "cais_trade_alert_links")
+public class TradeAlertLinkEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    @EmbeddedId
+    private TradeAlertLinkKey id;
+}
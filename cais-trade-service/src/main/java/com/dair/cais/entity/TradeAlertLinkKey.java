@@ -0,0 +1,21 @@
+package com.dair.cais.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeAlertLinkKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private String alertId;
+    /** {@code TRADE} when {@code linkKey} is a trade key, {@code ACCOUNT} when it is an account number. */
+    private String linkType;
+    private String linkKey;
+}
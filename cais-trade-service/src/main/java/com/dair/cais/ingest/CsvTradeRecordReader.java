@@ -0,0 +1,136 @@
+package com.dair.cais.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dair.exception.CaisBadRequestException;
+
+/**
+ * RFC 4180 CSV with a header row naming the trade fields. Quoted values may contain commas, doubled quotes and
+ * line breaks. Empty values are left out of the record.
+ */
+public class CsvTradeRecordReader implements TradeRecordReader {
+
+   /** Longer values almost always mean a missing closing quote swallowing the rest of the file. */
+   private static final int MAX_VALUE_LENGTH = 1 << 20;
+
+   private final Reader reader;
+   private final List<String> header;
+   private final StringBuilder value = new StringBuilder();
+   private long line = 1;
+   private long recordLine;
+   private int pushedBack = -2;
+
+   public CsvTradeRecordReader(Reader reader) throws IOException {
+      this.reader = reader;
+      List<String> names = readRow();
+      if (names == null) {
+         throw new CaisBadRequestException("CSV trade feed is empty");
+      }
+      this.header = names.stream().map(String::trim).toList();
+   }
+
+   @Override
+   public Map<String, Object> next() throws IOException {
+      List<String> values;
+      do {
+         values = readRow();
+         if (values == null) {
+            return null;
+         }
+      } while (values.size() == 1 && values.get(0).isEmpty());
+
+      if (values.size() != header.size()) {
+         throw new TradeRecordException("Expected " + header.size() + " columns but found " + values.size());
+      }
+      Map<String, Object> record = new LinkedHashMap<>();
+      for (int i = 0; i < values.size(); i++) {
+         if (!values.get(i).isEmpty()) {
+            record.put(header.get(i), values.get(i));
+         }
+      }
+      return record;
+   }
+
+   @Override
+   public long line() {
+      return recordLine;
+   }
+
+   private List<String> readRow() throws IOException {
+      int c = read();
+      if (c == -1) {
+         return null;
+      }
+      recordLine = line;
+      List<String> values = new ArrayList<>();
+      boolean quoted = false;
+      boolean unterminated = false;
+      value.setLength(0);
+
+      while (true) {
+         if (quoted) {
+            if (c == -1) {
+               unterminated = true;
+               break;
+            }
+            if (c == '"') {
+               int following = read();
+               if (following == '"') {
+                  value.append('"');
+               } else {
+                  quoted = false;
+                  c = following;
+                  continue;
+               }
+            } else {
+               if (c == '\n') {
+                  line++;
+               }
+               value.append((char) c);
+               if (value.length() > MAX_VALUE_LENGTH) {
+                  throw new CaisBadRequestException("CSV value starting on line " + recordLine
+                        + " exceeds " + MAX_VALUE_LENGTH + " characters; is a closing quote missing?");
+               }
+            }
+         } else if (c == -1 || c == '\n' || c == '\r') {
+            if (c == '\r') {
+               int following = read();
+               if (following != '\n') {
+                  pushedBack = following;
+               }
+            }
+            if (c != -1) {
+               line++;
+            }
+            break;
+         } else if (c == ',') {
+            values.add(value.toString());
+            value.setLength(0);
+         } else if (c == '"' && value.length() == 0) {
+            quoted = true;
+         } else {
+            value.append((char) c);
+         }
+         c = read();
+      }
+      values.add(value.toString());
+      if (unterminated) {
+         throw new TradeRecordException("Unterminated quoted value");
+      }
+      return values;
+   }
+
+   private int read() throws IOException {
+      if (pushedBack != -2) {
+         int c = pushedBack;
+         pushedBack = -2;
+         return c;
+      }
+      return reader.read();
+   }
+}
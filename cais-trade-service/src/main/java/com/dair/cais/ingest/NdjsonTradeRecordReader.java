@@ -0,0 +1,53 @@
+package com.dair.cais.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * One JSON object per line. Lines are parsed independently, so a malformed line rejects only that record.
+ */
+public class NdjsonTradeRecordReader implements TradeRecordReader {
+
+   private final BufferedReader reader;
+   private final ObjectReader recordReader;
+   private long line;
+
+   public NdjsonTradeRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+      this.reader = reader;
+      this.recordReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() {
+      });
+   }
+
+   @Override
+   public Map<String, Object> next() throws IOException {
+      String text;
+      do {
+         text = reader.readLine();
+         if (text == null) {
+            return null;
+         }
+         line++;
+      } while (text.isBlank());
+
+      try {
+         Map<String, Object> record = recordReader.readValue(text);
+         if (record == null) {
+            throw new TradeRecordException("Expected a JSON object");
+         }
+         return record;
+      } catch (JsonProcessingException e) {
+         throw new TradeRecordException("Malformed JSON: " + e.getOriginalMessage());
+      }
+   }
+
+   @Override
+   public long line() {
+      return line;
+   }
+}
@@ -0,0 +1,31 @@
+package com.dair.cais.ingest;
+
+import java.util.Locale;
+
+import com.dair.exception.CaisBadRequestException;
+
+public enum TradeFeedFormat {
+   NDJSON, CSV;
+
+   /**
+    * Uses the explicit {@code format} parameter if given, otherwise the request content type.
+    */
+   public static TradeFeedFormat resolve(String format, String contentType) {
+      if (format != null && !format.isBlank()) {
+         try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+         } catch (IllegalArgumentException e) {
+            throw new CaisBadRequestException("Unsupported trade feed format: " + format);
+         }
+      }
+      String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+      if (type.contains("csv")) {
+         return CSV;
+      }
+      if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) {
+         return NDJSON;
+      }
+      throw new CaisBadRequestException("Cannot tell the feed format from content type '" + contentType
+            + "'; send text/csv or application/x-ndjson, or pass format=csv|ndjson");
+   }
+}
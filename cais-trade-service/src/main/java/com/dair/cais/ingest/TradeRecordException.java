@@ -0,0 +1,11 @@
+package com.dair.cais.ingest;
+
+/**
+ * A single malformed record. The feed itself is still readable.
+ */
+public class TradeRecordException extends RuntimeException {
+
+   public TradeRecordException(final String message) {
+      super(message);
+   }
+}
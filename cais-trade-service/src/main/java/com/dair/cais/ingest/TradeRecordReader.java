@@ -0,0 +1,20 @@
+package com.dair.cais.ingest;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads a trade feed one record at a time, so only the current record is held in memory.
+ */
+public interface TradeRecordReader {
+
+   /**
+    * Returns the next record as field name to value, or {@code null} at the end of the feed.
+    *
+    * @throws TradeRecordException if the record is malformed; the reader can continue with the next one
+    */
+   Map<String, Object> next() throws IOException;
+
+   /** Line on which the record last returned (or rejected) started. */
+   long line();
+}
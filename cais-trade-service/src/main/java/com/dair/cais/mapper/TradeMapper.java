@@ -1,5 +1,11 @@
 package com.dair.cais.mapper;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
 import org.springframework.stereotype.Component;
 
 import com.dair.cais.entity.TradeEntity;
@@ -50,4 +56,91 @@ public class TradeMapper {
         return tradeEntity;
     }
 
-}
\ No newline at end of file
+    /**
+     * Binds one feed record (NDJSON object or CSV row) to an entity. Keys that are not trade fields are kept in
+     * {@code customFields}, next to any {@code customFields} object the record carries.
+     *
+     * @throws IllegalArgumentException if a numeric or date field cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public TradeEntity fromRecord(Map<String, Object> record) {
+        TradeEntity entity = new TradeEntity();
+        Map<String, Object> customFields = null;
+        for (Map.Entry<String, Object> field : record.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "id", "tradeId" -> entity.setTradeId(text(value));
+                case "name" -> entity.setName(text(value));
+                case "type" -> entity.setType(text(value));
+                case "tradeKey" -> entity.setTradeKey(text(value));
+                case "accountNumber" -> entity.setAccountNumber(text(value));
+                case "baseCurrentAmount" -> entity.setBaseCurrentAmount(integer(field.getKey(), value));
+                case "baseCurrentCommision" -> entity.setBaseCurrentCommision(integer(field.getKey(), value));
+                case "baseCurrentNetAmount" -> entity.setBaseCurrentNetAmount(integer(field.getKey(), value));
+                case "baseCurrentCd" -> entity.setBaseCurrentCd(text(value));
+                case "directionCd" -> entity.setDirectionCd(text(value));
+                case "baseCurrentOtherFees" -> entity.setBaseCurrentOtherFees(text(value));
+                case "baseCurrentTradePrice" -> entity.setBaseCurrentTradePrice(integer(field.getKey(), value));
+                case "origCurrentAmount" -> entity.setOrigCurrentAmount(integer(field.getKey(), value));
+                case "origCurrentCd" -> entity.setOrigCurrentCd(text(value));
+                case "origCurrentCommision" -> entity.setOrigCurrentCommision(integer(field.getKey(), value));
+                case "productKey" -> entity.setProductKey(text(value));
+                case "instrumentQuantity" -> entity.setInstrumentQuantity(integer(field.getKey(), value));
+                case "quantity" -> entity.setQuantity(integer(field.getKey(), value));
+                case "settleDate" -> entity.setSettleDate(date(field.getKey(), value));
+                case "customFields" -> {
+                    if (!(value instanceof Map)) {
+                        throw new IllegalArgumentException("customFields must be an object");
+                    }
+                    customFields = customFields == null ? new LinkedHashMap<>() : customFields;
+                    customFields.putAll((Map<String, Object>) value);
+                }
+                default -> {
+                    customFields = customFields == null ? new LinkedHashMap<>() : customFields;
+                    customFields.put(field.getKey(), value);
+                }
+            }
+        }
+        if (entity.getTradeId() == null || entity.getTradeId().isBlank()) {
+            entity.setTradeId(UUID.randomUUID().toString());
+        }
+        entity.setCustomFields(customFields);
+        return entity;
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static int integer(String field, Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Integer number) {
+            return number;
+        }
+        try {
+            if (value instanceof Number number) {
+                if (number.doubleValue() != number.longValue()) {
+                    throw new NumberFormatException();
+                }
+                return Math.toIntExact(number.longValue());
+            }
+            return Integer.parseInt(value.toString().trim());
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not an integer: " + value);
+        }
+    }
+
+    private static LocalDate date(String field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.toString().trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " is not a yyyy-MM-dd date: " + value);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.dair.cais.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The trade references an alert carries. An alert sent with neither reference has its links removed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertTradeReference {
+
+    private String alertId;
+    /** Trade key of the alerted transaction. */
+    private String transactionId;
+    /** Account number of the alerted account. */
+    private String accountId;
+}
@@ -0,0 +1,25 @@
+package com.dair.cais.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AlertTrades {
+
+    private String alertId;
+    /** Trades whose trade key matches the alert's transaction. */
+    private List<Trade> trades = new ArrayList<>();
+    /** Latest trades of the alert's account, when requested. */
+    private List<Trade> accountTrades;
+
+    public AlertTrades(String alertId) {
+        this.alertId = alertId;
+    }
+}
@@ -0,0 +1,113 @@
+package com.dair.cais.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dair.cais.ingest.TradeFeedFormat;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Progress of one trade feed ingestion. Counters are updated by the ingesting request and read by the status
+ * endpoint while it runs.
+ */
+@Getter
+public class TradeIngestionJob {
+
+   public enum Status {
+      RUNNING, COMPLETED, COMPLETED_WITH_REJECTS, FAILED
+   }
+
+   /** A rejected record and why; {@code line} is where the record starts in the feed. */
+   public record Reject(long line, String tradeId, String reason) {
+   }
+
+   private final String jobId = UUID.randomUUID().toString();
+   private final TradeFeedFormat format;
+   private final int batchSize;
+   private final Instant startedAt = Instant.now();
+
+   private volatile Status status = Status.RUNNING;
+   private volatile Instant finishedAt;
+   private volatile String error;
+
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong read = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong written = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong rejected = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong batches = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final List<Reject> rejects = new ArrayList<>();
+   @Getter(AccessLevel.NONE)
+   private final int maxReportedRejects;
+
+   public TradeIngestionJob(TradeFeedFormat format, int batchSize, int maxReportedRejects) {
+      this.format = format;
+      this.batchSize = batchSize;
+      this.maxReportedRejects = maxReportedRejects;
+   }
+
+   public long getRowsRead() {
+      return read.get();
+   }
+
+   public long getRowsWritten() {
+      return written.get();
+   }
+
+   public long getRowsRejected() {
+      return rejected.get();
+   }
+
+   public long getBatchesWritten() {
+      return batches.get();
+   }
+
+   public long getRowsPerSecond() {
+      long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+      return millis == 0 ? written.get() : written.get() * 1000 / millis;
+   }
+
+   public List<Reject> getRejects() {
+      synchronized (rejects) {
+         return new ArrayList<>(rejects);
+      }
+   }
+
+   public void recordRead() {
+      read.incrementAndGet();
+   }
+
+   public void recordBatch(int rows) {
+      written.addAndGet(rows);
+      batches.incrementAndGet();
+   }
+
+   public void recordReject(long line, String tradeId, String reason) {
+      rejected.incrementAndGet();
+      synchronized (rejects) {
+         if (rejects.size() < maxReportedRejects) {
+            rejects.add(new Reject(line, tradeId, reason));
+         }
+      }
+   }
+
+   public void finished() {
+      finishedAt = Instant.now();
+      status = rejected.get() > 0 ? Status.COMPLETED_WITH_REJECTS : Status.COMPLETED;
+   }
+
+   public void aborted(Exception e) {
+      error = e.getMessage();
+      finishedAt = Instant.now();
+      status = Status.FAILED;
+   }
+}
@@ -0,0 +1,129 @@
+package com.dair.cais.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.dair.cais.entity.TradeEntity;
+import com.dair.cais.model.AlertTradeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads and writes {@code cais_trade_alert_links} with plain JDBC: links are replaced per alert in batches and
+ * looked up for many alerts with one array-parameter query per link type.
+ */
+@Repository
+public class TradeAlertLinkStore {
+
+   public static final String TRADE = "TRADE";
+   public static final String ACCOUNT = "ACCOUNT";
+
+   private static final String TRADE_COLUMNS = "t.trade_id, t.name, t.type, t.trade_key, t.account_number, "
+         + "t.base_current_amount, t.base_current_commision, t.base_current_net_amount, t.base_current_cd, "
+         + "t.direction_cd, t.base_current_other_fees, t.base_current_trade_price, t.orig_current_amount, "
+         + "t.orig_current_cd, t.orig_current_commision, t.product_key, t.instrument_quantity, t.quantity, "
+         + "t.settle_date, t.custom_fields";
+   private static final TypeReference<Map<String, Object>> CUSTOM_FIELDS = new TypeReference<>() {
+   };
+
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+   @Autowired
+   private ObjectMapper objectMapper;
+
+   /**
+    * Replaces the links of every alert in {@code references}. Call inside a transaction.
+    */
+   public void replaceLinks(Collection<AlertTradeReference> references) {
+      List<Object[]> deletes = new ArrayList<>();
+      List<Object[]> inserts = new ArrayList<>();
+      for (AlertTradeReference reference : references) {
+         deletes.add(new Object[] { reference.getAlertId() });
+         if (reference.getTransactionId() != null && !reference.getTransactionId().isBlank()) {
+            inserts.add(new Object[] { reference.getAlertId(), TRADE, reference.getTransactionId() });
+         }
+         if (reference.getAccountId() != null && !reference.getAccountId().isBlank()) {
+            inserts.add(new Object[] { reference.getAlertId(), ACCOUNT, reference.getAccountId() });
+         }
+      }
+      jdbcTemplate.batchUpdate("DELETE FROM cais_trade_alert_links WHERE alert_id = ?", deletes);
+      jdbcTemplate.batchUpdate("INSERT INTO cais_trade_alert_links (alert_id, link_type, link_key) VALUES (?, ?, ?) "
+            + "ON CONFLICT DO NOTHING", inserts);
+   }
+
+   /**
+    * Trades whose key an alert links to, passed to {@code sink} with the alert id.
+    */
+   public void findLinkedTrades(Collection<String> alertIds, BiConsumer<String, TradeEntity> sink) {
+      query("SELECT l.alert_id, " + TRADE_COLUMNS + " FROM cais_trade_alert_links l "
+            + "JOIN cais_trades t ON t.trade_key = l.link_key "
+            + "WHERE l.alert_id = ANY(?) AND l.link_type = '" + TRADE + "' ORDER BY l.alert_id, t.trade_id",
+            alertIds, sink);
+   }
+
+   /**
+    * The latest {@code limit} trades, by settle date, of each alert's linked account.
+    */
+   public void findAccountTrades(Collection<String> alertIds, int limit, BiConsumer<String, TradeEntity> sink) {
+      query("SELECT l.alert_id, " + TRADE_COLUMNS + " FROM cais_trade_alert_links l "
+            + "CROSS JOIN LATERAL (SELECT * FROM cais_trades a WHERE a.account_number = l.link_key "
+            + "ORDER BY a.settle_date DESC NULLS LAST, a.trade_id LIMIT " + limit + ") t "
+            + "WHERE l.alert_id = ANY(?) AND l.link_type = '" + ACCOUNT + "' ORDER BY l.alert_id",
+            alertIds, sink);
+   }
+
+   private void query(String sql, Collection<String> alertIds, BiConsumer<String, TradeEntity> sink) {
+      jdbcTemplate.query(connection -> {
+         PreparedStatement statement = connection.prepareStatement(sql);
+         statement.setArray(1, connection.createArrayOf("varchar", alertIds.toArray()));
+         return statement;
+      }, (RowCallbackHandler) rs -> sink.accept(rs.getString("alert_id"), toEntity(rs)));
+   }
+
+   private TradeEntity toEntity(ResultSet rs) throws SQLException {
+      TradeEntity trade = new TradeEntity();
+      trade.setTradeId(rs.getString("trade_id"));
+      trade.setName(rs.getString("name"));
+      trade.setType(rs.getString("type"));
+      trade.setTradeKey(rs.getString("trade_key"));
+      trade.setAccountNumber(rs.getString("account_number"));
+      trade.setBaseCurrentAmount(rs.getInt("base_current_amount"));
+      trade.setBaseCurrentCommision(rs.getInt("base_current_commision"));
+      trade.setBaseCurrentNetAmount(rs.getInt("base_current_net_amount"));
+      trade.setBaseCurrentCd(rs.getString("base_current_cd"));
+      trade.setDirectionCd(rs.getString("direction_cd"));
+      trade.setBaseCurrentOtherFees(rs.getString("base_current_other_fees"));
+      trade.setBaseCurrentTradePrice(rs.getInt("base_current_trade_price"));
+      trade.setOrigCurrentAmount(rs.getInt("orig_current_amount"));
+      trade.setOrigCurrentCd(rs.getString("orig_current_cd"));
+      trade.setOrigCurrentCommision(rs.getInt("orig_current_commision"));
+      trade.setProductKey(rs.getString("product_key"));
+      trade.setInstrumentQuantity(rs.getInt("instrument_quantity"));
+      trade.setQuantity(rs.getInt("quantity"));
+      Date settleDate = rs.getDate("settle_date");
+      trade.setSettleDate(settleDate != null ? settleDate.toLocalDate() : null);
+      String customFields = rs.getString("custom_fields");
+      if (customFields != null) {
+         try {
+            trade.setCustomFields(objectMapper.readValue(customFields, CUSTOM_FIELDS));
+         } catch (JsonProcessingException e) {
+            throw new IllegalStateException("customFields of trade " + trade.getTradeId() + " cannot be read: "
+                  + e.getOriginalMessage());
+         }
+      }
+      return trade;
+   }
+}
@@ -0,0 +1,87 @@
+package com.dair.cais.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.dair.cais.entity.TradeEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes trades to {@code cais_trades} with JDBC batches instead of one {@code save} per entity. Rows are
+ * upserted on {@code trade_id}, the same outcome {@link TradeRepository#save} has for an existing id.
+ */
+@Repository
+public class TradeBatchWriter {
+
+   private static final String UPSERT = "INSERT INTO cais_trades (trade_id, name, type, trade_key, account_number, "
+         + "base_current_amount, base_current_commision, base_current_net_amount, base_current_cd, direction_cd, "
+         + "base_current_other_fees, base_current_trade_price, orig_current_amount, orig_current_cd, "
+         + "orig_current_commision, product_key, instrument_quantity, quantity, settle_date, custom_fields) "
+         + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb) "
+         + "ON CONFLICT (trade_id) DO UPDATE SET name = EXCLUDED.name, type = EXCLUDED.type, "
+         + "trade_key = EXCLUDED.trade_key, account_number = EXCLUDED.account_number, "
+         + "base_current_amount = EXCLUDED.base_current_amount, "
+         + "base_current_commision = EXCLUDED.base_current_commision, "
+         + "base_current_net_amount = EXCLUDED.base_current_net_amount, base_current_cd = EXCLUDED.base_current_cd, "
+         + "direction_cd = EXCLUDED.direction_cd, base_current_other_fees = EXCLUDED.base_current_other_fees, "
+         + "base_current_trade_price = EXCLUDED.base_current_trade_price, "
+         + "orig_current_amount = EXCLUDED.orig_current_amount, orig_current_cd = EXCLUDED.orig_current_cd, "
+         + "orig_current_commision = EXCLUDED.orig_current_commision, product_key = EXCLUDED.product_key, "
+         + "instrument_quantity = EXCLUDED.instrument_quantity, quantity = EXCLUDED.quantity, "
+         + "settle_date = EXCLUDED.settle_date, custom_fields = EXCLUDED.custom_fields";
+
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+   @Autowired
+   private ObjectMapper objectMapper;
+
+   /**
+    * Upserts the trades as one JDBC batch. Trade ids must be distinct within the batch.
+    */
+   public void upsert(List<TradeEntity> trades) {
+      jdbcTemplate.batchUpdate(UPSERT, trades, trades.size(), this::bind);
+   }
+
+   private void bind(PreparedStatement statement, TradeEntity trade) throws SQLException {
+      statement.setString(1, trade.getTradeId());
+      statement.setString(2, trade.getName());
+      statement.setString(3, trade.getType());
+      statement.setString(4, trade.getTradeKey());
+      statement.setString(5, trade.getAccountNumber());
+      statement.setInt(6, trade.getBaseCurrentAmount());
+      statement.setInt(7, trade.getBaseCurrentCommision());
+      statement.setInt(8, trade.getBaseCurrentNetAmount());
+      statement.setString(9, trade.getBaseCurrentCd());
+      statement.setString(10, trade.getDirectionCd());
+      statement.setString(11, trade.getBaseCurrentOtherFees());
+      statement.setInt(12, trade.getBaseCurrentTradePrice());
+      statement.setInt(13, trade.getOrigCurrentAmount());
+      statement.setString(14, trade.getOrigCurrentCd());
+      statement.setInt(15, trade.getOrigCurrentCommision());
+      statement.setString(16, trade.getProductKey());
+      statement.setInt(17, trade.getInstrumentQuantity());
+      statement.setInt(18, trade.getQuantity());
+      if (trade.getSettleDate() != null) {
+         statement.setDate(19, Date.valueOf(trade.getSettleDate()));
+      } else {
+         statement.setNull(19, Types.DATE);
+      }
+      if (trade.getCustomFields() != null) {
+         try {
+            statement.setString(20, objectMapper.writeValueAsString(trade.getCustomFields()));
+         } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("customFields cannot be serialized: " + e.getOriginalMessage());
+         }
+      } else {
+         statement.setNull(20, Types.VARCHAR);
+      }
+   }
+}
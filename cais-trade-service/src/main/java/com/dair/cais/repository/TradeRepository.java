@@ -1,8 +1,10 @@
 package com.dair.cais.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.dair.cais.entity.TradeEntity;
@@ -12,5 +14,23 @@ import io.swagger.v3.oas.annotations.Hidden;
 @Hidden
 @Repository
 public interface TradeRepository extends JpaRepository<TradeEntity, String> {
-    Page<TradeEntity> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    // Listing queries order by the keyset (COALESCE(name, ''), trade_id) and fetch one row more than the page so the
+    // caller can tell whether another page exists without a count query.
+
+    @Query(value = "SELECT * FROM cais_trades ORDER BY COALESCE(name, ''), trade_id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<TradeEntity> findSlice(@Param("offset") long offset, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM cais_trades WHERE (COALESCE(name, ''), trade_id) > (:name, :id) "
+            + "ORDER BY COALESCE(name, ''), trade_id LIMIT :limit", nativeQuery = true)
+    List<TradeEntity> findSliceAfter(@Param("name") String name, @Param("id") String id, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM cais_trades WHERE name ILIKE :pattern "
+            + "ORDER BY COALESCE(name, ''), trade_id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<TradeEntity> searchSlice(@Param("pattern") String pattern, @Param("offset") long offset,
+            @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM cais_trades WHERE name ILIKE :pattern AND (COALESCE(name, ''), trade_id) > (:name, :id) "
+            + "ORDER BY COALESCE(name, ''), trade_id LIMIT :limit", nativeQuery = true)
+    List<TradeEntity> searchSliceAfter(@Param("pattern") String pattern, @Param("name") String name,
+            @Param("id") String id, @Param("limit") int limit);
 }
\ No newline at end of file
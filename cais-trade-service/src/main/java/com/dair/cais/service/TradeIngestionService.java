@@ -0,0 +1,172 @@
+package com.dair.cais.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dair.cais.config.TradeIngestionConfig;
+import com.dair.cais.entity.TradeEntity;
+import com.dair.cais.ingest.CsvTradeRecordReader;
+import com.dair.cais.ingest.NdjsonTradeRecordReader;
+import com.dair.cais.ingest.TradeFeedFormat;
+import com.dair.cais.ingest.TradeRecordException;
+import com.dair.cais.ingest.TradeRecordReader;
+import com.dair.cais.mapper.TradeMapper;
+import com.dair.cais.model.TradeIngestionJob;
+import com.dair.cais.repository.TradeBatchWriter;
+import com.dair.exception.CaisBadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a trade feed into {@code cais_trades}. Records are parsed one at a time and written in batches of
+ * {@code trade.ingestion.batch-size}, each batch in its own transaction, so memory holds one batch regardless of
+ * the feed size. A batch the database rejects is retried row by row so only the offending rows are rejected.
+ */
+@Service
+@Slf4j
+public class TradeIngestionService {
+
+   @Autowired
+   private TradeMapper tradeMapper;
+   @Autowired
+   private TradeBatchWriter tradeBatchWriter;
+   @Autowired
+   private TransactionTemplate transactionTemplate;
+   @Autowired
+   private ObjectMapper objectMapper;
+   @Autowired
+   private TradeIngestionConfig config;
+
+   private final Map<String, TradeIngestionJob> jobs = new LinkedHashMap<>();
+
+   /** A bound trade waiting for its batch, with the line it came from. */
+   private record PendingTrade(long line, TradeEntity entity) {
+   }
+
+   public TradeIngestionJob ingest(InputStream feed, TradeFeedFormat format) {
+      TradeIngestionJob job = new TradeIngestionJob(format, config.getBatchSize(), config.getMaxReportedRejects());
+      register(job);
+      log.info("Trade ingestion {} started: {} feed, batch size {}", job.getJobId(), format, config.getBatchSize());
+
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(feed, StandardCharsets.UTF_8))) {
+         TradeRecordReader records = format == TradeFeedFormat.CSV
+               ? new CsvTradeRecordReader(reader)
+               : new NdjsonTradeRecordReader(reader, objectMapper);
+
+         // Keyed by trade id: a repeated id within a batch replaces the earlier row, as sequential saves would
+         Map<String, PendingTrade> batch = new LinkedHashMap<>();
+         while (true) {
+            Map<String, Object> record;
+            try {
+               record = records.next();
+            } catch (TradeRecordException e) {
+               job.recordRead();
+               job.recordReject(records.line(), null, e.getMessage());
+               continue;
+            }
+            if (record == null) {
+               break;
+            }
+            job.recordRead();
+            try {
+               TradeEntity entity = tradeMapper.fromRecord(record);
+               batch.put(entity.getTradeId(), new PendingTrade(records.line(), entity));
+            } catch (IllegalArgumentException e) {
+               job.recordReject(records.line(), null, e.getMessage());
+            }
+            if (batch.size() >= config.getBatchSize()) {
+               write(job, batch);
+            }
+         }
+         write(job, batch);
+         job.finished();
+      } catch (IOException e) {
+         job.aborted(e);
+         throw new CaisBadRequestException("Trade feed could not be read: " + e.getMessage(), e);
+      } catch (RuntimeException e) {
+         job.aborted(e);
+         throw e;
+      } finally {
+         log.info("Trade ingestion {} {}: {} read, {} written, {} rejected, {} rows/s", job.getJobId(),
+               job.getStatus(), job.getRowsRead(), job.getRowsWritten(), job.getRowsRejected(),
+               job.getRowsPerSecond());
+      }
+      return job;
+   }
+
+   public Optional<TradeIngestionJob> getJob(String jobId) {
+      synchronized (jobs) {
+         return Optional.ofNullable(jobs.get(jobId));
+      }
+   }
+
+   public List<TradeIngestionJob> getJobs() {
+      synchronized (jobs) {
+         List<TradeIngestionJob> recent = new ArrayList<>(jobs.values());
+         Collections.reverse(recent);
+         return recent;
+      }
+   }
+
+   private void write(TradeIngestionJob job, Map<String, PendingTrade> batch) {
+      if (batch.isEmpty()) {
+         return;
+      }
+      List<TradeEntity> trades = batch.values().stream().map(PendingTrade::entity).toList();
+      try {
+         transactionTemplate.executeWithoutResult(status -> tradeBatchWriter.upsert(trades));
+         job.recordBatch(trades.size());
+      } catch (DataAccessException | IllegalArgumentException e) {
+         log.warn("Trade ingestion {}: batch of {} failed ({}), retrying row by row", job.getJobId(), trades.size(),
+               e.getMessage());
+         int written = 0;
+         for (PendingTrade pending : batch.values()) {
+            try {
+               tradeBatchWriter.upsert(List.of(pending.entity()));
+               written++;
+            } catch (DataAccessException | IllegalArgumentException rowError) {
+               job.recordReject(pending.line(), pending.entity().getTradeId(), rootMessage(rowError));
+            }
+         }
+         job.recordBatch(written);
+      }
+      batch.clear();
+   }
+
+   private void register(TradeIngestionJob job) {
+      synchronized (jobs) {
+         jobs.put(job.getJobId(), job);
+         Iterator<TradeIngestionJob> iterator = jobs.values().iterator();
+         while (jobs.size() > config.getMaxRetainedJobs() && iterator.hasNext()) {
+            TradeIngestionJob oldest = iterator.next();
+            if (oldest.getStatus() != TradeIngestionJob.Status.RUNNING) {
+               iterator.remove();
+            }
+         }
+      }
+   }
+
+   private static String rootMessage(Exception e) {
+      Throwable cause = e;
+      while (cause.getCause() != null) {
+         cause = cause.getCause();
+      }
+      return cause.getMessage();
+   }
+}
@@ -0,0 +1,78 @@
+package com.dair.cais.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dair.cais.config.TradeLinkageConfig;
+import com.dair.cais.mapper.TradeMapper;
+import com.dair.cais.model.AlertTradeReference;
+import com.dair.cais.model.AlertTrades;
+import com.dair.cais.repository.TradeAlertLinkStore;
+import com.dair.exception.CaisBadRequestException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the alert to trade linkage and serves the trades behind many alerts in one call. Links are pushed by the
+ * alert service as alerts are projected; trades are matched by indexed trade key and account number when read.
+ */
+@Service
+@Slf4j
+public class TradeLinkService {
+
+   @Autowired
+   private TradeAlertLinkStore tradeAlertLinkStore;
+   @Autowired
+   private TradeMapper tradeMapper;
+   @Autowired
+   private TradeLinkageConfig config;
+
+   @Transactional
+   public int linkAlerts(List<AlertTradeReference> references) {
+      Map<String, AlertTradeReference> latest = new LinkedHashMap<>();
+      for (AlertTradeReference reference : references) {
+         if (reference.getAlertId() == null || reference.getAlertId().isBlank()) {
+            throw new CaisBadRequestException("alertId is required for every link");
+         }
+         latest.put(reference.getAlertId(), reference);
+      }
+      tradeAlertLinkStore.replaceLinks(latest.values());
+      log.debug("Linked {} alerts to their trades", latest.size());
+      return latest.size();
+   }
+
+   /**
+    * Returns the trades of each alert, in request order. Alerts without links get an empty entry.
+    *
+    * @param accountTradeLimit latest trades of the alert's account to include per alert; 0 for none
+    */
+   @Transactional(readOnly = true)
+   public List<AlertTrades> getTradesForAlerts(List<String> alertIds, int accountTradeLimit) {
+      Set<String> ids = new LinkedHashSet<>(alertIds);
+      if (ids.isEmpty() || ids.size() > config.getMaxAlertsPerLookup()) {
+         throw new CaisBadRequestException("Between 1 and " + config.getMaxAlertsPerLookup() + " alert ids are required");
+      }
+      if (accountTradeLimit < 0 || accountTradeLimit > config.getMaxAccountTrades()) {
+         throw new CaisBadRequestException("accountTradeLimit must be between 0 and " + config.getMaxAccountTrades());
+      }
+
+      Map<String, AlertTrades> result = new LinkedHashMap<>();
+      ids.forEach(id -> result.put(id, new AlertTrades(id)));
+      tradeAlertLinkStore.findLinkedTrades(ids,
+            (alertId, trade) -> result.get(alertId).getTrades().add(tradeMapper.toModel(trade)));
+      if (accountTradeLimit > 0) {
+         result.values().forEach(alertTrades -> alertTrades.setAccountTrades(new ArrayList<>()));
+         tradeAlertLinkStore.findAccountTrades(ids, accountTradeLimit,
+               (alertId, trade) -> result.get(alertId).getAccountTrades().add(tradeMapper.toModel(trade)));
+      }
+      return List.copyOf(result.values());
+   }
+}
@@ -10,17 +10,19 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.dair.cais.config.TradeListingConfig;
 import com.dair.cais.entity.TradeEntity;
 import com.dair.cais.mapper.TradeMapper;
 import com.dair.cais.model.Trade;
 import com.dair.cais.repository.TradeRepository;
+import com.dair.exception.CaisBadRequestException;
 import com.dair.exception.CaisBaseException;
 import com.dair.exception.CaisNotFoundException;
+import com.dair.util.CaisBaseUtils;
+import com.dair.util.NameCursor;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +34,8 @@ public class TradeService {
    private TradeMapper tradeMapper;
    @Autowired
    private TradeRepository tradeRepository;
+   @Autowired
+   private TradeListingConfig listingConfig;
 
    public Trade createTrade(Trade trade) {
       String extractTradeId = Objects.nonNull(trade.getId()) ? trade.getId() : UUID.randomUUID().toString();
@@ -40,9 +44,13 @@ public class TradeService {
       return tradeMapper.toModel(upsertedTradeEntity);
    }
 
+   @Transactional
    public List<Trade> createTrades(List<Trade> trades) {
-      List<Trade> createdTrades = trades.stream().map(a -> createTrade(a)).collect(Collectors.toList());
-      return createdTrades;
+      List<TradeEntity> tradeEntitiesToUpsert = trades.stream()
+            .map(a -> tradeMapper.toEntity(Objects.nonNull(a.getId()) ? a.getId() : UUID.randomUUID().toString(), a))
+            .collect(Collectors.toList());
+      return tradeRepository.saveAll(tradeEntitiesToUpsert).stream().map(a -> tradeMapper.toModel(a))
+            .collect(Collectors.toList());
    }
 
    public Trade getTradeById(final String tradeId) {
@@ -54,34 +62,52 @@ public class TradeService {
       }
    }
 
-   public Map<String, Object> getAllTrades(String name, int offset, int limit, boolean favourite, boolean recent) {
+   /**
+    * Lists trades ordered by name then id. With a {@code cursor} from a previous response the next page is
+    * read by keyset, which costs the same at any depth; {@code offset} is still honoured for the first request.
+    * A {@code name} matches anywhere in the trade name, case-insensitively. No count query is run:
+    * {@code hasMore} tells whether another page exists.
+    */
+   public Map<String, Object> getAllTrades(String name, String cursor, int offset, int limit, boolean favourite,
+         boolean recent) {
+      if (limit < 1 || limit > listingConfig.getMaxPageSize()) {
+         throw new CaisBadRequestException("limit must be between 1 and " + listingConfig.getMaxPageSize());
+      }
+      if (offset < 0) {
+         throw new CaisBadRequestException("offset must not be negative");
+      }
+      NameCursor after = NameCursor.decode(cursor);
       try {
-
-         Page<TradeEntity> allTradeEntities = routeToJpaMethod(name, offset, limit, favourite, recent);
-         List<Trade> allTrades = allTradeEntities.stream().map(a -> tradeMapper.toModel(a))
-               .collect(Collectors.toList());
+         List<TradeEntity> slice = fetchSlice(name, after, offset, limit + 1);
+         boolean hasMore = slice.size() > limit;
+         List<TradeEntity> page = hasMore ? slice.subList(0, limit) : slice;
+         List<Trade> allTrades = page.stream().map(a -> tradeMapper.toModel(a)).collect(Collectors.toList());
 
          Map<String, Object> response = new HashMap<>();
          response.put("trades", allTrades);
          response.put("count", allTrades.size());
+         response.put("hasMore", hasMore);
+         if (hasMore) {
+            TradeEntity last = page.get(page.size() - 1);
+            response.put("nextCursor", NameCursor.after(last.getName(), last.getTradeId()).encode());
+         }
          return response;
       } catch (Exception e) {
+         log.error("Error retrieving trades", e);
          throw new CaisBaseException("Error retrieving trades");
       }
    }
 
-   private Page<TradeEntity> routeToJpaMethod(String name, int offset, int limit, boolean favourite,
-         boolean recent) {
-      int pageNumber = (int) (Math.floor(offset / limit) + (offset % limit));
-
-      Pageable paging = PageRequest.of(pageNumber, limit);
-      Page<TradeEntity> tradeEntityPages;
+   private List<TradeEntity> fetchSlice(String name, NameCursor after, int offset, int limit) {
       if (StringUtils.isNotEmpty(name)) {
-         tradeEntityPages = tradeRepository.findByNameContainingIgnoreCase(name, paging);
-      } else {
-         tradeEntityPages = tradeRepository.findAll(paging);
+         String pattern = CaisBaseUtils.containsPattern(name);
+         return after != null
+               ? tradeRepository.searchSliceAfter(pattern, after.name(), after.id(), limit)
+               : tradeRepository.searchSlice(pattern, offset, limit);
       }
-      return tradeEntityPages;
+      return after != null
+            ? tradeRepository.findSliceAfter(after.name(), after.id(), limit)
+            : tradeRepository.findSlice(offset, limit);
    }
 
 }
@@ -0,0 +1,98 @@
+package com.dair.cais.ingest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.dair.exception.CaisBadRequestException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvTradeRecordReaderTest {
+
+   @Test
+   void readsRecordsKeyedByTrimmedHeader() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId , accountId,quantity\nT1,A1,100\nT2,A2,200\n");
+
+      assertThat(reader.next()).containsExactly(
+            Map.entry("tradeId", "T1"), Map.entry("accountId", "A1"), Map.entry("quantity", "100"));
+      assertThat(reader.line()).isEqualTo(2);
+      assertThat(reader.next()).containsEntry("tradeId", "T2");
+      assertThat(reader.line()).isEqualTo(3);
+      assertThat(reader.next()).isNull();
+   }
+
+   @Test
+   void leavesEmptyValuesOut() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId,accountId,quantity\nT1,,100");
+
+      assertThat(reader.next()).containsOnlyKeys("tradeId", "quantity");
+   }
+
+   @Test
+   void handlesQuotedCommasQuotesAndLineBreaks() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId,description\r\n"
+            + "T1,\"buy, then sell\"\r\n"
+            + "T2,\"the \"\"big\"\" one\"\r\n"
+            + "T3,\"two\nlines\"\r\n"
+            + "T4,after\r\n");
+
+      assertThat(reader.next()).containsEntry("description", "buy, then sell");
+      assertThat(reader.next()).containsEntry("description", "the \"big\" one");
+      assertThat(reader.next()).containsEntry("description", "two\nlines");
+      assertThat(reader.next()).containsEntry("tradeId", "T4");
+      assertThat(reader.line()).isEqualTo(6);
+   }
+
+   @Test
+   void acceptsBareCarriageReturnLineEndings() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId,quantity\rT1,1\rT2,2");
+
+      assertThat(reader.next()).containsEntry("tradeId", "T1");
+      assertThat(reader.next()).containsEntry("tradeId", "T2");
+      assertThat(reader.next()).isNull();
+   }
+
+   @Test
+   void skipsBlankLines() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId,quantity\n\nT1,1\n\n");
+
+      assertThat(reader.next()).containsEntry("tradeId", "T1");
+      assertThat(reader.line()).isEqualTo(3);
+      assertThat(reader.next()).isNull();
+   }
+
+   @Test
+   void rejectsARecordWithTheWrongColumnCountAndContinues() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId,quantity\nT1,1,extra\nT2,2\n");
+
+      assertThatThrownBy(reader::next)
+            .isInstanceOf(TradeRecordException.class)
+            .hasMessage("Expected 2 columns but found 3");
+      assertThat(reader.line()).isEqualTo(2);
+      assertThat(reader.next()).containsEntry("tradeId", "T2");
+   }
+
+   @Test
+   void rejectsAnUnterminatedQuote() throws IOException {
+      CsvTradeRecordReader reader = reader("tradeId,description\nT1,\"never closed\n");
+
+      assertThatThrownBy(reader::next)
+            .isInstanceOf(TradeRecordException.class)
+            .hasMessage("Unterminated quoted value");
+   }
+
+   @Test
+   void rejectsAnEmptyFeed() {
+      assertThatThrownBy(() -> reader(""))
+            .isInstanceOf(CaisBadRequestException.class)
+            .hasMessage("CSV trade feed is empty");
+   }
+
+   private CsvTradeRecordReader reader(String csv) throws IOException {
+      return new CsvTradeRecordReader(new StringReader(csv));
+   }
+}
@@ -0,0 +1,70 @@
+package com.dair.cais.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NdjsonTradeRecordReaderTest {
+
+   @Test
+   void readsOneRecordPerLine() throws IOException {
+      NdjsonTradeRecordReader reader = reader("{\"tradeId\":\"T1\",\"quantity\":100}\n{\"tradeId\":\"T2\"}\n");
+
+      assertThat(reader.next()).containsExactly(Map.entry("tradeId", "T1"), Map.entry("quantity", 100));
+      assertThat(reader.line()).isEqualTo(1);
+      assertThat(reader.next()).containsEntry("tradeId", "T2");
+      assertThat(reader.line()).isEqualTo(2);
+      assertThat(reader.next()).isNull();
+   }
+
+   @Test
+   void skipsBlankLinesButCountsThem() throws IOException {
+      NdjsonTradeRecordReader reader = reader("\n   \n{\"tradeId\":\"T1\"}\n\n");
+
+      assertThat(reader.next()).containsEntry("tradeId", "T1");
+      assertThat(reader.line()).isEqualTo(3);
+      assertThat(reader.next()).isNull();
+   }
+
+   @Test
+   void keepsNestedValues() throws IOException {
+      NdjsonTradeRecordReader reader = reader("{\"tradeId\":\"T1\",\"customFields\":{\"desk\":\"FX\"}}");
+
+      assertThat(reader.next()).containsEntry("customFields", Map.of("desk", "FX"));
+   }
+
+   @Test
+   void rejectsAMalformedLineAndContinues() throws IOException {
+      NdjsonTradeRecordReader reader = reader("{\"tradeId\":\"T1\"\n{\"tradeId\":\"T2\"}\n");
+
+      assertThatThrownBy(reader::next)
+            .isInstanceOf(TradeRecordException.class)
+            .hasMessageStartingWith("Malformed JSON");
+      assertThat(reader.line()).isEqualTo(1);
+      assertThat(reader.next()).containsEntry("tradeId", "T2");
+   }
+
+   @Test
+   void rejectsLinesThatAreNotObjects() throws IOException {
+      NdjsonTradeRecordReader reader = reader("null\n[1,2]\n");
+
+      assertThatThrownBy(reader::next)
+            .isInstanceOf(TradeRecordException.class)
+            .hasMessage("Expected a JSON object");
+      assertThatThrownBy(reader::next)
+            .isInstanceOf(TradeRecordException.class)
+            .hasMessageStartingWith("Malformed JSON");
+   }
+
+   private NdjsonTradeRecordReader reader(String ndjson) {
+      return new NdjsonTradeRecordReader(new BufferedReader(new StringReader(ndjson)), new ObjectMapper());
+   }
+}